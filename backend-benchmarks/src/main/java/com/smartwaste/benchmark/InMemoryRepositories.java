@@ -0,0 +1,84 @@
+package com.smartwaste.benchmark;
+
+import com.smartwaste.entity.Collector;
+import com.smartwaste.entity.Zone;
+import com.smartwaste.repository.CollectorRepository;
+import com.smartwaste.repository.MLPredictionRepository;
+import com.smartwaste.repository.UserEcoScoreRepository;
+import com.smartwaste.repository.UserRepository;
+import com.smartwaste.repository.WasteRequestRepository;
+import com.smartwaste.repository.ZoneRepository;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Repository stand-ins backed by a {@link SyntheticData} set, so services can be benchmarked
+ * without a database. Only the methods the benchmarked code calls are implemented (keyed by
+ * name and arity); anything else throws, which keeps a benchmark from silently measuring a no-op.
+ */
+public final class InMemoryRepositories {
+
+	private InMemoryRepositories() {
+	}
+
+	public static WasteRequestRepository wasteRequests(SyntheticData data) {
+		Map<String, Function<Object[], Object>> methods = new HashMap<>();
+		methods.put("findAll/0", args -> data.getRequests());
+		methods.put("count/0", args -> (long) data.getRequests().size());
+		methods.put("findByCollectorId/1", args -> data.getRequestsByCollector().getOrDefault((Long) args[0], List.of()));
+		return repository(WasteRequestRepository.class, methods);
+	}
+
+	public static CollectorRepository collectors(SyntheticData data) {
+		Map<Long, Collector> byId = new HashMap<>();
+		data.getCollectors().forEach(collector -> byId.put(collector.getCollectorId(), collector));
+		Map<String, Function<Object[], Object>> methods = new HashMap<>();
+		methods.put("findAll/0", args -> data.getCollectors());
+		methods.put("count/0", args -> (long) data.getCollectors().size());
+		methods.put("findById/1", args -> Optional.ofNullable(byId.get((Long) args[0])));
+		return repository(CollectorRepository.class, methods);
+	}
+
+	public static ZoneRepository zones(SyntheticData data) {
+		Map<Long, Zone> byId = new HashMap<>();
+		data.getZones().forEach(zone -> byId.put(zone.getZoneId(), zone));
+		Map<String, Function<Object[], Object>> methods = new HashMap<>();
+		methods.put("findAll/0", args -> data.getZones());
+		methods.put("findById/1", args -> Optional.ofNullable(byId.get((Long) args[0])));
+		return repository(ZoneRepository.class, methods);
+	}
+
+	public static UserRepository users(long count) {
+		return repository(UserRepository.class, Map.of("count/0", args -> count));
+	}
+
+	public static MLPredictionRepository emptyPredictions() {
+		return repository(MLPredictionRepository.class, Map.of("findAll/0", args -> List.of()));
+	}
+
+	public static UserEcoScoreRepository emptyEcoScores() {
+		return repository(UserEcoScoreRepository.class, Map.of("findAll/0", args -> List.of()));
+	}
+
+	private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+		Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+			if (method.getDeclaringClass() == Object.class) {
+				return switch (method.getName()) {
+					case "equals" -> self == args[0];
+					case "hashCode" -> System.identityHashCode(self);
+					default -> "InMemory" + type.getSimpleName();
+				};
+			}
+			Function<Object[], Object> implementation = methods.get(method.getName() + "/" + method.getParameterCount());
+			if (implementation == null) {
+				throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+			}
+			return implementation.apply(args);
+		});
+		return type.cast(proxy);
+	}
+}
@@ -0,0 +1,129 @@
+package com.smartwaste.benchmark;
+
+import com.smartwaste.entity.Collector;
+import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.entity.WasteRequestStatus;
+import com.smartwaste.entity.Zone;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory dataset for benchmarks: zones, collectors and waste requests
+ * spread over the year before {@link #REFERENCE_TIME}, with a realistic status mix
+ * (mostly collected, the rest open or rejected).
+ *
+ * <p>Each request takes roughly 300 bytes of heap, so 10M rows need a fork with
+ * {@code -Xmx6g} or more.
+ */
+public final class SyntheticData {
+
+	public static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private static final String[] WASTE_TYPES = {"PLASTIC", "METAL", "PAPER", "ORGANIC", "E_WASTE", "HAZARDOUS"};
+	private static final int ZONES = 20;
+	private static final int COLLECTORS_PER_ZONE = 10;
+
+	private final List<Zone> zones;
+	private final List<Collector> collectors;
+	private final List<WasteRequest> requests;
+	private final Map<Long, List<WasteRequest>> requestsByCollector;
+
+	private SyntheticData(List<Zone> zones, List<Collector> collectors, List<WasteRequest> requests) {
+		this.zones = zones;
+		this.collectors = collectors;
+		this.requests = requests;
+		this.requestsByCollector = new HashMap<>();
+		for (WasteRequest request : requests) {
+			if (request.getCollectorId() != null) {
+				requestsByCollector.computeIfAbsent(request.getCollectorId(), id -> new ArrayList<>()).add(request);
+			}
+		}
+	}
+
+	public static SyntheticData generate(int rows, long seed) {
+		Random random = new Random(seed);
+
+		List<Zone> zones = new ArrayList<>(ZONES);
+		for (long zoneId = 1; zoneId <= ZONES; zoneId++) {
+			Zone zone = new Zone();
+			zone.setZoneId(zoneId);
+			zone.setZoneName("Zone " + zoneId);
+			zone.setCity("Bengaluru");
+			zones.add(zone);
+		}
+
+		List<Collector> collectors = new ArrayList<>(ZONES * COLLECTORS_PER_ZONE);
+		for (int i = 0; i < ZONES * COLLECTORS_PER_ZONE; i++) {
+			Collector collector = new Collector();
+			collector.setCollectorId((long) i + 1);
+			collector.setName("Collector " + (i + 1));
+			collector.setEmail("collector" + (i + 1) + "@example.com");
+			collector.setZone(zones.get(i / COLLECTORS_PER_ZONE));
+			collector.setIsActive(true);
+			collectors.add(collector);
+		}
+
+		List<WasteRequest> requests = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			Zone zone = zones.get(random.nextInt(ZONES));
+			WasteRequest request = new WasteRequest();
+			request.setRequestId((long) i + 1);
+			request.setUserId(1L + random.nextInt(Math.max(1, rows / 20)));
+			request.setZoneId(zone.getZoneId());
+			request.setWasteType(WASTE_TYPES[random.nextInt(WASTE_TYPES.length)]);
+			request.setWeightKg(Math.round((0.5 + random.nextDouble() * 24.5) * 10) / 10.0);
+			request.setPickupAddress("Street " + random.nextInt(500));
+			request.setCreatedAt(REFERENCE_TIME.minusMinutes(random.nextInt(365 * 24 * 60)));
+
+			WasteRequestStatus status = randomStatus(random);
+			request.setStatus(status);
+			if (status != WasteRequestStatus.CREATED) {
+				int offset = (int) (zone.getZoneId() - 1) * COLLECTORS_PER_ZONE;
+				request.setCollectorId(collectors.get(offset + random.nextInt(COLLECTORS_PER_ZONE)).getCollectorId());
+			}
+			if (status == WasteRequestStatus.COLLECTED) {
+				request.setCollectedTime(request.getCreatedAt().plusHours(1 + random.nextInt(72)));
+				request.setRewardPoints(10 + random.nextInt(21));
+			}
+			requests.add(request);
+		}
+		return new SyntheticData(zones, collectors, requests);
+	}
+
+	private static WasteRequestStatus randomStatus(Random random) {
+		int roll = random.nextInt(100);
+		if (roll < 60) {
+			return WasteRequestStatus.COLLECTED;
+		}
+		if (roll < 75) {
+			return WasteRequestStatus.CREATED;
+		}
+		if (roll < 85) {
+			return WasteRequestStatus.ASSIGNED;
+		}
+		if (roll < 95) {
+			return WasteRequestStatus.IN_PROGRESS;
+		}
+		return WasteRequestStatus.CLOSED;
+	}
+
+	public List<Zone> getZones() {
+		return zones;
+	}
+
+	public List<Collector> getCollectors() {
+		return collectors;
+	}
+
+	public List<WasteRequest> getRequests() {
+		return requests;
+	}
+
+	public Map<Long, List<WasteRequest>> getRequestsByCollector() {
+		return requestsByCollector;
+	}
+}
@@ -0,0 +1,103 @@
+package com.smartwaste.config;
+
+import com.smartwaste.ratelimit.BucketStore;
+import com.smartwaste.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * {@link RateLimitingConfig} under contention from 8 threads, with the policies from
+ * application.properties scaled up so requests are never rejected (rejections log a warning,
+ * which would dominate the measurement).
+ *
+ * <p>{@code hotKey} has every thread hit one client key (one NAT'd office); {@code spreadKeys}
+ * draws from 10k clients; {@code checkRequest*} add path matching as done by RateLimitFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimitingBenchmark {
+
+	private static final int CLIENTS = 10_000;
+	private static final int CAPACITY = 100_000_000;
+
+	private RateLimitingConfig config;
+	private String[] clientIds;
+	private MockHttpServletRequest unlimitedRequest;
+	private MockHttpServletRequest uploadRequest;
+
+	@Setup
+	public void setUp() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getPolicies().put(RateLimitingConfig.LOGIN, policy(List.of("/api/auth/login"), List.of("POST")));
+		properties.getPolicies().put(RateLimitingConfig.REGISTER, policy(List.of("/api/auth/register"), List.of("POST")));
+		properties.getPolicies().put(RateLimitingConfig.REPORTS, policy(List.of("/api/admin/reports/**"), List.of()));
+		properties.getPolicies().put(RateLimitingConfig.ML, policy(List.of("/api/ml/**"), List.of()));
+		properties.getPolicies().put(RateLimitingConfig.UPLOADS, policy(
+			List.of("/api/requests/create", "/api/requests/updateStatus/**", "/api/requests/*/proof"),
+			List.of("POST", "PUT")
+		));
+		config = new RateLimitingConfig(
+			properties,
+			new SimpleMeterRegistry(),
+			new StaticListableBeanFactory().getBeanProvider(BucketStore.class)
+		);
+
+		clientIds = new String[CLIENTS];
+		for (int i = 0; i < CLIENTS; i++) {
+			clientIds[i] = "10.0." + (i / 256) + "." + (i % 256);
+		}
+		unlimitedRequest = new MockHttpServletRequest("GET", "/api/requests/user/42");
+		uploadRequest = new MockHttpServletRequest("POST", "/api/requests/create");
+	}
+
+	@Benchmark
+	public boolean hotKey() {
+		return config.isAllowed(RateLimitingConfig.LOGIN, clientIds[0]);
+	}
+
+	@Benchmark
+	public boolean spreadKeys() {
+		return config.isAllowed(RateLimitingConfig.LOGIN, clientIds[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+	}
+
+	@Benchmark
+	public Optional<String> checkRequestUnlimitedPath() {
+		return config.checkRequest(unlimitedRequest, clientIds[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+	}
+
+	@Benchmark
+	public Optional<String> checkRequestUploadPath() {
+		return config.checkRequest(uploadRequest, clientIds[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+	}
+
+	private static RateLimitProperties.Policy policy(List<String> paths, List<String> methods) {
+		RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+		policy.setCapacity(CAPACITY);
+		policy.setPeriod(Duration.ofSeconds(1));
+		policy.setPaths(paths);
+		policy.setMethods(methods);
+		return policy;
+	}
+}
@@ -0,0 +1,43 @@
+package com.smartwaste.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * {@link RewardTransaction} as it was mapped before pooled ids (IDENTITY), the baseline for
+ * {@link InsertBatchingBenchmark}.
+ */
+@Entity
+@Table(name = "reward_transactions_identity")
+public class IdentityRewardTransaction {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long transactionId;
+
+	@ManyToOne
+	@JoinColumn(name = "user_id")
+	private User user;
+
+	private Long requestId;
+
+	private Integer pointsAdded = 0;
+	private Integer pointsSpent = 0;
+	private String transactionType;
+	private String description;
+
+	@CreationTimestamp
+	private LocalDateTime createdAt;
+
+	public Long getTransactionId() { return transactionId; }
+	public User getUser() { return user; }
+	public void setUser(User user) { this.user = user; }
+	public Long getRequestId() { return requestId; }
+	public void setRequestId(Long requestId) { this.requestId = requestId; }
+	public Integer getPointsAdded() { return pointsAdded; }
+	public void setPointsAdded(Integer pointsAdded) { this.pointsAdded = pointsAdded; }
+	public String getTransactionType() { return transactionType; }
+	public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
+	public String getDescription() { return description; }
+	public void setDescription(String description) { this.description = description; }
+}
@@ -0,0 +1,138 @@
+package com.smartwaste.entity;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert throughput (rows/s) of reward transactions through Hibernate, one transaction of
+ * {@value #ROWS} rows per operation:
+ * <ul>
+ *   <li>IDENTITY: the previous mapping; every persist runs its INSERT immediately</li>
+ *   <li>POOLED_UNBATCHED: ids from id_generators, JDBC batching off</li>
+ *   <li>POOLED_BATCHED: ids from id_generators, batches of 50 (the backend's settings)</li>
+ * </ul>
+ * Runs on in-memory H2 by default, which has no network round trips and so understates the
+ * difference. To measure against MySQL, point it at a scratch database (the benchmark creates
+ * and drops its tables, including users):
+ * {@code -p jdbcUrl=jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true -p username=root -p password=...}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+	static final int ROWS = 1000;
+
+	public enum Mapping { IDENTITY, POOLED_UNBATCHED, POOLED_BATCHED }
+
+	@Param({"IDENTITY", "POOLED_UNBATCHED", "POOLED_BATCHED"})
+	public Mapping mapping;
+
+	@Param("jdbc:h2:mem:inserts;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+	public String jdbcUrl;
+
+	@Param("sa")
+	public String username;
+
+	@Param("")
+	public String password;
+
+	private HikariDataSource dataSource;
+	private SessionFactory sessionFactory;
+	private Long userId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(jdbcUrl);
+		dataSource.setUsername(username);
+		dataSource.setPassword(password);
+		dataSource.setMaximumPoolSize(4);
+
+		Configuration configuration = new Configuration()
+			.addAnnotatedClass(User.class)
+			.addAnnotatedClass(RewardTransaction.class)
+			.addAnnotatedClass(IdentityRewardTransaction.class)
+			.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+			.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+			.setProperty(AvailableSettings.ORDER_INSERTS, "true")
+			.setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+		configuration.getProperties().put(AvailableSettings.DATASOURCE, dataSource);
+		sessionFactory = configuration.buildSessionFactory();
+
+		User user = new User();
+		user.setName("Benchmark User");
+		user.setEmail("benchmark@smartwaste.local");
+		user.setRole("USER");
+		sessionFactory.inTransaction(session -> session.persist(user));
+		userId = user.getUserId();
+	}
+
+	@TearDown(Level.Iteration)
+	public void deleteRows() {
+		sessionFactory.inTransaction(session -> {
+			session.createMutationQuery("delete from RewardTransaction").executeUpdate();
+			session.createMutationQuery("delete from IdentityRewardTransaction").executeUpdate();
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+		dataSource.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void insert() {
+		try (Session session = sessionFactory.openSession()) {
+			if (mapping == Mapping.POOLED_UNBATCHED) {
+				session.setJdbcBatchSize(1);
+			}
+			session.beginTransaction();
+			User user = session.getReference(User.class, userId);
+			for (int i = 0; i < ROWS; i++) {
+				if (mapping == Mapping.IDENTITY) {
+					IdentityRewardTransaction transaction = new IdentityRewardTransaction();
+					transaction.setUser(user);
+					transaction.setRequestId((long) i);
+					transaction.setPointsAdded(10);
+					transaction.setTransactionType("ADD");
+					transaction.setDescription("Benchmark reward");
+					session.persist(transaction);
+				}
+				else {
+					RewardTransaction transaction = new RewardTransaction();
+					transaction.setUser(user);
+					transaction.setRequestId((long) i);
+					transaction.setPointsAdded(10);
+					transaction.setTransactionType("ADD");
+					transaction.setDescription("Benchmark reward");
+					session.persist(transaction);
+				}
+			}
+			session.getTransaction().commit();
+		}
+	}
+}
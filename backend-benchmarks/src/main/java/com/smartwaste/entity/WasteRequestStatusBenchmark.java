@@ -0,0 +1,61 @@
+package com.smartwaste.entity;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Status parsing, run once per loaded row by {@link WasteRequestStatusConverter} and per
+ * status update request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WasteRequestStatusBenchmark {
+
+	private final String[] columnValues = {"PENDING", "IN_PROGRESS", "COLLECTED", "REJECTED"};
+	private final String[] requestValues = {"in_progress", " Collected ", "closed", "assigned"};
+	private final WasteRequestStatusConverter converter = new WasteRequestStatusConverter();
+
+	@Benchmark
+	public void fromColumnValue(Blackhole blackhole) {
+		for (String value : columnValues) {
+			blackhole.consume(WasteRequestStatus.fromString(value));
+		}
+	}
+
+	@Benchmark
+	public void fromRequestValue(Blackhole blackhole) {
+		for (String value : requestValues) {
+			blackhole.consume(WasteRequestStatus.fromString(value));
+		}
+	}
+
+	@Benchmark
+	public void rejectUnknown(Blackhole blackhole) {
+		try {
+			blackhole.consume(WasteRequestStatus.fromString("DONE"));
+		}
+		catch (IllegalArgumentException ex) {
+			blackhole.consume(ex);
+		}
+	}
+
+	@Benchmark
+	public void converterRoundTrip(Blackhole blackhole) {
+		for (String value : columnValues) {
+			blackhole.consume(converter.convertToDatabaseColumn(converter.convertToEntityAttribute(value)));
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.smartwaste.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency samples and error counts. Samples are kept in full (8 bytes each),
+ * so percentiles are exact; a few million samples per run is well within a normal heap.
+ */
+public class LatencyRecorder {
+
+	private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+	private volatile boolean recording;
+
+	public void setRecording(boolean recording) {
+		this.recording = recording;
+	}
+
+	public void record(String endpoint, long nanos, boolean success) {
+		if (recording) {
+			endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).add(nanos, success);
+		}
+	}
+
+	/**
+	 * Summary per endpoint, sorted by name, for a measurement window of the given length.
+	 */
+	public Map<String, Map<String, Object>> summarize(double seconds) {
+		Map<String, Map<String, Object>> summary = new TreeMap<>();
+		for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+			summary.put(entry.getKey(), entry.getValue().summarize(seconds));
+		}
+		return summary;
+	}
+
+	private static final class Endpoint {
+		private long[] samples = new long[1024];
+		private int count;
+		private long errors;
+
+		synchronized void add(long nanos, boolean success) {
+			if (count == samples.length) {
+				samples = Arrays.copyOf(samples, samples.length * 2);
+			}
+			samples[count++] = nanos;
+			if (!success) {
+				errors++;
+			}
+		}
+
+		synchronized Map<String, Object> summarize(double seconds) {
+			long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("count", count);
+			result.put("errors", errors);
+			result.put("throughputPerSecond", round(count / seconds));
+			result.put("p50Ms", percentileMillis(sorted, 50));
+			result.put("p90Ms", percentileMillis(sorted, 90));
+			result.put("p95Ms", percentileMillis(sorted, 95));
+			result.put("p99Ms", percentileMillis(sorted, 99));
+			result.put("p999Ms", percentileMillis(sorted, 99.9));
+			result.put("maxMs", sorted.length > 0 ? round(sorted[sorted.length - 1] / 1e6) : 0.0);
+			return result;
+		}
+
+		private static double percentileMillis(long[] sorted, double percentile) {
+			if (sorted.length == 0) {
+				return 0.0;
+			}
+			int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+			return round(sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6);
+		}
+
+		private static double round(double value) {
+			return Math.round(value * 100) / 100.0;
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package com.smartwaste.loadtest;
+
+import com.smartwaste.entity.WasteRequestStatus;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Fills an empty schema with load test data in JDBC batches: zones with bounding boxes,
+ * users, collectors (with matching COLLECTOR logins) and waste requests across the last
+ * 180 days with a realistic status mix. Deterministic for a given seed.
+ */
+public class LoadTestDataSeeder {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+	public static final String PASSWORD = "LoadTest@123";
+
+	private static final int BATCH_SIZE = 5_000;
+	private static final String[] WASTE_TYPES = {"PLASTIC", "METAL", "PAPER", "ORGANIC", "E_WASTE", "HAZARDOUS"};
+	private static final double BASE_LATITUDE = 12.85;
+	private static final double BASE_LONGITUDE = 77.45;
+	private static final double ZONE_SPAN = 0.05;
+
+	private static final String USER_SQL =
+		"INSERT INTO users (name, email, password_hash, role, points, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+	private static final String REQUEST_SQL =
+		"INSERT INTO waste_requests (user_id, collector_id, zone_id, waste_type, weight_kg, status, pickup_address, "
+			+ "latitude, longitude, collected_time, reward_points, request_date, updated_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final LoadTestOptions options;
+
+	public LoadTestDataSeeder(JdbcTemplate jdbcTemplate, LoadTestOptions options) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.options = options;
+	}
+
+	public Seeded seed() {
+		Random random = new Random(options.getSeed());
+		LocalDateTime now = LocalDateTime.now();
+		String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+		int columns = (int) Math.ceil(Math.sqrt(options.getZones()));
+		List<Object[]> zoneRows = new ArrayList<>();
+		for (int i = 0; i < options.getZones(); i++) {
+			double minLatitude = BASE_LATITUDE + (i / columns) * ZONE_SPAN;
+			double minLongitude = BASE_LONGITUDE + (i % columns) * ZONE_SPAN;
+			zoneRows.add(new Object[] {
+				"Load Zone " + (i + 1), "Bengaluru", "Karnataka",
+				minLatitude, minLongitude, minLatitude + ZONE_SPAN, minLongitude + ZONE_SPAN,
+				minLatitude + ZONE_SPAN / 2, minLongitude + ZONE_SPAN / 2
+			});
+		}
+		insert("INSERT INTO zones (zone_name, city, state, min_latitude, min_longitude, max_latitude, max_longitude, "
+			+ "centroid_latitude, centroid_longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", zoneRows);
+		List<Long> zoneIds = ids("SELECT zone_id FROM zones WHERE zone_name LIKE 'Load Zone %' ORDER BY zone_id");
+
+		List<String> userEmails = new ArrayList<>(options.getUsers());
+		List<Object[]> userRows = new ArrayList<>();
+		for (int i = 0; i < options.getUsers(); i++) {
+			String email = "loadtest-user-" + (i + 1) + "@example.com";
+			userEmails.add(email);
+			userRows.add(new Object[] {"Load User " + (i + 1), email, passwordHash, "USER", 0, Timestamp.valueOf(now)});
+			flushIfFull(USER_SQL, userRows);
+		}
+		insert(USER_SQL, userRows);
+		List<Long> userIds = ids("SELECT user_id FROM users WHERE email LIKE 'loadtest-user-%' ORDER BY user_id");
+
+		List<String> collectorEmails = new ArrayList<>(options.getCollectors());
+		List<Object[]> collectorUserRows = new ArrayList<>();
+		List<Object[]> collectorRows = new ArrayList<>();
+		for (int i = 0; i < options.getCollectors(); i++) {
+			String email = "loadtest-collector-" + (i + 1) + "@example.com";
+			collectorEmails.add(email);
+			collectorUserRows.add(new Object[] {"Load Collector " + (i + 1), email, passwordHash, "COLLECTOR", 0, Timestamp.valueOf(now)});
+			collectorRows.add(new Object[] {
+				"Load Collector " + (i + 1), email, "0000000000", "LT-" + (i + 1), zoneIds.get(i % zoneIds.size()), true, 0.0
+			});
+		}
+		insert(USER_SQL, collectorUserRows);
+		insert("INSERT INTO collectors (name, email, contact, vehicle_number, zone_id, is_active, total_earnings) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)", collectorRows);
+		List<Long> collectorIds = ids("SELECT collector_id FROM collectors WHERE email LIKE 'loadtest-collector-%' ORDER BY collector_id");
+
+		// Collector i serves zone i % zones
+		List<List<Long>> collectorsByZone = new ArrayList<>();
+		for (int z = 0; z < zoneIds.size(); z++) {
+			collectorsByZone.add(new ArrayList<>());
+		}
+		for (int i = 0; i < collectorIds.size(); i++) {
+			collectorsByZone.get(i % zoneIds.size()).add(collectorIds.get(i));
+		}
+
+		long start = System.nanoTime();
+		List<Object[]> requestRows = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < options.getRequests(); i++) {
+			int zone = random.nextInt(zoneIds.size());
+			double minLatitude = BASE_LATITUDE + (zone / columns) * ZONE_SPAN;
+			double minLongitude = BASE_LONGITUDE + (zone % columns) * ZONE_SPAN;
+			LocalDateTime createdAt = now.minusMinutes(random.nextInt(180 * 24 * 60));
+			WasteRequestStatus status = randomStatus(random);
+			List<Long> zoneCollectors = collectorsByZone.get(zone);
+			Long collectorId = status == WasteRequestStatus.CREATED
+				? null
+				: zoneCollectors.get(random.nextInt(zoneCollectors.size()));
+			boolean collected = status == WasteRequestStatus.COLLECTED;
+			LocalDateTime collectedTime = collected ? createdAt.plusHours(1 + random.nextInt(72)) : null;
+			requestRows.add(new Object[] {
+				userIds.get(random.nextInt(userIds.size())),
+				collectorId,
+				zoneIds.get(zone),
+				WASTE_TYPES[random.nextInt(WASTE_TYPES.length)],
+				Math.round((0.5 + random.nextDouble() * 24.5) * 10) / 10.0,
+				status.toLegacyString(),
+				"Street " + random.nextInt(500) + ", Load Zone " + (zone + 1),
+				minLatitude + random.nextDouble() * ZONE_SPAN,
+				minLongitude + random.nextDouble() * ZONE_SPAN,
+				collectedTime != null ? Timestamp.valueOf(collectedTime) : null,
+				collected ? 10 + random.nextInt(21) : 0,
+				Timestamp.valueOf(createdAt),
+				Timestamp.valueOf(collectedTime != null ? collectedTime : createdAt)
+			});
+			flushIfFull(REQUEST_SQL, requestRows);
+		}
+		insert(REQUEST_SQL, requestRows);
+		logger.info("Seeded {} waste requests in {} ms", options.getRequests(), (System.nanoTime() - start) / 1_000_000);
+
+		return new Seeded(userEmails, collectorEmails, zoneIds);
+	}
+
+	private static WasteRequestStatus randomStatus(Random random) {
+		int roll = random.nextInt(100);
+		if (roll < 60) {
+			return WasteRequestStatus.COLLECTED;
+		}
+		if (roll < 75) {
+			return WasteRequestStatus.CREATED;
+		}
+		if (roll < 85) {
+			return WasteRequestStatus.ASSIGNED;
+		}
+		if (roll < 95) {
+			return WasteRequestStatus.IN_PROGRESS;
+		}
+		return WasteRequestStatus.CLOSED;
+	}
+
+	private void flushIfFull(String sql, List<Object[]> rows) {
+		if (rows.size() >= BATCH_SIZE) {
+			insert(sql, rows);
+		}
+	}
+
+	private void insert(String sql, List<Object[]> rows) {
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(sql, rows);
+			rows.clear();
+		}
+	}
+
+	private List<Long> ids(String sql) {
+		return jdbcTemplate.queryForList(sql, Long.class);
+	}
+
+	public record Seeded(List<String> userEmails, List<String> collectorEmails, List<Long> zoneIds) {}
+}
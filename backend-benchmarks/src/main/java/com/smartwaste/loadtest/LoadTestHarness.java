@@ -0,0 +1,158 @@
+package com.smartwaste.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smartwaste.BackendApplication;
+import com.smartwaste.service.CollectorAssignmentService;
+import com.smartwaste.service.RequestGeoIndexService;
+import com.smartwaste.service.RequestSlaMonitor;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * End-to-end load test: boots the backend against an in-memory H2 database (MySQL mode)
+ * with the ML service replaced by {@link MlServiceStub}, seeds it with
+ * {@link LoadTestDataSeeder}, runs the {@link Workload} and reports latency percentiles and
+ * throughput per endpoint (printed and written as JSON).
+ *
+ * <pre>
+ * mvn -f backend-benchmarks/pom.xml -B package
+ * java -cp backend-benchmarks/target/benchmarks.jar com.smartwaste.loadtest.LoadTestHarness \
+ *     --requests=1000000 --threads=64 --duration=PT2M --ml-latency-ms=80 --ml-error-rate=0.02
+ * </pre>
+ *
+ * Rate limiting is disabled, since all traffic comes from one address. The schema is created
+ * by Hibernate from the entities; MySQL-only index migrations are not applied.
+ */
+public final class LoadTestHarness {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+
+	private static final String ADMIN_EMAIL = "admin@system.com";
+	private static final String ADMIN_PASSWORD = "Admin@123";
+
+	private LoadTestHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		Path workDir = Files.createTempDirectory("smartwaste-loadtest");
+
+		try (MlServiceStub mlStub = new MlServiceStub(options.getMlLatencyMs(), options.getMlJitterMs(), options.getMlErrorRate())) {
+			mlStub.start();
+			// Command line arguments take precedence over the backend's application.properties
+			ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class).run(
+				"--server.port=0",
+				"--management.server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:smartwaste;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.hibernate.ddl-auto=create",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--ml.service.url=" + mlStub.getUrl(),
+				"--ratelimit.enabled=false",
+				"--uploads.variants.enabled=false",
+				"--storage.local.root=" + workDir,
+				"--logging.file.name=" + workDir.resolve("spring.log"),
+				"--logging.level.com.smartwaste=WARN"
+			);
+			try {
+				String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+
+				LoadTestDataSeeder.Seeded seeded = new LoadTestDataSeeder(context.getBean(JdbcTemplate.class), options).seed();
+				// In-memory views were built at startup from the empty database
+				context.getBean(CollectorAssignmentService.class).rebuild();
+				context.getBean(RequestGeoIndexService.class).rebuild();
+				context.getBean(RequestSlaMonitor.class).rebuild();
+
+				HttpClient client = HttpClient.newHttpClient();
+				ObjectMapper objectMapper = new ObjectMapper();
+				List<String> userTokens = login(client, objectMapper, baseUrl, seeded.userEmails(), options.getLoginUsers());
+				List<String> collectorTokens = login(client, objectMapper, baseUrl, seeded.collectorEmails(), options.getLoginCollectors());
+				String adminToken = login(client, objectMapper, baseUrl, ADMIN_EMAIL, ADMIN_PASSWORD);
+
+				LatencyRecorder recorder = new LatencyRecorder();
+				Workload workload = new Workload(baseUrl, options, recorder, userTokens, collectorTokens, adminToken, seeded.zoneIds());
+				logger.info("Running workload: {} threads, warm-up {}, measured {}", options.getThreads(), options.getWarmup(), options.getDuration());
+				double seconds = workload.run();
+
+				report(options, recorder.summarize(seconds), seconds, mlStub);
+			}
+			finally {
+				context.close();
+			}
+		}
+	}
+
+	private static List<String> login(HttpClient client, ObjectMapper objectMapper, String baseUrl, List<String> emails, int count)
+		throws IOException, InterruptedException {
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < Math.min(count, emails.size()); i++) {
+			tokens.add(login(client, objectMapper, baseUrl, emails.get(i), LoadTestDataSeeder.PASSWORD));
+		}
+		return tokens;
+	}
+
+	private static String login(HttpClient client, ObjectMapper objectMapper, String baseUrl, String email, String password)
+		throws IOException, InterruptedException {
+		String body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Login failed for " + email + ": HTTP " + response.statusCode());
+		}
+		return objectMapper.readTree(response.body()).path("token").asText();
+	}
+
+	private static void report(LoadTestOptions options, Map<String, Map<String, Object>> endpoints, double seconds, MlServiceStub mlStub)
+		throws IOException {
+		System.out.printf("%n%-42s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+			"endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		long total = 0;
+		for (Map.Entry<String, Map<String, Object>> entry : endpoints.entrySet()) {
+			Map<String, Object> stats = entry.getValue();
+			total += ((Number) stats.get("count")).longValue();
+			System.out.printf("%-42s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+				entry.getKey(), stats.get("count"), stats.get("errors"), stats.get("throughputPerSecond"),
+				stats.get("p50Ms"), stats.get("p90Ms"), stats.get("p99Ms"), stats.get("p999Ms"), stats.get("maxMs"));
+		}
+		System.out.printf("%ntotal: %d calls in %.1f s (%.1f req/s); ML stub: %d calls, %d failed%n",
+			total, seconds, total / seconds, mlStub.getCalls(), mlStub.getFailures());
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		Map<String, Object> run = new LinkedHashMap<>();
+		run.put("seed", options.getSeed());
+		run.put("requestsSeeded", options.getRequests());
+		run.put("users", options.getUsers());
+		run.put("collectors", options.getCollectors());
+		run.put("zones", options.getZones());
+		run.put("threads", options.getThreads());
+		run.put("durationSeconds", Math.round(seconds * 10) / 10.0);
+		run.put("mix", options.getMix());
+		run.put("mlLatencyMs", options.getMlLatencyMs());
+		run.put("mlErrorRate", options.getMlErrorRate());
+		result.put("run", run);
+		result.put("endpoints", endpoints);
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.getOutput()), result);
+		System.out.println("Results written to " + options.getOutput());
+	}
+}
@@ -0,0 +1,105 @@
+package com.smartwaste.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LoadTestHarness}, given as {@code --name=value}.
+ */
+public class LoadTestOptions {
+
+	private long seed = 42;
+	private int zones = 20;
+	private int users = 10_000;
+	private int collectors = 200;
+	private int requests = 200_000;
+	private int threads = 32;
+	private Duration warmup = Duration.ofSeconds(15);
+	private Duration duration = Duration.ofSeconds(60);
+	private int loginUsers = 50;
+	private int loginCollectors = 50;
+	private long mlLatencyMs = 50;
+	private long mlJitterMs = 20;
+	private double mlErrorRate = 0.0;
+	private String output = "loadtest-results.json";
+	private Map<String, Integer> mix = defaultMix();
+
+	public static LoadTestOptions parse(String[] args) {
+		LoadTestOptions options = new LoadTestOptions();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+			}
+			String name = arg.substring(2, arg.indexOf('='));
+			String value = arg.substring(arg.indexOf('=') + 1);
+			switch (name) {
+				case "seed" -> options.seed = Long.parseLong(value);
+				case "zones" -> options.zones = Integer.parseInt(value);
+				case "users" -> options.users = Integer.parseInt(value);
+				case "collectors" -> options.collectors = Integer.parseInt(value);
+				case "requests" -> options.requests = Integer.parseInt(value);
+				case "threads" -> options.threads = Integer.parseInt(value);
+				case "warmup" -> options.warmup = Duration.parse(value);
+				case "duration" -> options.duration = Duration.parse(value);
+				case "login-users" -> options.loginUsers = Integer.parseInt(value);
+				case "login-collectors" -> options.loginCollectors = Integer.parseInt(value);
+				case "ml-latency-ms" -> options.mlLatencyMs = Long.parseLong(value);
+				case "ml-jitter-ms" -> options.mlJitterMs = Long.parseLong(value);
+				case "ml-error-rate" -> options.mlErrorRate = Double.parseDouble(value);
+				case "out" -> options.output = value;
+				case "mix" -> options.mix = parseMix(value);
+				default -> throw new IllegalArgumentException("Unknown option: --" + name);
+			}
+		}
+		if (options.zones < 1 || options.users < 1 || options.collectors < options.zones) {
+			throw new IllegalArgumentException("Need at least one zone, one user and one collector per zone");
+		}
+		if (options.mlErrorRate < 0 || options.mlErrorRate > 1) {
+			throw new IllegalArgumentException("ml-error-rate must be between 0 and 1");
+		}
+		return options;
+	}
+
+	/**
+	 * Operation weights, e.g. {@code create:40,status:30,list:10,analytics:10,report:5,ml:5}.
+	 */
+	private static Map<String, Integer> parseMix(String value) {
+		Map<String, Integer> mix = new LinkedHashMap<>();
+		for (String part : value.split(",")) {
+			String[] entry = part.split(":");
+			if (entry.length != 2 || !Workload.OPERATIONS.contains(entry[0].trim())) {
+				throw new IllegalArgumentException("Invalid mix entry: " + part + " (operations: " + Workload.OPERATIONS + ")");
+			}
+			mix.put(entry[0].trim(), Integer.parseInt(entry[1].trim()));
+		}
+		return mix;
+	}
+
+	private static Map<String, Integer> defaultMix() {
+		Map<String, Integer> mix = new LinkedHashMap<>();
+		mix.put("create", 40);
+		mix.put("status", 30);
+		mix.put("list", 10);
+		mix.put("analytics", 10);
+		mix.put("report", 5);
+		mix.put("ml", 5);
+		return mix;
+	}
+
+	public long getSeed() { return seed; }
+	public int getZones() { return zones; }
+	public int getUsers() { return users; }
+	public int getCollectors() { return collectors; }
+	public int getRequests() { return requests; }
+	public int getThreads() { return threads; }
+	public Duration getWarmup() { return warmup; }
+	public Duration getDuration() { return duration; }
+	public int getLoginUsers() { return loginUsers; }
+	public int getLoginCollectors() { return loginCollectors; }
+	public long getMlLatencyMs() { return mlLatencyMs; }
+	public long getMlJitterMs() { return mlJitterMs; }
+	public double getMlErrorRate() { return mlErrorRate; }
+	public String getOutput() { return output; }
+	public Map<String, Integer> getMix() { return mix; }
+}
@@ -0,0 +1,104 @@
+package com.smartwaste.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the Flask ml-service ({@code /predict/waste}, {@code /classify/waste},
+ * {@code /score/user}, {@code /health}) with configurable latency and error rate.
+ * Responses have the shape MLService reads; failed calls return HTTP 503.
+ */
+public class MlServiceStub implements AutoCloseable {
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final long latencyMs;
+	private final long jitterMs;
+	private final double errorRate;
+	private final AtomicLong calls = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	public MlServiceStub(long latencyMs, long jitterMs, double errorRate) throws IOException {
+		this.latencyMs = latencyMs;
+		this.jitterMs = jitterMs;
+		this.errorRate = errorRate;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		// Latency is simulated by sleeping, so calls must not queue behind each other
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "ml-stub");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		server.createContext("/predict/waste", exchange -> respond(exchange,
+			"{\"predictedWasteKg\":" + round(50 + ThreadLocalRandom.current().nextDouble() * 150) + ",\"confidence\":0.82}"));
+		server.createContext("/classify/waste", exchange -> respond(exchange,
+			"{\"wasteType\":\"PLASTIC\",\"confidence\":0.91}"));
+		server.createContext("/score/user", exchange -> respond(exchange,
+			"{\"ecoScore\":" + (40 + ThreadLocalRandom.current().nextInt(60)) + ",\"breakdown\":{"
+				+ "\"activityScore\":20.0,\"segregationScore\":25.0,\"frequencyScore\":15,\"weightScore\":10}}"));
+		server.createContext("/health", exchange -> respond(exchange, "{\"status\":\"ok\"}"));
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public String getUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public long getCalls() {
+		return calls.get();
+	}
+
+	public long getFailures() {
+		return failures.get();
+	}
+
+	private void respond(HttpExchange exchange, String body) throws IOException {
+		calls.incrementAndGet();
+		try (InputStream in = exchange.getRequestBody()) {
+			in.readAllBytes();
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+		if (delay > 0) {
+			try {
+				Thread.sleep(delay);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		boolean fail = errorRate > 0 && random.nextDouble() < errorRate;
+		byte[] bytes = (fail ? "{\"error\":\"stubbed failure\"}" : body).getBytes(StandardCharsets.UTF_8);
+		if (fail) {
+			failures.incrementAndGet();
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(fail ? 503 : 200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,242 @@
+package com.smartwaste.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop workload: each worker thread repeatedly picks an operation by weight and runs
+ * it against the backend, recording one latency sample per HTTP call.
+ *
+ * <ul>
+ * <li>create: a user submits a request (multipart, no image)</li>
+ * <li>status: a collector reads their work queue and advances the first request</li>
+ * <li>list: a user lists their requests</li>
+ * <li>analytics: an admin loads one of the dashboard aggregations</li>
+ * <li>report: an admin downloads a zone's waste report CSV</li>
+ * <li>ml: a user asks for a waste prediction (goes through the ML stub)</li>
+ * </ul>
+ */
+public class Workload {
+
+	public static final Set<String> OPERATIONS = Set.of("create", "status", "list", "analytics", "report", "ml");
+
+	private static final String[] WASTE_TYPES = {"PLASTIC", "METAL", "PAPER", "ORGANIC", "E_WASTE", "HAZARDOUS"};
+	private static final String[] ANALYTICS = {"overview", "waste-by-zone", "waste-by-type", "collector-performance"};
+	private static final String BOUNDARY = "----smartwaste-loadtest";
+
+	private final String baseUrl;
+	private final LoadTestOptions options;
+	private final LatencyRecorder recorder;
+	private final List<String> userTokens;
+	private final List<String> collectorTokens;
+	private final String adminToken;
+	private final List<Long> zoneIds;
+	private final HttpClient client;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final String[] weightedOperations;
+
+	public Workload(
+		String baseUrl,
+		LoadTestOptions options,
+		LatencyRecorder recorder,
+		List<String> userTokens,
+		List<String> collectorTokens,
+		String adminToken,
+		List<Long> zoneIds
+	) {
+		this.baseUrl = baseUrl;
+		this.options = options;
+		this.recorder = recorder;
+		this.userTokens = userTokens;
+		this.collectorTokens = collectorTokens;
+		this.adminToken = adminToken;
+		this.zoneIds = zoneIds;
+		this.client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+		List<String> weighted = new ArrayList<>();
+		for (Map.Entry<String, Integer> entry : options.getMix().entrySet()) {
+			for (int i = 0; i < entry.getValue(); i++) {
+				weighted.add(entry.getKey());
+			}
+		}
+		if (weighted.isEmpty()) {
+			throw new IllegalArgumentException("Operation mix has no positive weights");
+		}
+		this.weightedOperations = weighted.toArray(new String[0]);
+	}
+
+	/**
+	 * Run the warm-up (not recorded), then the measured phase.
+	 *
+	 * @return the measured duration in seconds
+	 */
+	public double run() throws InterruptedException {
+		runFor(options.getWarmup(), false);
+		long start = System.nanoTime();
+		runFor(options.getDuration(), true);
+		return (System.nanoTime() - start) / 1e9;
+	}
+
+	private void runFor(Duration duration, boolean record) throws InterruptedException {
+		recorder.setRecording(record);
+		long deadline = System.nanoTime() + duration.toNanos();
+		ExecutorService workers = Executors.newFixedThreadPool(options.getThreads());
+		CountDownLatch done = new CountDownLatch(options.getThreads());
+		for (int t = 0; t < options.getThreads(); t++) {
+			int worker = t;
+			workers.execute(() -> {
+				SplittableRandom random = new SplittableRandom(options.getSeed() * 31 + worker);
+				try {
+					while (System.nanoTime() < deadline) {
+						runOperation(weightedOperations[random.nextInt(weightedOperations.length)], worker, random);
+					}
+				}
+				finally {
+					done.countDown();
+				}
+			});
+		}
+		done.await();
+		workers.shutdown();
+		workers.awaitTermination(30, TimeUnit.SECONDS);
+		recorder.setRecording(false);
+	}
+
+	private void runOperation(String operation, int worker, SplittableRandom random) {
+		try {
+			switch (operation) {
+				case "create" -> create(random);
+				case "status" -> advanceStatus(worker);
+				case "list" -> call("GET /api/requests/me", get("/api/requests/me", userToken(random)));
+				case "analytics" -> analytics(random);
+				case "report" -> report(random);
+				case "ml" -> predict(random);
+				default -> throw new IllegalStateException("Unknown operation: " + operation);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void create(SplittableRandom random) throws InterruptedException {
+		Long zoneId = zoneIds.get(random.nextInt(zoneIds.size()));
+		StringBuilder body = new StringBuilder();
+		appendField(body, "zoneId", zoneId.toString());
+		appendField(body, "wasteType", WASTE_TYPES[random.nextInt(WASTE_TYPES.length)]);
+		appendField(body, "weightKg", String.valueOf(Math.round((0.5 + random.nextDouble() * 24.5) * 10) / 10.0));
+		appendField(body, "pickupAddress", "Street " + random.nextInt(500));
+		appendField(body, "latitude", String.valueOf(12.85 + random.nextDouble() * 0.25));
+		appendField(body, "longitude", String.valueOf(77.45 + random.nextDouble() * 0.25));
+		body.append("--").append(BOUNDARY).append("--\r\n");
+		HttpRequest request = authorized("/api/requests/create", userToken(random))
+			.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+			.POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+			.build();
+		call("POST /api/requests/create", request);
+	}
+
+	/**
+	 * Each worker acts for a fixed collector, so workers only race on a request when there
+	 * are more workers than logged-in collectors.
+	 */
+	private void advanceStatus(int worker) throws InterruptedException {
+		String token = collectorTokens.get(worker % collectorTokens.size());
+		HttpResponse<String> queue = call("GET /api/requests/collector/me/queue", get("/api/requests/collector/me/queue?size=20", token));
+		if (queue == null || queue.statusCode() != 200) {
+			return;
+		}
+		JsonNode items;
+		try {
+			items = objectMapper.readTree(queue.body()).path("items");
+		}
+		catch (IOException ex) {
+			return;
+		}
+		if (!items.isArray() || items.isEmpty()) {
+			return;
+		}
+		JsonNode item = items.get(0);
+		String next = "IN_PROGRESS".equals(item.path("status").asText()) ? "COLLECTED" : "IN_PROGRESS";
+		HttpRequest request = authorized("/api/requests/" + item.path("requestId").asLong() + "/status?status=" + next, token)
+			.PUT(HttpRequest.BodyPublishers.noBody())
+			.build();
+		call("PUT /api/requests/{id}/status", request);
+	}
+
+	private void analytics(SplittableRandom random) throws InterruptedException {
+		String name = ANALYTICS[random.nextInt(ANALYTICS.length)];
+		LocalDate end = LocalDate.now();
+		String path = "/api/admin/analytics/" + name + "?startDate=" + end.minusDays(30) + "&endDate=" + end;
+		call("GET /api/admin/analytics/" + name, get(path, adminToken));
+	}
+
+	private void report(SplittableRandom random) throws InterruptedException {
+		LocalDate end = LocalDate.now();
+		String path = "/api/admin/reports/waste?zoneId=" + zoneIds.get(random.nextInt(zoneIds.size()))
+			+ "&startDate=" + end.minusDays(30) + "&endDate=" + end;
+		call("GET /api/admin/reports/waste", get(path, adminToken));
+	}
+
+	private void predict(SplittableRandom random) throws InterruptedException {
+		String body = "{\"zoneId\":" + zoneIds.get(random.nextInt(zoneIds.size()))
+			+ ",\"historicalWaste\":" + (100 + random.nextInt(400)) + "}";
+		HttpRequest request = authorized("/api/ml/predict/waste", userToken(random))
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+		call("POST /api/ml/predict/waste", request);
+	}
+
+	private HttpResponse<String> call(String endpoint, HttpRequest request) throws InterruptedException {
+		long start = System.nanoTime();
+		try {
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+			return response;
+		}
+		catch (IOException ex) {
+			recorder.record(endpoint, System.nanoTime() - start, false);
+			return null;
+		}
+	}
+
+	private HttpRequest get(String path, String token) {
+		return authorized(path, token).GET().build();
+	}
+
+	private HttpRequest.Builder authorized(String path, String token) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+			.timeout(Duration.ofSeconds(60))
+			.header("Authorization", "Bearer " + token);
+	}
+
+	private String userToken(SplittableRandom random) {
+		return userTokens.get(random.nextInt(userTokens.size()));
+	}
+
+	private static void appendField(StringBuilder body, String name, String value) {
+		body.append("--").append(BOUNDARY).append("\r\n")
+			.append("Content-Disposition: form-data; name=\"").append(name).append("\"\r\n\r\n")
+			.append(value).append("\r\n");
+	}
+}
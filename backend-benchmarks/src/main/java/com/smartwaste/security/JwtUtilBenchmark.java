@@ -0,0 +1,64 @@
+package com.smartwaste.security;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Token handling on every authenticated request: {@link JwtFilter} extracts the username and
+ * then validates the token, each of which parses and verifies the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+	private JwtUtil jwtUtil;
+	private String token;
+	private String tamperedToken;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key-that-is-long-enough-for-hs256");
+		ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3_600_000L);
+		token = jwtUtil.generateToken("user@example.com", "USER");
+		tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+	}
+
+	@Benchmark
+	public String generate() {
+		return jwtUtil.generateToken("user@example.com", "USER");
+	}
+
+	@Benchmark
+	public boolean validate() {
+		return jwtUtil.isTokenValid(token);
+	}
+
+	@Benchmark
+	public boolean rejectTampered() {
+		return jwtUtil.isTokenValid(tamperedToken);
+	}
+
+	/**
+	 * What {@link JwtFilter} does per request today.
+	 */
+	@Benchmark
+	public boolean filterPath() {
+		String username = jwtUtil.extractUsername(token);
+		return username != null && jwtUtil.isTokenValid(token);
+	}
+}
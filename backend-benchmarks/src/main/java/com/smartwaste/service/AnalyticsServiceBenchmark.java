@@ -0,0 +1,86 @@
+package com.smartwaste.service;
+
+import com.smartwaste.benchmark.InMemoryRepositories;
+import com.smartwaste.benchmark.SyntheticData;
+import com.smartwaste.dto.AnalyticsOverviewDTO;
+import com.smartwaste.dto.CollectorPerformanceDTO;
+import com.smartwaste.dto.WasteByTypeDTO;
+import com.smartwaste.dto.WasteByZoneDTO;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AnalyticsService} grouping and aggregation over in-memory datasets, isolating the
+ * Java-side cost from database I/O. Ranges cover the last 90 days of the year-long dataset.
+ *
+ * <p>10M rows need a bigger heap:
+ * {@code java -jar target/benchmarks.jar AnalyticsServiceBenchmark -p rows=10000000 -jvmArgsAppend -Xmx8g}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AnalyticsServiceBenchmark {
+
+	@Param({"10000", "100000", "1000000"})
+	public int rows;
+
+	private AnalyticsService analyticsService;
+	private LocalDate startDate;
+	private LocalDate endDate;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SyntheticData data = SyntheticData.generate(rows, 42);
+		analyticsService = new AnalyticsService(
+			InMemoryRepositories.wasteRequests(data),
+			InMemoryRepositories.users(Math.max(1, rows / 20)),
+			InMemoryRepositories.collectors(data),
+			InMemoryRepositories.zones(data),
+			InMemoryRepositories.emptyPredictions(),
+			InMemoryRepositories.emptyEcoScores()
+		);
+		endDate = SyntheticData.REFERENCE_TIME.toLocalDate();
+		startDate = endDate.minusDays(90);
+	}
+
+	@Benchmark
+	public AnalyticsOverviewDTO overview() {
+		return analyticsService.getOverview(startDate, endDate);
+	}
+
+	@Benchmark
+	public List<WasteByZoneDTO> wasteByZone() {
+		return analyticsService.getWasteByZone(startDate, endDate);
+	}
+
+	@Benchmark
+	public List<WasteByTypeDTO> wasteByType() {
+		return analyticsService.getWasteByType(startDate, endDate);
+	}
+
+	@Benchmark
+	public List<WasteByTypeDTO> wasteByTypeAllTime() {
+		return analyticsService.getWasteByType(null, null);
+	}
+
+	@Benchmark
+	public List<CollectorPerformanceDTO> collectorPerformance() {
+		return analyticsService.getCollectorPerformance(startDate, endDate);
+	}
+}
@@ -0,0 +1,71 @@
+package com.smartwaste.service;
+
+import com.smartwaste.benchmark.InMemoryRepositories;
+import com.smartwaste.benchmark.SyntheticData;
+import com.smartwaste.repository.WasteRequestRepository;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CSV generation in {@link ReportService} over in-memory datasets. The waste report writes
+ * one line per request, so its cost grows with the row count, unlike the collector report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportServiceBenchmark {
+
+	@Param({"10000", "100000", "1000000"})
+	public int rows;
+
+	private ReportService reportService;
+	private LocalDate startDate;
+	private LocalDate endDate;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SyntheticData data = SyntheticData.generate(rows, 42);
+		WasteRequestRepository wasteRequests = InMemoryRepositories.wasteRequests(data);
+		AnalyticsService analyticsService = new AnalyticsService(
+			wasteRequests,
+			InMemoryRepositories.users(Math.max(1, rows / 20)),
+			InMemoryRepositories.collectors(data),
+			InMemoryRepositories.zones(data),
+			InMemoryRepositories.emptyPredictions(),
+			InMemoryRepositories.emptyEcoScores()
+		);
+		reportService = new ReportService(wasteRequests, analyticsService);
+		endDate = SyntheticData.REFERENCE_TIME.toLocalDate();
+		startDate = endDate.minusDays(90);
+	}
+
+	@Benchmark
+	public byte[] wasteReportAllRows() {
+		return reportService.generateWasteReportCSV(null, null, null, null);
+	}
+
+	@Benchmark
+	public byte[] wasteReportOneZone() {
+		return reportService.generateWasteReportCSV(startDate, endDate, 1L, null);
+	}
+
+	@Benchmark
+	public byte[] collectorsReport() {
+		return reportService.generateCollectorsReportCSV(startDate, endDate);
+	}
+}
@@ -0,0 +1,42 @@
+package com.smartwaste.service;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reward point calculation for collected requests
+ * ({@link WasteRequestService#calculatePoints} and {@link WasteRequestService#mapWasteTypeToCategory}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewardPointsBenchmark {
+
+	private final String[] wasteTypes = {"PLASTIC", "organic", " E_WASTE ", "HAZARDOUS", "GLASS", "Paper"};
+
+	@Benchmark
+	public void calculatePoints(Blackhole blackhole) {
+		for (String wasteType : wasteTypes) {
+			blackhole.consume(WasteRequestService.calculatePoints(wasteType));
+		}
+	}
+
+	@Benchmark
+	public void mapWasteTypeToCategory(Blackhole blackhole) {
+		for (String wasteType : wasteTypes) {
+			blackhole.consume(WasteRequestService.mapWasteTypeToCategory(wasteType));
+		}
+	}
+}
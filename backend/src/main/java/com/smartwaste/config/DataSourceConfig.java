@@ -0,0 +1,66 @@
+package com.smartwaste.config;
+
+import com.smartwaste.datasource.PoolRoutingDataSource;
+import com.smartwaste.datasource.ReplicaProperties;
+import com.smartwaste.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Two HikariCP pools on the primary database ({@code spring.datasource.url}/username/password):
+ * <ul>
+ *   <li>oltp, tuned by {@code spring.datasource.hikari.*}, for everything by default</li>
+ *   <li>reporting, tuned by {@code reporting.datasource.hikari.*}, for AnalyticsService and
+ *       ReportService; it inherits the oltp pool's driver properties (statement caching etc.)</li>
+ * </ul>
+ * When {@code datasource.replicas.urls} is set, reporting reads prefer one pool per read replica
+ * ({@link ReplicaSet}). The "dataSource" bean routes between them ({@link PoolRoutingDataSource}) and is the one JPA,
+ * JdbcTemplate and the SQL statement metrics use. HikariCP metrics are bound for every pool
+ * (hikaricp.connections.* {pool}).
+ */
+@Configuration
+public class DataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource oltpDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@ConfigurationProperties("reporting.datasource.hikari")
+	public HikariDataSource reportingDataSource(
+		DataSourceProperties properties,
+		@Qualifier("oltpDataSource") HikariDataSource oltpDataSource
+	) {
+		HikariDataSource reporting = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		reporting.setDataSourceProperties(oltpDataSource.getDataSourceProperties());
+		return reporting;
+	}
+
+	@Bean
+	public ReplicaSet replicaSet(
+		ReplicaProperties properties,
+		@Qualifier("reportingDataSource") HikariDataSource reportingDataSource,
+		MeterRegistry meterRegistry
+	) {
+		return new ReplicaSet(properties, reportingDataSource, meterRegistry);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(
+		@Qualifier("oltpDataSource") DataSource oltpDataSource,
+		@Qualifier("reportingDataSource") DataSource reportingDataSource,
+		ReplicaSet replicaSet
+	) {
+		return new PoolRoutingDataSource(oltpDataSource, reportingDataSource, replicaSet);
+	}
+}
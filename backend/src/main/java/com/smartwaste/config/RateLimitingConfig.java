@@ -1,65 +1,148 @@
 package com.smartwaste.config;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import com.smartwaste.ratelimit.BucketStore;
+import com.smartwaste.ratelimit.LeasingRateLimiter;
+import com.smartwaste.ratelimit.RateLimitProperties;
+import com.smartwaste.ratelimit.RateLimiter;
+import com.smartwaste.ratelimit.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
 /**
- * Simple Rate Limiting Implementation
- * In-memory rate limiting for sensitive endpoints
- * For production, consider using Redis or Spring Cloud Gateway
+ * Rate limiting for sensitive endpoints.
+ * Policies (login, register, reports, ml, uploads) are configured under {@code ratelimit.policies.*}
+ * and enforced per client IP by {@link com.smartwaste.security.RateLimitFilter}.
+ * Each policy is backed by a lock-free, memory-bounded {@link TokenBucketLimiter}, or with
+ * {@code ratelimit.backend=jdbc} by a {@link LeasingRateLimiter} so limits hold across replicas.
  */
 @Component
 public class RateLimitingConfig {
 
-	// Rate limit: 5 requests per minute per IP for login
-	private static final int LOGIN_RATE_LIMIT = 5;
-	private static final long LOGIN_RATE_WINDOW_MS = 60_000; // 1 minute
+	private static final Logger logger = LoggerFactory.getLogger(RateLimitingConfig.class);
 
-	// Rate limit: 10 requests per minute per IP for reports
-	private static final int REPORT_RATE_LIMIT = 10;
-	private static final long REPORT_RATE_WINDOW_MS = 60_000; // 1 minute
+	public static final String LOGIN = "login";
+	public static final String REGISTER = "register";
+	public static final String REPORTS = "reports";
+	public static final String ML = "ml";
+	public static final String UPLOADS = "uploads";
 
-	private final ConcurrentHashMap<String, RateLimitInfo> loginAttempts = new ConcurrentHashMap<>();
-	private final ConcurrentHashMap<String, RateLimitInfo> reportAttempts = new ConcurrentHashMap<>();
+	private final boolean enabled;
+	private final List<ActivePolicy> policies = new ArrayList<>();
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
-	public boolean isLoginAllowed(String clientId) {
-		return checkRateLimit(clientId, loginAttempts, LOGIN_RATE_LIMIT, LOGIN_RATE_WINDOW_MS);
-	}
+	public RateLimitingConfig(
+		RateLimitProperties properties,
+		MeterRegistry meterRegistry,
+		ObjectProvider<BucketStore> bucketStoreProvider
+	) {
+		this.enabled = properties.isEnabled();
+		BucketStore bucketStore = bucketStoreProvider.getIfAvailable();
+		if ("jdbc".equalsIgnoreCase(properties.getBackend()) && bucketStore == null) {
+			throw new IllegalStateException("ratelimit.backend=jdbc but no BucketStore is available");
+		}
 
-	public boolean isReportAllowed(String clientId) {
-		return checkRateLimit(clientId, reportAttempts, REPORT_RATE_LIMIT, REPORT_RATE_WINDOW_MS);
+		properties.getPolicies().forEach((name, policy) -> {
+			if (policy.getCapacity() <= 0) {
+				logger.warn("Rate limit policy '{}' has no capacity configured; it is disabled", name);
+				return;
+			}
+			RateLimiter limiter = new TokenBucketLimiter(
+				policy.getCapacity(),
+				policy.getPeriod().toMillis(),
+				properties.getMaxKeysPerPolicy(),
+				properties.getSweepInterval().toMillis()
+			);
+			if (bucketStore != null) {
+				RateLimitProperties.Shared shared = properties.getShared();
+				limiter = new LeasingRateLimiter(
+					name,
+					bucketStore,
+					limiter,
+					policy.getCapacity(),
+					policy.getPeriod().toMillis(),
+					policy.getCapacity() / Math.max(1, shared.getLeaseDivisor()),
+					shared.getLeaseTtl().toMillis(),
+					properties.getMaxKeysPerPolicy(),
+					properties.getSweepInterval().toMillis(),
+					System::currentTimeMillis
+				);
+			}
+			Counter rejected = Counter.builder("smartwaste.ratelimit.rejected")
+				.description("Requests rejected by rate limiting")
+				.tag("policy", name)
+				.register(meterRegistry);
+			Gauge.builder("smartwaste.ratelimit.tracked.keys", limiter, RateLimiter::trackedKeys)
+				.description("Client keys currently tracked by the rate limiter")
+				.tag("policy", name)
+				.register(meterRegistry);
+			policies.add(new ActivePolicy(name, policy, limiter, rejected));
+			logger.info("Rate limit policy '{}': {} requests per {} ({})",
+				name, policy.getCapacity(), policy.getPeriod(), bucketStore != null ? "shared" : "local");
+		});
 	}
 
-	private boolean checkRateLimit(
-		String clientId,
-		ConcurrentHashMap<String, RateLimitInfo> attempts,
-		int limit,
-		long windowMs
-	) {
-		long now = System.currentTimeMillis();
-		RateLimitInfo info = attempts.computeIfAbsent(clientId, k -> new RateLimitInfo());
-
-		synchronized (info) {
-			// Reset if window expired
-			if (now - info.windowStart > windowMs) {
-				info.count.set(0);
-				info.windowStart = now;
+	/**
+	 * Check and consume one request for the given policy and client.
+	 * Unknown or unconfigured policies are not limited.
+	 */
+	public boolean isAllowed(String policyName, String clientId) {
+		for (ActivePolicy policy : policies) {
+			if (policy.name().equals(policyName)) {
+				return tryAcquire(policy, clientId);
 			}
+		}
+		return true;
+	}
 
-			// Check limit
-			if (info.count.get() >= limit) {
-				return false;
+	/**
+	 * Check the request against the first policy whose paths and methods match it.
+	 *
+	 * @return the rejection message if the request is over its limit, empty otherwise
+	 */
+	public Optional<String> checkRequest(HttpServletRequest request, String clientId) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		for (ActivePolicy policy : policies) {
+			if (matches(policy.config(), request.getMethod(), path)) {
+				return tryAcquire(policy, clientId) ? Optional.empty() : Optional.of(policy.config().getMessage());
 			}
+		}
+		return Optional.empty();
+	}
 
-			info.count.incrementAndGet();
+	private boolean tryAcquire(ActivePolicy policy, String clientId) {
+		if (!enabled || policy.limiter().tryAcquire(clientId)) {
 			return true;
 		}
+		policy.rejected().increment();
+		logger.warn("Rate limit '{}' exceeded for client: {}", policy.name(), clientId);
+		return false;
 	}
 
-	private static class RateLimitInfo {
-		AtomicInteger count = new AtomicInteger(0);
-		long windowStart = System.currentTimeMillis();
+	private boolean matches(RateLimitProperties.Policy policy, String method, String path) {
+		if (!policy.getMethods().isEmpty()
+			&& policy.getMethods().stream().noneMatch(m -> m.equalsIgnoreCase(method))) {
+			return false;
+		}
+		return policy.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
 	}
-}
 
+	private record ActivePolicy(
+		String name,
+		RateLimitProperties.Policy config,
+		RateLimiter limiter,
+		Counter rejected
+	) {}
+}
@@ -1,7 +1,10 @@
 package com.smartwaste.config;
 
 import com.smartwaste.security.JwtFilter;
+import com.smartwaste.security.RateLimitFilter;
 import com.smartwaste.security.SecurityHeadersFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,6 +16,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,10 +29,22 @@ public class SecurityConfig {
 
 	private final JwtFilter jwtFilter;
 	private final SecurityHeadersFilter securityHeadersFilter;
+	private final RateLimitFilter rateLimitFilter;
+	private final int serverPort;
+	private final int managementPort;
 
-	public SecurityConfig(JwtFilter jwtFilter, SecurityHeadersFilter securityHeadersFilter) {
+	public SecurityConfig(
+		JwtFilter jwtFilter,
+		SecurityHeadersFilter securityHeadersFilter,
+		RateLimitFilter rateLimitFilter,
+		@Value("${server.port:8080}") int serverPort,
+		@Value("${management.server.port:-1}") int managementPort
+	) {
 		this.jwtFilter = jwtFilter;
 		this.securityHeadersFilter = securityHeadersFilter;
+		this.rateLimitFilter = rateLimitFilter;
+		this.serverPort = serverPort;
+		this.managementPort = managementPort;
 	}
 
 	@Bean
@@ -63,7 +80,10 @@ public class SecurityConfig {
 				.contentTypeOptions(contentType -> contentType.disable())
 			)
 			.authorizeHttpRequests(auth -> auth
-				.requestMatchers("/api/auth/**", "/api/health", "/actuator/health").permitAll()
+				// Async dispatches (SSE streams completing) were already authorized on the original request
+				.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+				.requestMatchers("/api/auth/**", "/api/health").permitAll()
+				.requestMatchers(managementPortActuator()).permitAll() // Scraped without a token on the internal port only
 				.requestMatchers("/uploads/**").permitAll() // Allow access to uploaded images
 				.requestMatchers("/api/admin/**").hasRole("ADMIN")
 				.requestMatchers("/api/collector/**").hasRole("COLLECTOR")
@@ -71,10 +91,24 @@ public class SecurityConfig {
 			)
 			.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
+		// Rate limiting runs first so rejected requests never reach authentication
+		http.addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
 		// Add security headers filter before JWT filter
 		http.addFilterBefore(securityHeadersFilter, UsernamePasswordAuthenticationFilter.class);
 		http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
 		return http.build();
 	}
+
+	/**
+	 * Actuator requests that arrived on the separate management port. Never matches when
+	 * actuator shares the public port, so endpoints there still require authentication.
+	 */
+	private RequestMatcher managementPortActuator() {
+		RequestMatcher actuatorPath = new AntPathRequestMatcher("/actuator/**");
+		return request -> managementPort > 0
+			&& managementPort != serverPort
+			&& request.getLocalPort() == managementPort
+			&& actuatorPath.matches(request);
+	}
 }
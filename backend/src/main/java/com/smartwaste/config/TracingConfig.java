@@ -0,0 +1,30 @@
+package com.smartwaste.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Tracing beyond Boot's defaults: an optional span exporter that writes OTLP JSON to
+ * logs/traces.jsonl (see logback-spring.xml), and no spans for actuator scrapes and probes.
+ * The OTLP collector exporter is configured by Boot from management.otlp.tracing.endpoint.
+ */
+@Configuration
+public class TracingConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "tracing.export.log.enabled", havingValue = "true")
+	public SpanExporter loggingSpanExporter() {
+		return OtlpJsonLoggingSpanExporter.create();
+	}
+
+	@Bean
+	public ObservationPredicate skipActuatorObservations() {
+		return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext
+			&& serverContext.getCarrier().getRequestURI().startsWith("/actuator"));
+	}
+}
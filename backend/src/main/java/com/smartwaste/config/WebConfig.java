@@ -1,25 +0,0 @@
-package com.smartwaste.config;
-
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
-@Configuration
-public class WebConfig implements WebMvcConfigurer {
-
-	@Override
-	public void addResourceHandlers(ResourceHandlerRegistry registry) {
-		// Serve uploaded user images
-		Path userUploadPath = Paths.get("uploads/user").toAbsolutePath().normalize();
-		registry.addResourceHandler("/uploads/user/**")
-			.addResourceLocations("file:" + userUploadPath + "/");
-
-		// Serve uploaded proof images
-		Path proofUploadPath = Paths.get("uploads/proof").toAbsolutePath().normalize();
-		registry.addResourceHandler("/uploads/proof/**")
-			.addResourceLocations("file:" + proofUploadPath + "/");
-	}
-}
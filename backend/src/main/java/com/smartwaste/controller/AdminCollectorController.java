@@ -1,17 +1,23 @@
 package com.smartwaste.controller;
 
+import com.smartwaste.dto.CollectorRouteDTO;
+import com.smartwaste.dto.CollectorSummaryDTO;
 import com.smartwaste.entity.Collector;
 import com.smartwaste.entity.User;
 import com.smartwaste.entity.Zone;
 import com.smartwaste.repository.CollectorRepository;
 import com.smartwaste.repository.UserRepository;
 import com.smartwaste.repository.ZoneRepository;
+import com.smartwaste.service.RoutePlanningService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import java.security.Principal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -35,17 +41,20 @@ public class AdminCollectorController {
 	private final CollectorRepository collectorRepository;
 	private final ZoneRepository zoneRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final RoutePlanningService routePlanningService;
 
 	public AdminCollectorController(
 		UserRepository userRepository,
 		CollectorRepository collectorRepository,
 		ZoneRepository zoneRepository,
-		PasswordEncoder passwordEncoder
+		PasswordEncoder passwordEncoder,
+		RoutePlanningService routePlanningService
 	) {
 		this.userRepository = userRepository;
 		this.collectorRepository = collectorRepository;
 		this.zoneRepository = zoneRepository;
 		this.passwordEncoder = passwordEncoder;
+		this.routePlanningService = routePlanningService;
 	}
 
 	/**
@@ -53,8 +62,8 @@ public class AdminCollectorController {
 	 * List all collectors with their basic info.
 	 */
 	@GetMapping
-	public ResponseEntity<List<Collector>> getAllCollectors() {
-		return ResponseEntity.ok(collectorRepository.findAll());
+	public ResponseEntity<List<CollectorSummaryDTO>> getAllCollectors() {
+		return ResponseEntity.ok(collectorRepository.findAllSummaries());
 	}
 
 	/**
@@ -66,6 +75,60 @@ public class AdminCollectorController {
 		return ResponseEntity.ok(zoneRepository.findAll());
 	}
 
+	/**
+	 * PUT /api/admin/collectors/zones/{id}/geometry
+	 * Set a zone's bounding box; the centroid defaults to the box center.
+	 */
+	@PutMapping("/zones/{id}/geometry")
+	public ResponseEntity<Zone> updateZoneGeometry(@PathVariable Long id, @RequestBody ZoneGeometryRequest request) {
+		Zone zone = zoneRepository.findById(id)
+			.orElseThrow(() -> new IllegalArgumentException("Zone not found: " + id));
+		if (request.minLatitude == null || request.minLongitude == null
+			|| request.maxLatitude == null || request.maxLongitude == null) {
+			throw new IllegalArgumentException("minLatitude, minLongitude, maxLatitude and maxLongitude are required");
+		}
+		if (!(request.minLatitude >= -90 && request.minLatitude <= request.maxLatitude && request.maxLatitude <= 90)
+			|| !(request.minLongitude >= -180 && request.minLongitude <= request.maxLongitude && request.maxLongitude <= 180)) {
+			throw new IllegalArgumentException("Invalid bounding box");
+		}
+		double centroidLatitude = request.centroidLatitude != null
+			? request.centroidLatitude
+			: (request.minLatitude + request.maxLatitude) / 2;
+		double centroidLongitude = request.centroidLongitude != null
+			? request.centroidLongitude
+			: (request.minLongitude + request.maxLongitude) / 2;
+		if (!(centroidLatitude >= request.minLatitude && centroidLatitude <= request.maxLatitude
+			&& centroidLongitude >= request.minLongitude && centroidLongitude <= request.maxLongitude)) {
+			throw new IllegalArgumentException("Centroid must lie inside the bounding box");
+		}
+
+		zone.setMinLatitude(request.minLatitude);
+		zone.setMinLongitude(request.minLongitude);
+		zone.setMaxLatitude(request.maxLatitude);
+		zone.setMaxLongitude(request.maxLongitude);
+		zone.setCentroidLatitude(centroidLatitude);
+		zone.setCentroidLongitude(centroidLongitude);
+		return ResponseEntity.ok(zoneRepository.save(zone));
+	}
+
+	/**
+	 * GET /api/admin/collectors/routes?date=&zoneId=
+	 * Planned routes for all active collectors (optionally of one zone) for a day, planned in parallel.
+	 */
+	@GetMapping("/routes")
+	public ResponseEntity<List<CollectorRouteDTO>> getRoutes(
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+		@RequestParam(required = false) Long zoneId
+	) {
+		List<Long> collectorIds = new ArrayList<>();
+		for (Object[] row : collectorRepository.findActiveCollectorZones()) {
+			if (zoneId == null || zoneId.equals(row[1])) {
+				collectorIds.add((Long) row[0]);
+			}
+		}
+		return ResponseEntity.ok(routePlanningService.planRoutes(collectorIds, date != null ? date : LocalDate.now()));
+	}
+
 	/**
 	 * POST /api/admin/collectors
 	 * Create a new collector user + collector profile.
@@ -120,6 +183,15 @@ public class AdminCollectorController {
 		}
 	}
 
+	public static class ZoneGeometryRequest {
+		public Double minLatitude;
+		public Double minLongitude;
+		public Double maxLatitude;
+		public Double maxLongitude;
+		public Double centroidLatitude;
+		public Double centroidLongitude;
+	}
+
 	public static class CreateCollectorRequest {
 		@NotBlank
 		public String name;
@@ -1,6 +1,5 @@
 package com.smartwaste.controller;
 
-import com.smartwaste.config.RateLimitingConfig;
 import com.smartwaste.service.ReportService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -18,7 +17,7 @@ import java.time.LocalDate;
 /**
  * Admin Reports Controller
  * All endpoints require ADMIN role
- * Includes rate limiting for report downloads
+ * Report downloads are rate limited by RateLimitFilter (policy "reports")
  */
 @RestController
 @RequestMapping("/api/admin/reports")
@@ -28,11 +27,9 @@ public class AdminReportsController {
 	private static final Logger logger = LoggerFactory.getLogger(AdminReportsController.class);
 
 	private final ReportService reportService;
-	private final RateLimitingConfig rateLimitingConfig;
 
-	public AdminReportsController(ReportService reportService, RateLimitingConfig rateLimitingConfig) {
+	public AdminReportsController(ReportService reportService) {
 		this.reportService = reportService;
-		this.rateLimitingConfig = rateLimitingConfig;
 	}
 
 	/**
@@ -49,13 +46,6 @@ public class AdminReportsController {
 	) {
 		String clientId = getClientId(request);
 
-		// Rate limiting check
-		if (!rateLimitingConfig.isReportAllowed(clientId)) {
-			logger.warn("Report download rate limit exceeded for client: {}", clientId);
-			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-				.body(java.util.Map.of("message", "Too many report requests. Please try again later."));
-		}
-
 		logger.info("Waste report download requested by client: {}", clientId);
 
 		byte[] csvData = reportService.generateWasteReportCSV(startDate, endDate, zoneId, wasteType);
@@ -79,12 +69,6 @@ public class AdminReportsController {
 	) {
 		String clientId = getClientId(request);
 
-		if (!rateLimitingConfig.isReportAllowed(clientId)) {
-			logger.warn("Report download rate limit exceeded for client: {}", clientId);
-			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-				.body(java.util.Map.of("message", "Too many report requests. Please try again later."));
-		}
-
 		logger.info("Users report download requested by client: {}", clientId);
 
 		byte[] csvData = reportService.generateUsersReportCSV(startDate, endDate);
@@ -108,12 +92,6 @@ public class AdminReportsController {
 	) {
 		String clientId = getClientId(request);
 
-		if (!rateLimitingConfig.isReportAllowed(clientId)) {
-			logger.warn("Report download rate limit exceeded for client: {}", clientId);
-			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-				.body(java.util.Map.of("message", "Too many report requests. Please try again later."));
-		}
-
 		logger.info("Collectors report download requested by client: {}", clientId);
 
 		byte[] csvData = reportService.generateCollectorsReportCSV(startDate, endDate);
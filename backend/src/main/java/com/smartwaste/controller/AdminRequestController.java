@@ -1,9 +1,15 @@
 package com.smartwaste.controller;
 
 import com.smartwaste.dto.AdminWasteRequestDTO;
+import com.smartwaste.dto.AutoAssignmentResultDTO;
+import com.smartwaste.dto.NearbyRequestDTO;
+import com.smartwaste.dto.OverdueSummaryDTO;
 import com.smartwaste.entity.User;
 import com.smartwaste.entity.WasteRequest;
 import com.smartwaste.repository.UserRepository;
+import com.smartwaste.service.CollectorAssignmentService;
+import com.smartwaste.service.RequestGeoIndexService;
+import com.smartwaste.service.RequestSlaMonitor;
 import com.smartwaste.service.WasteRequestService;
 import java.security.Principal;
 import java.util.List;
@@ -12,6 +18,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -24,10 +31,22 @@ public class AdminRequestController {
 
 	private final WasteRequestService wasteRequestService;
 	private final UserRepository userRepository;
+	private final CollectorAssignmentService collectorAssignmentService;
+	private final RequestGeoIndexService requestGeoIndexService;
+	private final RequestSlaMonitor requestSlaMonitor;
 
-	public AdminRequestController(WasteRequestService wasteRequestService, UserRepository userRepository) {
+	public AdminRequestController(
+		WasteRequestService wasteRequestService,
+		UserRepository userRepository,
+		CollectorAssignmentService collectorAssignmentService,
+		RequestGeoIndexService requestGeoIndexService,
+		RequestSlaMonitor requestSlaMonitor
+	) {
 		this.wasteRequestService = wasteRequestService;
 		this.userRepository = userRepository;
+		this.collectorAssignmentService = collectorAssignmentService;
+		this.requestGeoIndexService = requestGeoIndexService;
+		this.requestSlaMonitor = requestSlaMonitor;
 	}
 
 	/**
@@ -41,8 +60,44 @@ public class AdminRequestController {
 
 	@GetMapping("/delayed")
 	public ResponseEntity<List<WasteRequest>> getDelayed() {
-		// 48-hour threshold for prototype realism
-		return ResponseEntity.ok(wasteRequestService.getDelayedRequests(48));
+		// sla.overdue-after (48 hours by default, for prototype realism)
+		return ResponseEntity.ok(wasteRequestService.getDelayedRequests(requestSlaMonitor.getOverdueAfter().toHours()));
+	}
+
+	/**
+	 * GET /api/admin/requests/delayed/summary
+	 * Overdue counts per zone from the in-memory SLA monitor (no database access).
+	 */
+	@GetMapping("/delayed/summary")
+	public ResponseEntity<OverdueSummaryDTO> getDelayedSummary() {
+		return ResponseEntity.ok(requestSlaMonitor.getOverdueSummary());
+	}
+
+	/**
+	 * GET /api/admin/requests/nearby?lat=&lng=&radiusKm=&limit=
+	 * Open requests within radiusKm of the point, closest first.
+	 */
+	@GetMapping("/nearby")
+	public ResponseEntity<List<NearbyRequestDTO>> getNearby(
+		@RequestParam double lat,
+		@RequestParam double lng,
+		@RequestParam(defaultValue = "2") double radiusKm,
+		@RequestParam(defaultValue = "100") int limit
+	) {
+		return ResponseEntity.ok(requestGeoIndexService.findWithin(lat, lng, radiusKm, limit));
+	}
+
+	/**
+	 * GET /api/admin/requests/nearest?lat=&lng=&count=
+	 * The count open requests closest to the point.
+	 */
+	@GetMapping("/nearest")
+	public ResponseEntity<List<NearbyRequestDTO>> getNearest(
+		@RequestParam double lat,
+		@RequestParam double lng,
+		@RequestParam(defaultValue = "10") int count
+	) {
+		return ResponseEntity.ok(requestGeoIndexService.findNearest(lat, lng, count));
 	}
 
 	@PutMapping("/{id}/assign")
@@ -57,6 +112,18 @@ public class AdminRequestController {
 		return ResponseEntity.ok(enriched);
 	}
 
+	/**
+	 * POST /api/admin/requests/auto-assign?max=
+	 * Assign unassigned requests to the least loaded active collector of their zone.
+	 */
+	@PostMapping("/auto-assign")
+	public ResponseEntity<AutoAssignmentResultDTO> autoAssign(@RequestParam(defaultValue = "10000") int max) {
+		if (max <= 0) {
+			throw new IllegalArgumentException("max must be positive");
+		}
+		return ResponseEntity.ok(collectorAssignmentService.assignBacklog(max));
+	}
+
 	private User requireAuthenticatedUser(Principal principal) {
 		if (principal == null) {
 			throw new AccessDeniedException("Authentication required");
@@ -1,5 +1,6 @@
 package com.smartwaste.controller;
 
+import com.smartwaste.dto.BulkFulfillmentResultDTO;
 import com.smartwaste.entity.RedemptionRequest;
 import com.smartwaste.entity.User;
 import com.smartwaste.repository.UserRepository;
@@ -11,7 +12,9 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -47,6 +50,25 @@ public class AdminRewardController {
 		return ResponseEntity.ok(toAdminItem(updated));
 	}
 
+	/**
+	 * POST /api/admin/rewards/redemptions/fulfill
+	 * Bulk-fulfill redemptions by explicit IDs or by filter (rewardId and/or createdBefore).
+	 */
+	@PostMapping("/redemptions/fulfill")
+	public ResponseEntity<BulkFulfillmentResultDTO> fulfillBulk(
+		@RequestBody BulkFulfillRequest request,
+		Principal principal
+	) {
+		User admin = requireAuthenticatedUser(principal);
+		BulkFulfillmentResultDTO result = rewardService.fulfillRedemptions(
+			request.redemptionIds,
+			request.rewardId,
+			request.createdBefore,
+			admin
+		);
+		return ResponseEntity.ok(result);
+	}
+
 	private AdminRedemptionItem toAdminItem(RedemptionRequest r) {
 		User u = r.getUser();
 		return new AdminRedemptionItem(
@@ -71,6 +93,12 @@ public class AdminRewardController {
 			.orElseThrow(() -> new AccessDeniedException("User not found"));
 	}
 
+	public static class BulkFulfillRequest {
+		public List<Long> redemptionIds;
+		public Long rewardId;
+		public java.time.LocalDateTime createdBefore;
+	}
+
 	public record AdminRedemptionItem(
 		Long redemptionId,
 		Long rewardId,
@@ -1,6 +1,6 @@
 package com.smartwaste.controller;
 
-import com.smartwaste.entity.User;
+import com.smartwaste.dto.UserSummaryDTO;
 import com.smartwaste.repository.UserRepository;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
@@ -29,8 +29,8 @@ public class AdminUserController {
 	 * List all registered users (excluding password hashes).
 	 */
 	@GetMapping
-	public ResponseEntity<List<User>> getAllUsers() {
-		return ResponseEntity.ok(userRepository.findAll());
+	public ResponseEntity<List<UserSummaryDTO>> getAllUsers() {
+		return ResponseEntity.ok(userRepository.findAllSummaries());
 	}
 }
 
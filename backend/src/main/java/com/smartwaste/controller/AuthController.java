@@ -1,10 +1,8 @@
 package com.smartwaste.controller;
 
-import com.smartwaste.config.RateLimitingConfig;
 import com.smartwaste.entity.User;
 import com.smartwaste.repository.UserRepository;
 import com.smartwaste.security.JwtUtil;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -21,7 +19,7 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * Authentication Controller
- * Handles user registration and login with rate limiting
+ * Handles user registration and login (rate limited by RateLimitFilter)
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -33,18 +31,15 @@ public class AuthController {
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
 	private final JwtUtil jwtUtil;
-	private final RateLimitingConfig rateLimitingConfig;
 
 	public AuthController(
 		UserRepository userRepository,
 		PasswordEncoder passwordEncoder,
-		JwtUtil jwtUtil,
-		RateLimitingConfig rateLimitingConfig
+		JwtUtil jwtUtil
 	) {
 		this.userRepository = userRepository;
 		this.passwordEncoder = passwordEncoder;
 		this.jwtUtil = jwtUtil;
-		this.rateLimitingConfig = rateLimitingConfig;
 	}
 
 	@PostMapping("/register")
@@ -86,19 +81,8 @@ public class AuthController {
 	}
 
 	@PostMapping("/login")
-	public ResponseEntity<Map<String, Object>> login(
-		@Valid @RequestBody LoginRequest request,
-		HttpServletRequest httpRequest
-	) {
-		String clientId = getClientId(httpRequest);
-
-		// Rate limiting check
-		if (!rateLimitingConfig.isLoginAllowed(clientId)) {
-			logger.warn("Login rate limit exceeded for client: {}", clientId);
-			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-				.body(Map.of("message", "Too many login attempts. Please try again later."));
-		}
-
+	public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody LoginRequest request) {
+		// Rate limiting is applied by RateLimitFilter (policy "login")
 		logger.info("Login attempt for email: {}", request.email);
 
 		User user = userRepository.findByEmail(request.email)
@@ -125,14 +109,6 @@ public class AuthController {
 		return ResponseEntity.ok(response);
 	}
 
-	private String getClientId(HttpServletRequest request) {
-		String xForwardedFor = request.getHeader("X-Forwarded-For");
-		if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-			return xForwardedFor.split(",")[0].trim();
-		}
-		return request.getRemoteAddr();
-	}
-
 	// DTOs for request validation
 	public static class RegisterRequest {
 		@NotBlank(message = "Name is required")
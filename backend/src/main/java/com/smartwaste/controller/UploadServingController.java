@@ -0,0 +1,201 @@
+package com.smartwaste.controller;
+
+import com.smartwaste.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/**
+ * Serves uploaded files under /uploads/user/** and /uploads/proof/**.
+ *
+ * <p>Content-addressed files (named by their SHA-256) never change, so they get the hash
+ * as strong ETag and a one-year immutable Cache-Control. Older timestamp-named uploads get
+ * a weak ETag from size and modification time and a short cache lifetime.
+ * Single byte ranges are supported. Uploads are images, which are already compressed, so
+ * they are always served as stored, without a Content-Encoding. File bodies are handed to
+ * Tomcat's sendfile when available, otherwise copied to the response stream.
+ *
+ * <p>When uploads live in an object store, requests are redirected to a short-lived
+ * presigned URL instead, so the bytes never pass through the application.
+ */
+@Controller
+public class UploadServingController {
+
+	private static final List<String> UPLOAD_DIRS = List.of("uploads/user", "uploads/proof");
+	private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,5}");
+	private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+	private static final String LEGACY_CACHE = "public, max-age=3600";
+	/** Presigned URLs live for minutes; let browsers reuse a redirect briefly. */
+	private static final String REDIRECT_CACHE = "private, max-age=60";
+
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private final BlobStore blobStore;
+
+	public UploadServingController(BlobStore blobStore) {
+		this.blobStore = blobStore;
+	}
+
+	@RequestMapping(value = "/uploads/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+	public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		String key = toKey(request.getRequestURI().substring(request.getContextPath().length()));
+		if (key == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		Optional<URI> downloadUrl = blobStore.downloadUrl(key);
+		if (downloadUrl.isPresent()) {
+			response.setHeader(HttpHeaders.CACHE_CONTROL, REDIRECT_CACHE);
+			response.setStatus(HttpServletResponse.SC_FOUND);
+			response.setHeader(HttpHeaders.LOCATION, downloadUrl.get().toString());
+			return;
+		}
+
+		Path file = blobStore.localPath(key).orElse(null);
+		if (file == null || !Files.isRegularFile(file)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+		String fileName = file.getFileName().toString();
+		boolean contentAddressed = CONTENT_ADDRESSED.matcher(fileName).matches();
+		String etag = contentAddressed
+			? "\"" + fileName.substring(0, 64) + "\""
+			: "W/\"" + Long.toHexString(attrs.size()) + "-" + Long.toHexString(attrs.lastModifiedTime().toMillis()) + "\"";
+
+		String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		boolean useRange = rangeHeader != null && (ifRange == null || ifRange.equals(etag));
+
+		response.setHeader(HttpHeaders.ETAG, etag);
+		response.setHeader(HttpHeaders.CACHE_CONTROL, contentAddressed ? IMMUTABLE_CACHE : LEGACY_CACHE);
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		response.setDateHeader(HttpHeaders.LAST_MODIFIED, attrs.lastModifiedTime().toMillis());
+		response.setContentType(MediaTypeFactory.getMediaType(fileName)
+			.orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+		if (matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		boolean head = "HEAD".equals(request.getMethod());
+		long length = attrs.size();
+
+		if (useRange) {
+			List<HttpRange> ranges;
+			try {
+				ranges = HttpRange.parseRanges(rangeHeader);
+			}
+			catch (IllegalArgumentException ex) {
+				ranges = List.of();
+			}
+			// Multiple ranges are rare for images; serving the full file is allowed by RFC 9110
+			if (ranges.size() == 1) {
+				long start;
+				long end;
+				try {
+					start = ranges.get(0).getRangeStart(length);
+					end = ranges.get(0).getRangeEnd(length);
+				}
+				catch (IllegalArgumentException ex) {
+					response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+					response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+					return;
+				}
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+				send(request, response, file, start, end + 1, head);
+				return;
+			}
+		}
+
+		send(request, response, file, 0, length, head);
+	}
+
+	/**
+	 * Map the request path to a storage key inside one of the upload directories,
+	 * rejecting traversal and temp files.
+	 */
+	private String toKey(String requestPath) {
+		String relative = requestPath.startsWith("/") ? requestPath.substring(1) : requestPath;
+		if (UPLOAD_DIRS.stream().noneMatch(dir -> relative.startsWith(dir + "/"))) {
+			return null;
+		}
+		for (String segment : relative.split("/")) {
+			if (segment.isEmpty() || segment.equals("..") || segment.equals(".") || segment.equals(".tmp")) {
+				return null;
+			}
+		}
+		return relative;
+	}
+
+	private boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if ("*".equals(value) || opaque.equals(value.startsWith("W/") ? value.substring(2) : value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void send(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		Path file,
+		long start,
+		long endExclusive,
+		boolean head
+	) throws IOException {
+		long count = endExclusive - start;
+		response.setContentLengthLong(count);
+		if (head || count == 0) {
+			return;
+		}
+
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			// Tomcat writes the file with sendfile after the servlet returns
+			request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+			request.setAttribute(SENDFILE_START, start);
+			request.setAttribute(SENDFILE_END, endExclusive);
+			return;
+		}
+
+		// Not zero-copy: the channel wraps the servlet stream, so transferTo copies through a buffer
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = start;
+			while (position < endExclusive) {
+				position += channel.transferTo(position, endExclusive - position, out);
+			}
+		}
+	}
+}
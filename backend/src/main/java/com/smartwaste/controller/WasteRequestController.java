@@ -1,18 +1,32 @@
 package com.smartwaste.controller;
 
+import com.smartwaste.dto.CollectorRouteDTO;
+import com.smartwaste.dto.CollectorWorkQueueDTO;
+import com.smartwaste.dto.WasteRequestSummaryDTO;
 import com.smartwaste.entity.Collector;
 import com.smartwaste.entity.User;
 import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.events.RequestEventHub;
+import com.smartwaste.metrics.UploadMetrics;
 import com.smartwaste.repository.CollectorRepository;
 import com.smartwaste.repository.UserRepository;
+import com.smartwaste.service.RoutePlanningService;
 import com.smartwaste.service.WasteRequestService;
+import com.smartwaste.storage.BlobStore;
+import com.smartwaste.utils.MultipartUpload;
+import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.security.Principal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,7 +35,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/requests")
@@ -31,47 +45,63 @@ public class WasteRequestController {
 	private final WasteRequestService wasteRequestService;
 	private final UserRepository userRepository;
 	private final CollectorRepository collectorRepository;
+	private final BlobStore blobStore;
+	private final RequestEventHub requestEventHub;
+	private final RoutePlanningService routePlanningService;
+	private final UploadMetrics uploadMetrics;
+	private final long maxUploadBytes;
 
 	public WasteRequestController(
 		WasteRequestService wasteRequestService,
 		UserRepository userRepository,
-		CollectorRepository collectorRepository
+		CollectorRepository collectorRepository,
+		BlobStore blobStore,
+		RequestEventHub requestEventHub,
+		RoutePlanningService routePlanningService,
+		UploadMetrics uploadMetrics,
+		@Value("${uploads.max-file-size:10MB}") DataSize maxUploadSize
 	) {
 		this.wasteRequestService = wasteRequestService;
 		this.userRepository = userRepository;
 		this.collectorRepository = collectorRepository;
+		this.blobStore = blobStore;
+		this.requestEventHub = requestEventHub;
+		this.routePlanningService = routePlanningService;
+		this.uploadMetrics = uploadMetrics;
+		this.maxUploadBytes = maxUploadSize.toBytes();
 	}
 
+	/**
+	 * Multipart fields: userId (admin only), zoneId, wasteType, weightKg, pickupAddress,
+	 * latitude and longitude (optional, geocoded by the client), image (optional).
+	 * The body is streamed once; the image is validated and stored as it arrives.
+	 */
 	@PostMapping(value = "/create", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-	public ResponseEntity<WasteRequest> create(
-		@RequestParam(required = false) Long userId,
-		@RequestParam Long zoneId,
-		@RequestParam String wasteType,
-		@RequestParam double weightKg,
-		@RequestParam String pickupAddress,
-		@RequestParam(required = false) MultipartFile image,
-		Principal principal
-	) throws IOException {
-		Long resolvedUserId = resolveUserId(userId, principal);
+	public ResponseEntity<WasteRequest> create(HttpServletRequest httpRequest, Principal principal) throws IOException {
+		User currentUser = requireAuthenticatedUser(principal);
+		MultipartUpload upload = readUpload(httpRequest, "image", "uploads/user");
+		Long resolvedUserId = resolveUserId(upload.longField("userId"), currentUser);
 		WasteRequest created = wasteRequestService.createRequest(
 			resolvedUserId,
-			zoneId,
-			wasteType,
-			weightKg,
-			pickupAddress,
-			image
+			upload.longField("zoneId"),
+			upload.requiredField("wasteType"),
+			upload.requiredDoubleField("weightKg"),
+			upload.requiredField("pickupAddress"),
+			upload.doubleField("latitude"),
+			upload.doubleField("longitude"),
+			upload.storedPath()
 		);
 		return ResponseEntity.status(HttpStatus.CREATED).body(created);
 	}
 
 	@GetMapping("/user/{userId}")
-	public ResponseEntity<List<WasteRequest>> getUserRequests(@PathVariable Long userId, Principal principal) {
+	public ResponseEntity<List<WasteRequestSummaryDTO>> getUserRequests(@PathVariable Long userId, Principal principal) {
 		Long resolvedUserId = resolveUserId(userId, principal);
 		return ResponseEntity.ok(wasteRequestService.getRequestsByUser(resolvedUserId));
 	}
 
 	@GetMapping("/me")
-	public ResponseEntity<List<WasteRequest>> getMyRequests(Principal principal) {
+	public ResponseEntity<List<WasteRequestSummaryDTO>> getMyRequests(Principal principal) {
 		Long resolvedUserId = resolveUserId(null, principal);
 		return ResponseEntity.ok(wasteRequestService.getRequestsByUser(resolvedUserId));
 	}
@@ -109,6 +139,97 @@ public class WasteRequestController {
 		return ResponseEntity.ok(wasteRequestService.getRequestsForCollector(collectorId));
 	}
 
+	/**
+	 * Actionable requests for the signed-in collector, paged, in work order.
+	 * With changedSince (the cursor of the previous response), returns only requests changed since then.
+	 */
+	@GetMapping("/collector/me/queue")
+	public ResponseEntity<CollectorWorkQueueDTO> getMyWorkQueue(
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince,
+		@RequestParam(defaultValue = "0") int page,
+		@RequestParam(defaultValue = "50") int size,
+		Principal principal
+	) {
+		User currentUser = requireAuthenticatedUser(principal);
+		if (!"COLLECTOR".equals(currentUser.getRole())) {
+			throw new AccessDeniedException("Access denied");
+		}
+		Long collectorId = collectorRepository.findByEmail(currentUser.getEmail())
+			.map(Collector::getCollectorId)
+			.orElseThrow(() -> new AccessDeniedException("Collector profile not found"));
+		return ResponseEntity.ok(wasteRequestService.getCollectorWorkQueue(collectorId, changedSince, page, size));
+	}
+
+	@GetMapping("/collector/{collectorId}/queue")
+	public ResponseEntity<CollectorWorkQueueDTO> getCollectorWorkQueue(
+		@PathVariable Long collectorId,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince,
+		@RequestParam(defaultValue = "0") int page,
+		@RequestParam(defaultValue = "50") int size,
+		Principal principal
+	) {
+		User currentUser = requireAuthenticatedUser(principal);
+		if (!"ADMIN".equals(currentUser.getRole())) {
+			throw new AccessDeniedException("Access denied");
+		}
+		return ResponseEntity.ok(wasteRequestService.getCollectorWorkQueue(collectorId, changedSince, page, size));
+	}
+
+	/**
+	 * Planned pickup route of the signed-in collector for a day (default today):
+	 * open requests due by the end of that day, in driving order.
+	 */
+	@GetMapping("/collector/me/route")
+	public ResponseEntity<CollectorRouteDTO> getMyRoute(
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+		Principal principal
+	) {
+		User currentUser = requireAuthenticatedUser(principal);
+		if (!"COLLECTOR".equals(currentUser.getRole())) {
+			throw new AccessDeniedException("Access denied");
+		}
+		Long collectorId = collectorRepository.findByEmail(currentUser.getEmail())
+			.map(Collector::getCollectorId)
+			.orElseThrow(() -> new AccessDeniedException("Collector profile not found"));
+		return ResponseEntity.ok(routePlanningService.planRoute(collectorId, date != null ? date : LocalDate.now()));
+	}
+
+	@GetMapping("/collector/{collectorId}/route")
+	public ResponseEntity<CollectorRouteDTO> getCollectorRoute(
+		@PathVariable Long collectorId,
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+		Principal principal
+	) {
+		User currentUser = requireAuthenticatedUser(principal);
+		if (!"ADMIN".equals(currentUser.getRole())) {
+			throw new AccessDeniedException("Access denied");
+		}
+		return ResponseEntity.ok(routePlanningService.planRoute(collectorId, date != null ? date : LocalDate.now()));
+	}
+
+	/**
+	 * Server-Sent Events stream of status changes and reassignments of the caller's requests
+	 * (users: their own requests, collectors: requests assigned to them, admins: all).
+	 * Replaces polling /me and /collector/me; on reconnect, clients refetch their list once.
+	 */
+	@GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter subscribeToEvents(Principal principal) {
+		User currentUser = requireAuthenticatedUser(principal);
+		String audience;
+		if ("ADMIN".equals(currentUser.getRole())) {
+			audience = RequestEventHub.adminAudience(currentUser.getUserId());
+		}
+		else if ("COLLECTOR".equals(currentUser.getRole())) {
+			audience = collectorRepository.findByEmail(currentUser.getEmail())
+				.map(collector -> "collector:" + collector.getCollectorId())
+				.orElseThrow(() -> new AccessDeniedException("Collector profile not found"));
+		}
+		else {
+			audience = "user:" + currentUser.getUserId();
+		}
+		return requestEventHub.subscribe(audience);
+	}
+
 	@GetMapping("/collector/profile")
 	public ResponseEntity<Collector> getMyCollectorProfile(Principal principal) {
 		User currentUser = requireAuthenticatedUser(principal);
@@ -120,15 +241,23 @@ public class WasteRequestController {
 		return ResponseEntity.ok(collector);
 	}
 
+	/**
+	 * Multipart fields: status, proof (optional image).
+	 */
 	@PutMapping(value = "/updateStatus/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
 	public ResponseEntity<WasteRequest> updateStatusWithProof(
 		@PathVariable Long id,
-		@RequestParam String status,
-		@RequestParam(required = false) MultipartFile proof,
+		HttpServletRequest httpRequest,
 		Principal principal
 	) throws IOException {
 		User actingUser = requireAuthenticatedUser(principal);
-		WasteRequest updated = wasteRequestService.updateStatus(id, status, proof, actingUser);
+		MultipartUpload upload = readUpload(httpRequest, "proof", "uploads/proof");
+		WasteRequest updated = wasteRequestService.updateStatus(
+			id,
+			upload.requiredField("status"),
+			upload.storedPath(),
+			actingUser
+		);
 		return ResponseEntity.ok(updated);
 	}
 
@@ -137,7 +266,7 @@ public class WasteRequestController {
 		@PathVariable Long id,
 		@RequestParam String status,
 		Principal principal
-	) throws IOException {
+	) {
 		User actingUser = requireAuthenticatedUser(principal);
 		WasteRequest updated = wasteRequestService.updateStatus(id, status, null, actingUser);
 		return ResponseEntity.ok(updated);
@@ -146,16 +275,33 @@ public class WasteRequestController {
 	@PostMapping(value = "/{id}/proof", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
 	public ResponseEntity<WasteRequest> uploadProof(
 		@PathVariable Long id,
-		@RequestParam MultipartFile proof,
+		HttpServletRequest httpRequest,
 		Principal principal
 	) throws IOException {
 		User actingUser = requireAuthenticatedUser(principal);
-		WasteRequest updated = wasteRequestService.uploadCollectorProof(id, proof, actingUser);
+		MultipartUpload upload = readUpload(httpRequest, "proof", "uploads/proof");
+		WasteRequest updated = wasteRequestService.uploadCollectorProof(id, upload.storedPath(), actingUser);
 		return ResponseEntity.ok(updated);
 	}
 
+	private MultipartUpload readUpload(HttpServletRequest httpRequest, String fileField, String uploadDir) throws IOException {
+		long start = System.nanoTime();
+		try {
+			MultipartUpload upload = MultipartUpload.read(httpRequest, fileField, blobStore, uploadDir, maxUploadBytes);
+			uploadMetrics.recordSuccess(fileField, upload.bodyBytes(), System.nanoTime() - start);
+			return upload;
+		}
+		catch (IOException | RuntimeException ex) {
+			uploadMetrics.recordFailure(fileField, System.nanoTime() - start);
+			throw ex;
+		}
+	}
+
 	private Long resolveUserId(Long userIdParam, Principal principal) {
-		User currentUser = requireAuthenticatedUser(principal);
+		return resolveUserId(userIdParam, requireAuthenticatedUser(principal));
+	}
+
+	private Long resolveUserId(Long userIdParam, User currentUser) {
 		if ("ADMIN".equals(currentUser.getRole())) {
 			return userIdParam != null ? userIdParam : currentUser.getUserId();
 		}
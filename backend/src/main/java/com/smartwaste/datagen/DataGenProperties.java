@@ -0,0 +1,88 @@
+package com.smartwaste.datagen;
+
+import java.time.LocalDateTime;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Synthetic dataset settings bound from {@code datagen.*} properties (datagen profile only).
+ *
+ * <pre>
+ * datagen.seed=42
+ * datagen.users=1000000
+ * datagen.requests=10000000
+ * datagen.threads=8
+ * </pre>
+ */
+@Component
+@Profile("datagen")
+@ConfigurationProperties(prefix = "datagen")
+public class DataGenProperties {
+
+	private long seed = 42;
+
+	/** Clock the lifecycles are evaluated against; defaults to now. Fix it for repeatable runs. */
+	private LocalDateTime referenceTime;
+
+	/** Requests are spread over this many days before the reference time. */
+	private int days = 180;
+
+	private int zones = 50;
+
+	private int collectorsPerZone = 10;
+
+	private int users = 1_000_000;
+
+	private long requests = 10_000_000;
+
+	/** Writer threads; each holds one pooled connection, so keep it within the pool size. */
+	private int threads = 8;
+
+	/** Rows per unit of work. Each chunk has its own random stream, so this is part of the seed. */
+	private int chunkSize = 50_000;
+
+	/** Rows per multi-row INSERT statement. */
+	private int rowsPerStatement = 1_000;
+
+	/** Monthly eco score snapshots per user, the latest at the reference time. */
+	private int ecoScoreSnapshots = 3;
+
+	/** Share of users with enough points who redeem at least one reward. */
+	private double redemptionRate = 0.3;
+
+	/** Password of every generated login (hashed once). */
+	private String password = "DataGen@123";
+
+	/** Stop the application when generation is done. */
+	private boolean exitOnFinish = true;
+
+	public long getSeed() { return seed; }
+	public void setSeed(long seed) { this.seed = seed; }
+	public LocalDateTime getReferenceTime() { return referenceTime; }
+	public void setReferenceTime(LocalDateTime referenceTime) { this.referenceTime = referenceTime; }
+	public int getDays() { return days; }
+	public void setDays(int days) { this.days = days; }
+	public int getZones() { return zones; }
+	public void setZones(int zones) { this.zones = zones; }
+	public int getCollectorsPerZone() { return collectorsPerZone; }
+	public void setCollectorsPerZone(int collectorsPerZone) { this.collectorsPerZone = collectorsPerZone; }
+	public int getUsers() { return users; }
+	public void setUsers(int users) { this.users = users; }
+	public long getRequests() { return requests; }
+	public void setRequests(long requests) { this.requests = requests; }
+	public int getThreads() { return threads; }
+	public void setThreads(int threads) { this.threads = threads; }
+	public int getChunkSize() { return chunkSize; }
+	public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+	public int getRowsPerStatement() { return rowsPerStatement; }
+	public void setRowsPerStatement(int rowsPerStatement) { this.rowsPerStatement = rowsPerStatement; }
+	public int getEcoScoreSnapshots() { return ecoScoreSnapshots; }
+	public void setEcoScoreSnapshots(int ecoScoreSnapshots) { this.ecoScoreSnapshots = ecoScoreSnapshots; }
+	public double getRedemptionRate() { return redemptionRate; }
+	public void setRedemptionRate(double redemptionRate) { this.redemptionRate = redemptionRate; }
+	public String getPassword() { return password; }
+	public void setPassword(String password) { this.password = password; }
+	public boolean isExitOnFinish() { return exitOnFinish; }
+	public void setExitOnFinish(boolean exitOnFinish) { this.exitOnFinish = exitOnFinish; }
+}
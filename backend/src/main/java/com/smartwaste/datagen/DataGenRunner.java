@@ -0,0 +1,40 @@
+package com.smartwaste.datagen;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link SyntheticDataGenerator} when the backend is started with the datagen profile:
+ *
+ * <pre>
+ * java -jar backend-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=datagen --datagen.requests=10000000
+ * </pre>
+ *
+ * The JVM exits when generation is done (datagen.exit-on-finish), before the application-ready
+ * listeners would load the new rows into the in-memory indexes.
+ */
+@Component
+@Profile("datagen")
+public class DataGenRunner implements CommandLineRunner {
+
+	private final SyntheticDataGenerator generator;
+	private final DataGenProperties properties;
+	private final ConfigurableApplicationContext context;
+
+	public DataGenRunner(SyntheticDataGenerator generator, DataGenProperties properties, ConfigurableApplicationContext context) {
+		this.generator = generator;
+		this.properties = properties;
+		this.context = context;
+	}
+
+	@Override
+	public void run(String... args) {
+		generator.generate();
+		if (properties.isExitOnFinish()) {
+			System.exit(SpringApplication.exit(context, () -> 0));
+		}
+	}
+}
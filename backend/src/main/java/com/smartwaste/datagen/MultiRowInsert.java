@@ -0,0 +1,72 @@
+package com.smartwaste.datagen;
+
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@code INSERT INTO t (a, b) VALUES (?, ?), (?, ?), ...} for a fixed column list. One round
+ * trip and one statement parse per group of rows, which is what makes bulk loads fast on MySQL
+ * without relying on the driver's rewriteBatchedStatements.
+ */
+final class MultiRowInsert {
+
+	// MySQL allows at most 65535 placeholders per prepared statement
+	private static final int MAX_PLACEHOLDERS = 65_535;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String prefix;
+	private final String rowPlaceholders;
+	private final int columns;
+	private final int rowsPerStatement;
+	private final String fullStatement;
+
+	MultiRowInsert(JdbcTemplate jdbcTemplate, String table, List<String> columns, int rowsPerStatement) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+		this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+		this.columns = columns.size();
+		this.rowsPerStatement = Math.max(1, Math.min(rowsPerStatement, MAX_PLACEHOLDERS / columns.size()));
+		this.fullStatement = statement(this.rowsPerStatement);
+	}
+
+	int getRowsPerStatement() {
+		return rowsPerStatement;
+	}
+
+	/**
+	 * Insert the rows (each with one value per column) and clear the list.
+	 */
+	void flush(List<Object[]> rows) {
+		for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+			int count = Math.min(rowsPerStatement, rows.size() - from);
+			Object[] args = new Object[count * columns];
+			for (int i = 0; i < count; i++) {
+				System.arraycopy(rows.get(from + i), 0, args, i * columns, columns);
+			}
+			jdbcTemplate.update(count == rowsPerStatement ? fullStatement : statement(count), args);
+		}
+		rows.clear();
+	}
+
+	/**
+	 * Flush once a full statement's worth of rows has been collected.
+	 */
+	void flushIfFull(List<Object[]> rows) {
+		if (rows.size() >= rowsPerStatement) {
+			flush(rows);
+		}
+	}
+
+	private String statement(int rows) {
+		StringBuilder sql = new StringBuilder(prefix.length() + rows * (rowPlaceholders.length() + 2));
+		sql.append(prefix);
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				sql.append(", ");
+			}
+			sql.append(rowPlaceholders);
+		}
+		return sql.toString();
+	}
+}
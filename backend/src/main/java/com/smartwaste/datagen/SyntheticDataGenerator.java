@@ -0,0 +1,688 @@
+package com.smartwaste.datagen;
+
+import com.smartwaste.entity.MLPrediction;
+import com.smartwaste.entity.User;
+import com.smartwaste.entity.UserEcoScore;
+import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.entity.WasteRequestStatus;
+import com.smartwaste.entity.Zone;
+import com.smartwaste.service.WasteRequestService;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends a synthetic, internally consistent dataset for capacity planning: zones, users,
+ * collectors (with COLLECTOR logins), waste requests whose status, collector and timestamps
+ * follow the request lifecycle up to the reference time, the reward transactions, balances and
+ * collector earnings that result from collections, redemptions, eco score snapshots and daily
+ * per-zone predictions.
+ *
+ * <p>Rows get explicit ids above the current maximum, so every phase knows its foreign keys
+ * without reading back what it wrote. Each phase is split into chunks with their own random
+ * stream (seed, phase, chunk number) and written with multi-row INSERTs from a thread pool, so
+ * the content does not depend on the thread count or scheduling.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+	// schema.sql's waste_type ENUM has no HAZARDOUS
+	private static final String[] WASTE_TYPES = {"ORGANIC", "PLASTIC", "PAPER", "METAL", "E_WASTE"};
+	private static final int[] WASTE_TYPE_CUMULATIVE_PERCENT = {35, 60, 80, 90, 100};
+
+	private static final double BASE_LATITUDE = 12.85;
+	private static final double BASE_LONGITUDE = 77.45;
+	private static final double ZONE_SPAN = 0.05;
+
+	// Phase numbers keep the random streams of different phases independent
+	private static final int PHASE_USERS = 1;
+	private static final int PHASE_REQUESTS = 2;
+	private static final int PHASE_REDEMPTIONS = 3;
+	private static final int PHASE_ECO_SCORES = 4;
+	private static final int PHASE_PREDICTIONS = 5;
+
+	private static final List<String> USER_COLUMNS =
+		List.of("user_id", "name", "email", "password_hash", "role", "points", "created_at");
+	private static final List<String> ZONE_COLUMNS = List.of("zone_id", "zone_name", "city", "state",
+		"min_latitude", "min_longitude", "max_latitude", "max_longitude", "centroid_latitude", "centroid_longitude");
+	private static final List<String> COLLECTOR_COLUMNS = List.of("collector_id", "name", "email", "contact",
+		"vehicle_number", "zone_id", "is_active", "total_earnings");
+	private static final List<String> REQUEST_COLUMNS = List.of("request_id", "user_id", "collector_id", "zone_id",
+		"waste_type", "weight_kg", "status", "pickup_address", "latitude", "longitude", "scheduled_time",
+		"collected_time", "reward_points", "request_date", "updated_at");
+	private static final List<String> TRANSACTION_COLUMNS = List.of("user_id", "request_id", "points_added",
+		"points_spent", "transaction_type", "description", "created_at");
+	private static final List<String> REDEMPTION_COLUMNS =
+		List.of("user_id", "reward_id", "points_used", "status", "created_at", "fulfilled_at");
+	private static final List<String> ECO_SCORE_COLUMNS = List.of("user_id", "eco_score", "activity_score",
+		"segregation_score", "frequency_score", "weight_score", "user_activity", "segregation_accuracy",
+		"request_frequency", "avg_weight", "calculated_date");
+	private static final List<String> PREDICTION_COLUMNS = List.of("zone_id", "predicted_waste_kg",
+		"historical_waste_kg", "day_of_week", "month", "prediction_date");
+
+	// Tables whose entities take ids from id_generators (table, id column); rows here get
+	// AUTO_INCREMENT ids, so the backend's next allocation has to start above them
+	private static final String[][] ID_GENERATOR_TABLES = {
+		{"reward_transactions", "transaction_id"},
+		{"ml_classifications", "classification_id"},
+		{"ml_predictions", "prediction_id"},
+		{"user_eco_scores", "score_id"}
+	};
+
+	// Same items as database/seed_reward_catalog.sql, used when the catalog is empty
+	private static final Object[][] DEFAULT_REWARDS = {
+		{"Reusable Bottle", 10, "Stainless steel reusable water bottle."},
+		{"Cloth Bag", 12, "Reusable cotton shopping bag."},
+		{"Small Dustbin", 20, "Compact dry/wet segregation dustbin."},
+		{"Plant Sapling", 15, "Native plant sapling with care instructions."}
+	};
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PasswordEncoder passwordEncoder;
+	private final DataGenProperties properties;
+
+	public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, DataGenProperties properties) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.passwordEncoder = passwordEncoder;
+		this.properties = properties;
+	}
+
+	/**
+	 * Generate the configured dataset.
+	 *
+	 * @return rows written per table, in insertion order
+	 */
+	public Map<String, Long> generate() {
+		validate();
+		LocalDateTime end = properties.getReferenceTime() != null
+			? properties.getReferenceTime()
+			: LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+		ExecutorService pool = Executors.newFixedThreadPool(properties.getThreads());
+		try {
+			return new Run(end, pool).execute();
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void validate() {
+		if (properties.getZones() <= 0 || properties.getCollectorsPerZone() <= 0 || properties.getUsers() <= 0) {
+			throw new IllegalArgumentException("datagen.zones, datagen.collectors-per-zone and datagen.users must be positive");
+		}
+		if (properties.getRequests() < 0 || properties.getDays() <= 0) {
+			throw new IllegalArgumentException("datagen.requests must not be negative and datagen.days must be positive");
+		}
+		if (properties.getThreads() <= 0 || properties.getChunkSize() <= 0 || properties.getRowsPerStatement() <= 0) {
+			throw new IllegalArgumentException("datagen.threads, datagen.chunk-size and datagen.rows-per-statement must be positive");
+		}
+	}
+
+	/**
+	 * State of one generation run: id bases, the reference clock and the per-user, per-collector
+	 * and per-zone-day totals that later phases derive their rows from.
+	 */
+	private final class Run {
+
+		private final LocalDateTime end;
+		private final ExecutorService pool;
+		private final int zones;
+		private final int users;
+		private final int collectors;
+		private final int days;
+		private final int chunkSize;
+		private final long zoneBase;
+		private final long userBase;
+		private final long collectorBase;
+		private final long requestBase;
+		private final int zoneColumns;
+
+		private final AtomicLongArray pointsEarned;
+		private final int[] pointsSpent;
+		private final AtomicIntegerArray requestCounts;
+		private final AtomicLongArray requestedWeightTenths;
+		private final AtomicLongArray collectorEarningsPaise;
+		private final AtomicLongArray zoneDayCollectedTenths;
+		private final Map<String, Long> written = new LinkedHashMap<>();
+
+		Run(LocalDateTime end, ExecutorService pool) {
+			this.end = end;
+			this.pool = pool;
+			this.zones = properties.getZones();
+			this.users = properties.getUsers();
+			this.collectors = properties.getZones() * properties.getCollectorsPerZone();
+			this.days = properties.getDays();
+			this.chunkSize = properties.getChunkSize();
+			this.zoneBase = maxId("zones", "zone_id");
+			this.userBase = maxId("users", "user_id");
+			this.collectorBase = maxId("collectors", "collector_id");
+			this.requestBase = maxId("waste_requests", "request_id");
+			this.zoneColumns = (int) Math.ceil(Math.sqrt(zones));
+
+			this.pointsEarned = new AtomicLongArray(users);
+			this.pointsSpent = new int[users];
+			this.requestCounts = new AtomicIntegerArray(users);
+			this.requestedWeightTenths = new AtomicLongArray(users);
+			this.collectorEarningsPaise = new AtomicLongArray(collectors);
+			this.zoneDayCollectedTenths = new AtomicLongArray(zones * days);
+		}
+
+		Map<String, Long> execute() {
+			logger.info("Generating {} users, {} collectors in {} zones and {} requests over {} days up to {} (seed {})",
+				users, collectors, zones, properties.getRequests(), days, end, properties.getSeed());
+			long start = System.nanoTime();
+			String passwordHash = passwordEncoder.encode(properties.getPassword());
+
+			phase("zones", this::insertZones);
+			phase("users", () -> parallel(chunks(users), chunk -> insertUsers(chunk, passwordHash)));
+			phase("collectors", () -> insertCollectors(passwordHash));
+			List<Reward> rewards = rewardCatalog();
+			phase("waste_requests", () -> parallel(chunks(properties.getRequests()), this::insertRequests));
+			phase("redemption_requests", () -> parallel(chunks(users), chunk -> insertRedemptions(chunk, rewards)));
+			phase("balances", () -> parallel(chunks(users), this::updateBalances) + updateEarnings());
+			phase("user_eco_scores", () -> parallel(chunks(users), this::insertEcoScores));
+			phase("ml_predictions", this::insertPredictions);
+			syncIdGenerators();
+
+			logger.info("Synthetic dataset complete in {} s: {}", (System.nanoTime() - start) / 1_000_000_000, written);
+			return written;
+		}
+
+		private void phase(String name, PhaseBody body) {
+			long start = System.nanoTime();
+			long rows = body.run();
+			double seconds = (System.nanoTime() - start) / 1e9;
+			written.merge(name, rows, Long::sum);
+			logger.info("{}: {} rows in {} s ({} rows/s)", name, rows, Math.round(seconds * 10) / 10.0,
+				seconds > 0 ? Math.round(rows / seconds) : rows);
+		}
+
+		private long insertZones() {
+			MultiRowInsert insert = insert("zones", ZONE_COLUMNS);
+			List<Object[]> rows = new ArrayList<>();
+			for (int z = 0; z < zones; z++) {
+				Zone zone = new Zone();
+				double minLatitude = BASE_LATITUDE + (z / zoneColumns) * ZONE_SPAN;
+				double minLongitude = BASE_LONGITUDE + (z % zoneColumns) * ZONE_SPAN;
+				zone.setZoneId(zoneBase + 1 + z);
+				zone.setZoneName("Synthetic Zone " + zone.getZoneId());
+				zone.setCity("Bengaluru");
+				zone.setState("Karnataka");
+				zone.setMinLatitude(minLatitude);
+				zone.setMinLongitude(minLongitude);
+				zone.setMaxLatitude(minLatitude + ZONE_SPAN);
+				zone.setMaxLongitude(minLongitude + ZONE_SPAN);
+				zone.setCentroidLatitude(minLatitude + ZONE_SPAN / 2);
+				zone.setCentroidLongitude(minLongitude + ZONE_SPAN / 2);
+				rows.add(new Object[] {
+					zone.getZoneId(), zone.getZoneName(), zone.getCity(), zone.getState(),
+					zone.getMinLatitude(), zone.getMinLongitude(), zone.getMaxLatitude(), zone.getMaxLongitude(),
+					zone.getCentroidLatitude(), zone.getCentroidLongitude()
+				});
+				insert.flushIfFull(rows);
+			}
+			insert.flush(rows);
+			return zones;
+		}
+
+		/**
+		 * Points start at 0 and are set by {@link #updateBalances} once requests and redemptions
+		 * are known; the rows have to exist first for the foreign keys.
+		 */
+		private long insertUsers(int chunk, String passwordHash) {
+			SplittableRandom random = random(PHASE_USERS, chunk);
+			MultiRowInsert insert = insert("users", USER_COLUMNS);
+			List<Object[]> rows = new ArrayList<>();
+			int first = chunk * chunkSize;
+			int last = (int) Math.min((long) first + chunkSize, users);
+			for (int u = first; u < last; u++) {
+				User user = new User();
+				user.setUserId(userBase + 1 + u);
+				user.setName("Synthetic User " + user.getUserId());
+				user.setEmail("datagen-user-" + user.getUserId() + "@example.com");
+				user.setPasswordHash(passwordHash);
+				user.setRole("USER");
+				user.setPoints(0);
+				// Signed up before the generated history or during its first half
+				user.setCreatedAt(end.minusDays(days / 2 + random.nextInt(days / 2 + 180)).minusMinutes(random.nextInt(24 * 60)));
+				rows.add(userRow(user));
+				insert.flushIfFull(rows);
+			}
+			insert.flush(rows);
+			return last - first;
+		}
+
+		/**
+		 * Collector i serves zone i % zones and signs in with a COLLECTOR account of the same email.
+		 */
+		private long insertCollectors(String passwordHash) {
+			MultiRowInsert userInsert = insert("users", USER_COLUMNS);
+			MultiRowInsert collectorInsert = insert("collectors", COLLECTOR_COLUMNS);
+			List<Object[]> userRows = new ArrayList<>();
+			List<Object[]> collectorRows = new ArrayList<>();
+			for (int c = 0; c < collectors; c++) {
+				long collectorId = collectorBase + 1 + c;
+				String name = "Synthetic Collector " + collectorId;
+				String email = "datagen-collector-" + collectorId + "@example.com";
+				User user = new User();
+				user.setUserId(userBase + users + 1 + c);
+				user.setName(name);
+				user.setEmail(email);
+				user.setPasswordHash(passwordHash);
+				user.setRole("COLLECTOR");
+				user.setPoints(0);
+				user.setCreatedAt(end.minusDays(days + 30));
+				userRows.add(userRow(user));
+				collectorRows.add(new Object[] {
+					collectorId, name, email, "0000000000", "DG-" + collectorId, zoneBase + 1 + c % zones, true, 0.0
+				});
+				userInsert.flushIfFull(userRows);
+				collectorInsert.flushIfFull(collectorRows);
+			}
+			userInsert.flush(userRows);
+			collectorInsert.flush(collectorRows);
+			return collectors;
+		}
+
+		/**
+		 * Active rewards, cheapest first. An empty catalog gets the default items so redemptions
+		 * have something to point at.
+		 */
+		private List<Reward> rewardCatalog() {
+			Long active = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reward_catalog WHERE active = TRUE", Long.class);
+			if (active == null || active == 0) {
+				MultiRowInsert insert = insert("reward_catalog", List.of("reward_name", "points_required", "details", "active"));
+				List<Object[]> rows = new ArrayList<>();
+				for (Object[] reward : DEFAULT_REWARDS) {
+					rows.add(new Object[] {reward[0], reward[1], reward[2], true});
+				}
+				insert.flush(rows);
+				written.put("reward_catalog", (long) DEFAULT_REWARDS.length);
+			}
+			return jdbcTemplate.query(
+				"SELECT reward_id, reward_name, points_required FROM reward_catalog "
+					+ "WHERE active = TRUE AND points_required > 0 ORDER BY points_required",
+				(rs, rowNum) -> new Reward(rs.getLong(1), rs.getString(2), rs.getInt(3))
+			);
+		}
+
+		/**
+		 * One chunk of requests plus the ADD transaction of each collected one. A few users create
+		 * most requests, mostly in their home zone; the status is wherever the request's
+		 * lifecycle has got to at the reference time, so recent requests are still open.
+		 */
+		private long insertRequests(int chunk) {
+			SplittableRandom random = random(PHASE_REQUESTS, chunk);
+			MultiRowInsert requestInsert = insert("waste_requests", REQUEST_COLUMNS);
+			MultiRowInsert transactionInsert = insert("reward_transactions", TRANSACTION_COLUMNS);
+			List<Object[]> requestRows = new ArrayList<>();
+			List<Object[]> transactionRows = new ArrayList<>();
+			long first = (long) chunk * chunkSize;
+			long last = Math.min(first + chunkSize, properties.getRequests());
+			for (long i = first; i < last; i++) {
+				int user = (int) (users * Math.pow(random.nextDouble(), 2));
+				int zone = random.nextInt(10) < 9 ? user % zones : random.nextInt(zones);
+				int collector = zone + zones * random.nextInt(properties.getCollectorsPerZone());
+
+				WasteRequest request = new WasteRequest();
+				request.setRequestId(requestBase + 1 + i);
+				request.setUserId(userBase + 1 + user);
+				request.setZoneId(zoneBase + 1 + zone);
+				request.setWasteType(wasteType(random));
+				request.setWeightKg(Math.min(50.0, Math.max(0.5, Math.round(Math.exp(1.6 + 0.6 * random.nextGaussian()) * 10) / 10.0)));
+				request.setPickupAddress("Street " + random.nextInt(500) + ", Synthetic Zone " + request.getZoneId());
+				request.setLatitude(BASE_LATITUDE + (zone / zoneColumns + random.nextDouble()) * ZONE_SPAN);
+				request.setLongitude(BASE_LONGITUDE + (zone % zoneColumns + random.nextDouble()) * ZONE_SPAN);
+				// Daytime submissions spread over the whole window
+				LocalDateTime createdAt = end.toLocalDate().minusDays(random.nextInt(days)).atTime(6, 0)
+					.plusSeconds(random.nextInt(16 * 3600));
+				if (createdAt.isAfter(end)) {
+					createdAt = createdAt.minusDays(1);
+				}
+				request.setCreatedAt(createdAt);
+				LocalDateTime updatedAt = applyLifecycle(request, collectorBase + 1 + collector, random);
+
+				requestCounts.incrementAndGet(user);
+				requestedWeightTenths.addAndGet(user, Math.round(request.getWeightKg() * 10));
+				if (request.getStatus() == WasteRequestStatus.COLLECTED) {
+					int points = WasteRequestService.calculatePoints(request.getWasteType());
+					request.setRewardPoints(points);
+					pointsEarned.addAndGet(user, points);
+					collectorEarningsPaise.addAndGet(collector,
+						Math.round(WasteRequestService.calculateCollectorEarnings(request.getWeightKg()) * 100));
+					int day = (int) ChronoUnit.DAYS.between(request.getCollectedTime().toLocalDate(), end.toLocalDate());
+					if (day < days) {
+						zoneDayCollectedTenths.addAndGet(zone * days + day, Math.round(request.getWeightKg() * 10));
+					}
+					transactionRows.add(new Object[] {
+						request.getUserId(), request.getRequestId(), points, 0, "ADD",
+						"Waste request #" + request.getRequestId() + " (" + request.getWasteType() + ") collected - " + points + " points",
+						timestamp(request.getCollectedTime())
+					});
+				}
+				requestRows.add(new Object[] {
+					request.getRequestId(), request.getUserId(), request.getCollectorId(), request.getZoneId(),
+					request.getWasteType(), request.getWeightKg(), request.getLegacyStatus(), request.getPickupAddress(),
+					request.getLatitude(), request.getLongitude(), timestamp(request.getScheduledTime()),
+					timestamp(request.getCollectedTime()), request.getRewardPoints(), timestamp(createdAt), timestamp(updatedAt)
+				});
+				if (requestRows.size() >= requestInsert.getRowsPerStatement()) {
+					// Requests before their transactions, for the request_id foreign key
+					requestInsert.flush(requestRows);
+					transactionInsert.flushIfFull(transactionRows);
+				}
+			}
+			requestInsert.flush(requestRows);
+			transactionInsert.flush(transactionRows);
+			return last - first;
+		}
+
+		/**
+		 * Auto-assignment within two hours, pickup within a day, collection within three hours of
+		 * starting. About 4% are rejected before assignment and 3% stall (the SLA monitor's overdue
+		 * requests).
+		 *
+		 * @return the time of the last status change, for updated_at
+		 */
+		private LocalDateTime applyLifecycle(WasteRequest request, long collectorId, SplittableRandom random) {
+			LocalDateTime createdAt = request.getCreatedAt();
+			LocalDateTime assignedAt = createdAt.plusMinutes(5 + random.nextInt(115));
+			LocalDateTime startedAt = assignedAt.plusMinutes(60 + random.nextInt(23 * 60));
+			LocalDateTime collectedAt = startedAt.plusMinutes(10 + random.nextInt(170));
+			int outcome = random.nextInt(100);
+
+			request.setStatus(WasteRequestStatus.CREATED);
+			if (outcome < 4) {
+				LocalDateTime rejectedAt = createdAt.plusMinutes(30 + random.nextInt(47 * 60));
+				if (rejectedAt.isAfter(end)) {
+					return createdAt;
+				}
+				request.setStatus(WasteRequestStatus.CLOSED);
+				return rejectedAt;
+			}
+			WasteRequestStatus stallsAt = outcome < 6
+				? WasteRequestStatus.ASSIGNED
+				: outcome < 7 ? WasteRequestStatus.IN_PROGRESS : WasteRequestStatus.COLLECTED;
+			if (assignedAt.isAfter(end)) {
+				return createdAt;
+			}
+			request.setStatus(WasteRequestStatus.ASSIGNED);
+			request.setCollectorId(collectorId);
+			request.setScheduledTime(startedAt.truncatedTo(ChronoUnit.HOURS));
+			if (stallsAt == WasteRequestStatus.ASSIGNED || startedAt.isAfter(end)) {
+				return assignedAt;
+			}
+			request.setStatus(WasteRequestStatus.IN_PROGRESS);
+			if (stallsAt == WasteRequestStatus.IN_PROGRESS || collectedAt.isAfter(end)) {
+				return startedAt;
+			}
+			request.setStatus(WasteRequestStatus.COLLECTED);
+			request.setCollectedTime(collectedAt);
+			return collectedAt;
+		}
+
+		/**
+		 * Some users with enough points redeem up to three affordable rewards; most redemptions
+		 * older than a few days are fulfilled. Each one has its REDEEM transaction.
+		 */
+		private long insertRedemptions(int chunk, List<Reward> rewards) {
+			if (rewards.isEmpty()) {
+				return 0;
+			}
+			SplittableRandom random = random(PHASE_REDEMPTIONS, chunk);
+			MultiRowInsert redemptionInsert = insert("redemption_requests", REDEMPTION_COLUMNS);
+			MultiRowInsert transactionInsert = insert("reward_transactions", TRANSACTION_COLUMNS);
+			List<Object[]> redemptionRows = new ArrayList<>();
+			List<Object[]> transactionRows = new ArrayList<>();
+			int cheapest = rewards.get(0).points();
+			long count = 0;
+			int first = chunk * chunkSize;
+			int last = (int) Math.min((long) first + chunkSize, users);
+			for (int u = first; u < last; u++) {
+				long balance = pointsEarned.get(u);
+				if (balance < cheapest || random.nextDouble() >= properties.getRedemptionRate()) {
+					continue;
+				}
+				int redemptions = 1 + random.nextInt(3);
+				for (int r = 0; r < redemptions && balance >= cheapest; r++) {
+					Reward reward = rewards.get(random.nextInt(rewards.size()));
+					if (reward.points() > balance) {
+						reward = rewards.get(0);
+					}
+					balance -= reward.points();
+					pointsSpent[u] += reward.points();
+					LocalDateTime createdAt = end.minusMinutes(1 + random.nextInt(Math.max(1, days / 2) * 24 * 60));
+					LocalDateTime fulfilledAt = createdAt.plusHours(12 + random.nextInt(7 * 24));
+					boolean fulfilled = random.nextInt(10) < 8 && !fulfilledAt.isAfter(end);
+					redemptionRows.add(new Object[] {
+						userBase + 1 + u, reward.id(), reward.points(), fulfilled ? "FULFILLED" : "REQUESTED",
+						timestamp(createdAt), fulfilled ? timestamp(fulfilledAt) : null
+					});
+					transactionRows.add(new Object[] {
+						userBase + 1 + u, null, 0, reward.points(), "REDEEM",
+						"Redeemed '" + reward.name() + "' (reward #" + reward.id() + ")", timestamp(createdAt)
+					});
+					count++;
+				}
+				redemptionInsert.flushIfFull(redemptionRows);
+				transactionInsert.flushIfFull(transactionRows);
+			}
+			redemptionInsert.flush(redemptionRows);
+			transactionInsert.flush(transactionRows);
+			return count;
+		}
+
+		private long updateBalances(int chunk) {
+			List<Object[]> updates = new ArrayList<>();
+			int first = chunk * chunkSize;
+			int last = (int) Math.min((long) first + chunkSize, users);
+			for (int u = first; u < last; u++) {
+				long points = pointsEarned.get(u) - pointsSpent[u];
+				if (points != 0) {
+					updates.add(new Object[] {points, userBase + 1 + u});
+				}
+			}
+			if (!updates.isEmpty()) {
+				jdbcTemplate.batchUpdate("UPDATE users SET points = ? WHERE user_id = ?", updates);
+			}
+			return updates.size();
+		}
+
+		private long updateEarnings() {
+			List<Object[]> updates = new ArrayList<>();
+			for (int c = 0; c < collectors; c++) {
+				updates.add(new Object[] {collectorEarningsPaise.get(c) / 100.0, collectorBase + 1 + c});
+			}
+			jdbcTemplate.batchUpdate("UPDATE collectors SET total_earnings = ? WHERE collector_id = ?", updates);
+			return updates.size();
+		}
+
+		/**
+		 * Monthly snapshots per user that had any requests, from the same totals scaled back to
+		 * the share of the window that had passed at each snapshot.
+		 */
+		private long insertEcoScores(int chunk) {
+			SplittableRandom random = random(PHASE_ECO_SCORES, chunk);
+			MultiRowInsert insert = insert("user_eco_scores", ECO_SCORE_COLUMNS);
+			List<Object[]> rows = new ArrayList<>();
+			long count = 0;
+			int first = chunk * chunkSize;
+			int last = (int) Math.min((long) first + chunkSize, users);
+			for (int u = first; u < last; u++) {
+				int requests = requestCounts.get(u);
+				if (requests == 0) {
+					continue;
+				}
+				double avgWeight = requestedWeightTenths.get(u) / 10.0 / requests;
+				double accuracy = 0.6 + random.nextDouble() * 0.4;
+				for (int s = properties.getEcoScoreSnapshots() - 1; s >= 0; s--) {
+					double share = Math.max(0.0, 1.0 - 30.0 * s / days);
+					int activity = (int) Math.round(requests * share);
+					if (activity == 0) {
+						continue;
+					}
+					UserEcoScore score = new UserEcoScore();
+					score.setUserId(userBase + 1 + u);
+					score.setUserActivity(activity);
+					score.setAvgWeight(round2(Math.min(avgWeight, 999.99)));
+					score.setRequestFrequency(round2(Math.min(activity / Math.max(1.0, days * share / 7.0), 999.99)));
+					score.setSegregationAccuracy(round2(Math.min(1.0, accuracy + random.nextDouble() * 0.05)));
+					score.setActivityScore(round2(Math.min(100.0, activity * 5.0)));
+					score.setSegregationScore(round2(score.getSegregationAccuracy() * 100));
+					score.setFrequencyScore((int) Math.min(100, Math.round(score.getRequestFrequency() * 20)));
+					score.setWeightScore((int) Math.min(100, Math.round(avgWeight * 5)));
+					score.setEcoScore((int) Math.round(0.3 * score.getActivityScore() + 0.3 * score.getSegregationScore()
+						+ 0.2 * score.getFrequencyScore() + 0.2 * score.getWeightScore()));
+					score.setCalculatedDate(end.minusDays(30L * s));
+					rows.add(new Object[] {
+						score.getUserId(), score.getEcoScore(), score.getActivityScore(), score.getSegregationScore(),
+						score.getFrequencyScore(), score.getWeightScore(), score.getUserActivity(), score.getSegregationAccuracy(),
+						score.getRequestFrequency(), score.getAvgWeight(), timestamp(score.getCalculatedDate())
+					});
+					insert.flushIfFull(rows);
+					count++;
+				}
+			}
+			insert.flush(rows);
+			return count;
+		}
+
+		/**
+		 * One prediction per zone per day, within ±15% of what was actually collected that day.
+		 */
+		private long insertPredictions() {
+			SplittableRandom random = random(PHASE_PREDICTIONS, 0);
+			MultiRowInsert insert = insert("ml_predictions", PREDICTION_COLUMNS);
+			List<Object[]> rows = new ArrayList<>();
+			for (int z = 0; z < zones; z++) {
+				for (int day = days - 1; day >= 0; day--) {
+					LocalDate date = end.toLocalDate().minusDays(day);
+					double historical = zoneDayCollectedTenths.get(z * days + day) / 10.0;
+					MLPrediction prediction = new MLPrediction();
+					prediction.setZoneId(zoneBase + 1 + z);
+					prediction.setHistoricalWasteKg(round2(historical));
+					prediction.setPredictedWasteKg(round2(historical * (0.85 + random.nextDouble() * 0.3)));
+					prediction.setDayOfWeek(date.getDayOfWeek().getValue());
+					prediction.setMonth(date.getMonthValue());
+					prediction.setPredictionDate(date.atTime(6, 0));
+					rows.add(new Object[] {
+						prediction.getZoneId(), prediction.getPredictedWasteKg(), prediction.getHistoricalWasteKg(),
+						prediction.getDayOfWeek(), prediction.getMonth(), timestamp(prediction.getPredictionDate())
+					});
+					insert.flushIfFull(rows);
+				}
+			}
+			insert.flush(rows);
+			return (long) zones * days;
+		}
+
+		private int chunks(long rows) {
+			return (int) ((rows + chunkSize - 1) / chunkSize);
+		}
+
+		/**
+		 * Run the chunks on the pool and wait for all of them; the first failure aborts the run.
+		 */
+		private long parallel(int chunks, IntFunction<Long> task) {
+			List<Future<Long>> futures = new ArrayList<>(chunks);
+			for (int chunk = 0; chunk < chunks; chunk++) {
+				int current = chunk;
+				futures.add(pool.submit(() -> task.apply(current)));
+			}
+			long rows = 0;
+			int done = 0;
+			for (Future<Long> future : futures) {
+				try {
+					rows += future.get();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while generating data", ex);
+				}
+				catch (ExecutionException ex) {
+					futures.forEach(f -> f.cancel(true));
+					throw new IllegalStateException("Data generation failed: " + ex.getCause().getMessage(), ex.getCause());
+				}
+				if (++done % Math.max(1, chunks / 10) == 0 && chunks >= 10) {
+					logger.info("  {}/{} chunks, {} rows", done, chunks, rows);
+				}
+			}
+			return rows;
+		}
+
+		private SplittableRandom random(int phase, int chunk) {
+			return new SplittableRandom(properties.getSeed() * 1_000_003L + phase * 0x9E3779B97F4A7C15L + chunk * 0xBF58476D1CE4E5B9L);
+		}
+
+		private MultiRowInsert insert(String table, List<String> columns) {
+			return new MultiRowInsert(jdbcTemplate, table, columns, properties.getRowsPerStatement());
+		}
+
+		private void syncIdGenerators() {
+			for (String[] table : ID_GENERATOR_TABLES) {
+				jdbcTemplate.update("INSERT IGNORE INTO id_generators (sequence_name, next_val) VALUES (?, 1)", table[0]);
+				jdbcTemplate.update("UPDATE id_generators SET next_val = GREATEST(next_val, ?) WHERE sequence_name = ?",
+					maxId(table[0], table[1]) + 1, table[0]);
+			}
+		}
+
+		private long maxId(String table, String column) {
+			Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table, Long.class);
+			return max != null ? max : 0L;
+		}
+	}
+
+	private static Object[] userRow(User user) {
+		return new Object[] {
+			user.getUserId(), user.getName(), user.getEmail(), user.getPasswordHash(),
+			user.getRole(), user.getPoints(), timestamp(user.getCreatedAt())
+		};
+	}
+
+	private static String wasteType(SplittableRandom random) {
+		int roll = random.nextInt(100);
+		for (int i = 0; i < WASTE_TYPES.length; i++) {
+			if (roll < WASTE_TYPE_CUMULATIVE_PERCENT[i]) {
+				return WASTE_TYPES[i];
+			}
+		}
+		return WASTE_TYPES[WASTE_TYPES.length - 1];
+	}
+
+	private static Timestamp timestamp(LocalDateTime value) {
+		return value != null ? Timestamp.valueOf(value) : null;
+	}
+
+	private static double round2(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+	private record Reward(long id, String name, int points) {}
+
+	@FunctionalInterface
+	private interface PhaseBody {
+		long run();
+	}
+}
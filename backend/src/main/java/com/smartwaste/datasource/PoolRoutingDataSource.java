@@ -0,0 +1,74 @@
+package com.smartwaste.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * The application's DataSource: hands out connections from the OLTP pool unless the current
+ * thread is inside a reporting call (see {@link ReportingPoolAspect}, which also explains why
+ * routing is per service and not by the transaction's read-only flag), so long report exports
+ * and dashboards cannot take the connections request creation needs.
+ *
+ * <p>With read replicas configured, reporting calls (read-only transactions) read from a
+ * healthy replica and fall back to the primary's reporting pool when none is available
+ * ({@link ReplicaSet}).
+ *
+ * <p>The pool is chosen when a connection is obtained, i.e. at transaction begin; calls that
+ * join an existing transaction keep that transaction's connection.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+
+	public enum Pool { OLTP, REPORTING }
+
+	private static final ThreadLocal<Pool> CURRENT = new ThreadLocal<>();
+
+	private final ReplicaSet replicas;
+
+	public PoolRoutingDataSource(DataSource oltp, DataSource reporting, ReplicaSet replicas) {
+		this.replicas = replicas;
+		setTargetDataSources(Map.of(Pool.OLTP, oltp, Pool.REPORTING, reporting));
+		setDefaultTargetDataSource(oltp);
+		afterPropertiesSet();
+	}
+
+	/**
+	 * Routes this thread's new connections to the given pool.
+	 *
+	 * @param pool the pool, or null for the default (OLTP)
+	 * @return the previous pool, to restore afterwards
+	 */
+	public static Pool use(Pool pool) {
+		Pool previous = CURRENT.get();
+		if (pool == null) {
+			CURRENT.remove();
+		}
+		else {
+			CURRENT.set(pool);
+		}
+		return previous;
+	}
+
+	public static Pool current() {
+		Pool pool = CURRENT.get();
+		return pool != null ? pool : Pool.OLTP;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (current() == Pool.REPORTING && !replicas.isEmpty()) {
+			Connection replica = replicas.getConnection();
+			if (replica != null) {
+				return replica;
+			}
+		}
+		return super.getConnection();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return current();
+	}
+}
@@ -0,0 +1,50 @@
+package com.smartwaste.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read replicas bound from {@code datasource.replicas.*} properties. No URLs means no replicas:
+ * reporting reads stay on the primary's reporting pool.
+ *
+ * <pre>
+ * datasource.replicas.urls=jdbc:mysql://replica1:3306/smart_waste,jdbc:mysql://replica2:3306/smart_waste
+ * datasource.replicas.max-lag=5s
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+	private List<String> urls = new ArrayList<>();
+
+	/** Defaults to spring.datasource.username/password. */
+	private String username;
+
+	private String password;
+
+	/** Connections per replica. */
+	private int poolSize = 4;
+
+	/** Short, so an unreachable replica falls back to the primary quickly. */
+	private Duration connectionTimeout = Duration.ofSeconds(2);
+
+	/** Replication lag above which a replica is taken out of rotation until it catches up. */
+	private Duration maxLag = Duration.ofSeconds(5);
+
+	public List<String> getUrls() { return urls; }
+	public void setUrls(List<String> urls) { this.urls = urls; }
+	public String getUsername() { return username; }
+	public void setUsername(String username) { this.username = username; }
+	public String getPassword() { return password; }
+	public void setPassword(String password) { this.password = password; }
+	public int getPoolSize() { return poolSize; }
+	public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+	public Duration getConnectionTimeout() { return connectionTimeout; }
+	public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+	public Duration getMaxLag() { return maxLag; }
+	public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+}
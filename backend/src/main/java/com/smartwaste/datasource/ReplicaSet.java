@@ -0,0 +1,193 @@
+package com.smartwaste.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The configured read replicas, each with its own HikariCP pool (pool "replica-N"), handed out
+ * round-robin among the healthy ones.
+ *
+ * <p>A replica is healthy when its last check connected and its replication lag
+ * (SHOW REPLICA STATUS, Seconds_Behind_Source) was within {@code max-lag}; a server that
+ * reports no replication status is taken as up to date. Replicas start out of rotation until
+ * their first check, and a failed connection attempt takes one out until the next check that
+ * passes. The check needs the REPLICATION CLIENT privilege.
+ *
+ * <p>Metrics: smartwaste.db.replica.up and smartwaste.db.replica.lag {replica},
+ * smartwaste.db.replica.fallbacks {reason} for reads sent to the primary instead.
+ */
+public class ReplicaSet implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReplicaSet.class);
+
+	private final List<Replica> replicas = new ArrayList<>();
+	private final AtomicInteger cursor = new AtomicInteger();
+	private final long maxLagSeconds;
+	private final Counter unavailableFallbacks;
+	private final Counter errorFallbacks;
+
+	/**
+	 * @param template pool settings shared with the primary's reporting pool (driver, driver
+	 *                 properties, timeouts, read-only)
+	 */
+	public ReplicaSet(ReplicaProperties properties, HikariConfig template, MeterRegistry meterRegistry) {
+		this.maxLagSeconds = properties.getMaxLag().toSeconds();
+		for (int i = 0; i < properties.getUrls().size(); i++) {
+			String name = "replica-" + (i + 1);
+			HikariConfig config = new HikariConfig();
+			config.setPoolName(name);
+			config.setJdbcUrl(properties.getUrls().get(i).trim());
+			config.setUsername(properties.getUsername() != null ? properties.getUsername() : template.getUsername());
+			config.setPassword(properties.getPassword() != null ? properties.getPassword() : template.getPassword());
+			if (template.getDriverClassName() != null) {
+				config.setDriverClassName(template.getDriverClassName());
+			}
+			config.setDataSourceProperties(template.getDataSourceProperties());
+			config.setMaximumPoolSize(properties.getPoolSize());
+			config.setMinimumIdle(1);
+			config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+			config.setValidationTimeout(template.getValidationTimeout());
+			config.setMaxLifetime(template.getMaxLifetime());
+			config.setKeepaliveTime(template.getKeepaliveTime());
+			config.setLeakDetectionThreshold(template.getLeakDetectionThreshold());
+			config.setReadOnly(true);
+			// Don't fail startup (or hold it up) when a replica is down
+			config.setInitializationFailTimeout(-1);
+			config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			Replica replica = new Replica(name, new HikariDataSource(config));
+			replicas.add(replica);
+			Gauge.builder("smartwaste.db.replica.up", replica, r -> r.healthy ? 1 : 0)
+				.description("1 while the replica is in rotation")
+				.tag("replica", name)
+				.register(meterRegistry);
+			Gauge.builder("smartwaste.db.replica.lag", replica, r -> r.lagSeconds)
+				.description("Replication lag at the last check (-1 if unknown)")
+				.tag("replica", name)
+				.baseUnit("seconds")
+				.register(meterRegistry);
+		}
+		this.unavailableFallbacks = fallbackCounter(meterRegistry, "unavailable");
+		this.errorFallbacks = fallbackCounter(meterRegistry, "error");
+	}
+
+	private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+		return Counter.builder("smartwaste.db.replica.fallbacks")
+			.description("Reporting reads sent to the primary because no replica could serve them")
+			.tag("reason", reason)
+			.register(meterRegistry);
+	}
+
+	public boolean isEmpty() {
+		return replicas.isEmpty();
+	}
+
+	/**
+	 * @return a connection from the next healthy replica, or null when none could give one
+	 */
+	Connection getConnection() {
+		int size = replicas.size();
+		int start = Math.floorMod(cursor.getAndIncrement(), size);
+		for (int i = 0; i < size; i++) {
+			Replica replica = replicas.get((start + i) % size);
+			if (!replica.healthy) {
+				continue;
+			}
+			try {
+				return replica.dataSource.getConnection();
+			}
+			catch (SQLException ex) {
+				replica.healthy = false;
+				errorFallbacks.increment();
+				logger.warn("Replica {} out of rotation: {}", replica.name, ex.getMessage());
+			}
+		}
+		unavailableFallbacks.increment();
+		return null;
+	}
+
+	@Scheduled(fixedDelayString = "${datasource.replicas.check-interval:PT10S}")
+	public void check() {
+		for (Replica replica : replicas) {
+			boolean wasHealthy = replica.healthy;
+			String problem = null;
+			try (Connection connection = replica.dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+				replica.lagSeconds = lagSeconds(statement);
+				if (replica.lagSeconds < 0) {
+					problem = "replication is not running";
+				}
+				else if (replica.lagSeconds > maxLagSeconds) {
+					problem = "lag " + replica.lagSeconds + "s over " + maxLagSeconds + "s";
+				}
+			}
+			catch (SQLException ex) {
+				replica.lagSeconds = -1;
+				problem = ex.getMessage();
+			}
+			replica.healthy = problem == null;
+			if (wasHealthy && !replica.healthy) {
+				logger.warn("Replica {} out of rotation: {}", replica.name, problem);
+			}
+			else if (!wasHealthy && replica.healthy) {
+				logger.info("Replica {} in rotation (lag {}s)", replica.name, replica.lagSeconds);
+			}
+		}
+	}
+
+	/**
+	 * @return seconds behind the source, 0 if the server isn't replicating from anything, -1 if
+	 *         replication is stopped or broken
+	 */
+	private static long lagSeconds(Statement statement) throws SQLException {
+		ResultSet status;
+		String column;
+		try {
+			status = statement.executeQuery("SHOW REPLICA STATUS");
+			column = "Seconds_Behind_Source";
+		}
+		catch (SQLException ex) {
+			// MySQL before 8.0.22 and MariaDB
+			status = statement.executeQuery("SHOW SLAVE STATUS");
+			column = "Seconds_Behind_Master";
+		}
+		try (ResultSet rows = status) {
+			if (!rows.next()) {
+				return 0;
+			}
+			long lag = rows.getLong(column);
+			return rows.wasNull() ? -1 : lag;
+		}
+	}
+
+	@Override
+	public void close() {
+		replicas.forEach(replica -> replica.dataSource.close());
+	}
+
+	private static final class Replica {
+
+		private final String name;
+		private final HikariDataSource dataSource;
+		private volatile boolean healthy;
+		private volatile long lagSeconds = -1;
+
+		private Replica(String name, HikariDataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+	}
+}
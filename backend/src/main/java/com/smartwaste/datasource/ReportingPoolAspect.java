@@ -0,0 +1,47 @@
+package com.smartwaste.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the analytics and report services to the reporting pool. Ordered before the
+ * transaction advice so the pool is chosen before the transaction takes its connection.
+ *
+ * <p>Routing is by service rather than by {@code TransactionSynchronizationManager
+ * .isCurrentTransactionReadOnly()} for two reasons:
+ * <ul>
+ *   <li>Spring Data runs its built-in repository reads (findById, findAll, ...) in read-only
+ *       transactions when no service transaction is active, so the flag would also move plain
+ *       OLTP lookups (a request, user or collector by ID) to the small reporting pool and to
+ *       lagging replicas, where a user may not see a request they just created.</li>
+ *   <li>JpaTransactionManager takes the connection before it publishes the read-only flag,
+ *       so the flag is not visible to the routing DataSource at that point.</li>
+ * </ul>
+ *
+ * <p>All other reads stay on the OLTP pool and the primary database. That includes the user,
+ * collector and admin request listings, the collector work queue, the periodic rebuilds of
+ * the spatial index, SLA timeline and collector load heaps (which need current data), and
+ * route planning. A read joining a transaction that began elsewhere keeps that transaction's
+ * connection. To move another read path, add its service here.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReportingPoolAspect {
+
+	@Around("execution(public * com.smartwaste.service.AnalyticsService.*(..))"
+		+ " || execution(public * com.smartwaste.service.ReportService.*(..))")
+	public Object useReportingPool(ProceedingJoinPoint joinPoint) throws Throwable {
+		PoolRoutingDataSource.Pool previous = PoolRoutingDataSource.use(PoolRoutingDataSource.Pool.REPORTING);
+		try {
+			return joinPoint.proceed();
+		}
+		finally {
+			PoolRoutingDataSource.use(previous);
+		}
+	}
+}
@@ -24,6 +24,10 @@ public class AdminWasteRequestDTO {
 	private int rewardPoints;
 	private String imageUrl;
 	private String collectorProofUrl;
+	private String imageThumbUrl;
+	private String imageWebUrl;
+	private String proofThumbUrl;
+	private String proofWebUrl;
 	private LocalDateTime createdAt;
 
 	// Getters and Setters
@@ -171,6 +175,38 @@ public class AdminWasteRequestDTO {
 		this.collectorProofUrl = collectorProofUrl;
 	}
 
+	public String getImageThumbUrl() {
+		return imageThumbUrl;
+	}
+
+	public void setImageThumbUrl(String imageThumbUrl) {
+		this.imageThumbUrl = imageThumbUrl;
+	}
+
+	public String getImageWebUrl() {
+		return imageWebUrl;
+	}
+
+	public void setImageWebUrl(String imageWebUrl) {
+		this.imageWebUrl = imageWebUrl;
+	}
+
+	public String getProofThumbUrl() {
+		return proofThumbUrl;
+	}
+
+	public void setProofThumbUrl(String proofThumbUrl) {
+		this.proofThumbUrl = proofThumbUrl;
+	}
+
+	public String getProofWebUrl() {
+		return proofWebUrl;
+	}
+
+	public void setProofWebUrl(String proofWebUrl) {
+		this.proofWebUrl = proofWebUrl;
+	}
+
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -0,0 +1,52 @@
+package com.smartwaste.dto;
+
+/**
+ * Outcome of an automatic assignment run over unassigned (CREATED) requests.
+ */
+public class AutoAssignmentResultDTO {
+	private int assignedCount;
+	private int noCollectorCount;
+	private int conflictCount;
+	private long durationMs;
+
+	public void incrementAssigned() {
+		assignedCount++;
+	}
+
+	public void incrementNoCollector() {
+		noCollectorCount++;
+	}
+
+	public void incrementConflict() {
+		conflictCount++;
+	}
+
+	/**
+	 * Requests assigned to the least loaded active collector of their zone.
+	 */
+	public int getAssignedCount() {
+		return assignedCount;
+	}
+
+	/**
+	 * Requests left unassigned because their zone has no active collector (or no zone).
+	 */
+	public int getNoCollectorCount() {
+		return noCollectorCount;
+	}
+
+	/**
+	 * Requests assigned or closed by someone else while the run was in progress.
+	 */
+	public int getConflictCount() {
+		return conflictCount;
+	}
+
+	public long getDurationMs() {
+		return durationMs;
+	}
+
+	public void setDurationMs(long durationMs) {
+		this.durationMs = durationMs;
+	}
+}
@@ -0,0 +1,53 @@
+package com.smartwaste.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bulk redemption fulfillment, with one outcome per redemption ID.
+ * Outcomes: FULFILLED, ALREADY_FULFILLED, NOT_FOUND
+ */
+public class BulkFulfillmentResultDTO {
+	private int fulfilledCount;
+	private int alreadyFulfilledCount;
+	private int notFoundCount;
+	private LocalDateTime fulfilledAt;
+	private List<ItemOutcome> items = new ArrayList<>();
+
+	public void addOutcome(Long redemptionId, String outcome) {
+		items.add(new ItemOutcome(redemptionId, outcome));
+		switch (outcome) {
+			case "FULFILLED" -> fulfilledCount++;
+			case "ALREADY_FULFILLED" -> alreadyFulfilledCount++;
+			case "NOT_FOUND" -> notFoundCount++;
+			default -> throw new IllegalArgumentException("Unknown outcome: " + outcome);
+		}
+	}
+
+	public int getFulfilledCount() {
+		return fulfilledCount;
+	}
+
+	public int getAlreadyFulfilledCount() {
+		return alreadyFulfilledCount;
+	}
+
+	public int getNotFoundCount() {
+		return notFoundCount;
+	}
+
+	public LocalDateTime getFulfilledAt() {
+		return fulfilledAt;
+	}
+
+	public void setFulfilledAt(LocalDateTime fulfilledAt) {
+		this.fulfilledAt = fulfilledAt;
+	}
+
+	public List<ItemOutcome> getItems() {
+		return items;
+	}
+
+	public record ItemOutcome(Long redemptionId, String outcome) {}
+}
@@ -0,0 +1,84 @@
+package com.smartwaste.dto;
+
+import com.smartwaste.entity.WasteRequest;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A collector's planned pickup route for one day.
+ *
+ * Stops are the open requests with coordinates, in driving order. Requests without
+ * coordinates (or beyond the stop limit) cannot be routed and are listed separately
+ * in work-queue order.
+ */
+public class CollectorRouteDTO {
+	private Long collectorId;
+	private LocalDate date;
+	private List<WasteRequest> stops;
+	private List<WasteRequest> unrouted;
+	private double distanceKm;
+	private double originalDistanceKm;
+	private long optimizationMs;
+	private boolean timedOut;
+
+	public CollectorRouteDTO(
+		Long collectorId,
+		LocalDate date,
+		List<WasteRequest> stops,
+		List<WasteRequest> unrouted,
+		double distanceKm,
+		double originalDistanceKm,
+		long optimizationMs,
+		boolean timedOut
+	) {
+		this.collectorId = collectorId;
+		this.date = date;
+		this.stops = stops;
+		this.unrouted = unrouted;
+		this.distanceKm = distanceKm;
+		this.originalDistanceKm = originalDistanceKm;
+		this.optimizationMs = optimizationMs;
+		this.timedOut = timedOut;
+	}
+
+	public Long getCollectorId() {
+		return collectorId;
+	}
+
+	public LocalDate getDate() {
+		return date;
+	}
+
+	public List<WasteRequest> getStops() {
+		return stops;
+	}
+
+	public List<WasteRequest> getUnrouted() {
+		return unrouted;
+	}
+
+	/**
+	 * Straight-line length of the planned route in km.
+	 */
+	public double getDistanceKm() {
+		return distanceKm;
+	}
+
+	/**
+	 * Straight-line length in km when visiting the same stops in work-queue order.
+	 */
+	public double getOriginalDistanceKm() {
+		return originalDistanceKm;
+	}
+
+	public long getOptimizationMs() {
+		return optimizationMs;
+	}
+
+	/**
+	 * True if improvement stopped at the time budget; the route is valid but may not be locally optimal.
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+}
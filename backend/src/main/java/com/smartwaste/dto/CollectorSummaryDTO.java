@@ -0,0 +1,87 @@
+package com.smartwaste.dto;
+
+/**
+ * A collector as listed to admins, with only the id and name of its zone (as {@code zone}, the
+ * shape the Collector entity is serialized in).
+ */
+public class CollectorSummaryDTO {
+	private final Long collectorId;
+	private final String name;
+	private final String email;
+	private final String contact;
+	private final String vehicleNumber;
+	private final ZoneRef zone;
+	private final Boolean isActive;
+	private final Double totalEarnings;
+
+	public CollectorSummaryDTO(
+		Long collectorId,
+		String name,
+		String email,
+		String contact,
+		String vehicleNumber,
+		Long zoneId,
+		String zoneName,
+		Boolean isActive,
+		Double totalEarnings
+	) {
+		this.collectorId = collectorId;
+		this.name = name;
+		this.email = email;
+		this.contact = contact;
+		this.vehicleNumber = vehicleNumber;
+		this.zone = zoneId != null ? new ZoneRef(zoneId, zoneName) : null;
+		this.isActive = isActive;
+		this.totalEarnings = totalEarnings;
+	}
+
+	public Long getCollectorId() {
+		return collectorId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public String getContact() {
+		return contact;
+	}
+
+	public String getVehicleNumber() {
+		return vehicleNumber;
+	}
+
+	public ZoneRef getZone() {
+		return zone;
+	}
+
+	public Boolean getIsActive() {
+		return isActive;
+	}
+
+	public Double getTotalEarnings() {
+		return totalEarnings;
+	}
+
+	public static class ZoneRef {
+		private final Long zoneId;
+		private final String zoneName;
+
+		public ZoneRef(Long zoneId, String zoneName) {
+			this.zoneId = zoneId;
+			this.zoneName = zoneName;
+		}
+
+		public Long getZoneId() {
+			return zoneId;
+		}
+
+		public String getZoneName() {
+			return zoneName;
+		}
+	}
+}
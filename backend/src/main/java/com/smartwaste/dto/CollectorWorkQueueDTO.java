@@ -0,0 +1,62 @@
+package com.smartwaste.dto;
+
+import com.smartwaste.entity.WasteRequest;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a collector's work queue.
+ *
+ * In full mode, items are the actionable (PENDING / IN_PROGRESS) requests in work order.
+ * In delta mode (changedSince given), items are all requests of the collector changed
+ * since then, in any status, ordered by change time.
+ * Clients pass {@code cursor} as the next {@code changedSince}.
+ */
+public class CollectorWorkQueueDTO {
+	private List<WasteRequest> items;
+	private int page;
+	private int size;
+	private boolean hasNext;
+	private boolean delta;
+	private LocalDateTime cursor;
+
+	public CollectorWorkQueueDTO(
+		List<WasteRequest> items,
+		int page,
+		int size,
+		boolean hasNext,
+		boolean delta,
+		LocalDateTime cursor
+	) {
+		this.items = items;
+		this.page = page;
+		this.size = size;
+		this.hasNext = hasNext;
+		this.delta = delta;
+		this.cursor = cursor;
+	}
+
+	public List<WasteRequest> getItems() {
+		return items;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public boolean isDelta() {
+		return delta;
+	}
+
+	public LocalDateTime getCursor() {
+		return cursor;
+	}
+}
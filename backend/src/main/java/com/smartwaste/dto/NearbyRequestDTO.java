@@ -0,0 +1,24 @@
+package com.smartwaste.dto;
+
+import com.smartwaste.entity.WasteRequest;
+
+/**
+ * An open request found by a location query, with its straight-line distance from the query point.
+ */
+public class NearbyRequestDTO {
+	private WasteRequest request;
+	private double distanceKm;
+
+	public NearbyRequestDTO(WasteRequest request, double distanceKm) {
+		this.request = request;
+		this.distanceKm = distanceKm;
+	}
+
+	public WasteRequest getRequest() {
+		return request;
+	}
+
+	public double getDistanceKm() {
+		return distanceKm;
+	}
+}
@@ -0,0 +1,56 @@
+package com.smartwaste.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Open requests past the SLA, counted per zone (zone ID, or "none" for requests without a zone).
+ */
+public class OverdueSummaryDTO {
+	private long overdueAfterHours;
+	private int overdueCount;
+	private int openCount;
+	private Map<String, Integer> overdueByZone;
+	private LocalDateTime oldestOverdueCreatedAt;
+	private LocalDateTime computedAt;
+
+	public OverdueSummaryDTO(
+		long overdueAfterHours,
+		int overdueCount,
+		int openCount,
+		Map<String, Integer> overdueByZone,
+		LocalDateTime oldestOverdueCreatedAt,
+		LocalDateTime computedAt
+	) {
+		this.overdueAfterHours = overdueAfterHours;
+		this.overdueCount = overdueCount;
+		this.openCount = openCount;
+		this.overdueByZone = overdueByZone;
+		this.oldestOverdueCreatedAt = oldestOverdueCreatedAt;
+		this.computedAt = computedAt;
+	}
+
+	public long getOverdueAfterHours() {
+		return overdueAfterHours;
+	}
+
+	public int getOverdueCount() {
+		return overdueCount;
+	}
+
+	public int getOpenCount() {
+		return openCount;
+	}
+
+	public Map<String, Integer> getOverdueByZone() {
+		return overdueByZone;
+	}
+
+	public LocalDateTime getOldestOverdueCreatedAt() {
+		return oldestOverdueCreatedAt;
+	}
+
+	public LocalDateTime getComputedAt() {
+		return computedAt;
+	}
+}
@@ -0,0 +1,48 @@
+package com.smartwaste.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user as listed to admins; never carries the password hash.
+ */
+public class UserSummaryDTO {
+	private final Long userId;
+	private final String name;
+	private final String email;
+	private final String role;
+	private final int points;
+	private final LocalDateTime createdAt;
+
+	public UserSummaryDTO(Long userId, String name, String email, String role, int points, LocalDateTime createdAt) {
+		this.userId = userId;
+		this.name = name;
+		this.email = email;
+		this.role = role;
+		this.points = points;
+		this.createdAt = createdAt;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public String getRole() {
+		return role;
+	}
+
+	public int getPoints() {
+		return points;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+}
@@ -0,0 +1,128 @@
+package com.smartwaste.dto;
+
+import com.smartwaste.entity.WasteRequestStatus;
+import java.time.LocalDateTime;
+
+/**
+ * A waste request as listed to its owner: the request's columns without coordinates and
+ * web-sized image variants. Built by a JPQL constructor expression, so listing never loads
+ * (or snapshots) WasteRequest entities. Same JSON names as {@link com.smartwaste.entity.WasteRequest}.
+ */
+public class WasteRequestSummaryDTO {
+	private final Long requestId;
+	private final Long userId;
+	private final Long collectorId;
+	private final Long zoneId;
+	private final String wasteType;
+	private final double weightKg;
+	private final String status;
+	private final String pickupAddress;
+	private final LocalDateTime scheduledTime;
+	private final LocalDateTime collectedTime;
+	private final int rewardPoints;
+	private final String imageUrl;
+	private final String imageThumbUrl;
+	private final String collectorProofUrl;
+	private final String proofThumbUrl;
+	private final LocalDateTime createdAt;
+
+	public WasteRequestSummaryDTO(
+		Long requestId,
+		Long userId,
+		Long collectorId,
+		Long zoneId,
+		String wasteType,
+		double weightKg,
+		WasteRequestStatus status,
+		String pickupAddress,
+		LocalDateTime scheduledTime,
+		LocalDateTime collectedTime,
+		int rewardPoints,
+		String imageUrl,
+		String imageThumbUrl,
+		String collectorProofUrl,
+		String proofThumbUrl,
+		LocalDateTime createdAt
+	) {
+		this.requestId = requestId;
+		this.userId = userId;
+		this.collectorId = collectorId;
+		this.zoneId = zoneId;
+		this.wasteType = wasteType;
+		this.weightKg = weightKg;
+		this.status = status != null ? status.toLegacyString() : null;
+		this.pickupAddress = pickupAddress;
+		this.scheduledTime = scheduledTime;
+		this.collectedTime = collectedTime;
+		this.rewardPoints = rewardPoints;
+		this.imageUrl = imageUrl;
+		this.imageThumbUrl = imageThumbUrl;
+		this.collectorProofUrl = collectorProofUrl;
+		this.proofThumbUrl = proofThumbUrl;
+		this.createdAt = createdAt;
+	}
+
+	public Long getRequestId() {
+		return requestId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public Long getCollectorId() {
+		return collectorId;
+	}
+
+	public Long getZoneId() {
+		return zoneId;
+	}
+
+	public String getWasteType() {
+		return wasteType;
+	}
+
+	public double getWeightKg() {
+		return weightKg;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public String getPickupAddress() {
+		return pickupAddress;
+	}
+
+	public LocalDateTime getScheduledTime() {
+		return scheduledTime;
+	}
+
+	public LocalDateTime getCollectedTime() {
+		return collectedTime;
+	}
+
+	public int getRewardPoints() {
+		return rewardPoints;
+	}
+
+	public String getImageUrl() {
+		return imageUrl;
+	}
+
+	public String getImageThumbUrl() {
+		return imageThumbUrl;
+	}
+
+	public String getCollectorProofUrl() {
+		return collectorProofUrl;
+	}
+
+	public String getProofThumbUrl() {
+		return proofThumbUrl;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+}
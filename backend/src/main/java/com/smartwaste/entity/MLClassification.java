@@ -9,7 +9,9 @@ import org.hibernate.annotations.CreationTimestamp;
 public class MLClassification {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "ml_classifications")
+	@TableGenerator(name = "ml_classifications", table = "id_generators", pkColumnName = "sequence_name",
+		valueColumnName = "next_val", pkColumnValue = "ml_classifications", allocationSize = 50)
 	private Long classificationId;
 
 	@Column(name = "request_id")
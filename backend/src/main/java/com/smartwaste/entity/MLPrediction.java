@@ -9,7 +9,9 @@ import org.hibernate.annotations.CreationTimestamp;
 public class MLPrediction {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "ml_predictions")
+	@TableGenerator(name = "ml_predictions", table = "id_generators", pkColumnName = "sequence_name",
+		valueColumnName = "next_val", pkColumnValue = "ml_predictions", allocationSize = 50)
 	private Long predictionId;
 
 	@Column(name = "zone_id", nullable = false)
@@ -8,7 +8,9 @@ import org.hibernate.annotations.CreationTimestamp;
 @Table(name = "reward_transactions")
 public class RewardTransaction {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "reward_transactions")
+	@TableGenerator(name = "reward_transactions", table = "id_generators", pkColumnName = "sequence_name",
+		valueColumnName = "next_val", pkColumnValue = "reward_transactions", allocationSize = 50)
 	private Long transactionId;
 
 	@ManyToOne
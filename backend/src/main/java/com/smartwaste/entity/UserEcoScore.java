@@ -9,7 +9,9 @@ import org.hibernate.annotations.CreationTimestamp;
 public class UserEcoScore {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "user_eco_scores")
+	@TableGenerator(name = "user_eco_scores", table = "id_generators", pkColumnName = "sequence_name",
+		valueColumnName = "next_val", pkColumnValue = "user_eco_scores", allocationSize = 50)
 	private Long scoreId;
 
 	@Column(name = "user_id", nullable = false)
@@ -1,5 +1,7 @@
 package com.smartwaste.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
@@ -23,11 +25,18 @@ public class WasteRequest {
 
 	private double weightKg;
 
-	private String status;
+	// Stored as the legacy String value (CREATED and ASSIGNED are both PENDING), so it loads as CREATED
+	@Convert(converter = WasteRequestStatusConverter.class)
+	private WasteRequestStatus status;
 
 	@Lob
 	private String pickupAddress;
 
+	// Geocoded pickup location (WGS84); null for requests created before geocoding
+	private Double latitude;
+
+	private Double longitude;
+
 	private LocalDateTime scheduledTime;
 
 	private LocalDateTime collectedTime;
@@ -40,10 +49,27 @@ public class WasteRequest {
 	@Column(name = "collector_proof_url")
 	private String collectorProofUrl;
 
+	// Downscaled variants, filled in asynchronously after upload (null until ready)
+	@Column(name = "image_thumb_url")
+	private String imageThumbUrl;
+
+	@Column(name = "image_web_url")
+	private String imageWebUrl;
+
+	@Column(name = "proof_thumb_url")
+	private String proofThumbUrl;
+
+	@Column(name = "proof_web_url")
+	private String proofWebUrl;
+
 	@CreationTimestamp
 	@Column(name = "request_date")
 	private LocalDateTime createdAt;
 
+	// Maintained by the database (ON UPDATE CURRENT_TIMESTAMP); used for delta polling
+	@Column(name = "updated_at", insertable = false, updatable = false)
+	private LocalDateTime updatedAt;
+
 	public Long getRequestId() {
 		return requestId;
 	}
@@ -92,14 +118,24 @@ public class WasteRequest {
 		this.weightKg = weightKg;
 	}
 
-	public String getStatus() {
+	@JsonIgnore
+	public WasteRequestStatus getStatus() {
 		return status;
 	}
 
-	public void setStatus(String status) {
+	@JsonIgnore
+	public void setStatus(WasteRequestStatus status) {
 		this.status = status;
 	}
 
+	/**
+	 * Legacy String value exposed by the API (PENDING, IN_PROGRESS, COLLECTED, REJECTED).
+	 */
+	@JsonProperty("status")
+	public String getLegacyStatus() {
+		return status != null ? status.toLegacyString() : null;
+	}
+
 	public String getPickupAddress() {
 		return pickupAddress;
 	}
@@ -108,6 +144,22 @@ public class WasteRequest {
 		this.pickupAddress = pickupAddress;
 	}
 
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
+
 	public LocalDateTime getScheduledTime() {
 		return scheduledTime;
 	}
@@ -148,6 +200,38 @@ public class WasteRequest {
 		this.collectorProofUrl = collectorProofUrl;
 	}
 
+	public String getImageThumbUrl() {
+		return imageThumbUrl;
+	}
+
+	public void setImageThumbUrl(String imageThumbUrl) {
+		this.imageThumbUrl = imageThumbUrl;
+	}
+
+	public String getImageWebUrl() {
+		return imageWebUrl;
+	}
+
+	public void setImageWebUrl(String imageWebUrl) {
+		this.imageWebUrl = imageWebUrl;
+	}
+
+	public String getProofThumbUrl() {
+		return proofThumbUrl;
+	}
+
+	public void setProofThumbUrl(String proofThumbUrl) {
+		this.proofThumbUrl = proofThumbUrl;
+	}
+
+	public String getProofWebUrl() {
+		return proofWebUrl;
+	}
+
+	public void setProofWebUrl(String proofWebUrl) {
+		this.proofWebUrl = proofWebUrl;
+	}
+
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -155,6 +239,8 @@ public class WasteRequest {
 	public void setCreatedAt(LocalDateTime createdAt) {
 		this.createdAt = createdAt;
 	}
-}
-
 
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+}
@@ -1,10 +1,15 @@
 package com.smartwaste.entity;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Internal lifecycle states for waste requests.
  *
- * NOTE: The underlying database column remains a String to avoid schema changes.
- * This enum is used purely in code to keep transitions strict and explicit.
+ * NOTE: The underlying database column and the API keep the legacy String values
+ * (see {@link #toLegacyString()}); {@link WasteRequestStatusConverter} maps the column
+ * to this enum once when a row is loaded.
  */
 public enum WasteRequestStatus {
 	CREATED,
@@ -13,6 +18,17 @@ public enum WasteRequestStatus {
 	COLLECTED,
 	CLOSED;
 
+	// Exact names and legacy aliases, so well-formed values never need trimming or exceptions
+	private static final Map<String, WasteRequestStatus> BY_NAME = new HashMap<>();
+
+	static {
+		for (WasteRequestStatus status : values()) {
+			BY_NAME.put(status.name(), status);
+		}
+		BY_NAME.put("PENDING", CREATED);
+		BY_NAME.put("REJECTED", CLOSED);
+	}
+
 	/**
 	 * Map various incoming string values (including legacy ones) to a strict lifecycle state.
 	 *
@@ -24,22 +40,14 @@ public enum WasteRequestStatus {
 		if (raw == null) {
 			throw new IllegalArgumentException("Status cannot be null");
 		}
-		String value = raw.trim().toUpperCase();
-
-		// Legacy aliases from earlier prototype phases
-		if ("PENDING".equals(value)) {
-			return CREATED;
-		}
-		if ("REJECTED".equals(value)) {
-			return CLOSED;
+		WasteRequestStatus status = BY_NAME.get(raw);
+		if (status == null) {
+			status = BY_NAME.get(raw.trim().toUpperCase(Locale.ROOT));
 		}
-
-		try {
-			return WasteRequestStatus.valueOf(value);
-		}
-		catch (IllegalArgumentException ex) {
+		if (status == null) {
 			throw new IllegalArgumentException("Unsupported status value: " + raw);
 		}
+		return status;
 	}
 
 	/**
@@ -59,6 +67,11 @@ public enum WasteRequestStatus {
 			case CLOSED -> "REJECTED";
 		};
 	}
-}
-
 
+	/**
+	 * Still waiting to be collected (CREATED, ASSIGNED or IN_PROGRESS).
+	 */
+	public boolean isOpen() {
+		return this == CREATED || this == ASSIGNED || this == IN_PROGRESS;
+	}
+}
@@ -0,0 +1,24 @@
+package com.smartwaste.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link WasteRequestStatus} in the legacy String column (PENDING, IN_PROGRESS,
+ * COLLECTED, REJECTED). PENDING always loads as CREATED, whether or not a collector is set;
+ * ASSIGNED is never read back, it is written as PENDING like CREATED. Whether a request has
+ * a collector is shown by its collector ID (and the admin display status), not by its status.
+ */
+@Converter
+public class WasteRequestStatusConverter implements AttributeConverter<WasteRequestStatus, String> {
+
+	@Override
+	public String convertToDatabaseColumn(WasteRequestStatus status) {
+		return status != null ? status.toLegacyString() : null;
+	}
+
+	@Override
+	public WasteRequestStatus convertToEntityAttribute(String value) {
+		return value != null ? WasteRequestStatus.fromString(value) : null;
+	}
+}
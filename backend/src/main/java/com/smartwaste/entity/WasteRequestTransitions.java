@@ -0,0 +1,45 @@
+package com.smartwaste.entity;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Status changes each role may make through the status update endpoints, precomputed once.
+ *
+ * - USER: none (requests are read-only after creation).
+ * - ADMIN: none in this phase (admins monitor and assign collectors only).
+ * - COLLECTOR: CREATED/ASSIGNED -> IN_PROGRESS -> COLLECTED/CLOSED, on their own requests.
+ */
+public final class WasteRequestTransitions {
+
+	private static final Map<WasteRequestStatus, Set<WasteRequestStatus>> NONE = table();
+	private static final Map<WasteRequestStatus, Set<WasteRequestStatus>> COLLECTOR = table();
+
+	static {
+		COLLECTOR.get(WasteRequestStatus.CREATED).add(WasteRequestStatus.IN_PROGRESS);
+		COLLECTOR.get(WasteRequestStatus.ASSIGNED).add(WasteRequestStatus.IN_PROGRESS);
+		COLLECTOR.get(WasteRequestStatus.IN_PROGRESS).add(WasteRequestStatus.COLLECTED);
+		COLLECTOR.get(WasteRequestStatus.IN_PROGRESS).add(WasteRequestStatus.CLOSED);
+	}
+
+	private WasteRequestTransitions() {
+	}
+
+	public static boolean isAllowed(String role, WasteRequestStatus from, WasteRequestStatus to) {
+		return from != null && to != null && forRole(role).get(from).contains(to);
+	}
+
+	private static Map<WasteRequestStatus, Set<WasteRequestStatus>> forRole(String role) {
+		return "COLLECTOR".equals(role) ? COLLECTOR : NONE;
+	}
+
+	private static Map<WasteRequestStatus, Set<WasteRequestStatus>> table() {
+		Map<WasteRequestStatus, Set<WasteRequestStatus>> table = new EnumMap<>(WasteRequestStatus.class);
+		for (WasteRequestStatus status : WasteRequestStatus.values()) {
+			table.put(status, EnumSet.noneOf(WasteRequestStatus.class));
+		}
+		return table;
+	}
+}
@@ -13,6 +13,14 @@ public class Zone {
 	private String city;
 	private String state;
 
+	// Bounding box and centroid (WGS84); null until the zone's geometry is configured
+	private Double minLatitude;
+	private Double minLongitude;
+	private Double maxLatitude;
+	private Double maxLongitude;
+	private Double centroidLatitude;
+	private Double centroidLongitude;
+
 	public Long getZoneId() { return zoneId; }
 	public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
 	public String getZoneName() { return zoneName; }
@@ -21,6 +29,22 @@ public class Zone {
 	public void setCity(String city) { this.city = city; }
 	public String getState() { return state; }
 	public void setState(String state) { this.state = state; }
+	public Double getMinLatitude() { return minLatitude; }
+	public void setMinLatitude(Double minLatitude) { this.minLatitude = minLatitude; }
+	public Double getMinLongitude() { return minLongitude; }
+	public void setMinLongitude(Double minLongitude) { this.minLongitude = minLongitude; }
+	public Double getMaxLatitude() { return maxLatitude; }
+	public void setMaxLatitude(Double maxLatitude) { this.maxLatitude = maxLatitude; }
+	public Double getMaxLongitude() { return maxLongitude; }
+	public void setMaxLongitude(Double maxLongitude) { this.maxLongitude = maxLongitude; }
+	public Double getCentroidLatitude() { return centroidLatitude; }
+	public void setCentroidLatitude(Double centroidLatitude) { this.centroidLatitude = centroidLatitude; }
+	public Double getCentroidLongitude() { return centroidLongitude; }
+	public void setCentroidLongitude(Double centroidLongitude) { this.centroidLongitude = centroidLongitude; }
+
+	public boolean hasCentroid() {
+		return centroidLatitude != null && centroidLongitude != null;
+	}
 }
 
 
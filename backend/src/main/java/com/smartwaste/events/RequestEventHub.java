@@ -0,0 +1,474 @@
+package com.smartwaste.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fan-out of request status events to Server-Sent Events subscribers.
+ *
+ * <p>Subscribers listen on an audience: {@code user:<userId>}, {@code collector:<collectorId>}
+ * or {@code admin:<userId>}; every admin audience receives every event, and the per-audience
+ * stream cap applies to each admin separately. Publishing never blocks: each event is
+ * serialized once and offered to a bounded per-subscriber buffer, and a small delivery pool
+ * writes buffers to the connections. A subscriber whose buffer is full is too slow to keep up
+ * and is disconnected; the client reconnects and refetches its list.
+ *
+ * <p>Writes to a connection block while the client is not reading. A watchdog disconnects a
+ * subscriber whose write has been blocked for {@code events.sse.send-timeout-ms} and adds a
+ * delivery thread in place of the stuck one until its write returns (at most
+ * {@value #MAX_STALLED_PER_THREAD} per configured delivery thread), so stalled clients cannot
+ * hold up delivery to everyone else.
+ *
+ * <p>Fan-out is in-process only: a subscriber sees events published by the instance it is
+ * connected to. With several backend replicas, changes made on another replica reach the
+ * client through its periodic refetch ({@code pollIntervalMs} in requestEvents.js) rather
+ * than as events. Sharing events across replicas needs a broadcast channel (e.g. Redis
+ * pub/sub or a polled outbox table) feeding {@code dispatch}; none is deployed yet.
+ */
+@Component
+public class RequestEventHub {
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestEventHub.class);
+
+	private static final String ADMIN_PREFIX = "admin:";
+	static final int MAX_STALLED_PER_THREAD = 4;
+
+	private final ObjectMapper objectMapper;
+	private final int bufferSize;
+	private final int maxPerAudience;
+	private final int maxSubscribers;
+	private final long timeoutMs;
+	private final long sendTimeoutNanos;
+	private final int deliveryThreads;
+	private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private final Map<String, List<Subscriber>> adminSubscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger stalledSends = new AtomicInteger();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private final AtomicLong sequence = new AtomicLong();
+	private final ThreadPoolExecutor deliveryExecutor;
+	private final ScheduledExecutorService heartbeatExecutor;
+	private final Counter droppedSubscribers;
+
+	public RequestEventHub(
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry,
+		@Value("${events.sse.buffer-size:32}") int bufferSize,
+		@Value("${events.sse.max-per-audience:5}") int maxPerAudience,
+		@Value("${events.sse.max-subscribers:10000}") int maxSubscribers,
+		@Value("${events.sse.timeout-ms:1800000}") long timeoutMs,
+		@Value("${events.sse.heartbeat-seconds:25}") long heartbeatSeconds,
+		@Value("${events.sse.delivery-threads:4}") int deliveryThreads,
+		@Value("${events.sse.send-timeout-ms:5000}") long sendTimeoutMs
+	) {
+		this.objectMapper = objectMapper;
+		this.bufferSize = bufferSize;
+		this.maxPerAudience = maxPerAudience;
+		this.maxSubscribers = maxSubscribers;
+		this.timeoutMs = timeoutMs;
+		this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+		this.deliveryThreads = deliveryThreads;
+
+		AtomicInteger threadCount = new AtomicInteger();
+		// Each subscriber is queued at most once at a time, so the queue is bounded by the subscriber count
+		this.deliveryExecutor = new ThreadPoolExecutor(
+			deliveryThreads,
+			deliveryThreads,
+			60,
+			TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(),
+			runnable -> {
+				Thread thread = new Thread(runnable, "sse-delivery-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		);
+		this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "sse-heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.heartbeatExecutor.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+		long watchdogMs = Math.max(10, Math.min(1000, sendTimeoutMs / 2));
+		this.heartbeatExecutor.scheduleAtFixedRate(this::checkStalledSends, watchdogMs, watchdogMs, TimeUnit.MILLISECONDS);
+
+		this.droppedSubscribers = Counter.builder("smartwaste.events.dropped")
+			.description("SSE subscribers disconnected because their buffer was full")
+			.register(meterRegistry);
+		meterRegistry.gauge("smartwaste.events.subscribers", subscriberCount);
+	}
+
+	/**
+	 * Open an event stream for the audience. The oldest stream of the audience is closed
+	 * when it already has the maximum number of streams (e.g. many open tabs).
+	 */
+	public SseEmitter subscribe(String audience) {
+		int count;
+		do {
+			count = subscriberCount.get();
+			if (count >= maxSubscribers) {
+				throw new IllegalStateException("Too many event subscribers");
+			}
+		}
+		while (!subscriberCount.compareAndSet(count, count + 1));
+
+		SseEmitter emitter = newEmitter(timeoutMs);
+		Map<String, List<Subscriber>> group = audience.startsWith(ADMIN_PREFIX) ? adminSubscribers : subscribers;
+		Subscriber subscriber = new Subscriber(audience, group, emitter);
+		// compute/computeIfPresent keep add and remove-if-empty atomic per audience
+		List<Subscriber> audienceSubscribers = group.compute(audience, (key, list) -> {
+			List<Subscriber> result = list != null ? list : new CopyOnWriteArrayList<>();
+			result.add(subscriber);
+			return result;
+		});
+		for (Subscriber existing : audienceSubscribers) {
+			if (audienceSubscribers.size() <= maxPerAudience) {
+				break;
+			}
+			if (existing != subscriber) {
+				existing.close();
+			}
+		}
+
+		emitter.onCompletion(subscriber::remove);
+		emitter.onTimeout(subscriber::close);
+		emitter.onError(ex -> subscriber.close());
+
+		// Flush the response headers right away so proxies and clients see the stream is open
+		subscriber.offer(new OutboundEvent(null, "connected", "{}"));
+		return emitter;
+	}
+
+	public static String adminAudience(Long userId) {
+		return ADMIN_PREFIX + userId;
+	}
+
+	/**
+	 * Emitter for a new stream; tests substitute emitters that record or block.
+	 */
+	SseEmitter newEmitter(long timeoutMs) {
+		return new SseEmitter(timeoutMs);
+	}
+
+	public void publishStatusChange(Long requestId, Long userId, Long collectorId, String previousStatus, String status) {
+		publish(new RequestStatusEvent(
+			RequestStatusEvent.STATUS_CHANGED,
+			requestId,
+			userId,
+			collectorId,
+			null,
+			status,
+			previousStatus,
+			LocalDateTime.now()
+		));
+	}
+
+	public void publishReassignment(Long requestId, Long userId, Long previousCollectorId, Long collectorId, String status) {
+		publish(new RequestStatusEvent(
+			RequestStatusEvent.REASSIGNED,
+			requestId,
+			userId,
+			collectorId,
+			previousCollectorId,
+			status,
+			status,
+			LocalDateTime.now()
+		));
+	}
+
+	/**
+	 * Deliver to the request's user, current and previous collector, and admins.
+	 * Inside a transaction the event is sent only after commit.
+	 */
+	public void publish(RequestStatusEvent event) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					dispatch(event);
+				}
+			});
+		}
+		else {
+			dispatch(event);
+		}
+	}
+
+	private void dispatch(RequestStatusEvent event) {
+		if (subscriberCount.get() == 0) {
+			return;
+		}
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(event);
+		}
+		catch (JsonProcessingException ex) {
+			logger.warn("Could not serialize event for request {}: {}", event.requestId(), ex.getMessage());
+			return;
+		}
+		OutboundEvent outbound = new OutboundEvent(Long.toString(sequence.incrementAndGet()), "request-status", json);
+
+		List<String> audiences = new ArrayList<>(4);
+		if (event.userId() != null) {
+			audiences.add("user:" + event.userId());
+		}
+		if (event.collectorId() != null) {
+			audiences.add("collector:" + event.collectorId());
+		}
+		if (event.previousCollectorId() != null && !event.previousCollectorId().equals(event.collectorId())) {
+			audiences.add("collector:" + event.previousCollectorId());
+		}
+
+		for (String audience : audiences) {
+			List<Subscriber> audienceSubscribers = subscribers.get(audience);
+			if (audienceSubscribers != null) {
+				for (Subscriber subscriber : audienceSubscribers) {
+					subscriber.offer(outbound);
+				}
+			}
+		}
+		for (List<Subscriber> audienceSubscribers : adminSubscribers.values()) {
+			for (Subscriber subscriber : audienceSubscribers) {
+				subscriber.offer(outbound);
+			}
+		}
+	}
+
+	private void heartbeat() {
+		OutboundEvent ping = new OutboundEvent(null, null, null);
+		for (Map<String, List<Subscriber>> group : List.of(subscribers, adminSubscribers)) {
+			for (List<Subscriber> audienceSubscribers : group.values()) {
+				for (Subscriber subscriber : audienceSubscribers) {
+					subscriber.offer(ping);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Disconnect subscribers whose write has been blocked too long and replace their delivery thread.
+	 */
+	private void checkStalledSends() {
+		long now = System.nanoTime();
+		for (Map<String, List<Subscriber>> group : List.of(subscribers, adminSubscribers)) {
+			for (List<Subscriber> audienceSubscribers : group.values()) {
+				for (Subscriber subscriber : audienceSubscribers) {
+					subscriber.checkStalled(now);
+				}
+			}
+		}
+	}
+
+	private synchronized void resizeDeliveryPool(int delta) {
+		int stalled = stalledSends.addAndGet(delta);
+		int size = deliveryThreads + stalled;
+		if (delta > 0) {
+			deliveryExecutor.setMaximumPoolSize(size);
+			deliveryExecutor.setCorePoolSize(size);
+		}
+		else {
+			deliveryExecutor.setCorePoolSize(size);
+			deliveryExecutor.setMaximumPoolSize(size);
+		}
+	}
+
+	public int getSubscriberCount() {
+		return subscriberCount.get();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		heartbeatExecutor.shutdownNow();
+		for (Map<String, List<Subscriber>> group : List.of(subscribers, adminSubscribers)) {
+			for (List<Subscriber> audienceSubscribers : group.values()) {
+				for (Subscriber subscriber : audienceSubscribers) {
+					subscriber.close();
+				}
+			}
+		}
+		deliveryExecutor.shutdown();
+	}
+
+	/**
+	 * Serialized event shared by all subscribers. A null name marks a heartbeat comment.
+	 */
+	private record OutboundEvent(String id, String name, String json) {}
+
+	/**
+	 * One stream. Only its delivery task writes to or completes the emitter (the emitter
+	 * serializes both), so closing from another thread never waits behind a blocked write.
+	 */
+	private final class Subscriber implements Runnable {
+		private final String audience;
+		private final Map<String, List<Subscriber>> group;
+		private final SseEmitter emitter;
+		private final ArrayBlockingQueue<OutboundEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private final AtomicBoolean removed = new AtomicBoolean();
+		private final AtomicBoolean completed = new AtomicBoolean();
+		private volatile boolean closed;
+		// Guarded by this: System.nanoTime() when the current write began (0 while not writing),
+		// whether the watchdog gave up on it, and whether it added a thread in its place
+		private long sendStartedNanos;
+		private boolean stalled;
+		private boolean replaced;
+
+		private Subscriber(String audience, Map<String, List<Subscriber>> group, SseEmitter emitter) {
+			this.audience = audience;
+			this.group = group;
+			this.emitter = emitter;
+		}
+
+		void offer(OutboundEvent event) {
+			if (closed) {
+				return;
+			}
+			if (!buffer.offer(event)) {
+				droppedSubscribers.increment();
+				logger.debug("Dropping slow SSE subscriber for {}", audience);
+				close();
+				return;
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					deliveryExecutor.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					// Shutting down: nothing else will write to this emitter
+					scheduled.set(false);
+					closed = true;
+					remove();
+					complete();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				OutboundEvent event;
+				while (!closed && (event = buffer.poll()) != null) {
+					SseEmitter.SseEventBuilder builder = event.name() == null
+						? SseEmitter.event().comment("keepalive")
+						: SseEmitter.event().name(event.name()).data(event.json(), MediaType.APPLICATION_JSON);
+					if (event.id() != null) {
+						builder.id(event.id());
+					}
+					beginSend();
+					try {
+						emitter.send(builder);
+					}
+					finally {
+						endSend();
+					}
+				}
+			}
+			catch (IOException | IllegalStateException ex) {
+				// Client went away or the emitter already completed
+				closed = true;
+				remove();
+			}
+			finally {
+				if (closed) {
+					buffer.clear();
+					complete();
+				}
+				scheduled.set(false);
+				// close() may have run after the check above and found this task still scheduled
+				if (closed ? !completed.get() : !buffer.isEmpty()) {
+					schedule();
+				}
+			}
+		}
+
+		private synchronized void beginSend() {
+			sendStartedNanos = Math.max(1, System.nanoTime());
+		}
+
+		private synchronized void endSend() {
+			sendStartedNanos = 0;
+			if (replaced) {
+				replaced = false;
+				resizeDeliveryPool(-1);
+			}
+		}
+
+		void checkStalled(long now) {
+			synchronized (this) {
+				if (stalled || sendStartedNanos == 0 || now - sendStartedNanos < sendTimeoutNanos) {
+					return;
+				}
+				stalled = true;
+				if (stalledSends.get() < deliveryThreads * MAX_STALLED_PER_THREAD) {
+					replaced = true;
+					resizeDeliveryPool(1);
+				}
+			}
+			droppedSubscribers.increment();
+			logger.debug("Dropping stalled SSE subscriber for {}", audience);
+			close();
+		}
+
+		/**
+		 * Stop delivering and release the stream slot; the delivery task completes the emitter.
+		 */
+		void close() {
+			closed = true;
+			remove();
+			buffer.clear();
+			schedule();
+		}
+
+		private void complete() {
+			if (completed.compareAndSet(false, true)) {
+				try {
+					emitter.complete();
+				}
+				catch (RuntimeException ex) {
+					// Already completed
+				}
+			}
+		}
+
+		void remove() {
+			if (removed.compareAndSet(false, true)) {
+				group.computeIfPresent(audience, (key, list) -> {
+					list.remove(this);
+					return list.isEmpty() ? null : list;
+				});
+				subscriberCount.decrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.smartwaste.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed to subscribers when a waste request changes status or collector.
+ * Status values use the legacy API strings (PENDING, IN_PROGRESS, COLLECTED, REJECTED).
+ *
+ * @param type STATUS_CHANGED or REASSIGNED
+ */
+public record RequestStatusEvent(
+	String type,
+	Long requestId,
+	Long userId,
+	Long collectorId,
+	Long previousCollectorId,
+	String status,
+	String previousStatus,
+	LocalDateTime occurredAt
+) {
+	public static final String STATUS_CHANGED = "STATUS_CHANGED";
+	public static final String REASSIGNED = "REASSIGNED";
+}
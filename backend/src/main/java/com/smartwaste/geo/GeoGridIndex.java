@@ -0,0 +1,314 @@
+package com.smartwaste.geo;
+
+import com.smartwaste.routing.RouteOptimizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of points (keyed by ID) bucketed into a fixed latitude/longitude grid.
+ *
+ * <p>A radius query only scans the cells overlapping the circle's bounding box; a nearest-N
+ * query scans rings of cells outward from the query point and stops once no unscanned cell
+ * can hold a closer point. Updates are O(1). Thread-safe: queries share a read lock,
+ * updates take the write lock. The grid does not wrap at the antimeridian.
+ */
+public final class GeoGridIndex {
+
+	private static final double EARTH_RADIUS_KM = 6371.0088;
+
+	private final double cellDegrees;
+	private final Map<Long, Cell> cells = new HashMap<>();
+	private final Map<Long, Slot> slots = new HashMap<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	// Cell range that has ever held a point (never shrinks); bounds the nearest-N ring scan
+	private int minLatCell = Integer.MAX_VALUE;
+	private int maxLatCell = Integer.MIN_VALUE;
+	private int minLngCell = Integer.MAX_VALUE;
+	private int maxLngCell = Integer.MIN_VALUE;
+
+	/**
+	 * @param cellDegrees grid cell size; 0.01 (about 1.1 km north-south) suits city-scale queries
+	 */
+	public GeoGridIndex(double cellDegrees) {
+		if (!(cellDegrees > 0)) {
+			throw new IllegalArgumentException("cellDegrees must be positive");
+		}
+		this.cellDegrees = cellDegrees;
+	}
+
+	/**
+	 * Add a point or move it to a new position.
+	 */
+	public void put(long id, double latitude, double longitude) {
+		int latCell = cellIndex(latitude);
+		int lngCell = cellIndex(longitude);
+		long key = cellKey(latCell, lngCell);
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+			minLatCell = Math.min(minLatCell, latCell);
+			maxLatCell = Math.max(maxLatCell, latCell);
+			minLngCell = Math.min(minLngCell, lngCell);
+			maxLngCell = Math.max(maxLngCell, lngCell);
+			Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+			slots.put(id, new Slot(key, cell.add(id, latitude, longitude)));
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return true if the point was indexed
+	 */
+	public boolean remove(long id) {
+		lock.writeLock().lock();
+		try {
+			return removeLocked(id);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return slots.size();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Points within radiusKm of the given point, closest first, at most limit of them.
+	 */
+	public List<Hit> within(double latitude, double longitude, double radiusKm, int limit) {
+		if (radiusKm < 0 || limit <= 0) {
+			return List.of();
+		}
+		double latitudeSpan = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+		double longitudeSpan = longitudeSpan(latitude, latitudeSpan);
+		int minLat = cellIndex(Math.max(-90, latitude - latitudeSpan));
+		int maxLat = cellIndex(Math.min(90, latitude + latitudeSpan));
+		int minLng = cellIndex(Math.max(-180, longitude - longitudeSpan));
+		int maxLng = cellIndex(Math.min(180, longitude + longitudeSpan));
+
+		List<Hit> hits = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			minLat = Math.max(minLat, minLatCell);
+			maxLat = Math.min(maxLat, maxLatCell);
+			minLng = Math.max(minLng, minLngCell);
+			maxLng = Math.min(maxLng, maxLngCell);
+			long area = (long) Math.max(0, maxLat - minLat + 1) * Math.max(0, maxLng - minLng + 1);
+			if (area > cells.size()) {
+				// Sparse grid: cheaper to visit the occupied cells than to probe every cell in range
+				for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+					int i = (int) (entry.getKey() >> 32);
+					int j = (int) (long) entry.getKey();
+					if (i >= minLat && i <= maxLat && j >= minLng && j <= maxLng) {
+						entry.getValue().collect(latitude, longitude, radiusKm, hits);
+					}
+				}
+			}
+			else {
+				for (int i = minLat; i <= maxLat; i++) {
+					for (int j = minLng; j <= maxLng; j++) {
+						Cell cell = cells.get(cellKey(i, j));
+						if (cell != null) {
+							cell.collect(latitude, longitude, radiusKm, hits);
+						}
+					}
+				}
+			}
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+		hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+		return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+	}
+
+	/**
+	 * The count points closest to the given point (within maxRadiusKm), closest first.
+	 */
+	public List<Hit> nearest(double latitude, double longitude, int count, double maxRadiusKm) {
+		if (count <= 0 || maxRadiusKm < 0) {
+			return List.of();
+		}
+		PriorityQueue<Hit> best = new PriorityQueue<>(count + 1, Comparator.comparingDouble(Hit::distanceKm).reversed());
+		int centerLat = cellIndex(latitude);
+		int centerLng = cellIndex(longitude);
+		double cosLatitude = Math.cos(Math.toRadians(latitude));
+
+		lock.readLock().lock();
+		try {
+			int total = slots.size();
+			int seen = 0;
+			long probes = 0;
+			for (int ring = 0; ; ring++) {
+				// Every point outside rings 0..ring-1 is at least this far away
+				double ringRadians = Math.toRadians(Math.min(90, (ring - 1) * cellDegrees));
+				double boundKm = ring == 0 ? 0 : EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.max(0, cosLatitude) * Math.sin(ringRadians)));
+				if (boundKm > maxRadiusKm || seen >= total || (best.size() == count && best.peek().distanceKm() <= boundKm)) {
+					break;
+				}
+				int top = centerLat - ring;
+				int bottom = centerLat + ring;
+				int left = centerLng - ring;
+				int right = centerLng + ring;
+				if (ring > 0 && top < minLatCell && bottom > maxLatCell && left < minLngCell && right > maxLngCell) {
+					// The previous rings already covered every occupied cell
+					break;
+				}
+				probes += 8L * ring + 1;
+				if (probes > 2L * cells.size() + 64) {
+					// Sparse grid: finish with one pass over the occupied cells instead of probing empty ones
+					best.clear();
+					for (Cell cell : cells.values()) {
+						cell.offer(latitude, longitude, maxRadiusKm, count, best);
+					}
+					break;
+				}
+				for (int i = Math.max(top, minLatCell); i <= Math.min(bottom, maxLatCell); i++) {
+					if (i == top || i == bottom) {
+						for (int j = Math.max(left, minLngCell); j <= Math.min(right, maxLngCell); j++) {
+							seen += scan(i, j, latitude, longitude, maxRadiusKm, count, best);
+						}
+					}
+					else {
+						if (left >= minLngCell) {
+							seen += scan(i, left, latitude, longitude, maxRadiusKm, count, best);
+						}
+						if (right <= maxLngCell && right != left) {
+							seen += scan(i, right, latitude, longitude, maxRadiusKm, count, best);
+						}
+					}
+				}
+			}
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+		Hit[] sorted = best.toArray(new Hit[0]);
+		Arrays.sort(sorted, Comparator.comparingDouble(Hit::distanceKm));
+		return Arrays.asList(sorted);
+	}
+
+	private int scan(int latCell, int lngCell, double latitude, double longitude, double maxRadiusKm, int count, PriorityQueue<Hit> best) {
+		Cell cell = cells.get(cellKey(latCell, lngCell));
+		if (cell == null) {
+			return 0;
+		}
+		cell.offer(latitude, longitude, maxRadiusKm, count, best);
+		return cell.size;
+	}
+
+	private boolean removeLocked(long id) {
+		Slot slot = slots.remove(id);
+		if (slot == null) {
+			return false;
+		}
+		Cell cell = cells.get(slot.cellKey);
+		long moved = cell.removeAt(slot.index);
+		if (moved != id) {
+			slots.get(moved).index = slot.index;
+		}
+		if (cell.size == 0) {
+			cells.remove(slot.cellKey);
+		}
+		return true;
+	}
+
+	private int cellIndex(double degrees) {
+		return (int) Math.floor(degrees / cellDegrees);
+	}
+
+	private static long cellKey(int latitudeIndex, int longitudeIndex) {
+		return ((long) latitudeIndex << 32) | (longitudeIndex & 0xFFFFFFFFL);
+	}
+
+	private static double longitudeSpan(double latitude, double latitudeSpan) {
+		double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeSpan)));
+		return cos < 1e-6 ? 360 : latitudeSpan / cos;
+	}
+
+	public record Hit(long id, double latitude, double longitude, double distanceKm) {}
+
+	private static final class Slot {
+		private final long cellKey;
+		private int index;
+
+		private Slot(long cellKey, int index) {
+			this.cellKey = cellKey;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Points of one grid cell in parallel arrays; removal swaps in the last point.
+	 */
+	private static final class Cell {
+		private long[] ids = new long[4];
+		private double[] latitudes = new double[4];
+		private double[] longitudes = new double[4];
+		private int size;
+
+		int add(long id, double latitude, double longitude) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+				latitudes = Arrays.copyOf(latitudes, size * 2);
+				longitudes = Arrays.copyOf(longitudes, size * 2);
+			}
+			ids[size] = id;
+			latitudes[size] = latitude;
+			longitudes[size] = longitude;
+			return size++;
+		}
+
+		/**
+		 * @return the ID now stored at index (the moved last point, or the removed one if it was last)
+		 */
+		long removeAt(int index) {
+			long removed = ids[index];
+			int last = --size;
+			if (index != last) {
+				ids[index] = ids[last];
+				latitudes[index] = latitudes[last];
+				longitudes[index] = longitudes[last];
+				return ids[index];
+			}
+			return removed;
+		}
+
+		void collect(double latitude, double longitude, double radiusKm, List<Hit> hits) {
+			for (int i = 0; i < size; i++) {
+				double d = RouteOptimizer.haversineKm(latitude, longitude, latitudes[i], longitudes[i]);
+				if (d <= radiusKm) {
+					hits.add(new Hit(ids[i], latitudes[i], longitudes[i], d));
+				}
+			}
+		}
+
+		void offer(double latitude, double longitude, double maxRadiusKm, int count, PriorityQueue<Hit> best) {
+			for (int i = 0; i < size; i++) {
+				double d = RouteOptimizer.haversineKm(latitude, longitude, latitudes[i], longitudes[i]);
+				if (d > maxRadiusKm || (best.size() == count && d >= best.peek().distanceKm())) {
+					continue;
+				}
+				best.offer(new Hit(ids[i], latitudes[i], longitudes[i], d));
+				if (best.size() > count) {
+					best.poll();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.smartwaste.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records the SQL statements and database time of each HTTP request as
+ * {@code smartwaste.http.db.statements} and {@code smartwaste.http.db.time}
+ * {method, uri, status}, with uri the matched route pattern (e.g. /api/requests/{id}/status),
+ * and enforces the {@link SqlBudgetProperties SQL budget}: requests over it are counted in
+ * {@code smartwaste.http.db.budget.exceeded} {method, uri} and logged with their most repeated
+ * statement, at most once per endpoint per {@code sql.budget.log-interval}. Runs before
+ * Spring Security so statements issued while authenticating are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HttpRequestMetricsFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(HttpRequestMetricsFilter.class);
+
+	private final SqlStatementCounter statementCounter;
+	private final SqlBudgetProperties budgetProperties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, LogWindow> logWindows = new ConcurrentHashMap<>();
+
+	public HttpRequestMetricsFilter(
+		SqlStatementCounter statementCounter,
+		SqlBudgetProperties budgetProperties,
+		MeterRegistry meterRegistry
+	) {
+		this.statementCounter = statementCounter;
+		this.budgetProperties = budgetProperties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		FilterChain filterChain
+	) throws ServletException, IOException {
+		SqlStatementCounter.RequestSql sql = statementCounter.begin(request);
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			statementCounter.end();
+			record(sql, response.getStatus());
+		}
+	}
+
+	private void record(SqlStatementCounter.RequestSql sql, int status) {
+		String pattern = sql.pattern();
+		// Unmatched paths share one tag value
+		String uri = pattern != null ? pattern : "UNMATCHED";
+		DistributionSummary.builder("smartwaste.http.db.statements")
+			.description("SQL statements issued per HTTP request")
+			.tag("method", sql.method())
+			.tag("uri", uri)
+			.tag("status", Integer.toString(status))
+			.serviceLevelObjectives(1, 2, 5, 10, 25, 50, 100, 250)
+			.register(meterRegistry)
+			.record(sql.statements());
+		Timer.builder("smartwaste.http.db.time")
+			.description("Database time per HTTP request")
+			.tag("method", sql.method())
+			.tag("uri", uri)
+			.tag("status", Integer.toString(status))
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(sql.nanos(), TimeUnit.NANOSECONDS);
+
+		if (budgetProperties.getMode() == SqlBudgetProperties.Mode.OFF) {
+			return;
+		}
+		boolean tooManyStatements = sql.overBudget();
+		boolean tooSlow = sql.nanos() > budgetProperties.getMaxDbTime().toNanos();
+		if (!tooManyStatements && !tooSlow) {
+			return;
+		}
+		Counter.builder("smartwaste.http.db.budget.exceeded")
+			.description("HTTP requests over their SQL statement or database time budget")
+			.tag("method", sql.method())
+			.tag("uri", uri)
+			.register(meterRegistry)
+			.increment();
+		int suppressed = logWindows.computeIfAbsent(sql.method() + " " + uri, key -> new LogWindow())
+			.tryLog(System.nanoTime(), budgetProperties.getLogInterval().toNanos());
+		if (suppressed < 0) {
+			return;
+		}
+		Map.Entry<String, Integer> repeated = sql.mostRepeated();
+		logger.warn("SQL budget exceeded by {} {} (status {}): {} statements (budget {}), {} ms in database; most repeated ({}x): {}; {} more since last report",
+			sql.method(), uri, status, sql.statements(), sql.budget(), sql.nanos() / 1_000_000,
+			repeated != null ? repeated.getValue() : 0, repeated != null ? repeated.getKey() : "-", suppressed);
+	}
+
+	/**
+	 * Rate limit for the over-budget log of one endpoint.
+	 */
+	static final class LogWindow {
+		private final AtomicLong nextLogNanos = new AtomicLong(Long.MIN_VALUE);
+		private final AtomicInteger suppressed = new AtomicInteger();
+
+		/**
+		 * @return the number of requests not logged since the last log line, or -1 if this one should not be logged either
+		 */
+		int tryLog(long now, long intervalNanos) {
+			long next = nextLogNanos.get();
+			if ((next == Long.MIN_VALUE || now - next >= 0) && nextLogNanos.compareAndSet(next, now + intervalNanos)) {
+				return suppressed.getAndSet(0);
+			}
+			suppressed.incrementAndGet();
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.smartwaste.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the core services as {@code smartwaste.service.calls}
+ * {service, method, outcome}. The timer's count is the call counter; outcome follows the
+ * HTTP mapping in GlobalExceptionHandler (IllegalArgumentException is a client error,
+ * AccessDeniedException is forbidden, anything else is a server error).
+ *
+ * <p>Runs outside the transaction advice, so commit time is included. Calls from one method
+ * of a service to another on the same instance do not go through the proxy and are not timed
+ * separately.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+	private enum Outcome { SUCCESS, CLIENT_ERROR, FORBIDDEN, SERVER_ERROR }
+
+	private final MeterRegistry meterRegistry;
+	// Timers per method, indexed by outcome; each is registered on first use and then reused
+	private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+	public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(public * com.smartwaste.service.WasteRequestService.*(..))"
+		+ " || execution(public * com.smartwaste.service.RewardService.*(..))"
+		+ " || execution(public * com.smartwaste.service.AnalyticsService.*(..))"
+		+ " || execution(public * com.smartwaste.service.ReportService.*(..))"
+		+ " || execution(public * com.smartwaste.service.MLService.*(..))")
+	public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+		long start = System.nanoTime();
+		Outcome outcome = Outcome.SUCCESS;
+		try {
+			return joinPoint.proceed();
+		}
+		catch (IllegalArgumentException ex) {
+			outcome = Outcome.CLIENT_ERROR;
+			throw ex;
+		}
+		catch (AccessDeniedException ex) {
+			outcome = Outcome.FORBIDDEN;
+			throw ex;
+		}
+		catch (Throwable ex) {
+			outcome = Outcome.SERVER_ERROR;
+			throw ex;
+		}
+		finally {
+			timer(((MethodSignature) joinPoint.getSignature()).getMethod(), outcome)
+				.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private Timer timer(Method method, Outcome outcome) {
+		Timer[] byOutcome = timers.computeIfAbsent(method, m -> new Timer[Outcome.values().length]);
+		Timer timer = byOutcome[outcome.ordinal()];
+		if (timer == null) {
+			// Racing threads get the same timer back from the registry
+			timer = Timer.builder("smartwaste.service.calls")
+				.description("Service method calls by outcome")
+				.tag("service", method.getDeclaringClass().getSimpleName())
+				.tag("method", method.getName())
+				.tag("outcome", outcome.name())
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+			byOutcome[outcome.ordinal()] = timer;
+		}
+		return timer;
+	}
+}
@@ -0,0 +1,89 @@
+package com.smartwaste.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-request SQL budget bound from {@code sql.budget.*} properties.
+ *
+ * <pre>
+ * sql.budget.mode=reject
+ * sql.budget.max-statements=50
+ * sql.budget.endpoints[0].method=GET
+ * sql.budget.endpoints[0].pattern=/api/admin/reports/waste
+ * sql.budget.endpoints[0].max-statements=200
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "sql.budget")
+public class SqlBudgetProperties {
+
+	public enum Mode {
+		/** Metrics only. */
+		OFF,
+		/** Count requests over budget and log them (with their most repeated statement), at most once per endpoint per log interval. */
+		LOG,
+		/** Also fail the statement that goes over the statement budget; for tests and load tests. */
+		REJECT
+	}
+
+	private Mode mode = Mode.LOG;
+
+	/** Statements per HTTP request, unless an endpoint has its own budget. */
+	private int maxStatements = 50;
+
+	/** Database time per HTTP request above which the request is logged (never rejected). */
+	private Duration maxDbTime = Duration.ofSeconds(2);
+
+	/** Minimum time between two over-budget log lines for the same endpoint; the counter sees every request. */
+	private Duration logInterval = Duration.ofMinutes(1);
+
+	private List<Endpoint> endpoints = new ArrayList<>();
+
+	public Mode getMode() { return mode; }
+	public void setMode(Mode mode) { this.mode = mode; }
+	public int getMaxStatements() { return maxStatements; }
+	public void setMaxStatements(int maxStatements) { this.maxStatements = maxStatements; }
+	public Duration getMaxDbTime() { return maxDbTime; }
+	public void setMaxDbTime(Duration maxDbTime) { this.maxDbTime = maxDbTime; }
+	public Duration getLogInterval() { return logInterval; }
+	public void setLogInterval(Duration logInterval) { this.logInterval = logInterval; }
+	public List<Endpoint> getEndpoints() { return endpoints; }
+	public void setEndpoints(List<Endpoint> endpoints) { this.endpoints = endpoints; }
+
+	/**
+	 * @param pattern the matched route pattern, or null before a handler was chosen
+	 */
+	public int budgetFor(String method, String pattern) {
+		if (pattern != null) {
+			for (Endpoint endpoint : endpoints) {
+				if (pattern.equals(endpoint.getPattern())
+					&& (endpoint.getMethod() == null || endpoint.getMethod().equalsIgnoreCase(method))) {
+					return endpoint.getMaxStatements();
+				}
+			}
+		}
+		return maxStatements;
+	}
+
+	public static class Endpoint {
+
+		/** HTTP method; empty means all. */
+		private String method;
+
+		/** Route pattern as mapped by the controller, e.g. /api/requests/{id}/status. */
+		private String pattern;
+
+		private int maxStatements;
+
+		public String getMethod() { return method; }
+		public void setMethod(String method) { this.method = method; }
+		public String getPattern() { return pattern; }
+		public void setPattern(String pattern) { this.pattern = pattern; }
+		public int getMaxStatements() { return maxStatements; }
+		public void setMaxStatements(int maxStatements) { this.maxStatements = maxStatements; }
+	}
+}
@@ -0,0 +1,139 @@
+package com.smartwaste.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Per-thread SQL statement count and database time of the current HTTP request, fed by
+ * {@link StatementMetricsDataSource} (so JPA and JdbcTemplate statements both count) and
+ * started and ended by {@link HttpRequestMetricsFilter}. Statements outside a request
+ * (scheduled jobs, executors) are not tracked.
+ */
+@Component
+public class SqlStatementCounter {
+
+	// Distinct statement texts kept per request for the "most repeated" hint
+	private static final int MAX_DISTINCT_SQL = 256;
+
+	private static final ThreadLocal<RequestSql> CURRENT = new ThreadLocal<>();
+
+	private final SqlBudgetProperties properties;
+
+	public SqlStatementCounter(SqlBudgetProperties properties) {
+		this.properties = properties;
+	}
+
+	public RequestSql begin(HttpServletRequest request) {
+		RequestSql current = new RequestSql(request, properties.getMode() != SqlBudgetProperties.Mode.OFF);
+		CURRENT.set(current);
+		return current;
+	}
+
+	public void end() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Called before each statement runs.
+	 *
+	 * @throws BudgetExceededException in REJECT mode when the statement would go over the budget
+	 */
+	void beforeStatement(String sql) {
+		RequestSql current = CURRENT.get();
+		if (current != null && properties.getMode() == SqlBudgetProperties.Mode.REJECT && current.statements + 1 > current.budget()) {
+			throw new BudgetExceededException(current.method() + " " + current.pattern() + " exceeded its budget of "
+				+ current.budget() + " SQL statements; next: " + sql);
+		}
+	}
+
+	void afterStatement(String sql, long nanos) {
+		RequestSql current = CURRENT.get();
+		if (current != null) {
+			current.record(sql, nanos);
+		}
+	}
+
+	/**
+	 * SQL activity of one request.
+	 */
+	public final class RequestSql {
+
+		private final HttpServletRequest request;
+		private final Map<String, Integer> bySql;
+		private int statements;
+		private long nanos;
+		private int budget = -1;
+
+		private RequestSql(HttpServletRequest request, boolean trackSql) {
+			this.request = request;
+			this.bySql = trackSql ? new HashMap<>() : null;
+		}
+
+		private void record(String sql, long statementNanos) {
+			statements++;
+			nanos += statementNanos;
+			if (bySql != null && sql != null && (bySql.size() < MAX_DISTINCT_SQL || bySql.containsKey(sql))) {
+				bySql.merge(sql, 1, Integer::sum);
+			}
+		}
+
+		public int statements() {
+			return statements;
+		}
+
+		public long nanos() {
+			return nanos;
+		}
+
+		public String method() {
+			return request.getMethod();
+		}
+
+		/**
+		 * @return the matched route pattern, or null until the handler mapping has run
+		 */
+		public String pattern() {
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			return pattern != null ? pattern.toString() : null;
+		}
+
+		/**
+		 * The endpoint's budget once the route is known; the default budget before that
+		 * (e.g. statements issued during authentication).
+		 */
+		public int budget() {
+			if (budget >= 0) {
+				return budget;
+			}
+			String pattern = pattern();
+			int resolved = properties.budgetFor(method(), pattern);
+			if (pattern != null) {
+				budget = resolved;
+			}
+			return resolved;
+		}
+
+		public boolean overBudget() {
+			return statements > budget();
+		}
+
+		/**
+		 * @return the statement text run most often in this request (the usual N+1 suspect), or null
+		 */
+		public Map.Entry<String, Integer> mostRepeated() {
+			if (bySql == null) {
+				return null;
+			}
+			return bySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+		}
+	}
+
+	public static class BudgetExceededException extends RuntimeException {
+		public BudgetExceededException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.smartwaste.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the application's DataSource so every statement execution (JPA and JdbcTemplate alike)
+ * is reported to {@link SqlStatementCounter} with its wall time. A batch counts as one
+ * statement (one round trip). Time covers the execute call, not reading the result set.
+ *
+ * <p>Statements run inside an observed request (i.e. a sampled or unsampled trace) also get a
+ * {@code smartwaste.jdbc.statement} observation, which the tracing bridge turns into a child
+ * span with the SQL text; outside of one no observation is started.
+ *
+ * <p>Connections and statements are JDK proxies that only intercept the execute methods;
+ * unwrap() still reaches the pool's own objects.
+ */
+public class StatementMetricsDataSource extends DelegatingDataSource {
+
+	private final SqlStatementCounter counter;
+	private final ObservationRegistry observationRegistry;
+
+	public StatementMetricsDataSource(DataSource target, SqlStatementCounter counter, ObservationRegistry observationRegistry) {
+		super(target);
+		this.counter = counter;
+		this.observationRegistry = observationRegistry;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(obtainTargetDataSource().getConnection(username, password));
+	}
+
+	private Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(
+			Connection.class.getClassLoader(),
+			new Class<?>[] {Connection.class},
+			(proxy, method, args) -> {
+				Object result = invoke(connection, method, args);
+				return switch (method.getName()) {
+					case "prepareStatement", "prepareCall", "createStatement" -> wrap((Statement) result, args);
+					default -> result;
+				};
+			}
+		);
+	}
+
+	private Statement wrap(Statement statement, Object[] connectionArgs) {
+		// prepareStatement/prepareCall carry the SQL; createStatement gets it on execute
+		String preparedSql = connectionArgs != null && connectionArgs.length > 0 && connectionArgs[0] instanceof String sql ? sql : null;
+		Class<?> type = statement instanceof CallableStatement
+			? CallableStatement.class
+			: statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+		InvocationHandler handler = (proxy, method, args) -> {
+			if (!method.getName().startsWith("execute")) {
+				return invoke(statement, method, args);
+			}
+			String sql = preparedSql != null ? preparedSql
+				: args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+			counter.beforeStatement(sql);
+			Observation observation = observe(sql);
+			long start = System.nanoTime();
+			try {
+				return invoke(statement, method, args);
+			}
+			catch (Throwable ex) {
+				if (observation != null) {
+					observation.error(ex);
+				}
+				throw ex;
+			}
+			finally {
+				counter.afterStatement(sql, System.nanoTime() - start);
+				if (observation != null) {
+					observation.stop();
+				}
+			}
+		};
+		return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type}, handler);
+	}
+
+	private Observation observe(String sql) {
+		if (observationRegistry.isNoop() || observationRegistry.getCurrentObservation() == null) {
+			return null;
+		}
+		String operation = operation(sql);
+		Observation observation = Observation.createNotStarted("smartwaste.jdbc.statement", observationRegistry)
+			.contextualName("jdbc " + operation.toLowerCase(Locale.ROOT))
+			.lowCardinalityKeyValue(KeyValue.of("db.operation", operation));
+		if (sql != null) {
+			observation.highCardinalityKeyValue(KeyValue.of("db.statement", sql));
+		}
+		return observation.start();
+	}
+
+	private static String operation(String sql) {
+		if (sql == null) {
+			return "OTHER";
+		}
+		String head = sql.stripLeading();
+		int end = 0;
+		while (end < head.length() && Character.isLetter(head.charAt(end))) {
+			end++;
+		}
+		String keyword = head.substring(0, end).toUpperCase(Locale.ROOT);
+		return switch (keyword) {
+			case "SELECT", "INSERT", "UPDATE", "DELETE" -> keyword;
+			default -> "OTHER";
+		};
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.smartwaste.metrics;
+
+import io.micrometer.observation.ObservationRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the "dataSource" bean in a {@link StatementMetricsDataSource}. Only that bean, so a
+ * DataSource that routes to other DataSource beans is not counted twice.
+ */
+@Component
+public class StatementMetricsPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<SqlStatementCounter> counter;
+	private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+	// Resolved lazily: post-processors are created before ordinary beans
+	public StatementMetricsPostProcessor(
+		ObjectProvider<SqlStatementCounter> counter,
+		ObjectProvider<ObservationRegistry> observationRegistry
+	) {
+		this.counter = counter;
+		this.observationRegistry = observationRegistry;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource && !(bean instanceof StatementMetricsDataSource)) {
+			return new StatementMetricsDataSource(dataSource, counter.getObject(),
+				observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+		}
+		return bean;
+	}
+}
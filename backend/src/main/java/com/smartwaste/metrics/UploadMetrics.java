@@ -0,0 +1,59 @@
+package com.smartwaste.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Upload body size ({@code smartwaste.uploads.size}), receive-and-store time
+ * ({@code smartwaste.uploads.duration} {kind, outcome}) and per-upload throughput
+ * ({@code smartwaste.uploads.throughput}, bytes per second), tagged by upload kind
+ * (e.g. "image", "proof").
+ */
+@Component
+public class UploadMetrics {
+
+	private final MeterRegistry meterRegistry;
+
+	public UploadMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	public void recordSuccess(String kind, long bytes, long nanos) {
+		timer(kind, "SUCCESS").record(nanos, TimeUnit.NANOSECONDS);
+		DistributionSummary.builder("smartwaste.uploads.size")
+			.description("Upload request body size")
+			.baseUnit("bytes")
+			.tag("kind", kind)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(bytes);
+		if (nanos > 0) {
+			DistributionSummary.builder("smartwaste.uploads.throughput")
+				.description("Upload receive-and-store throughput")
+				.baseUnit("bytes_per_second")
+				.tag("kind", kind)
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(bytes * 1e9 / nanos);
+		}
+	}
+
+	/**
+	 * Rejected or failed uploads (bad type, too large, storage error) only count towards the timer.
+	 */
+	public void recordFailure(String kind, long nanos) {
+		timer(kind, "FAILURE").record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	private Timer timer(String kind, String outcome) {
+		return Timer.builder("smartwaste.uploads.duration")
+			.description("Time to receive and store an upload")
+			.tag("kind", kind)
+			.tag("outcome", outcome)
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+	}
+}
@@ -0,0 +1,22 @@
+package com.smartwaste.ratelimit;
+
+/**
+ * Token buckets shared by all backend instances (e.g. a database table).
+ * Amounts are in thousandths of a token, matching {@link TokenBucketLimiter}.
+ */
+public interface BucketStore {
+
+	/**
+	 * Atomically refill the bucket for (policy, key) and take up to {@code requestedMilli}
+	 * whole tokens from it. A missing bucket starts full.
+	 *
+	 * @return the amount actually taken, a multiple of 1000 between 0 and requestedMilli
+	 */
+	long take(String policy, String key, long requestedMilli, long capacityMilli, long periodMs, long nowMs);
+
+	/**
+	 * Remove buckets not touched since {@code idleBeforeMs}. Such buckets have refilled
+	 * completely, so removing them does not change any decision.
+	 */
+	void purgeIdle(String policy, long idleBeforeMs);
+}
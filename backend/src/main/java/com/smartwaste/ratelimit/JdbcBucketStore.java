@@ -0,0 +1,114 @@
+package com.smartwaste.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Shared token buckets in the {@code rate_limit_buckets} table
+ * (see database/migrations/add_rate_limit_buckets_table.sql).
+ * Enabled with {@code ratelimit.backend=jdbc}.
+ *
+ * <p>Each take runs in its own short transaction and locks only the one bucket row.
+ * Timestamps come from the instance clock, so replicas are expected to be NTP-synced.
+ * Client keys are stored as their SHA-256 hex digest, so keys of any length fit the
+ * client_key column without being truncated into another client's bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.backend", havingValue = "jdbc")
+public class JdbcBucketStore implements BucketStore {
+
+	private static final long MILLI = 1000;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	public JdbcBucketStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.transactionTemplate.setTimeout(2);
+	}
+
+	@Override
+	public long take(String policy, String clientKey, long requestedMilli, long capacityMilli, long periodMs, long nowMs) {
+		String key = storedKey(clientKey);
+		Long taken = transactionTemplate.execute(status -> {
+			long[] bucket = lockBucket(policy, key);
+			if (bucket == null) {
+				jdbcTemplate.update(
+					"INSERT IGNORE INTO rate_limit_buckets (policy, client_key, tokens, refreshed_at) VALUES (?, ?, ?, ?)",
+					policy, key, capacityMilli, nowMs
+				);
+				bucket = lockBucket(policy, key);
+				if (bucket == null) {
+					throw new IllegalStateException("Rate limit bucket for policy '" + policy + "' was not created");
+				}
+			}
+
+			long tokens = bucket[0];
+			long last = bucket[1];
+			long elapsed = nowMs - last;
+
+			// Same refill rule as TokenBucketLimiter: time only advances by what was converted into tokens
+			if (tokens >= capacityMilli || elapsed >= periodMs) {
+				tokens = capacityMilli;
+				last = nowMs;
+			}
+			else if (elapsed > 0) {
+				long added = elapsed * capacityMilli / periodMs;
+				if (tokens + added >= capacityMilli) {
+					tokens = capacityMilli;
+					last = nowMs;
+				}
+				else if (added > 0) {
+					tokens += added;
+					last += added * periodMs / capacityMilli;
+				}
+			}
+
+			long granted = Math.min(requestedMilli, tokens) / MILLI * MILLI;
+			jdbcTemplate.update(
+				"UPDATE rate_limit_buckets SET tokens = ?, refreshed_at = ? WHERE policy = ? AND client_key = ?",
+				tokens - granted, last, policy, key
+			);
+			return granted;
+		});
+		return taken != null ? taken : 0;
+	}
+
+	@Override
+	public void purgeIdle(String policy, long idleBeforeMs) {
+		jdbcTemplate.update(
+			"DELETE FROM rate_limit_buckets WHERE policy = ? AND refreshed_at < ?",
+			policy, idleBeforeMs
+		);
+	}
+
+	private static String storedKey(String clientKey) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(clientKey.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	private long[] lockBucket(String policy, String key) {
+		List<long[]> rows = jdbcTemplate.query(
+			"SELECT tokens, refreshed_at FROM rate_limit_buckets WHERE policy = ? AND client_key = ? FOR UPDATE",
+			(rs, rowNum) -> new long[] { rs.getLong("tokens"), rs.getLong("refreshed_at") },
+			policy, key
+		);
+		return rows.isEmpty() ? null : rows.get(0);
+	}
+}
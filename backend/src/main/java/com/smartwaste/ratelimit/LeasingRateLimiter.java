@@ -0,0 +1,158 @@
+package com.smartwaste.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rate limiter whose buckets live in a {@link BucketStore} shared by all backend instances,
+ * so a limit holds across replicas instead of per JVM.
+ *
+ * <p>To keep most decisions local, an instance leases a small batch of tokens from the
+ * shared bucket and hands them out from memory until the batch is used up or the lease
+ * expires. Unused leased tokens are simply dropped, which can only make the limit stricter.
+ * A denial from the store is cached for the time it takes to refill one token, so a
+ * throttled client does not cause a store round trip per request either.
+ *
+ * <p>If the store is unavailable, decisions fall back to the local in-memory limiter.
+ */
+public class LeasingRateLimiter implements RateLimiter {
+
+	private static final Logger logger = LoggerFactory.getLogger(LeasingRateLimiter.class);
+
+	private static final long MILLI = 1000;
+	private static final long FAILURE_LOG_INTERVAL_MS = 10_000;
+
+	private final String policy;
+	private final BucketStore store;
+	private final RateLimiter fallback;
+	private final long capacityMilli;
+	private final long periodMs;
+	private final int leaseSize;
+	private final long leaseTtlMs;
+	private final long denyTtlMs;
+	private final int maxKeys;
+	private final long sweepIntervalMs;
+	private final LongSupplier clock;
+
+	private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+	private final AtomicLong lastSweep = new AtomicLong();
+	private final AtomicLong lastFailureLog = new AtomicLong();
+
+	public LeasingRateLimiter(
+		String policy,
+		BucketStore store,
+		RateLimiter fallback,
+		int capacity,
+		long periodMs,
+		int leaseSize,
+		long leaseTtlMs,
+		int maxKeys,
+		long sweepIntervalMs,
+		LongSupplier clock
+	) {
+		this.policy = policy;
+		this.store = store;
+		this.fallback = fallback;
+		this.capacityMilli = capacity * MILLI;
+		this.periodMs = periodMs;
+		this.leaseSize = Math.max(1, Math.min(leaseSize, capacity));
+		this.leaseTtlMs = leaseTtlMs;
+		this.denyTtlMs = Math.min(leaseTtlMs, Math.max(1, periodMs / capacity));
+		this.maxKeys = maxKeys;
+		this.sweepIntervalMs = sweepIntervalMs;
+		this.clock = clock;
+		this.lastSweep.set(clock.getAsLong());
+	}
+
+	@Override
+	public boolean tryAcquire(String key) {
+		long now = clock.getAsLong();
+		maybeSweep(now);
+
+		Lease lease = leases.get(key);
+		if (lease != null && now < lease.expiresAt) {
+			if (lease.tryTake()) {
+				return true;
+			}
+			if (lease.denied) {
+				return false;
+			}
+		}
+		return renewLease(key, now);
+	}
+
+	@Override
+	public int trackedKeys() {
+		return leases.size();
+	}
+
+	private boolean renewLease(String key, long now) {
+		boolean cacheLease = leases.containsKey(key) || leases.size() < maxKeys;
+		long requested = cacheLease ? leaseSize * MILLI : MILLI;
+
+		long granted;
+		try {
+			granted = store.take(policy, key, requested, capacityMilli, periodMs, now) / MILLI;
+		}
+		catch (RuntimeException ex) {
+			logStoreFailure(now, ex);
+			return fallback.tryAcquire(key);
+		}
+
+		if (cacheLease) {
+			leases.put(key, granted > 0
+				? new Lease((int) granted - 1, now + leaseTtlMs, false)
+				: new Lease(0, now + denyTtlMs, true));
+		}
+		return granted > 0;
+	}
+
+	private void maybeSweep(long now) {
+		long previous = lastSweep.get();
+		if (now - previous < sweepIntervalMs || !lastSweep.compareAndSet(previous, now)) {
+			return;
+		}
+		leases.values().removeIf(lease -> now >= lease.expiresAt);
+		try {
+			store.purgeIdle(policy, now - periodMs);
+		}
+		catch (RuntimeException ex) {
+			logStoreFailure(now, ex);
+		}
+	}
+
+	private void logStoreFailure(long now, RuntimeException ex) {
+		long previous = lastFailureLog.get();
+		if (now - previous >= FAILURE_LOG_INTERVAL_MS && lastFailureLog.compareAndSet(previous, now)) {
+			logger.warn("Shared rate limit store unavailable for policy '{}', using local limits: {}", policy, ex.getMessage());
+		}
+	}
+
+	private static final class Lease {
+		private final AtomicInteger remaining;
+		private final long expiresAt;
+		private final boolean denied;
+
+		private Lease(int remaining, long expiresAt, boolean denied) {
+			this.remaining = new AtomicInteger(remaining);
+			this.expiresAt = expiresAt;
+			this.denied = denied;
+		}
+
+		private boolean tryTake() {
+			while (true) {
+				int current = remaining.get();
+				if (current <= 0) {
+					return false;
+				}
+				if (remaining.compareAndSet(current, current - 1)) {
+					return true;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.smartwaste.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limit policies bound from {@code ratelimit.*} properties.
+ *
+ * <pre>
+ * ratelimit.policies.login.capacity=5
+ * ratelimit.policies.login.period=1m
+ * ratelimit.policies.login.paths=/api/auth/login
+ * ratelimit.policies.login.methods=POST
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+public class RateLimitProperties {
+
+	private boolean enabled = true;
+
+	/** "memory" for per-instance limits, "jdbc" for limits shared by all instances. */
+	private String backend = "memory";
+
+	/** Upper bound on client keys tracked per policy before the overflow bucket is used. */
+	private int maxKeysPerPolicy = 100_000;
+
+	/** How often idle, fully refilled buckets are swept. */
+	private Duration sweepInterval = Duration.ofSeconds(30);
+
+	/**
+	 * Addresses or CIDR ranges of reverse proxies whose X-Forwarded-For is trusted.
+	 * Empty means clients are keyed on the connection's remote address only.
+	 */
+	private List<String> trustedProxies = new ArrayList<>();
+
+	private Map<String, Policy> policies = new LinkedHashMap<>();
+
+	private Shared shared = new Shared();
+
+	public boolean isEnabled() { return enabled; }
+	public void setEnabled(boolean enabled) { this.enabled = enabled; }
+	public String getBackend() { return backend; }
+	public void setBackend(String backend) { this.backend = backend; }
+	public int getMaxKeysPerPolicy() { return maxKeysPerPolicy; }
+	public void setMaxKeysPerPolicy(int maxKeysPerPolicy) { this.maxKeysPerPolicy = maxKeysPerPolicy; }
+	public Duration getSweepInterval() { return sweepInterval; }
+	public void setSweepInterval(Duration sweepInterval) { this.sweepInterval = sweepInterval; }
+	public List<String> getTrustedProxies() { return trustedProxies; }
+	public void setTrustedProxies(List<String> trustedProxies) { this.trustedProxies = trustedProxies; }
+	public Map<String, Policy> getPolicies() { return policies; }
+	public void setPolicies(Map<String, Policy> policies) { this.policies = policies; }
+	public Shared getShared() { return shared; }
+	public void setShared(Shared shared) { this.shared = shared; }
+
+	public static class Policy {
+
+		/** Requests allowed per period (bucket size). */
+		private int capacity;
+
+		/** Time to refill the bucket completely. */
+		private Duration period = Duration.ofMinutes(1);
+
+		/** Ant-style request paths this policy applies to. */
+		private List<String> paths = new ArrayList<>();
+
+		/** HTTP methods this policy applies to; empty means all. */
+		private List<String> methods = new ArrayList<>();
+
+		/** Message returned with HTTP 429. */
+		private String message = "Too many requests. Please try again later.";
+
+		public int getCapacity() { return capacity; }
+		public void setCapacity(int capacity) { this.capacity = capacity; }
+		public Duration getPeriod() { return period; }
+		public void setPeriod(Duration period) { this.period = period; }
+		public List<String> getPaths() { return paths; }
+		public void setPaths(List<String> paths) { this.paths = paths; }
+		public List<String> getMethods() { return methods; }
+		public void setMethods(List<String> methods) { this.methods = methods; }
+		public String getMessage() { return message; }
+		public void setMessage(String message) { this.message = message; }
+	}
+
+	/**
+	 * Local pre-aggregation for shared backends: each instance leases
+	 * capacity / leaseDivisor tokens (at least one) per store round trip.
+	 * Policies with a capacity below the divisor (login, register) lease a single
+	 * token, so each of their requests is a store round trip; that is deliberate,
+	 * as larger leases on every replica would let a client exceed such small limits.
+	 */
+	public static class Shared {
+
+		private int leaseDivisor = 10;
+
+		/** Leased tokens not used within this time are dropped. */
+		private Duration leaseTtl = Duration.ofSeconds(2);
+
+		public int getLeaseDivisor() { return leaseDivisor; }
+		public void setLeaseDivisor(int leaseDivisor) { this.leaseDivisor = leaseDivisor; }
+		public Duration getLeaseTtl() { return leaseTtl; }
+		public void setLeaseTtl(Duration leaseTtl) { this.leaseTtl = leaseTtl; }
+	}
+}
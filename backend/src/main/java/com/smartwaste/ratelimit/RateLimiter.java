@@ -0,0 +1,21 @@
+package com.smartwaste.ratelimit;
+
+/**
+ * Backend for one rate limit policy.
+ * Implementations: {@link TokenBucketLimiter} (per instance, in memory) and
+ * {@link LeasingRateLimiter} (shared across instances through a {@link BucketStore}).
+ */
+public interface RateLimiter {
+
+	/**
+	 * Take one token for the given key.
+	 *
+	 * @return true if the request is allowed, false if the key is out of tokens
+	 */
+	boolean tryAcquire(String key);
+
+	/**
+	 * Number of client keys currently tracked in this instance's memory.
+	 */
+	int trackedKeys();
+}
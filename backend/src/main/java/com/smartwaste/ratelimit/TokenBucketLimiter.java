@@ -0,0 +1,146 @@
+package com.smartwaste.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, memory-bounded token bucket for a single rate limit policy.
+ *
+ * <p>Each client key maps to one AtomicLong holding the packed bucket state:
+ * the upper 24 bits are the available tokens in thousandths, the lower 40 bits
+ * the last refill time in ms since this limiter was created. Acquiring a token
+ * is a CAS loop, so requests for the same key never block each other.
+ *
+ * <p>Storage is bounded. A bucket idle for a full period has refilled completely
+ * and is indistinguishable from a new one, so such buckets are swept periodically
+ * without changing any decision; sweeps run at most once per sweep interval, so a
+ * full map never makes a request scan it. While the key limit is reached, unknown
+ * clients share one overflow bucket with {@value #OVERFLOW_MULTIPLIER} times the
+ * per-key capacity and rate: a flood of rotating IPs is throttled collectively
+ * instead of growing the map, and legitimate new clients still get through until
+ * the flood alone exceeds that larger budget.
+ */
+public class TokenBucketLimiter implements RateLimiter {
+
+	private static final int TIME_BITS = 40;
+	private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+	private static final long MAX_MILLI_TOKENS = (1L << (Long.SIZE - TIME_BITS)) - 1;
+	private static final long MILLI = 1000;
+	static final int OVERFLOW_MULTIPLIER = 64;
+
+	private final long capacityMilli;
+	private final long overflowCapacityMilli;
+	private final long periodMs;
+	private final int maxKeys;
+	private final long sweepIntervalMs;
+	private final long epochMs;
+	private final LongSupplier clock;
+
+	private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+	private final AtomicLong overflowBucket;
+	private final AtomicLong lastSweep = new AtomicLong();
+
+	public TokenBucketLimiter(int capacity, long periodMs, int maxKeys, long sweepIntervalMs) {
+		this(capacity, periodMs, maxKeys, sweepIntervalMs, System::currentTimeMillis);
+	}
+
+	public TokenBucketLimiter(int capacity, long periodMs, int maxKeys, long sweepIntervalMs, LongSupplier clock) {
+		if (capacity <= 0 || capacity * MILLI > MAX_MILLI_TOKENS) {
+			throw new IllegalArgumentException("capacity must be between 1 and " + MAX_MILLI_TOKENS / MILLI);
+		}
+		if (periodMs <= 0) {
+			throw new IllegalArgumentException("period must be positive");
+		}
+		if (maxKeys <= 0) {
+			throw new IllegalArgumentException("maxKeys must be positive");
+		}
+		this.capacityMilli = capacity * MILLI;
+		this.overflowCapacityMilli = Math.min(capacityMilli * OVERFLOW_MULTIPLIER, MAX_MILLI_TOKENS);
+		this.periodMs = periodMs;
+		this.maxKeys = maxKeys;
+		this.sweepIntervalMs = sweepIntervalMs;
+		this.clock = clock;
+		this.epochMs = clock.getAsLong();
+		this.overflowBucket = new AtomicLong(pack(overflowCapacityMilli, 0));
+	}
+
+	@Override
+	public boolean tryAcquire(String key) {
+		long now = clock.getAsLong() - epochMs;
+		maybeSweep(now);
+
+		AtomicLong bucket = buckets.get(key);
+		long capacity = capacityMilli;
+		if (bucket == null) {
+			if (buckets.size() >= maxKeys) {
+				bucket = overflowBucket;
+				capacity = overflowCapacityMilli;
+			}
+			else {
+				bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(capacityMilli, now)));
+			}
+		}
+
+		while (true) {
+			long state = bucket.get();
+			long refilled = refill(state, now, capacity);
+			long tokens = refilled >>> TIME_BITS;
+			if (tokens < MILLI) {
+				return false;
+			}
+			if (bucket.compareAndSet(state, pack(tokens - MILLI, refilled & TIME_MASK))) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	public int trackedKeys() {
+		return buckets.size();
+	}
+
+	/**
+	 * Compute the state after refilling for the elapsed time. The refill time only
+	 * advances by the time actually converted into tokens, so no fraction is lost.
+	 */
+	private long refill(long state, long now, long capacity) {
+		long tokens = state >>> TIME_BITS;
+		long last = state & TIME_MASK;
+		long elapsed = now - last;
+
+		if (tokens >= capacity) {
+			return pack(capacity, now);
+		}
+		if (elapsed <= 0) {
+			return state;
+		}
+		if (elapsed >= periodMs) {
+			return pack(capacity, now);
+		}
+
+		long added = elapsed * capacity / periodMs;
+		if (added == 0) {
+			return state;
+		}
+		if (tokens + added >= capacity) {
+			return pack(capacity, now);
+		}
+		return pack(tokens + added, last + added * periodMs / capacity);
+	}
+
+	private void maybeSweep(long now) {
+		long previous = lastSweep.get();
+		if (now - previous >= sweepIntervalMs && lastSweep.compareAndSet(previous, now)) {
+			sweep(now);
+		}
+	}
+
+	private void sweep(long now) {
+		buckets.values().removeIf(bucket -> now - (bucket.get() & TIME_MASK) >= periodMs);
+	}
+
+	private static long pack(long milliTokens, long time) {
+		return (milliTokens << TIME_BITS) | (time & TIME_MASK);
+	}
+}
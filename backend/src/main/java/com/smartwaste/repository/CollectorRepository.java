@@ -1,9 +1,21 @@
 package com.smartwaste.repository;
 
+import com.smartwaste.dto.CollectorSummaryDTO;
 import com.smartwaste.entity.Collector;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CollectorRepository extends JpaRepository<Collector, Long> {
 	Optional<Collector> findByEmail(String email);
+
+	// Admin collector list: zone id and name only, no Zone entities
+	@Query("SELECT new com.smartwaste.dto.CollectorSummaryDTO(c.collectorId, c.name, c.email, c.contact, c.vehicleNumber, "
+		+ "z.zoneId, z.zoneName, c.isActive, c.totalEarnings) FROM Collector c LEFT JOIN c.zone z ORDER BY c.collectorId")
+	List<CollectorSummaryDTO> findAllSummaries();
+
+	// [collectorId, zoneId] of collectors that can take new work
+	@Query("SELECT c.collectorId, c.zone.zoneId FROM Collector c WHERE c.isActive = true AND c.zone IS NOT NULL")
+	List<Object[]> findActiveCollectorZones();
 }
@@ -1,13 +1,47 @@
 package com.smartwaste.repository;
 
 import com.smartwaste.entity.RedemptionRequest;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RedemptionRequestRepository extends JpaRepository<RedemptionRequest, Long> {
 
 	List<RedemptionRequest> findByUser_UserIdOrderByCreatedAtDesc(Long userId);
-}
 
+	// Bulk fulfillment support
+
+	@Query("SELECT r.redemptionId FROM RedemptionRequest r WHERE r.redemptionId IN :ids")
+	List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 
+	/**
+	 * Lock the still-REQUESTED rows among the given IDs so the following bulk UPDATE
+	 * affects exactly the returned set (MySQL has no UPDATE ... RETURNING).
+	 */
+	@Query(
+		value = "SELECT redemption_id FROM redemption_requests "
+			+ "WHERE redemption_id IN (:ids) AND status = 'REQUESTED' FOR UPDATE",
+		nativeQuery = true
+	)
+	List<Long> lockRequestedIds(@Param("ids") Collection<Long> ids);
 
+	@Query("SELECT r.redemptionId FROM RedemptionRequest r WHERE r.status = 'REQUESTED' "
+		+ "AND (:rewardId IS NULL OR r.reward.rewardId = :rewardId) "
+		+ "AND (:createdBefore IS NULL OR r.createdAt < :createdBefore) "
+		+ "ORDER BY r.redemptionId")
+	List<Long> findRequestedIds(
+		@Param("rewardId") Long rewardId,
+		@Param("createdBefore") LocalDateTime createdBefore,
+		Pageable pageable
+	);
+
+	@Modifying
+	@Query("UPDATE RedemptionRequest r SET r.status = 'FULFILLED', r.fulfilledAt = :fulfilledAt "
+		+ "WHERE r.redemptionId IN :ids AND r.status = 'REQUESTED'")
+	int markFulfilled(@Param("ids") Collection<Long> ids, @Param("fulfilledAt") LocalDateTime fulfilledAt);
+}
@@ -1,11 +1,19 @@
 package com.smartwaste.repository;
 
+import com.smartwaste.dto.UserSummaryDTO;
 import com.smartwaste.entity.User;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByEmail(String email);
+
+	// Admin user list, without password hashes
+	@Query("SELECT new com.smartwaste.dto.UserSummaryDTO(u.userId, u.name, u.email, u.role, u.points, u.createdAt) "
+		+ "FROM User u ORDER BY u.userId")
+	List<UserSummaryDTO> findAllSummaries();
 }
 
 
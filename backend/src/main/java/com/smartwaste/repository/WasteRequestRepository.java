@@ -1,27 +1,145 @@
 package com.smartwaste.repository;
 
+import com.smartwaste.dto.WasteRequestSummaryDTO;
 import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.entity.WasteRequestStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface WasteRequestRepository extends JpaRepository<WasteRequest, Long> {
 	List<WasteRequest> findByUserId(Long userId);
 	List<WasteRequest> findByCollectorId(Long collectorId);
 	
+	// Owner's request list: only the listed columns, no managed entities
+	@Query("SELECT new com.smartwaste.dto.WasteRequestSummaryDTO(wr.requestId, wr.userId, wr.collectorId, wr.zoneId, "
+		+ "wr.wasteType, wr.weightKg, wr.status, wr.pickupAddress, wr.scheduledTime, wr.collectedTime, wr.rewardPoints, "
+		+ "wr.imageUrl, wr.imageThumbUrl, wr.collectorProofUrl, wr.proofThumbUrl, wr.createdAt) "
+		+ "FROM WasteRequest wr WHERE wr.userId = :userId ORDER BY wr.requestId")
+	List<WasteRequestSummaryDTO> findSummariesByUserId(@Param("userId") Long userId);
+
 	// Pagination support
 	Page<WasteRequest> findByUserId(Long userId, Pageable pageable);
 	Page<WasteRequest> findByCollectorId(Long collectorId, Pageable pageable);
 	Page<WasteRequest> findByZoneId(Long zoneId, Pageable pageable);
-	Page<WasteRequest> findByStatus(String status, Pageable pageable);
+	Page<WasteRequest> findByStatus(WasteRequestStatus status, Pageable pageable);
 	
 	// Optimized queries with pagination
 	@Query("SELECT wr FROM WasteRequest wr WHERE wr.userId = :userId AND wr.status = :status")
-	Page<WasteRequest> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") String status, Pageable pageable);
+	Page<WasteRequest> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") WasteRequestStatus status, Pageable pageable);
 	
 	@Query("SELECT wr FROM WasteRequest wr WHERE wr.collectorId = :collectorId AND wr.status = :status")
-	Page<WasteRequest> findByCollectorIdAndStatus(@Param("collectorId") Long collectorId, @Param("status") String status, Pageable pageable);
+	Page<WasteRequest> findByCollectorIdAndStatus(@Param("collectorId") Long collectorId, @Param("status") WasteRequestStatus status, Pageable pageable);
+
+	// Collector work queue when the home zone has no centroid: actionable requests only
+	// (idx_waste_requests_collector_status), scheduled ones first by time, then requests in the home zone
+	@Query("SELECT wr FROM WasteRequest wr WHERE wr.collectorId = :collectorId AND wr.status IN :statuses "
+		+ "ORDER BY CASE WHEN wr.scheduledTime IS NULL THEN 1 ELSE 0 END, wr.scheduledTime, "
+		+ "CASE WHEN wr.zoneId = :homeZoneId THEN 0 ELSE 1 END, wr.createdAt, wr.requestId")
+	Slice<WasteRequest> findWorkQueue(
+		@Param("collectorId") Long collectorId,
+		@Param("statuses") Collection<WasteRequestStatus> statuses,
+		@Param("homeZoneId") Long homeZoneId,
+		Pageable pageable
+	);
+
+	// Collector work queue ordered by distance from the home zone centroid after scheduled requests;
+	// equirectangular distance squared (longitude scaled by cos(latitude)) is enough to rank nearby
+	// points. Requests without coordinates come after located ones.
+	@Query("SELECT wr FROM WasteRequest wr WHERE wr.collectorId = :collectorId AND wr.status IN :statuses "
+		+ "ORDER BY CASE WHEN wr.scheduledTime IS NULL THEN 1 ELSE 0 END, wr.scheduledTime, "
+		+ "CASE WHEN wr.latitude IS NULL OR wr.longitude IS NULL THEN 1 ELSE 0 END, "
+		+ "(wr.latitude - :originLatitude) * (wr.latitude - :originLatitude) "
+		+ "+ (wr.longitude - :originLongitude) * (wr.longitude - :originLongitude) * :longitudeScale, "
+		+ "wr.createdAt, wr.requestId")
+	Slice<WasteRequest> findWorkQueueByDistance(
+		@Param("collectorId") Long collectorId,
+		@Param("statuses") Collection<WasteRequestStatus> statuses,
+		@Param("originLatitude") Double originLatitude,
+		@Param("originLongitude") Double originLongitude,
+		@Param("longitudeScale") Double longitudeScale,
+		Pageable pageable
+	);
+
+	// Delayed requests: one range scan of idx_waste_requests_status_date per status
+	@Query("SELECT wr FROM WasteRequest wr WHERE wr.status IN :statuses AND wr.createdAt < :cutoff ORDER BY wr.createdAt")
+	List<WasteRequest> findOpenCreatedBefore(
+		@Param("statuses") Collection<WasteRequestStatus> statuses,
+		@Param("cutoff") LocalDateTime cutoff
+	);
+
+	// SLA monitor load: [requestId, zoneId, createdAt] of open requests
+	@Query("SELECT wr.requestId, wr.zoneId, wr.createdAt FROM WasteRequest wr WHERE wr.status IN :statuses")
+	List<Object[]> findOpenTimeline(@Param("statuses") Collection<WasteRequestStatus> statuses);
+
+	// Spatial index load: [requestId, latitude, longitude] of open requests with coordinates
+	@Query("SELECT wr.requestId, wr.latitude, wr.longitude FROM WasteRequest wr "
+		+ "WHERE wr.status IN :statuses AND wr.latitude IS NOT NULL AND wr.longitude IS NOT NULL")
+	List<Object[]> findOpenLocations(@Param("statuses") Collection<WasteRequestStatus> statuses);
+
+	// Route planning: open requests of the collectors due by the end of the day (overdue and unscheduled included)
+	@Query("SELECT wr FROM WasteRequest wr WHERE wr.collectorId IN :collectorIds AND wr.status IN :statuses "
+		+ "AND (wr.scheduledTime IS NULL OR wr.scheduledTime < :dueBefore) ORDER BY wr.scheduledTime, wr.requestId")
+	List<WasteRequest> findRouteCandidates(
+		@Param("collectorIds") Collection<Long> collectorIds,
+		@Param("statuses") Collection<WasteRequestStatus> statuses,
+		@Param("dueBefore") LocalDateTime dueBefore
+	);
+
+	// Delta polling (idx_waste_requests_collector_updated): every status, so clients can drop finished requests
+	@Query("SELECT wr FROM WasteRequest wr WHERE wr.collectorId = :collectorId AND wr.updatedAt > :changedSince "
+		+ "ORDER BY wr.updatedAt, wr.requestId")
+	Slice<WasteRequest> findChangedForCollector(
+		@Param("collectorId") Long collectorId,
+		@Param("changedSince") LocalDateTime changedSince,
+		Pageable pageable
+	);
+
+	@Query("SELECT MAX(wr.updatedAt) FROM WasteRequest wr WHERE wr.collectorId = :collectorId")
+	LocalDateTime findLastUpdateForCollector(@Param("collectorId") Long collectorId);
+
+	// Automatic assignment: [collectorId, open request count] (covered by idx_waste_requests_collector_status)
+	@Query("SELECT wr.collectorId, COUNT(wr) FROM WasteRequest wr "
+		+ "WHERE wr.collectorId IS NOT NULL AND wr.status IN :statuses GROUP BY wr.collectorId")
+	List<Object[]> countOpenByCollector(@Param("statuses") Collection<WasteRequestStatus> statuses);
+
+	// Automatic assignment backlog: [requestId, zoneId, userId], keyset-paged by ID
+	@Query("SELECT wr.requestId, wr.zoneId, wr.userId FROM WasteRequest wr "
+		+ "WHERE wr.collectorId IS NULL AND wr.status = :status AND wr.requestId > :afterId ORDER BY wr.requestId")
+	List<Object[]> findUnassignedAfter(
+		@Param("status") WasteRequestStatus status,
+		@Param("afterId") Long afterId,
+		Pageable pageable
+	);
+
+	// Image variants: only applied if the source image is still the current one
+	@Modifying
+	@Transactional
+	@Query("UPDATE WasteRequest wr SET wr.imageThumbUrl = :thumbUrl, wr.imageWebUrl = :webUrl "
+		+ "WHERE wr.requestId = :requestId AND wr.imageUrl = :sourceUrl")
+	int updateImageVariants(
+		@Param("requestId") Long requestId,
+		@Param("sourceUrl") String sourceUrl,
+		@Param("thumbUrl") String thumbUrl,
+		@Param("webUrl") String webUrl
+	);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE WasteRequest wr SET wr.proofThumbUrl = :thumbUrl, wr.proofWebUrl = :webUrl "
+		+ "WHERE wr.requestId = :requestId AND wr.collectorProofUrl = :sourceUrl")
+	int updateProofVariants(
+		@Param("requestId") Long requestId,
+		@Param("sourceUrl") String sourceUrl,
+		@Param("thumbUrl") String thumbUrl,
+		@Param("webUrl") String webUrl
+	);
 }
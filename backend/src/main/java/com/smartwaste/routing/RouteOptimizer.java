@@ -0,0 +1,369 @@
+package com.smartwaste.routing;
+
+/**
+ * Orders pickup stops into a short open route (the collector does not return to the start).
+ *
+ * <p>Builds a nearest-neighbour tour, then improves it with 2-opt (segment reversal) and
+ * or-opt (moving runs of 1-3 stops, optionally reversed) until no move helps or the time
+ * budget runs out. Distances are great-circle kilometres, precomputed once per route.
+ * Stateless and thread-safe; one call uses one thread.
+ */
+public final class RouteOptimizer {
+
+	private static final double EARTH_RADIUS_KM = 6371.0088;
+	private static final double EPSILON = 1e-9;
+	private static final int MAX_OR_OPT_SEGMENT = 3;
+
+	/**
+	 * @param latitudes stop latitudes
+	 * @param longitudes stop longitudes
+	 * @param startLatitude where the collector starts, or null to let the route start at any stop
+	 * @param startLongitude where the collector starts, or null
+	 * @param budgetNanos time allowed for improvement after the initial tour
+	 */
+	public Result optimize(
+		double[] latitudes,
+		double[] longitudes,
+		Double startLatitude,
+		Double startLongitude,
+		long budgetNanos
+	) {
+		if (latitudes.length != longitudes.length) {
+			throw new IllegalArgumentException("latitudes and longitudes differ in length");
+		}
+		long deadline = System.nanoTime() + budgetNanos;
+		int stops = latitudes.length;
+		boolean fixedStart = startLatitude != null && startLongitude != null;
+		int offset = fixedStart ? 1 : 0;
+		int nodes = stops + offset;
+
+		double[] lat = new double[nodes];
+		double[] lng = new double[nodes];
+		if (fixedStart) {
+			lat[0] = startLatitude;
+			lng[0] = startLongitude;
+		}
+		System.arraycopy(latitudes, 0, lat, offset, stops);
+		System.arraycopy(longitudes, 0, lng, offset, stops);
+
+		Route route = new Route(distanceMatrix(lat, lng), nodes, fixedStart);
+		int[] tour = nearestNeighbour(route, lat, lng);
+		double initial = route.length(tour);
+
+		boolean timedOut = false;
+		boolean improved = nodes > 2;
+		while (improved) {
+			if (System.nanoTime() > deadline) {
+				timedOut = true;
+				break;
+			}
+			improved = route.twoOpt(tour, deadline);
+			improved |= route.orOpt(tour, deadline);
+		}
+
+		int[] order = new int[stops];
+		for (int i = 0; i < stops; i++) {
+			order[i] = tour[i + offset] - offset;
+		}
+		return new Result(order, route.length(tour), initial, timedOut);
+	}
+
+	/**
+	 * Length in km of visiting the stops in the given order, starting from the start point if given.
+	 */
+	public static double routeLength(double[] latitudes, double[] longitudes, Double startLatitude, Double startLongitude) {
+		double total = 0;
+		for (int i = 0; i < latitudes.length; i++) {
+			if (i > 0) {
+				total += haversineKm(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+			}
+			else if (startLatitude != null && startLongitude != null) {
+				total += haversineKm(startLatitude, startLongitude, latitudes[0], longitudes[0]);
+			}
+		}
+		return total;
+	}
+
+	public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLng = Math.toRadians(lng2 - lng1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+			+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	private static double[] distanceMatrix(double[] lat, double[] lng) {
+		int n = lat.length;
+		double[] matrix = new double[n * n];
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				double d = haversineKm(lat[i], lng[i], lat[j], lng[j]);
+				matrix[i * n + j] = d;
+				matrix[j * n + i] = d;
+			}
+		}
+		return matrix;
+	}
+
+	private static int[] nearestNeighbour(Route route, double[] lat, double[] lng) {
+		int n = route.nodes;
+		int[] tour = new int[n];
+		if (n == 0) {
+			return tour;
+		}
+		boolean[] visited = new boolean[n];
+		int current = route.fixedStart ? 0 : farthestFromCentroid(lat, lng);
+		tour[0] = current;
+		visited[current] = true;
+		for (int position = 1; position < n; position++) {
+			int best = -1;
+			double bestDistance = Double.MAX_VALUE;
+			for (int candidate = 0; candidate < n; candidate++) {
+				if (!visited[candidate] && route.d(current, candidate) < bestDistance) {
+					bestDistance = route.d(current, candidate);
+					best = candidate;
+				}
+			}
+			tour[position] = best;
+			visited[best] = true;
+			current = best;
+		}
+		return tour;
+	}
+
+	/**
+	 * Without a fixed start, an open route usually begins at one end of the area.
+	 */
+	private static int farthestFromCentroid(double[] lat, double[] lng) {
+		double centroidLat = 0;
+		double centroidLng = 0;
+		for (int i = 0; i < lat.length; i++) {
+			centroidLat += lat[i];
+			centroidLng += lng[i];
+		}
+		centroidLat /= lat.length;
+		centroidLng /= lat.length;
+		int farthest = 0;
+		double farthestDistance = -1;
+		for (int i = 0; i < lat.length; i++) {
+			double d = haversineKm(centroidLat, centroidLng, lat[i], lng[i]);
+			if (d > farthestDistance) {
+				farthestDistance = d;
+				farthest = i;
+			}
+		}
+		return farthest;
+	}
+
+	/**
+	 * Distance matrix plus the local-search moves over a tour of node indices.
+	 */
+	private static final class Route {
+		private final double[] matrix;
+		private final int nodes;
+		private final boolean fixedStart;
+		private final int first;
+
+		private Route(double[] matrix, int nodes, boolean fixedStart) {
+			this.matrix = matrix;
+			this.nodes = nodes;
+			this.fixedStart = fixedStart;
+			this.first = fixedStart ? 1 : 0;
+		}
+
+		double d(int a, int b) {
+			return matrix[a * nodes + b];
+		}
+
+		double length(int[] tour) {
+			double total = 0;
+			for (int i = 1; i < tour.length; i++) {
+				total += d(tour[i - 1], tour[i]);
+			}
+			return total;
+		}
+
+		/**
+		 * One sweep of first-improvement 2-opt: reverse tour[i..j] when that shortens the route.
+		 * The open end means reversing a suffix only changes one edge.
+		 */
+		boolean twoOpt(int[] tour, long deadline) {
+			int last = nodes - 1;
+			boolean improved = false;
+			for (int i = first; i < last; i++) {
+				if (System.nanoTime() > deadline) {
+					return improved;
+				}
+				for (int j = i + 1; j <= last; j++) {
+					double delta = 0;
+					if (i > 0) {
+						delta += d(tour[i - 1], tour[j]) - d(tour[i - 1], tour[i]);
+					}
+					if (j < last) {
+						delta += d(tour[i], tour[j + 1]) - d(tour[j], tour[j + 1]);
+					}
+					if (delta < -EPSILON) {
+						reverse(tour, i, j);
+						improved = true;
+					}
+				}
+			}
+			return improved;
+		}
+
+		/**
+		 * One sweep of or-opt: move tour[i..i+len-1] between two other adjacent stops,
+		 * to the end, or (without a fixed start) to the front, keeping the best placement.
+		 */
+		boolean orOpt(int[] tour, long deadline) {
+			int last = nodes - 1;
+			boolean improved = false;
+			for (int length = 1; length <= MAX_OR_OPT_SEGMENT; length++) {
+				for (int i = first; i + length - 1 <= last; i++) {
+					if (System.nanoTime() > deadline) {
+						return improved;
+					}
+					int end = i + length - 1;
+					int head = tour[i];
+					int tail = tour[end];
+					double removeGain = 0;
+					if (i > 0) {
+						removeGain += d(tour[i - 1], head);
+					}
+					if (end < last) {
+						removeGain += d(tail, tour[end + 1]);
+					}
+					if (i > 0 && end < last) {
+						removeGain -= d(tour[i - 1], tour[end + 1]);
+					}
+
+					double bestDelta = -EPSILON;
+					int bestPosition = Integer.MIN_VALUE;
+					boolean bestReversed = false;
+
+					// Between tour[p] and tour[p + 1], both outside the segment
+					for (int p = 0; p < last; p++) {
+						if (p >= i - 1 && p <= end) {
+							continue;
+						}
+						double edge = d(tour[p], tour[p + 1]);
+						double forward = d(tour[p], head) + d(tail, tour[p + 1]) - edge - removeGain;
+						double reversed = d(tour[p], tail) + d(head, tour[p + 1]) - edge - removeGain;
+						if (forward < bestDelta) {
+							bestDelta = forward;
+							bestPosition = p;
+							bestReversed = false;
+						}
+						if (reversed < bestDelta) {
+							bestDelta = reversed;
+							bestPosition = p;
+							bestReversed = true;
+						}
+					}
+					// After the last stop
+					if (end < last) {
+						double forward = d(tour[last], head) - removeGain;
+						double reversed = d(tour[last], tail) - removeGain;
+						if (forward < bestDelta) {
+							bestDelta = forward;
+							bestPosition = last;
+							bestReversed = false;
+						}
+						if (reversed < bestDelta) {
+							bestDelta = reversed;
+							bestPosition = last;
+							bestReversed = true;
+						}
+					}
+					// Before the first stop
+					if (!fixedStart && i > 0) {
+						double forward = d(tail, tour[0]) - removeGain;
+						double reversed = d(head, tour[0]) - removeGain;
+						if (forward < bestDelta) {
+							bestDelta = forward;
+							bestPosition = -1;
+							bestReversed = false;
+						}
+						if (reversed < bestDelta) {
+							bestDelta = reversed;
+							bestPosition = -1;
+							bestReversed = true;
+						}
+					}
+
+					if (bestPosition != Integer.MIN_VALUE) {
+						move(tour, i, end, bestPosition, bestReversed);
+						improved = true;
+					}
+				}
+			}
+			return improved;
+		}
+
+		/**
+		 * Move tour[from..to] so it follows the stop now at position {@code after} (-1 = front).
+		 */
+		private static void move(int[] tour, int from, int to, int after, boolean reversed) {
+			int length = to - from + 1;
+			int[] segment = new int[length];
+			System.arraycopy(tour, from, segment, 0, length);
+			if (reversed) {
+				reverse(segment, 0, length - 1);
+			}
+			if (after > to) {
+				// Shift the stops between the segment and the insertion point left
+				System.arraycopy(tour, to + 1, tour, from, after - to);
+				System.arraycopy(segment, 0, tour, after - length + 1, length);
+			}
+			else {
+				// Shift the stops between the insertion point and the segment right
+				System.arraycopy(tour, after + 1, tour, after + 1 + length, from - after - 1);
+				System.arraycopy(segment, 0, tour, after + 1, length);
+			}
+		}
+
+		private static void reverse(int[] tour, int i, int j) {
+			while (i < j) {
+				int swap = tour[i];
+				tour[i++] = tour[j];
+				tour[j--] = swap;
+			}
+		}
+	}
+
+	/**
+	 * Visiting order as indices into the input arrays, with the route length before and after improvement.
+	 */
+	public static final class Result {
+		private final int[] order;
+		private final double distanceKm;
+		private final double nearestNeighbourDistanceKm;
+		private final boolean timedOut;
+
+		Result(int[] order, double distanceKm, double nearestNeighbourDistanceKm, boolean timedOut) {
+			this.order = order;
+			this.distanceKm = distanceKm;
+			this.nearestNeighbourDistanceKm = nearestNeighbourDistanceKm;
+			this.timedOut = timedOut;
+		}
+
+		public int[] getOrder() {
+			return order;
+		}
+
+		public double getDistanceKm() {
+			return distanceKm;
+		}
+
+		public double getNearestNeighbourDistanceKm() {
+			return nearestNeighbourDistanceKm;
+		}
+
+		/**
+		 * True if improvement stopped at the time budget rather than at a local optimum.
+		 */
+		public boolean isTimedOut() {
+			return timedOut;
+		}
+	}
+}
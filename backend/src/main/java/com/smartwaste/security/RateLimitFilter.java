@@ -0,0 +1,90 @@
+package com.smartwaste.security;
+
+import com.smartwaste.config.RateLimitingConfig;
+import com.smartwaste.ratelimit.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rate Limit Filter
+ * Applies the configured rate limit policies per client IP before authentication.
+ * The client IP is the connection's remote address; X-Forwarded-For is only honoured when
+ * that address is one of {@code ratelimit.trusted-proxies}, since clients can set it freely.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private final RateLimitingConfig rateLimitingConfig;
+	private final List<IpAddressMatcher> trustedProxies;
+
+	public RateLimitFilter(RateLimitingConfig rateLimitingConfig, RateLimitProperties properties) {
+		this.rateLimitingConfig = rateLimitingConfig;
+		this.trustedProxies = properties.getTrustedProxies().stream()
+			.map(String::trim)
+			.filter(proxy -> !proxy.isEmpty())
+			.map(IpAddressMatcher::new)
+			.toList();
+	}
+
+	@Override
+	protected void doFilterInternal(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		FilterChain filterChain
+	) throws ServletException, IOException {
+
+		Optional<String> rejection = rateLimitingConfig.checkRequest(request, getClientId(request));
+		if (rejection.isPresent()) {
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.getWriter().write("{\"message\":\"" + rejection.get().replace("\"", "'") + "\"}");
+			return;
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	/**
+	 * The remote address, or behind trusted proxies the right-most X-Forwarded-For hop
+	 * that is not itself a trusted proxy (hops left of it are client-supplied).
+	 */
+	String getClientId(HttpServletRequest request) {
+		String clientId = request.getRemoteAddr();
+		String xForwardedFor = request.getHeader("X-Forwarded-For");
+		if (xForwardedFor == null || !isTrustedProxy(clientId)) {
+			return clientId;
+		}
+		String[] hops = xForwardedFor.split(",");
+		for (int i = hops.length - 1; i >= 0; i--) {
+			String hop = hops[i].trim();
+			if (hop.isEmpty()) {
+				continue;
+			}
+			clientId = hop;
+			if (!isTrustedProxy(hop)) {
+				break;
+			}
+		}
+		return clientId;
+	}
+
+	private boolean isTrustedProxy(String address) {
+		try {
+			return trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+		}
+		catch (IllegalArgumentException ex) {
+			// Not an IP address literal
+			return false;
+		}
+	}
+}
@@ -51,7 +51,7 @@ public class AnalyticsService {
 
 		// Total waste collected (only COLLECTED requests)
 		List<WasteRequest> collectedRequests = wasteRequestRepository.findAll().stream()
-			.filter(req -> "COLLECTED".equals(req.getStatus()))
+			.filter(req -> req.getStatus() == WasteRequestStatus.COLLECTED)
 			.filter(req -> start == null || req.getCollectedTime() == null || !req.getCollectedTime().isBefore(start))
 			.filter(req -> end == null || req.getCollectedTime() == null || !req.getCollectedTime().isAfter(end))
 			.collect(Collectors.toList());
@@ -129,7 +129,7 @@ public class AnalyticsService {
 		LocalDateTime end = endDate != null ? endDate.atTime(23, 59, 59) : null;
 
 		List<WasteRequest> collectedRequests = wasteRequestRepository.findAll().stream()
-			.filter(req -> "COLLECTED".equals(req.getStatus()))
+			.filter(req -> req.getStatus() == WasteRequestStatus.COLLECTED)
 			.filter(req -> req.getZoneId() != null)
 			.filter(req -> start == null || req.getCollectedTime() == null || !req.getCollectedTime().isBefore(start))
 			.filter(req -> end == null || req.getCollectedTime() == null || !req.getCollectedTime().isAfter(end))
@@ -164,7 +164,7 @@ public class AnalyticsService {
 		LocalDateTime end = endDate != null ? endDate.atTime(23, 59, 59) : null;
 
 		List<WasteRequest> collectedRequests = wasteRequestRepository.findAll().stream()
-			.filter(req -> "COLLECTED".equals(req.getStatus()))
+			.filter(req -> req.getStatus() == WasteRequestStatus.COLLECTED)
 			.filter(req -> req.getWasteType() != null)
 			.filter(req -> start == null || req.getCollectedTime() == null || !req.getCollectedTime().isBefore(start))
 			.filter(req -> end == null || req.getCollectedTime() == null || !req.getCollectedTime().isAfter(end))
@@ -213,7 +213,7 @@ public class AnalyticsService {
 
 				// Get actual waste for same date and zone
 				double actualWaste = wasteRequestRepository.findAll().stream()
-					.filter(req -> "COLLECTED".equals(req.getStatus()))
+					.filter(req -> req.getStatus() == WasteRequestStatus.COLLECTED)
 					.filter(req -> predZoneId.equals(req.getZoneId()))
 					.filter(req -> req.getCollectedTime() != null)
 					.filter(req -> req.getCollectedTime().toLocalDate().equals(predDate))
@@ -260,11 +260,11 @@ public class AnalyticsService {
 					.collect(Collectors.toList());
 
 				List<WasteRequest> completed = collectorRequests.stream()
-					.filter(req -> "COLLECTED".equals(req.getStatus()))
+					.filter(req -> req.getStatus() == WasteRequestStatus.COLLECTED)
 					.collect(Collectors.toList());
 
 				List<WasteRequest> pending = collectorRequests.stream()
-					.filter(req -> "PENDING".equals(req.getStatus()) || "IN_PROGRESS".equals(req.getStatus()))
+					.filter(req -> req.getStatus() != null && req.getStatus().isOpen())
 					.collect(Collectors.toList());
 
 				double totalWaste = completed.stream()
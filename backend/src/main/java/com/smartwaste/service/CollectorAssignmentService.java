@@ -0,0 +1,329 @@
+package com.smartwaste.service;
+
+import com.smartwaste.dto.AutoAssignmentResultDTO;
+import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.entity.WasteRequestStatus;
+import com.smartwaste.events.RequestEventHub;
+import com.smartwaste.repository.CollectorRepository;
+import com.smartwaste.repository.WasteRequestRepository;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Assigns unassigned (CREATED) requests to the active collector of the request's zone
+ * with the fewest open (PENDING / IN_PROGRESS) requests.
+ *
+ * <p>Open load is kept in memory as one {@link CollectorLoadHeap} per zone, built from the
+ * database at startup and rebuilt periodically to correct drift (e.g. changes made by other
+ * instances). {@link WasteRequestService} reports status changes and manual reassignments
+ * so the heaps stay current between rebuilds. Assignments are written in JDBC batches and
+ * only apply to requests that are still unassigned, so concurrent manual assignment wins.
+ */
+@Service
+public class CollectorAssignmentService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CollectorAssignmentService.class);
+
+	// Column value for the JDBC batch, which bypasses WasteRequestStatusConverter
+	private static final String UNASSIGNED_STATUS = WasteRequestStatus.CREATED.toLegacyString();
+	private static final List<WasteRequestStatus> OPEN_STATUSES = List.of(
+		WasteRequestStatus.ASSIGNED,
+		WasteRequestStatus.IN_PROGRESS
+	);
+	private static final String ASSIGN_SQL =
+		"UPDATE waste_requests SET collector_id = ? WHERE request_id = ? AND collector_id IS NULL AND status = ?";
+	private static final String COLLECTOR_OF_SQL = "SELECT request_id, collector_id FROM waste_requests WHERE request_id IN (%s)";
+
+	private final WasteRequestRepository wasteRequestRepository;
+	private final CollectorRepository collectorRepository;
+	private final RequestEventHub requestEventHub;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final boolean assignOnCreate;
+	private final int batchSize;
+	private final int maxPerRun;
+
+	/** Only one backlog run at a time; single assignments on create do not take this lock. */
+	private final ReentrantLock runLock = new ReentrantLock();
+
+	private volatile Map<Long, CollectorLoadHeap> heapsByZone = Map.of();
+	private volatile Map<Long, Long> zoneByCollector = Map.of();
+
+	public CollectorAssignmentService(
+		WasteRequestRepository wasteRequestRepository,
+		CollectorRepository collectorRepository,
+		RequestEventHub requestEventHub,
+		JdbcTemplate jdbcTemplate,
+		PlatformTransactionManager transactionManager,
+		@Value("${assignment.auto.enabled:true}") boolean enabled,
+		@Value("${assignment.auto.on-create:true}") boolean assignOnCreate,
+		@Value("${assignment.auto.batch-size:1000}") int batchSize,
+		@Value("${assignment.auto.max-per-run:100000}") int maxPerRun
+	) {
+		this.wasteRequestRepository = wasteRequestRepository;
+		this.collectorRepository = collectorRepository;
+		this.requestEventHub = requestEventHub;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.assignOnCreate = assignOnCreate;
+		this.batchSize = batchSize;
+		this.maxPerRun = maxPerRun;
+	}
+
+	/**
+	 * Rebuild the per-zone heaps from active collectors and their current open request counts.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${assignment.auto.rebuild-interval:PT5M}", initialDelayString = "${assignment.auto.rebuild-interval:PT5M}")
+	public void rebuild() {
+		if (!enabled) {
+			return;
+		}
+		Map<Long, Integer> openLoads = new HashMap<>();
+		for (Object[] row : wasteRequestRepository.countOpenByCollector(OPEN_STATUSES)) {
+			openLoads.put((Long) row[0], ((Number) row[1]).intValue());
+		}
+
+		List<Object[]> activeCollectors = collectorRepository.findActiveCollectorZones();
+		Map<Long, Long> zones = new HashMap<>();
+		for (Object[] row : activeCollectors) {
+			zones.put((Long) row[0], (Long) row[1]);
+		}
+		Map<Long, CollectorLoadHeap> heaps = buildHeaps(activeCollectors, openLoads);
+		this.heapsByZone = heaps;
+		this.zoneByCollector = zones;
+		logger.debug("Assignment heaps rebuilt: {} collectors in {} zones", zones.size(), heaps.size());
+	}
+
+	/**
+	 * One heap per zone holding only the given (active) collectors, at their open load.
+	 * Collectors that became inactive drop out here.
+	 */
+	static Map<Long, CollectorLoadHeap> buildHeaps(List<Object[]> activeCollectorZones, Map<Long, Integer> openLoads) {
+		Map<Long, CollectorLoadHeap> heaps = new HashMap<>();
+		for (Object[] row : activeCollectorZones) {
+			Long collectorId = (Long) row[0];
+			heaps.computeIfAbsent((Long) row[1], id -> new CollectorLoadHeap())
+				.add(collectorId, openLoads.getOrDefault(collectorId, 0));
+		}
+		return heaps;
+	}
+
+	@Scheduled(fixedDelayString = "${assignment.auto.sweep-interval:PT1M}", initialDelayString = "${assignment.auto.sweep-interval:PT1M}")
+	public void scheduledSweep() {
+		if (!enabled || !runLock.tryLock()) {
+			return;
+		}
+		try {
+			AutoAssignmentResultDTO result = assignBacklogLocked(maxPerRun);
+			if (result.getAssignedCount() > 0) {
+				logger.info("Auto-assigned {} requests in {} ms ({} without collector, {} conflicts)",
+					result.getAssignedCount(), result.getDurationMs(), result.getNoCollectorCount(), result.getConflictCount());
+			}
+		}
+		finally {
+			runLock.unlock();
+		}
+	}
+
+	/**
+	 * Assign up to {@code max} unassigned requests, oldest first.
+	 */
+	public AutoAssignmentResultDTO assignBacklog(int max) {
+		if (!enabled) {
+			throw new IllegalStateException("Automatic assignment is disabled");
+		}
+		runLock.lock();
+		try {
+			return assignBacklogLocked(Math.min(max, maxPerRun));
+		}
+		finally {
+			runLock.unlock();
+		}
+	}
+
+	private AutoAssignmentResultDTO assignBacklogLocked(int max) {
+		long start = System.nanoTime();
+		AutoAssignmentResultDTO result = new AutoAssignmentResultDTO();
+		long afterId = 0;
+		int scanned = 0;
+		while (scanned < max) {
+			List<Object[]> rows = wasteRequestRepository.findUnassignedAfter(
+				WasteRequestStatus.CREATED,
+				afterId,
+				PageRequest.of(0, Math.min(batchSize, max - scanned))
+			);
+			if (rows.isEmpty()) {
+				break;
+			}
+			List<Planned> planned = new ArrayList<>(rows.size());
+			for (Object[] row : rows) {
+				Long requestId = (Long) row[0];
+				Long collectorId = pickCollector((Long) row[1]);
+				if (collectorId == null) {
+					result.incrementNoCollector();
+				}
+				else {
+					planned.add(new Planned(requestId, (Long) row[2], collectorId));
+				}
+			}
+			apply(planned, result);
+			scanned += rows.size();
+			afterId = (Long) rows.get(rows.size() - 1)[0];
+		}
+		result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+		return result;
+	}
+
+	/**
+	 * Assign a freshly created request right away. On success the entity is updated in place.
+	 *
+	 * @return true if a collector was assigned
+	 */
+	public boolean assignNewRequest(WasteRequest request) {
+		if (!enabled || !assignOnCreate || request.getCollectorId() != null) {
+			return false;
+		}
+		Long collectorId = pickCollector(request.getZoneId());
+		if (collectorId == null) {
+			return false;
+		}
+		AutoAssignmentResultDTO result = new AutoAssignmentResultDTO();
+		apply(List.of(new Planned(request.getRequestId(), request.getUserId(), collectorId)), result);
+		if (result.getAssignedCount() == 0) {
+			return false;
+		}
+		request.setCollectorId(collectorId);
+		request.setStatus(WasteRequestStatus.ASSIGNED);
+		return true;
+	}
+
+	/**
+	 * Record a change in a collector's open load (request closed, started elsewhere, reassigned).
+	 */
+	public void adjustLoad(Long collectorId, int delta) {
+		if (collectorId == null) {
+			return;
+		}
+		Long zoneId = zoneByCollector.get(collectorId);
+		CollectorLoadHeap heap = zoneId != null ? heapsByZone.get(zoneId) : null;
+		if (heap != null) {
+			synchronized (heap) {
+				heap.adjust(collectorId, delta);
+			}
+		}
+	}
+
+	private Long pickCollector(Long zoneId) {
+		CollectorLoadHeap heap = zoneId != null ? heapsByZone.get(zoneId) : null;
+		if (heap == null) {
+			return null;
+		}
+		synchronized (heap) {
+			return heap.takeLeastLoaded();
+		}
+	}
+
+	private void apply(List<Planned> planned, AutoAssignmentResultDTO result) {
+		if (planned.isEmpty()) {
+			return;
+		}
+		int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+			ASSIGN_SQL,
+			planned,
+			planned.size(),
+			(ps, assignment) -> {
+				ps.setLong(1, assignment.collectorId());
+				ps.setLong(2, assignment.requestId());
+				ps.setString(3, UNASSIGNED_STATUS);
+			}
+		));
+		int[] rowCounts = counts != null && counts.length > 0 ? counts[0] : new int[0];
+		// Drivers may report SUCCESS_NO_INFO or fewer counts than statements; re-read those rows
+		boolean[] applied = applied(planned, rowCounts, readCollectors(unknownRequestIds(planned, rowCounts)));
+		for (int i = 0; i < planned.size(); i++) {
+			Planned assignment = planned.get(i);
+			if (applied[i]) {
+				result.incrementAssigned();
+				requestEventHub.publishReassignment(
+					assignment.requestId(),
+					assignment.userId(),
+					null,
+					assignment.collectorId(),
+					WasteRequestStatus.ASSIGNED.toLegacyString()
+				);
+			}
+			else {
+				result.incrementConflict();
+				adjustLoad(assignment.collectorId(), -1);
+			}
+		}
+	}
+
+	/**
+	 * Whether each planned assignment took effect. Known update counts decide directly
+	 * (EXECUTE_FAILED counts as not applied); the others compare the re-read collector.
+	 */
+	static boolean[] applied(List<Planned> planned, int[] rowCounts, Map<Long, Long> collectorByRequest) {
+		boolean[] applied = new boolean[planned.size()];
+		for (int i = 0; i < planned.size(); i++) {
+			Planned assignment = planned.get(i);
+			applied[i] = isKnown(rowCounts, i)
+				? rowCounts[i] > 0
+				: assignment.collectorId().equals(collectorByRequest.get(assignment.requestId()));
+		}
+		return applied;
+	}
+
+	static boolean isKnown(int[] rowCounts, int index) {
+		return index < rowCounts.length && rowCounts[index] != Statement.SUCCESS_NO_INFO;
+	}
+
+	/**
+	 * Planned requests whose update count is unknown and must be re-read.
+	 */
+	static List<Long> unknownRequestIds(List<Planned> planned, int[] rowCounts) {
+		List<Long> requestIds = new ArrayList<>();
+		for (int i = 0; i < planned.size(); i++) {
+			if (!isKnown(rowCounts, i)) {
+				requestIds.add(planned.get(i).requestId());
+			}
+		}
+		return requestIds;
+	}
+
+	/**
+	 * Current collector of each of the requests.
+	 */
+	private Map<Long, Long> readCollectors(List<Long> requestIds) {
+		if (requestIds.isEmpty()) {
+			return Map.of();
+		}
+		Map<Long, Long> collectorByRequest = new HashMap<>();
+		RowCallbackHandler handler = rs -> collectorByRequest.put(rs.getLong(1), rs.getObject(2, Long.class));
+		String placeholders = String.join(", ", Collections.nCopies(requestIds.size(), "?"));
+		jdbcTemplate.query(String.format(COLLECTOR_OF_SQL, placeholders), handler, requestIds.toArray());
+		return collectorByRequest;
+	}
+
+	record Planned(Long requestId, Long userId, Long collectorId) {}
+}
@@ -0,0 +1,119 @@
+package com.smartwaste.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexed binary min-heap of collectors by open workload (ties broken by collector ID).
+ * Each collector's heap position is tracked, so taking the least loaded collector and
+ * adjusting any collector's load are both O(log n).
+ * Not thread-safe; callers synchronize on the heap.
+ */
+final class CollectorLoadHeap {
+
+	private long[] ids = new long[8];
+	private int[] loads = new int[8];
+	private final Map<Long, Integer> positions = new HashMap<>();
+	private int size;
+
+	void add(long collectorId, int load) {
+		if (positions.containsKey(collectorId)) {
+			return;
+		}
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, size * 2);
+			loads = Arrays.copyOf(loads, size * 2);
+		}
+		ids[size] = collectorId;
+		loads[size] = Math.max(0, load);
+		positions.put(collectorId, size);
+		siftUp(size++);
+	}
+
+	/**
+	 * Take the least loaded collector and count one more open request against it.
+	 *
+	 * @return the collector ID, or null if the heap is empty
+	 */
+	Long takeLeastLoaded() {
+		if (size == 0) {
+			return null;
+		}
+		long collectorId = ids[0];
+		loads[0]++;
+		siftDown(0);
+		return collectorId;
+	}
+
+	/**
+	 * Change a collector's load by delta (never below zero). Unknown collectors are ignored.
+	 */
+	void adjust(long collectorId, int delta) {
+		Integer position = positions.get(collectorId);
+		if (position == null) {
+			return;
+		}
+		loads[position] = Math.max(0, loads[position] + delta);
+		if (delta < 0) {
+			siftUp(position);
+		}
+		else {
+			siftDown(position);
+		}
+	}
+
+	boolean contains(long collectorId) {
+		return positions.containsKey(collectorId);
+	}
+
+	int loadOf(long collectorId) {
+		Integer position = positions.get(collectorId);
+		return position == null ? -1 : loads[position];
+	}
+
+	int size() {
+		return size;
+	}
+
+	private boolean less(int a, int b) {
+		return loads[a] < loads[b] || (loads[a] == loads[b] && ids[a] < ids[b]);
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!less(i, parent)) {
+				break;
+			}
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			int left = 2 * i + 1;
+			if (left >= size) {
+				return;
+			}
+			int smallest = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+			if (!less(smallest, i)) {
+				return;
+			}
+			swap(i, smallest);
+			i = smallest;
+		}
+	}
+
+	private void swap(int a, int b) {
+		long id = ids[a];
+		ids[a] = ids[b];
+		ids[b] = id;
+		int load = loads[a];
+		loads[a] = loads[b];
+		loads[b] = load;
+		positions.put(ids[a], a);
+		positions.put(ids[b], b);
+	}
+}
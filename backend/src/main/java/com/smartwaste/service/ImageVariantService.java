@@ -0,0 +1,265 @@
+package com.smartwaste.service;
+
+import com.smartwaste.repository.WasteRequestRepository;
+import com.smartwaste.storage.BlobStore;
+import com.smartwaste.utils.FileUploadUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Generates downscaled variants of uploaded request images and collector proofs:
+ * a small thumbnail for list/grid views and a web-sized JPEG for detail views.
+ * <p>
+ * Work runs on a small bounded worker pool after the upload request has returned,
+ * so uploads never wait for image processing. When the queue is full, jobs are
+ * dropped and the original image keeps being served. Variant URLs are written back
+ * to the request only if the source image has not been replaced in the meantime.
+ */
+@Service
+public class ImageVariantService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+	public enum ImageKind {
+		REQUEST("uploads/user"),
+		PROOF("uploads/proof");
+
+		private final String uploadDir;
+
+		ImageKind(String uploadDir) {
+			this.uploadDir = uploadDir;
+		}
+	}
+
+	private final WasteRequestRepository wasteRequestRepository;
+	private final BlobStore blobStore;
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final int thumbnailSize;
+	private final int webSize;
+	private final float jpegQuality;
+	private final ThreadPoolExecutor executor;
+
+	public ImageVariantService(
+		WasteRequestRepository wasteRequestRepository,
+		BlobStore blobStore,
+		MeterRegistry meterRegistry,
+		@Value("${uploads.variants.enabled:true}") boolean enabled,
+		@Value("${uploads.variants.threads:2}") int threads,
+		@Value("${uploads.variants.queue-capacity:200}") int queueCapacity,
+		@Value("${uploads.variants.thumbnail-size:256}") int thumbnailSize,
+		@Value("${uploads.variants.web-size:1280}") int webSize,
+		@Value("${uploads.variants.jpeg-quality:0.8}") float jpegQuality
+	) {
+		this.wasteRequestRepository = wasteRequestRepository;
+		this.blobStore = blobStore;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.thumbnailSize = thumbnailSize;
+		this.webSize = webSize;
+		this.jpegQuality = jpegQuality;
+
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(
+			threads,
+			threads,
+			60,
+			TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(queueCapacity),
+			runnable -> {
+				Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				thread.setPriority(Thread.NORM_PRIORITY - 1);
+				return thread;
+			},
+			new ThreadPoolExecutor.AbortPolicy()
+		);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Queue variant generation for a freshly stored image. If called inside a
+	 * transaction, the job is queued only after commit so the worker sees the row.
+	 */
+	public void submit(Long requestId, String sourceUrl, ImageKind kind) {
+		if (!enabled || requestId == null || sourceUrl == null) {
+			return;
+		}
+		Runnable job = () -> generate(requestId, sourceUrl, kind);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					enqueue(job, requestId);
+				}
+			});
+		}
+		else {
+			enqueue(job, requestId);
+		}
+	}
+
+	private void enqueue(Runnable job, Long requestId) {
+		try {
+			executor.execute(job);
+		}
+		catch (RejectedExecutionException ex) {
+			count("dropped");
+			logger.warn("Image variant queue full; serving original image for request {}", requestId);
+		}
+	}
+
+	private void generate(Long requestId, String sourceUrl, ImageKind kind) {
+		try {
+			BufferedImage source = readScaled(sourceUrl, webSize);
+			if (source == null) {
+				// Not a decodable image (e.g. PDF); originals are served as-is
+				count("skipped");
+				return;
+			}
+
+			String thumbUrl = store(resize(source, thumbnailSize), kind);
+			String webUrl = Math.max(source.getWidth(), source.getHeight()) > thumbnailSize
+				? store(resize(source, webSize), kind)
+				: thumbUrl;
+
+			int updated = kind == ImageKind.REQUEST
+				? wasteRequestRepository.updateImageVariants(requestId, sourceUrl, thumbUrl, webUrl)
+				: wasteRequestRepository.updateProofVariants(requestId, sourceUrl, thumbUrl, webUrl);
+			count(updated > 0 ? "generated" : "stale");
+		}
+		catch (IOException | RuntimeException ex) {
+			count("failed");
+			logger.warn("Could not generate image variants for request {}: {}", requestId, ex.getMessage());
+		}
+	}
+
+	/**
+	 * Decode the image with source subsampling so large photos are never fully
+	 * decoded when only a web-sized copy is needed. Local files are read with random
+	 * access; remote objects are streamed.
+	 */
+	private BufferedImage readScaled(String key, int targetSize) throws IOException {
+		Path file = blobStore.localPath(key).orElse(null);
+		if (file != null) {
+			if (!Files.isRegularFile(file)) {
+				return null;
+			}
+			try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+				return decodeScaled(in, targetSize);
+			}
+		}
+		try (InputStream source = blobStore.open(key);
+			 ImageInputStream in = ImageIO.createImageInputStream(source)) {
+			return decodeScaled(in, targetSize);
+		}
+	}
+
+	private BufferedImage decodeScaled(ImageInputStream in, int targetSize) throws IOException {
+		if (in == null) {
+			return null;
+		}
+		Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+		if (!readers.hasNext()) {
+			return null;
+		}
+		ImageReader reader = readers.next();
+		try {
+			reader.setInput(in, true, true);
+			int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+			int subsampling = Math.max(1, longest / targetSize);
+			ImageReadParam param = reader.getDefaultReadParam();
+			param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+			return reader.read(0, param);
+		}
+		finally {
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * Fit the image into a maxSize x maxSize box, halving in steps for better quality
+	 * on large reductions. Images already small enough are only converted to RGB.
+	 */
+	private BufferedImage resize(BufferedImage image, int maxSize) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+		int targetWidth = Math.max(1, (int) Math.round(width * scale));
+		int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+		BufferedImage current = image;
+		do {
+			int stepWidth = Math.max(targetWidth, current.getWidth() / 2);
+			int stepHeight = Math.max(targetHeight, current.getHeight() / 2);
+			BufferedImage next = new BufferedImage(stepWidth, stepHeight, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = next.createGraphics();
+			try {
+				g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+				g.drawImage(current, 0, 0, stepWidth, stepHeight, Color.WHITE, null);
+			}
+			finally {
+				g.dispose();
+			}
+			current = next;
+		} while (current.getWidth() > targetWidth || current.getHeight() > targetHeight);
+		return current;
+	}
+
+	private String store(BufferedImage image, ImageKind kind) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+			writer.setOutput(out);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(jpegQuality);
+			param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+			writer.write(null, new IIOImage(image, null, null), param);
+		}
+		finally {
+			writer.dispose();
+		}
+		return FileUploadUtil.saveStream(blobStore, kind.uploadDir, new ByteArrayInputStream(bytes.toByteArray()), "variant.jpg");
+	}
+
+	private void count(String outcome) {
+		meterRegistry.counter("smartwaste.uploads.variants", "outcome", outcome).increment();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
@@ -63,7 +63,7 @@ public class ReportService {
 					req.getZoneId(),
 					req.getWasteType(),
 					req.getWeightKg(),
-					req.getStatus(),
+					req.getLegacyStatus(),
 					req.getCollectedTime() != null ? req.getCollectedTime().toString() : "",
 					req.getRewardPoints()
 				);
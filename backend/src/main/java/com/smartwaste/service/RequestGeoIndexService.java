@@ -0,0 +1,186 @@
+package com.smartwaste.service;
+
+import com.smartwaste.dto.NearbyRequestDTO;
+import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.entity.WasteRequestStatus;
+import com.smartwaste.geo.GeoGridIndex;
+import com.smartwaste.repository.WasteRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps open (PENDING / IN_PROGRESS) requests with coordinates in an in-memory
+ * {@link GeoGridIndex} for "open requests within R km" and "nearest N open requests".
+ *
+ * <p>The index is loaded at startup, updated by {@link WasteRequestService} as requests are
+ * created and closed, and rebuilt periodically to pick up changes made by other instances.
+ * Updates made while a rebuild is loading are recorded and replayed onto the new index
+ * before it replaces the old one, so they are not lost by the swap.
+ */
+@Service
+public class RequestGeoIndexService {
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestGeoIndexService.class);
+
+	// ASSIGNED shares the PENDING column value with CREATED
+	private static final List<WasteRequestStatus> OPEN_STATUSES = List.of(
+		WasteRequestStatus.CREATED,
+		WasteRequestStatus.IN_PROGRESS
+	);
+
+	private final WasteRequestRepository wasteRequestRepository;
+	private final double cellDegrees;
+	private final double maxRadiusKm;
+	private final int maxResults;
+
+	private volatile GeoGridIndex index;
+	// Guards the index swap; pendingUpdates is non-null while a rebuild is loading
+	private final Object updateLock = new Object();
+	private List<IndexUpdate> pendingUpdates;
+
+	public RequestGeoIndexService(
+		WasteRequestRepository wasteRequestRepository,
+		MeterRegistry meterRegistry,
+		@Value("${geo.index.cell-degrees:0.01}") double cellDegrees,
+		@Value("${geo.index.max-radius-km:50}") double maxRadiusKm,
+		@Value("${geo.index.max-results:500}") int maxResults
+	) {
+		this.wasteRequestRepository = wasteRequestRepository;
+		this.cellDegrees = cellDegrees;
+		this.maxRadiusKm = maxRadiusKm;
+		this.maxResults = maxResults;
+		this.index = new GeoGridIndex(cellDegrees);
+		meterRegistry.gauge("smartwaste.geo.indexed.requests", this, service -> service.index.size());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${geo.index.rebuild-interval:PT10M}", initialDelayString = "${geo.index.rebuild-interval:PT10M}")
+	public synchronized void rebuild() {
+		synchronized (updateLock) {
+			pendingUpdates = new ArrayList<>();
+		}
+		GeoGridIndex rebuilt = new GeoGridIndex(cellDegrees);
+		boolean loaded = false;
+		try {
+			for (Object[] row : wasteRequestRepository.findOpenLocations(OPEN_STATUSES)) {
+				rebuilt.put((Long) row[0], (Double) row[1], (Double) row[2]);
+			}
+			loaded = true;
+		}
+		finally {
+			synchronized (updateLock) {
+				if (loaded) {
+					for (IndexUpdate update : pendingUpdates) {
+						update.applyTo(rebuilt);
+					}
+					this.index = rebuilt;
+				}
+				pendingUpdates = null;
+			}
+		}
+		logger.debug("Spatial index rebuilt with {} open requests", rebuilt.size());
+	}
+
+	/**
+	 * Index, move or drop the request depending on its current status and coordinates.
+	 */
+	public void onRequestSaved(WasteRequest request) {
+		if (request.getRequestId() == null) {
+			return;
+		}
+		IndexUpdate update = isOpen(request) && request.getLatitude() != null && request.getLongitude() != null
+			? new IndexUpdate(request.getRequestId(), request.getLatitude(), request.getLongitude())
+			: new IndexUpdate(request.getRequestId(), null, null);
+		synchronized (updateLock) {
+			update.applyTo(index);
+			if (pendingUpdates != null) {
+				pendingUpdates.add(update);
+			}
+		}
+	}
+
+	public List<NearbyRequestDTO> findWithin(double latitude, double longitude, double radiusKm, int limit) {
+		validatePoint(latitude, longitude);
+		if (!(radiusKm > 0) || radiusKm > maxRadiusKm) {
+			throw new IllegalArgumentException("radiusKm must be between 0 and " + maxRadiusKm);
+		}
+		return load(index.within(latitude, longitude, radiusKm, clampLimit(limit)));
+	}
+
+	public List<NearbyRequestDTO> findNearest(double latitude, double longitude, int count) {
+		validatePoint(latitude, longitude);
+		return load(index.nearest(latitude, longitude, clampLimit(count), maxRadiusKm));
+	}
+
+	/**
+	 * Raw index hits (request ID, position, distance) without loading the requests.
+	 */
+	public List<GeoGridIndex.Hit> nearestIds(double latitude, double longitude, int count) {
+		return index.nearest(latitude, longitude, clampLimit(count), maxRadiusKm);
+	}
+
+	private List<NearbyRequestDTO> load(List<GeoGridIndex.Hit> hits) {
+		if (hits.isEmpty()) {
+			return List.of();
+		}
+		List<Long> ids = new ArrayList<>(hits.size());
+		for (GeoGridIndex.Hit hit : hits) {
+			ids.add(hit.id());
+		}
+		Map<Long, WasteRequest> byId = new HashMap<>();
+		for (WasteRequest request : wasteRequestRepository.findAllById(ids)) {
+			byId.put(request.getRequestId(), request);
+		}
+		List<NearbyRequestDTO> results = new ArrayList<>(hits.size());
+		for (GeoGridIndex.Hit hit : hits) {
+			WasteRequest request = byId.get(hit.id());
+			// Skip requests deleted or closed by another instance since the last rebuild
+			if (request != null && isOpen(request)) {
+				results.add(new NearbyRequestDTO(request, hit.distanceKm()));
+			}
+		}
+		return results;
+	}
+
+	private int clampLimit(int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("limit must be positive");
+		}
+		return Math.min(limit, maxResults);
+	}
+
+	private static boolean isOpen(WasteRequest request) {
+		return request.getStatus() != null && request.getStatus().isOpen();
+	}
+
+	private static void validatePoint(double latitude, double longitude) {
+		if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+			throw new IllegalArgumentException("Invalid coordinates");
+		}
+	}
+
+	/**
+	 * A put, or a removal when the position is null.
+	 */
+	private record IndexUpdate(long id, Double latitude, Double longitude) {
+
+		void applyTo(GeoGridIndex target) {
+			if (latitude != null) {
+				target.put(id, latitude, longitude);
+			}
+			else {
+				target.remove(id);
+			}
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package com.smartwaste.service;
+
+import com.smartwaste.dto.OverdueSummaryDTO;
+import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.entity.WasteRequestStatus;
+import com.smartwaste.repository.WasteRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tracks open (PENDING / IN_PROGRESS) requests ordered by creation time, so the set of
+ * requests past the SLA is a prefix of the ordering and "what is overdue now" needs no query.
+ *
+ * <p>Loaded at startup, updated by {@link WasteRequestService} as requests are created and
+ * closed, and rebuilt periodically to pick up changes made by other instances. Overdue counts
+ * per zone are published as the {@code smartwaste.requests.overdue} gauge (tag {@code zone}).
+ * Updates made while a rebuild is loading are replayed onto the new timeline before the swap.
+ */
+@Service
+public class RequestSlaMonitor {
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestSlaMonitor.class);
+
+	// ASSIGNED shares the PENDING column value with CREATED
+	private static final List<WasteRequestStatus> OPEN_STATUSES = List.of(
+		WasteRequestStatus.CREATED,
+		WasteRequestStatus.IN_PROGRESS
+	);
+	private static final String NO_ZONE = "none";
+
+	private final WasteRequestRepository wasteRequestRepository;
+	private final MeterRegistry meterRegistry;
+	private final Duration overdueAfter;
+	private final Map<String, AtomicInteger> overdueGauges = new ConcurrentHashMap<>();
+	private final AtomicInteger overdueTotal = new AtomicInteger();
+
+	private volatile Timeline timeline = new Timeline();
+	// Guards the timeline swap; pendingUpdates is non-null while a rebuild is loading
+	private final Object updateLock = new Object();
+	private List<TimelineUpdate> pendingUpdates;
+
+	public RequestSlaMonitor(
+		WasteRequestRepository wasteRequestRepository,
+		MeterRegistry meterRegistry,
+		@Value("${sla.overdue-after:PT48H}") Duration overdueAfter
+	) {
+		this.wasteRequestRepository = wasteRequestRepository;
+		this.meterRegistry = meterRegistry;
+		this.overdueAfter = overdueAfter;
+		meterRegistry.gauge("smartwaste.requests.overdue.total", overdueTotal);
+		meterRegistry.gauge("smartwaste.requests.open", this, monitor -> monitor.timeline.byId.size());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${sla.rebuild-interval:PT10M}", initialDelayString = "${sla.rebuild-interval:PT10M}")
+	public synchronized void rebuild() {
+		synchronized (updateLock) {
+			pendingUpdates = new ArrayList<>();
+		}
+		Timeline rebuilt = new Timeline();
+		boolean loaded = false;
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			for (Object[] row : wasteRequestRepository.findOpenTimeline(OPEN_STATUSES)) {
+				LocalDateTime createdAt = row[2] != null ? (LocalDateTime) row[2] : now;
+				rebuilt.put(new Entry(createdAt, (Long) row[0], (Long) row[1]));
+			}
+			loaded = true;
+		}
+		finally {
+			synchronized (updateLock) {
+				if (loaded) {
+					for (TimelineUpdate update : pendingUpdates) {
+						update.applyTo(rebuilt);
+					}
+					this.timeline = rebuilt;
+				}
+				pendingUpdates = null;
+			}
+		}
+		refreshMetrics();
+		logger.debug("SLA monitor rebuilt with {} open requests", rebuilt.byId.size());
+	}
+
+	/**
+	 * Track or drop the request depending on its current status.
+	 */
+	public void onRequestSaved(WasteRequest request) {
+		if (request.getRequestId() == null) {
+			return;
+		}
+		WasteRequestStatus status = request.getStatus();
+		TimelineUpdate update;
+		if (status != null && status.isOpen()) {
+			LocalDateTime createdAt = request.getCreatedAt() != null ? request.getCreatedAt() : LocalDateTime.now();
+			update = new TimelineUpdate(request.getRequestId(), new Entry(createdAt, request.getRequestId(), request.getZoneId()));
+		}
+		else {
+			update = new TimelineUpdate(request.getRequestId(), null);
+		}
+		synchronized (updateLock) {
+			update.applyTo(timeline);
+			if (pendingUpdates != null) {
+				pendingUpdates.add(update);
+			}
+		}
+	}
+
+	public Duration getOverdueAfter() {
+		return overdueAfter;
+	}
+
+	public OverdueSummaryDTO getOverdueSummary() {
+		Timeline current = timeline;
+		NavigableSet<Entry> overdue = overdue(current);
+		Map<String, Integer> byZone = countByZone(overdue);
+		return new OverdueSummaryDTO(
+			overdueAfter.toHours(),
+			overdue.size(),
+			current.byId.size(),
+			byZone,
+			overdue.isEmpty() ? null : overdue.first().createdAt(),
+			LocalDateTime.now()
+		);
+	}
+
+	/**
+	 * Publish overdue counts per zone. Zones that are no longer overdue drop to zero.
+	 */
+	@Scheduled(fixedDelayString = "${sla.metrics-interval:PT1M}", initialDelayString = "${sla.metrics-interval:PT1M}")
+	public void refreshMetrics() {
+		NavigableSet<Entry> overdue = overdue(timeline);
+		Map<String, Integer> byZone = countByZone(overdue);
+		for (Map.Entry<String, Integer> zoneCount : byZone.entrySet()) {
+			overdueGauges.computeIfAbsent(zoneCount.getKey(), zone -> meterRegistry.gauge(
+				"smartwaste.requests.overdue",
+				Tags.of("zone", zone),
+				new AtomicInteger()
+			)).set(zoneCount.getValue());
+		}
+		for (Map.Entry<String, AtomicInteger> gauge : overdueGauges.entrySet()) {
+			if (!byZone.containsKey(gauge.getKey())) {
+				gauge.getValue().set(0);
+			}
+		}
+		overdueTotal.set(overdue.size());
+	}
+
+	private NavigableSet<Entry> overdue(Timeline current) {
+		LocalDateTime cutoff = LocalDateTime.now().minus(overdueAfter);
+		// Sorts before every real entry created at the cutoff
+		return current.ordered.headSet(new Entry(cutoff, Long.MIN_VALUE, null), false);
+	}
+
+	private static Map<String, Integer> countByZone(NavigableSet<Entry> entries) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (Entry entry : entries) {
+			counts.merge(entry.zoneId() != null ? entry.zoneId().toString() : NO_ZONE, 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	private record Entry(LocalDateTime createdAt, Long requestId, Long zoneId) {}
+
+	/**
+	 * Track the entry, or drop the request when the entry is null.
+	 */
+	private record TimelineUpdate(Long requestId, Entry entry) {
+
+		void applyTo(Timeline target) {
+			if (entry != null) {
+				target.put(entry);
+			}
+			else {
+				target.remove(requestId);
+			}
+		}
+	}
+
+	/**
+	 * Open requests by ID and in creation order; both views are updated together per request ID.
+	 */
+	private static final class Timeline {
+		private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::createdAt)
+			.thenComparing(Entry::requestId);
+
+		private final ConcurrentSkipListSet<Entry> ordered = new ConcurrentSkipListSet<>(ORDER);
+		private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+
+		void put(Entry entry) {
+			byId.compute(entry.requestId(), (id, previous) -> {
+				if (previous != null) {
+					ordered.remove(previous);
+				}
+				ordered.add(entry);
+				return entry;
+			});
+		}
+
+		void remove(Long requestId) {
+			byId.computeIfPresent(requestId, (id, previous) -> {
+				ordered.remove(previous);
+				return null;
+			});
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.smartwaste.service;
 
+import com.smartwaste.dto.BulkFulfillmentResultDTO;
 import com.smartwaste.entity.RedemptionRequest;
 import com.smartwaste.entity.RewardCatalog;
 import com.smartwaste.entity.RewardTransaction;
@@ -9,7 +10,12 @@ import com.smartwaste.repository.RewardCatalogRepository;
 import com.smartwaste.repository.RewardTransactionRepository;
 import com.smartwaste.repository.UserRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +23,12 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class RewardService {
 
+	/** Upper bound on redemptions handled by a single bulk fulfillment call. */
+	public static final int MAX_BULK_FULFILLMENT = 10_000;
+
+	/** Keeps IN (...) lists and row locks per statement bounded. */
+	private static final int BULK_CHUNK_SIZE = 1_000;
+
 	private final RewardCatalogRepository rewardCatalogRepository;
 	private final RewardTransactionRepository rewardTransactionRepository;
 	private final RedemptionRequestRepository redemptionRequestRepository;
@@ -135,6 +147,82 @@ public class RewardService {
 
 		return redemptionRequestRepository.save(redemption);
 	}
-}
 
+	/**
+	 * Fulfill many redemptions at once. Admin-only operation.
+	 * Either explicit IDs are given, or all REQUESTED redemptions matching the filter
+	 * (reward and/or created-before) are selected, up to MAX_BULK_FULFILLMENT.
+	 * Keeps the idempotent semantics of fulfillRedemption: already fulfilled
+	 * redemptions are reported, not modified.
+	 */
+	@Transactional
+	public BulkFulfillmentResultDTO fulfillRedemptions(
+		List<Long> redemptionIds,
+		Long rewardId,
+		LocalDateTime createdBefore,
+		User actor
+	) {
+		if (!"ADMIN".equals(actor.getRole())) {
+			throw new AccessDeniedException("Only admins can fulfill redemptions");
+		}
+
+		boolean byIds = redemptionIds != null && !redemptionIds.isEmpty();
+		if (!byIds && rewardId == null && createdBefore == null) {
+			throw new IllegalArgumentException("Provide redemptionIds or at least one filter (rewardId, createdBefore)");
+		}
+		if (byIds && (rewardId != null || createdBefore != null)) {
+			throw new IllegalArgumentException("redemptionIds cannot be combined with filters");
+		}
+
+		List<Long> targetIds;
+		if (byIds) {
+			Set<Long> distinct = new LinkedHashSet<>();
+			for (Long id : redemptionIds) {
+				if (id == null) {
+					throw new IllegalArgumentException("redemptionIds must not contain null");
+				}
+				distinct.add(id);
+			}
+			if (distinct.size() > MAX_BULK_FULFILLMENT) {
+				throw new IllegalArgumentException("At most " + MAX_BULK_FULFILLMENT + " redemptions can be fulfilled per call");
+			}
+			targetIds = new ArrayList<>(distinct);
+		}
+		else {
+			targetIds = redemptionRequestRepository.findRequestedIds(
+				rewardId, createdBefore, PageRequest.of(0, MAX_BULK_FULFILLMENT));
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		BulkFulfillmentResultDTO result = new BulkFulfillmentResultDTO();
+		result.setFulfilledAt(now);
+
+		for (int from = 0; from < targetIds.size(); from += BULK_CHUNK_SIZE) {
+			List<Long> chunk = targetIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, targetIds.size()));
+
+			// Row locks make the set-based UPDATE below affect exactly these IDs
+			Set<Long> locked = new HashSet<>(redemptionRequestRepository.lockRequestedIds(chunk));
+			if (!locked.isEmpty()) {
+				redemptionRequestRepository.markFulfilled(locked, now);
+			}
+
+			Set<Long> existing = locked.size() == chunk.size()
+				? locked
+				: new HashSet<>(redemptionRequestRepository.findExistingIds(chunk));
+
+			for (Long id : chunk) {
+				if (locked.contains(id)) {
+					result.addOutcome(id, "FULFILLED");
+				}
+				else if (existing.contains(id)) {
+					result.addOutcome(id, "ALREADY_FULFILLED");
+				}
+				else {
+					result.addOutcome(id, "NOT_FOUND");
+				}
+			}
+		}
 
+		return result;
+	}
+}
@@ -0,0 +1,159 @@
+package com.smartwaste.service;
+
+import com.smartwaste.dto.CollectorRouteDTO;
+import com.smartwaste.entity.Collector;
+import com.smartwaste.entity.WasteRequest;
+import com.smartwaste.entity.WasteRequestStatus;
+import com.smartwaste.entity.Zone;
+import com.smartwaste.repository.CollectorRepository;
+import com.smartwaste.repository.WasteRequestRepository;
+import com.smartwaste.routing.RouteOptimizer;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plans each collector's pickup route for a day from their open requests.
+ *
+ * <p>Requests are loaded with one query for all collectors; the CPU-bound optimization then
+ * runs per collector on a dedicated fork-join pool, so planning a whole fleet takes about as
+ * long as the slowest route rather than the sum of all of them. Each route gets a fixed
+ * improvement time budget. Routes start at the centroid of the collector's zone when it is configured.
+ */
+@Service
+public class RoutePlanningService {
+
+	private static final List<WasteRequestStatus> OPEN_STATUSES = List.of(
+		WasteRequestStatus.ASSIGNED,
+		WasteRequestStatus.IN_PROGRESS
+	);
+
+	private final WasteRequestRepository wasteRequestRepository;
+	private final CollectorRepository collectorRepository;
+	private final RouteOptimizer routeOptimizer = new RouteOptimizer();
+	private final ForkJoinPool pool;
+	private final long timeBudgetNanos;
+	private final int maxStops;
+
+	public RoutePlanningService(
+		WasteRequestRepository wasteRequestRepository,
+		CollectorRepository collectorRepository,
+		@Value("${routing.parallelism:0}") int parallelism,
+		@Value("${routing.time-budget-ms:200}") long timeBudgetMs,
+		@Value("${routing.max-stops:500}") int maxStops
+	) {
+		this.wasteRequestRepository = wasteRequestRepository;
+		this.collectorRepository = collectorRepository;
+		this.timeBudgetNanos = timeBudgetMs * 1_000_000L;
+		this.maxStops = maxStops;
+		this.pool = new ForkJoinPool(
+			parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+			forkJoinPool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+				thread.setName("route-planner-" + thread.getPoolIndex());
+				thread.setDaemon(true);
+				return thread;
+			},
+			null,
+			false
+		);
+	}
+
+	public CollectorRouteDTO planRoute(Long collectorId, LocalDate date) {
+		List<WasteRequest> requests = wasteRequestRepository.findRouteCandidates(
+			List.of(collectorId),
+			OPEN_STATUSES,
+			date.plusDays(1).atStartOfDay()
+		);
+		Zone zone = collectorRepository.findById(collectorId).map(Collector::getZone).orElse(null);
+		return optimize(collectorId, date, requests, zone);
+	}
+
+	/**
+	 * Plan routes for several collectors in parallel. Results are in the order of the given IDs.
+	 */
+	public List<CollectorRouteDTO> planRoutes(Collection<Long> collectorIds, LocalDate date) {
+		Set<Long> ids = new LinkedHashSet<>(collectorIds);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, List<WasteRequest>> byCollector = new HashMap<>();
+		for (WasteRequest request : wasteRequestRepository.findRouteCandidates(ids, OPEN_STATUSES, date.plusDays(1).atStartOfDay())) {
+			byCollector.computeIfAbsent(request.getCollectorId(), id -> new ArrayList<>()).add(request);
+		}
+
+		Map<Long, Zone> zones = new HashMap<>();
+		for (Collector collector : collectorRepository.findAllById(ids)) {
+			zones.put(collector.getCollectorId(), collector.getZone());
+		}
+
+		List<ForkJoinTask<CollectorRouteDTO>> tasks = new ArrayList<>(ids.size());
+		for (Long collectorId : ids) {
+			List<WasteRequest> requests = byCollector.getOrDefault(collectorId, List.of());
+			Zone zone = zones.get(collectorId);
+			tasks.add(pool.submit(() -> optimize(collectorId, date, requests, zone)));
+		}
+		List<CollectorRouteDTO> routes = new ArrayList<>(tasks.size());
+		for (ForkJoinTask<CollectorRouteDTO> task : tasks) {
+			routes.add(task.join());
+		}
+		return routes;
+	}
+
+	private CollectorRouteDTO optimize(Long collectorId, LocalDate date, List<WasteRequest> requests, Zone zone) {
+		long start = System.nanoTime();
+		List<WasteRequest> routable = new ArrayList<>();
+		List<WasteRequest> unrouted = new ArrayList<>();
+		for (WasteRequest request : requests) {
+			if (request.getLatitude() != null && request.getLongitude() != null && routable.size() < maxStops) {
+				routable.add(request);
+			}
+			else {
+				unrouted.add(request);
+			}
+		}
+
+		int n = routable.size();
+		double[] latitudes = new double[n];
+		double[] longitudes = new double[n];
+		for (int i = 0; i < n; i++) {
+			latitudes[i] = routable.get(i).getLatitude();
+			longitudes[i] = routable.get(i).getLongitude();
+		}
+		Double startLatitude = zone != null && zone.hasCentroid() ? zone.getCentroidLatitude() : null;
+		Double startLongitude = zone != null && zone.hasCentroid() ? zone.getCentroidLongitude() : null;
+		double originalDistance = RouteOptimizer.routeLength(latitudes, longitudes, startLatitude, startLongitude);
+
+		RouteOptimizer.Result result = routeOptimizer.optimize(latitudes, longitudes, startLatitude, startLongitude, timeBudgetNanos);
+		List<WasteRequest> stops = new ArrayList<>(n);
+		for (int index : result.getOrder()) {
+			stops.add(routable.get(index));
+		}
+		return new CollectorRouteDTO(
+			collectorId,
+			date,
+			stops,
+			unrouted,
+			result.getDistanceKm(),
+			originalDistance,
+			(System.nanoTime() - start) / 1_000_000,
+			result.isTimedOut()
+		);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdownNow();
+	}
+}
@@ -1,48 +1,80 @@
 package com.smartwaste.service;
 
 import com.smartwaste.dto.AdminWasteRequestDTO;
+import com.smartwaste.dto.CollectorWorkQueueDTO;
+import com.smartwaste.dto.WasteRequestSummaryDTO;
 import com.smartwaste.entity.Collector;
 import com.smartwaste.entity.RewardTransaction;
 import com.smartwaste.entity.User;
 import com.smartwaste.entity.WasteRequest;
 import com.smartwaste.entity.WasteRequestStatus;
+import com.smartwaste.entity.WasteRequestTransitions;
 import com.smartwaste.entity.Zone;
+import com.smartwaste.events.RequestEventHub;
 import com.smartwaste.repository.CollectorRepository;
 import com.smartwaste.repository.RewardTransactionRepository;
 import com.smartwaste.repository.UserRepository;
 import com.smartwaste.repository.WasteRequestRepository;
 import com.smartwaste.repository.ZoneRepository;
-import com.smartwaste.utils.FileUploadUtil;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class WasteRequestService {
 
+	private static final int MAX_QUEUE_PAGE_SIZE = 200;
+
+	/**
+	 * Delta polls look back this far before the client's cursor, so rows updated by
+	 * transactions that committed after the cursor was read are not missed.
+	 */
+	private static final long DELTA_OVERLAP_SECONDS = 5;
+
+	// Actionable lifecycle states; ASSIGNED binds as the legacy PENDING value, which also covers CREATED
+	private static final List<WasteRequestStatus> ACTIONABLE_STATUSES = List.of(
+		WasteRequestStatus.ASSIGNED,
+		WasteRequestStatus.IN_PROGRESS
+	);
+
 	private final WasteRequestRepository wasteRequestRepository;
 	private final UserRepository userRepository;
 	private final RewardTransactionRepository rewardTransactionRepository;
 	private final CollectorRepository collectorRepository;
 	private final ZoneRepository zoneRepository;
+	private final ImageVariantService imageVariantService;
+	private final RequestEventHub requestEventHub;
+	private final CollectorAssignmentService collectorAssignmentService;
+	private final RequestGeoIndexService requestGeoIndexService;
+	private final RequestSlaMonitor requestSlaMonitor;
 
 	public WasteRequestService(
 		WasteRequestRepository wasteRequestRepository,
 		UserRepository userRepository,
 		RewardTransactionRepository rewardTransactionRepository,
 		CollectorRepository collectorRepository,
-		ZoneRepository zoneRepository
+		ZoneRepository zoneRepository,
+		ImageVariantService imageVariantService,
+		RequestEventHub requestEventHub,
+		CollectorAssignmentService collectorAssignmentService,
+		RequestGeoIndexService requestGeoIndexService,
+		RequestSlaMonitor requestSlaMonitor
 	) {
 		this.wasteRequestRepository = wasteRequestRepository;
 		this.userRepository = userRepository;
 		this.rewardTransactionRepository = rewardTransactionRepository;
 		this.collectorRepository = collectorRepository;
 		this.zoneRepository = zoneRepository;
+		this.imageVariantService = imageVariantService;
+		this.requestEventHub = requestEventHub;
+		this.collectorAssignmentService = collectorAssignmentService;
+		this.requestGeoIndexService = requestGeoIndexService;
+		this.requestSlaMonitor = requestSlaMonitor;
 	}
 
 	public WasteRequest createRequest(
@@ -51,8 +83,10 @@ public class WasteRequestService {
 		String wasteType,
 		double weight,
 		String address,
-		MultipartFile file
-	) throws IOException {
+		Double latitude,
+		Double longitude,
+		String imagePath
+	) {
 		if (userId == null) {
 			throw new IllegalArgumentException("userId is required");
 		}
@@ -65,6 +99,12 @@ public class WasteRequestService {
 		if (address == null || address.isBlank()) {
 			throw new IllegalArgumentException("pickup address is required");
 		}
+		if ((latitude == null) != (longitude == null)) {
+			throw new IllegalArgumentException("latitude and longitude must be given together");
+		}
+		if (latitude != null && !(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+			throw new IllegalArgumentException("Invalid coordinates");
+		}
 
 		WasteRequest request = new WasteRequest();
 		request.setUserId(userId);
@@ -72,21 +112,26 @@ public class WasteRequestService {
 		request.setWasteType(wasteType);
 		request.setWeightKg(weight);
 		request.setPickupAddress(address);
-		// All new requests start in CREATED state in the strict lifecycle,
-		// but we persist the legacy String value to avoid breaking existing APIs/UI.
-		request.setStatus(WasteRequestStatus.CREATED.toLegacyString());
+		request.setLatitude(latitude);
+		request.setLongitude(longitude);
+		// All new requests start in CREATED state in the strict lifecycle
+		// (persisted as the legacy PENDING value by WasteRequestStatusConverter).
+		request.setStatus(WasteRequestStatus.CREATED);
 		request.setRewardPoints(0);
 
-		if (file != null && !file.isEmpty()) {
-			String savedPath = FileUploadUtil.saveFile("uploads/user", file);
-			request.setImageUrl(savedPath);
-		}
+		// Image was already stored while the upload streamed in
+		request.setImageUrl(imagePath);
 
-		return wasteRequestRepository.save(request);
+		WasteRequest saved = wasteRequestRepository.save(request);
+		imageVariantService.submit(saved.getRequestId(), saved.getImageUrl(), ImageVariantService.ImageKind.REQUEST);
+		requestGeoIndexService.onRequestSaved(saved);
+		requestSlaMonitor.onRequestSaved(saved);
+		collectorAssignmentService.assignNewRequest(saved);
+		return saved;
 	}
 
-	public List<WasteRequest> getRequestsByUser(Long userId) {
-		return wasteRequestRepository.findByUserId(userId);
+	public List<WasteRequestSummaryDTO> getRequestsByUser(Long userId) {
+		return wasteRequestRepository.findSummariesByUserId(userId);
 	}
 
 	/**
@@ -117,13 +162,17 @@ public class WasteRequestService {
 		dto.setZoneId(request.getZoneId());
 		dto.setWasteType(request.getWasteType());
 		dto.setWeightKg(request.getWeightKg());
-		dto.setStatus(request.getStatus());
+		dto.setStatus(request.getLegacyStatus());
 		dto.setPickupAddress(request.getPickupAddress());
 		dto.setScheduledTime(request.getScheduledTime());
 		dto.setCollectedTime(request.getCollectedTime());
 		dto.setRewardPoints(request.getRewardPoints());
 		dto.setImageUrl(request.getImageUrl());
 		dto.setCollectorProofUrl(request.getCollectorProofUrl());
+		dto.setImageThumbUrl(request.getImageThumbUrl());
+		dto.setImageWebUrl(request.getImageWebUrl());
+		dto.setProofThumbUrl(request.getProofThumbUrl());
+		dto.setProofWebUrl(request.getProofWebUrl());
 		dto.setCreatedAt(request.getCreatedAt());
 
 		// Enrich with user information
@@ -149,7 +198,7 @@ public class WasteRequestService {
 		}
 
 		// Set display status: UNASSIGNED if no collector, ASSIGNED if collector exists
-		WasteRequestStatus status = WasteRequestStatus.fromString(request.getStatus());
+		WasteRequestStatus status = request.getStatus();
 		if (request.getCollectorId() == null || status == WasteRequestStatus.CREATED) {
 			dto.setDisplayStatus("UNASSIGNED");
 		} else {
@@ -163,19 +212,78 @@ public class WasteRequestService {
 		return wasteRequestRepository.findByCollectorId(collectorId);
 	}
 
+	/**
+	 * Page through a collector's work queue. Without changedSince, returns actionable requests
+	 * in work order (scheduled first, then nearest to the home zone centroid, or home zone first
+	 * when the zone has no geometry); with it, returns every request of the collector changed since then.
+	 */
+	public CollectorWorkQueueDTO getCollectorWorkQueue(
+		Long collectorId,
+		LocalDateTime changedSince,
+		int page,
+		int size
+	) {
+		if (page < 0) {
+			throw new IllegalArgumentException("page cannot be negative");
+		}
+		if (size < 1 || size > MAX_QUEUE_PAGE_SIZE) {
+			throw new IllegalArgumentException("size must be between 1 and " + MAX_QUEUE_PAGE_SIZE);
+		}
+		PageRequest pageable = PageRequest.of(page, size);
+
+		// Read before the page so the cursor never skips changes made while paging
+		LocalDateTime cursor = wasteRequestRepository.findLastUpdateForCollector(collectorId);
+
+		Slice<WasteRequest> slice;
+		if (changedSince != null) {
+			slice = wasteRequestRepository.findChangedForCollector(
+				collectorId,
+				changedSince.minusSeconds(DELTA_OVERLAP_SECONDS),
+				pageable
+			);
+			if (cursor == null) {
+				cursor = changedSince;
+			}
+		}
+		else {
+			Zone homeZone = collectorRepository.findById(collectorId)
+				.map(Collector::getZone)
+				.orElse(null);
+			if (homeZone != null && homeZone.hasCentroid()) {
+				// Closest to the home zone centroid first; the zone is where the collector's day starts
+				double cosLatitude = Math.cos(Math.toRadians(homeZone.getCentroidLatitude()));
+				slice = wasteRequestRepository.findWorkQueueByDistance(
+					collectorId,
+					ACTIONABLE_STATUSES,
+					homeZone.getCentroidLatitude(),
+					homeZone.getCentroidLongitude(),
+					cosLatitude * cosLatitude,
+					pageable
+				);
+			}
+			else {
+				Long homeZoneId = homeZone != null ? homeZone.getZoneId() : null;
+				slice = wasteRequestRepository.findWorkQueue(collectorId, ACTIONABLE_STATUSES, homeZoneId, pageable);
+			}
+		}
+		return new CollectorWorkQueueDTO(
+			slice.getContent(),
+			page,
+			size,
+			slice.hasNext(),
+			changedSince != null,
+			cursor
+		);
+	}
+
 	/**
 	 * Identify requests that are still in early/mid lifecycle for longer than the given hours.
 	 * Visual-only flagging; does not mutate state.
 	 */
 	public List<WasteRequest> getDelayedRequests(long hoursThreshold) {
 		LocalDateTime cutoff = LocalDateTime.now().minus(hoursThreshold, ChronoUnit.HOURS);
-		return wasteRequestRepository.findAll().stream()
-			.filter(req -> {
-				WasteRequestStatus status = WasteRequestStatus.fromString(req.getStatus());
-				boolean inEarly = status == WasteRequestStatus.CREATED || status == WasteRequestStatus.ASSIGNED || status == WasteRequestStatus.IN_PROGRESS;
-				return inEarly && req.getCreatedAt() != null && req.getCreatedAt().isBefore(cutoff);
-			})
-			.toList();
+		// CREATED and ASSIGNED share the legacy PENDING value
+		return wasteRequestRepository.findOpenCreatedBefore(ACTIONABLE_STATUSES, cutoff);
 	}
 
 	/**
@@ -198,7 +306,7 @@ public class WasteRequestService {
 		collectorRepository.findById(newCollectorId)
 			.orElseThrow(() -> new IllegalArgumentException("Collector not found: " + newCollectorId));
 
-		WasteRequestStatus status = WasteRequestStatus.fromString(request.getStatus());
+		WasteRequestStatus status = request.getStatus();
 		
 		// Prevent assignment of completed/closed requests
 		if (status == WasteRequestStatus.COLLECTED || status == WasteRequestStatus.CLOSED) {
@@ -214,36 +322,50 @@ public class WasteRequestService {
 			throw new IllegalArgumentException("Can only assign UNASSIGNED requests or reassign ASSIGNED requests that haven't started");
 		}
 
+		Long previousCollectorId = request.getCollectorId();
 		request.setCollectorId(newCollectorId);
 
 		// If request was still in CREATED (UNASSIGNED), set status to ASSIGNED
 		if (status == WasteRequestStatus.CREATED) {
-			request.setStatus(WasteRequestStatus.ASSIGNED.toLegacyString());
+			request.setStatus(WasteRequestStatus.ASSIGNED);
 		}
 
-		return wasteRequestRepository.save(request);
+		WasteRequest saved = wasteRequestRepository.save(request);
+		if (!newCollectorId.equals(previousCollectorId)) {
+			collectorAssignmentService.adjustLoad(previousCollectorId, -1);
+			collectorAssignmentService.adjustLoad(newCollectorId, 1);
+		}
+		requestEventHub.publishReassignment(
+			saved.getRequestId(),
+			saved.getUserId(),
+			previousCollectorId,
+			saved.getCollectorId(),
+			saved.getLegacyStatus()
+		);
+		return saved;
 	}
 
 	public WasteRequest updateStatus(
 		Long requestId,
 		String newStatus,
-		MultipartFile proofFile,
+		String proofPath,
 		User actingUser
-	) throws IOException {
+	) {
 		WasteRequest request = wasteRequestRepository.findById(requestId)
 			.orElseThrow(() -> new IllegalArgumentException("Request not found: " + requestId));
 
-		WasteRequestStatus currentStatus = WasteRequestStatus.fromString(request.getStatus());
+		WasteRequestStatus currentStatus = request.getStatus();
 		WasteRequestStatus targetStatus = WasteRequestStatus.fromString(newStatus);
 
 		validateActorCanModifyRequest(actingUser, request, currentStatus, targetStatus);
 
-		// Persist as legacy String to keep external API/UI behavior unchanged
-		request.setStatus(targetStatus.toLegacyString());
+		request.setStatus(targetStatus);
 
-		if (proofFile != null && !proofFile.isEmpty()) {
-			String proofPath = FileUploadUtil.saveFile("uploads/proof", proofFile);
+		boolean proofUploaded = proofPath != null;
+		if (proofUploaded) {
 			request.setCollectorProofUrl(proofPath);
+			request.setProofThumbUrl(null);
+			request.setProofWebUrl(null);
 		}
 
 		// Reward trigger: only when a collector legitimately moves IN_PROGRESS -> COLLECTED
@@ -252,12 +374,29 @@ public class WasteRequestService {
 			applyRewards(request);
 		}
 
-		return wasteRequestRepository.save(request);
+		WasteRequest saved = wasteRequestRepository.save(request);
+		if (proofUploaded) {
+			imageVariantService.submit(saved.getRequestId(), saved.getCollectorProofUrl(), ImageVariantService.ImageKind.PROOF);
+		}
+		requestGeoIndexService.onRequestSaved(saved);
+		requestSlaMonitor.onRequestSaved(saved);
+		boolean wasOpen = currentStatus != null && currentStatus.isOpen();
+		boolean isOpen = targetStatus.isOpen();
+		if (wasOpen != isOpen) {
+			collectorAssignmentService.adjustLoad(saved.getCollectorId(), isOpen ? 1 : -1);
+		}
+		requestEventHub.publishStatusChange(
+			saved.getRequestId(),
+			saved.getUserId(),
+			saved.getCollectorId(),
+			currentStatus != null ? currentStatus.toLegacyString() : null,
+			saved.getLegacyStatus()
+		);
+		return saved;
 	}
 
-	public WasteRequest uploadCollectorProof(Long requestId, MultipartFile proofFile, User actingUser)
-		throws IOException {
-		if (proofFile == null || proofFile.isEmpty()) {
+	public WasteRequest uploadCollectorProof(Long requestId, String proofPath, User actingUser) {
+		if (proofPath == null) {
 			throw new IllegalArgumentException("Proof file is required");
 		}
 		WasteRequest request = wasteRequestRepository.findById(requestId)
@@ -266,9 +405,12 @@ public class WasteRequestService {
 		// Only the assigned collector (or admin) can upload proof; does not change status itself
 		validateActorCanUploadProof(actingUser, request);
 
-		String proofPath = FileUploadUtil.saveFile("uploads/proof", proofFile);
 		request.setCollectorProofUrl(proofPath);
-		return wasteRequestRepository.save(request);
+		request.setProofThumbUrl(null);
+		request.setProofWebUrl(null);
+		WasteRequest saved = wasteRequestRepository.save(request);
+		imageVariantService.submit(saved.getRequestId(), saved.getCollectorProofUrl(), ImageVariantService.ImageKind.PROOF);
+		return saved;
 	}
 
 	private void applyRewards(WasteRequest request) {
@@ -315,7 +457,7 @@ public class WasteRequestService {
 	 * Calculate collector earnings based on weight.
 	 * Fixed rate: ₹5 per kg
 	 */
-	private double calculateCollectorEarnings(double weightKg) {
+	public static double calculateCollectorEarnings(double weightKg) {
 		if (weightKg <= 0) {
 			return 0.0;
 		}
@@ -332,8 +474,9 @@ public class WasteRequestService {
 	 * - E_WASTE → 2.0
 	 * - HAZARDOUS → 3.0
 	 * Final Points = Base Points × Multiplier
+	 * Public for backend-benchmarks and the synthetic data generator (com.smartwaste.datagen).
 	 */
-	private int calculatePoints(String wasteType) {
+	public static int calculatePoints(String wasteType) {
 		if (wasteType == null || wasteType.trim().isEmpty()) {
 			return 0;
 		}
@@ -372,7 +515,7 @@ public class WasteRequestService {
 	 * E_WASTE → E_WASTE
 	 * Unknown types default to DRY
 	 */
-	private String mapWasteTypeToCategory(String wasteType) {
+	static String mapWasteTypeToCategory(String wasteType) {
 		if (wasteType == null) {
 			return "DRY";
 		}
@@ -433,17 +576,8 @@ public class WasteRequestService {
 				throw new IllegalArgumentException("Cannot modify a completed or closed request");
 			}
 
-			// Allowed collector transitions:
-			// - ASSIGNED or CREATED -> IN_PROGRESS (start work)
-			// - IN_PROGRESS -> COLLECTED (successful completion)
-			// - IN_PROGRESS -> CLOSED (rejected/cancelled)
-			boolean allowed =
-				((currentStatus == WasteRequestStatus.ASSIGNED || currentStatus == WasteRequestStatus.CREATED) &&
-					targetStatus == WasteRequestStatus.IN_PROGRESS) ||
-				(currentStatus == WasteRequestStatus.IN_PROGRESS && targetStatus == WasteRequestStatus.COLLECTED) ||
-				(currentStatus == WasteRequestStatus.IN_PROGRESS && targetStatus == WasteRequestStatus.CLOSED);
-
-			if (!allowed) {
+			// Allowed collector transitions are listed in WasteRequestTransitions
+			if (!WasteRequestTransitions.isAllowed(role, currentStatus, targetStatus)) {
 				throw new IllegalArgumentException(
 					"Invalid status transition for collector: " + currentStatus + " -> " + targetStatus
 				);
@@ -0,0 +1,41 @@
+package com.smartwaste.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Storage for uploaded files, addressed by key (the relative path stored on
+ * the request, e.g. "uploads/user/ab/cd/abcd...ef.jpg").
+ *
+ * <p>Keys are content-addressed by {@link com.smartwaste.utils.FileUploadUtil}, so an
+ * existing key always holds the same bytes and a put for it can be skipped.
+ */
+public interface BlobStore {
+
+	/**
+	 * Directory for staging files of the given upload directory before {@link #put}.
+	 * For local storage it is on the same filesystem, so put can rename instead of copy.
+	 */
+	Path stagingDir(String uploadDir) throws IOException;
+
+	/**
+	 * Store a fully written staged file under the key. The staged file may be moved;
+	 * the caller deletes it afterwards if it still exists.
+	 */
+	void put(String key, Path staged, String contentType) throws IOException;
+
+	InputStream open(String key) throws IOException;
+
+	/**
+	 * Local file for the key, when the store is backed by the local filesystem.
+	 */
+	Optional<Path> localPath(String key);
+
+	/**
+	 * Time-limited URL clients can download the key from directly, bypassing this application.
+	 */
+	Optional<URI> downloadUrl(String key);
+}
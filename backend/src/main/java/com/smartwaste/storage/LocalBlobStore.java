@@ -0,0 +1,85 @@
+package com.smartwaste.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Uploads on the backend's local disk, with keys resolved against {@code storage.local.root}.
+ * Staged files live in a .tmp directory next to their final location and are renamed into place
+ * atomically, so readers never see partial files.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+	private static final String TEMP_DIR = ".tmp";
+
+	private final Path root;
+
+	public LocalBlobStore(StorageProperties properties) {
+		this.root = Paths.get(properties.getLocal().getRoot()).toAbsolutePath().normalize();
+	}
+
+	@Override
+	public Path stagingDir(String uploadDir) throws IOException {
+		Path dir = root.resolve(uploadDir).resolve(TEMP_DIR);
+		Files.createDirectories(dir);
+		return dir;
+	}
+
+	@Override
+	public void put(String key, Path staged, String contentType) throws IOException {
+		Path target = resolve(key);
+		if (Files.exists(target)) {
+			return;
+		}
+		Files.createDirectories(target.getParent());
+		try {
+			Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (FileAlreadyExistsException ex) {
+			// Same content stored concurrently by another upload
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	@Override
+	public InputStream open(String key) throws IOException {
+		return Files.newInputStream(resolve(key));
+	}
+
+	@Override
+	public Optional<Path> localPath(String key) {
+		try {
+			return Optional.of(resolve(key));
+		}
+		catch (IllegalArgumentException ex) {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public Optional<URI> downloadUrl(String key) {
+		return Optional.empty();
+	}
+
+	private Path resolve(String key) {
+		Path file = root.resolve(key).normalize();
+		if (!file.startsWith(root)) {
+			throw new IllegalArgumentException("Invalid storage key: " + key);
+		}
+		return file;
+	}
+}
@@ -0,0 +1,325 @@
+package com.smartwaste.storage;
+
+import jakarta.annotation.PreDestroy;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+/**
+ * Uploads in an S3-compatible bucket (AWS S3, MinIO, LocalStack), enabled with
+ * {@code storage.backend=s3}. All replicas share the bucket, so any instance can serve
+ * any upload.
+ *
+ * <p>Large files are sent as multipart uploads whose parts are uploaded in parallel.
+ * Downloads are served by redirecting clients to presigned GET URLs, so image bytes
+ * do not pass through the application.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(S3BlobStore.class);
+
+	/** Keys are content-addressed, so stored objects never change. */
+	private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+
+	private final S3Client client;
+	private final S3Presigner presigner;
+	private final String bucket;
+	private final String prefix;
+	private final Duration presignTtl;
+	private final long multipartThreshold;
+	private final long partSize;
+	private final Path stagingRoot;
+	private final ThreadPoolExecutor partExecutor;
+
+	public S3BlobStore(StorageProperties properties) {
+		StorageProperties.S3 config = properties.getS3();
+		this.bucket = config.getBucket();
+		this.prefix = config.getPrefix() == null ? "" : config.getPrefix();
+		this.presignTtl = config.getPresignTtl();
+		this.multipartThreshold = config.getMultipartThreshold().toBytes();
+		this.partSize = Math.max(5L * 1024 * 1024, config.getPartSize().toBytes());
+		this.stagingRoot = Paths.get(config.getStagingDir()).toAbsolutePath().normalize();
+
+		AwsCredentialsProvider credentials = config.getAccessKey() != null && !config.getAccessKey().isBlank()
+			? StaticCredentialsProvider.create(AwsBasicCredentials.create(config.getAccessKey(), config.getSecretKey()))
+			: DefaultCredentialsProvider.create();
+		S3Configuration serviceConfig = S3Configuration.builder()
+			.pathStyleAccessEnabled(config.isPathStyle())
+			.build();
+		Region region = Region.of(config.getRegion());
+
+		var clientBuilder = S3Client.builder()
+			.region(region)
+			.credentialsProvider(credentials)
+			.serviceConfiguration(serviceConfig);
+		var presignerBuilder = S3Presigner.builder()
+			.region(region)
+			.credentialsProvider(credentials)
+			.serviceConfiguration(serviceConfig);
+		if (config.getEndpoint() != null && !config.getEndpoint().isBlank()) {
+			clientBuilder.endpointOverride(URI.create(config.getEndpoint()));
+		}
+		String presignEndpoint = config.getPublicEndpoint() != null && !config.getPublicEndpoint().isBlank()
+			? config.getPublicEndpoint()
+			: config.getEndpoint();
+		if (presignEndpoint != null && !presignEndpoint.isBlank()) {
+			presignerBuilder.endpointOverride(URI.create(presignEndpoint));
+		}
+		this.client = clientBuilder.build();
+		this.presigner = presignerBuilder.build();
+
+		AtomicInteger threadCount = new AtomicInteger();
+		int threads = Math.max(1, config.getUploadThreads());
+		this.partExecutor = new ThreadPoolExecutor(
+			threads,
+			threads,
+			60,
+			TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(),
+			runnable -> {
+				Thread thread = new Thread(runnable, "s3-part-upload-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		);
+		this.partExecutor.allowCoreThreadTimeOut(true);
+
+		logger.info("Upload storage: bucket '{}' at {}", bucket,
+			config.getEndpoint() != null && !config.getEndpoint().isBlank() ? config.getEndpoint() : "AWS " + region);
+	}
+
+	@Override
+	public Path stagingDir(String uploadDir) throws IOException {
+		Path dir = stagingRoot.resolve(uploadDir);
+		Files.createDirectories(dir);
+		return dir;
+	}
+
+	@Override
+	public void put(String key, Path staged, String contentType) throws IOException {
+		String objectKey = objectKey(key);
+		if (exists(objectKey)) {
+			return;
+		}
+		long size = Files.size(staged);
+		try {
+			if (size < multipartThreshold) {
+				client.putObject(
+					PutObjectRequest.builder()
+						.bucket(bucket)
+						.key(objectKey)
+						.contentType(contentType)
+						.cacheControl(IMMUTABLE_CACHE)
+						.build(),
+					RequestBody.fromFile(staged)
+				);
+			}
+			else {
+				multipartUpload(objectKey, staged, size, contentType);
+			}
+		}
+		catch (S3Exception ex) {
+			throw new IOException("Could not store " + key + " in bucket " + bucket, ex);
+		}
+	}
+
+	private void multipartUpload(String objectKey, Path staged, long size, String contentType) throws IOException {
+		String uploadId = client.createMultipartUpload(
+			CreateMultipartUploadRequest.builder()
+				.bucket(bucket)
+				.key(objectKey)
+				.contentType(contentType)
+				.cacheControl(IMMUTABLE_CACHE)
+				.build()
+		).uploadId();
+
+		try {
+			List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
+			int partNumber = 1;
+			for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+				long start = offset;
+				long length = Math.min(partSize, size - offset);
+				int number = partNumber;
+				futures.add(CompletableFuture.supplyAsync(
+					() -> uploadPart(objectKey, uploadId, number, staged, start, length),
+					partExecutor
+				));
+			}
+
+			List<CompletedPart> parts = new ArrayList<>(futures.size());
+			for (CompletableFuture<CompletedPart> future : futures) {
+				parts.add(future.join());
+			}
+			client.completeMultipartUpload(
+				CompleteMultipartUploadRequest.builder()
+					.bucket(bucket)
+					.key(objectKey)
+					.uploadId(uploadId)
+					.multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+					.build()
+			);
+		}
+		catch (CompletionException | S3Exception ex) {
+			abort(objectKey, uploadId);
+			Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+			throw new IOException("Multipart upload of " + objectKey + " failed", cause);
+		}
+	}
+
+	private CompletedPart uploadPart(String objectKey, String uploadId, int partNumber, Path staged, long offset, long length) {
+		// The provider opens a fresh slice per attempt so SDK retries can resend the part
+		String eTag = client.uploadPart(
+			UploadPartRequest.builder()
+				.bucket(bucket)
+				.key(objectKey)
+				.uploadId(uploadId)
+				.partNumber(partNumber)
+				.contentLength(length)
+				.build(),
+			RequestBody.fromContentProvider(() -> openSlice(staged, offset, length), length, "application/octet-stream")
+		).eTag();
+		return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+	}
+
+	private void abort(String objectKey, String uploadId) {
+		try {
+			client.abortMultipartUpload(
+				AbortMultipartUploadRequest.builder().bucket(bucket).key(objectKey).uploadId(uploadId).build()
+			);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Could not abort multipart upload {} of {}: {}", uploadId, objectKey, ex.getMessage());
+		}
+	}
+
+	private boolean exists(String objectKey) {
+		try {
+			client.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey).build());
+			return true;
+		}
+		catch (S3Exception ex) {
+			if (ex.statusCode() == 404) {
+				return false;
+			}
+			throw ex;
+		}
+	}
+
+	@Override
+	public InputStream open(String key) throws IOException {
+		try {
+			return client.getObject(GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+		}
+		catch (S3Exception ex) {
+			throw new IOException("Could not read " + key + " from bucket " + bucket, ex);
+		}
+	}
+
+	@Override
+	public Optional<Path> localPath(String key) {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<URI> downloadUrl(String key) {
+		String url = presigner.presignGetObject(
+			GetObjectPresignRequest.builder()
+				.signatureDuration(presignTtl)
+				.getObjectRequest(GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build())
+				.build()
+		).url().toString();
+		return Optional.of(URI.create(url));
+	}
+
+	private String objectKey(String key) {
+		return prefix + key;
+	}
+
+	private static InputStream openSlice(Path file, long offset, long length) {
+		try {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+			channel.position(offset);
+			return new FilterInputStream(Channels.newInputStream(channel)) {
+				private long remaining = length;
+
+				@Override
+				public int read() throws IOException {
+					if (remaining <= 0) {
+						return -1;
+					}
+					int b = super.read();
+					if (b != -1) {
+						remaining--;
+					}
+					return b;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					if (remaining <= 0) {
+						return -1;
+					}
+					int n = super.read(b, off, (int) Math.min(len, remaining));
+					if (n > 0) {
+						remaining -= n;
+					}
+					return n;
+				}
+			};
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		partExecutor.shutdown();
+		presigner.close();
+		client.close();
+	}
+}
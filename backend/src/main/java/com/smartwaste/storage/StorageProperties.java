@@ -0,0 +1,111 @@
+package com.smartwaste.storage;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Upload storage settings bound from {@code storage.*} properties.
+ *
+ * <pre>
+ * storage.backend=s3
+ * storage.s3.endpoint=http://localhost:9000
+ * storage.s3.bucket=smartwaste-uploads
+ * storage.s3.access-key=...
+ * storage.s3.secret-key=...
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "storage")
+public class StorageProperties {
+
+	/** "local" for the backend's filesystem, "s3" for an S3-compatible object store. */
+	private String backend = "local";
+
+	private Local local = new Local();
+
+	private S3 s3 = new S3();
+
+	public String getBackend() { return backend; }
+	public void setBackend(String backend) { this.backend = backend; }
+	public Local getLocal() { return local; }
+	public void setLocal(Local local) { this.local = local; }
+	public S3 getS3() { return s3; }
+	public void setS3(S3 s3) { this.s3 = s3; }
+
+	public static class Local {
+
+		/** Directory the upload keys (uploads/user/..., uploads/proof/...) are resolved against. */
+		private String root = ".";
+
+		public String getRoot() { return root; }
+		public void setRoot(String root) { this.root = root; }
+	}
+
+	public static class S3 {
+
+		/** Endpoint override for S3-compatible stores (MinIO, LocalStack); empty for AWS. */
+		private String endpoint;
+
+		/** Endpoint used in presigned URLs when clients reach the store under another host. */
+		private String publicEndpoint;
+
+		private String region = "us-east-1";
+
+		private String bucket = "smartwaste-uploads";
+
+		/** Key prefix inside the bucket, e.g. "prod/". */
+		private String prefix = "";
+
+		/** Static credentials; when empty the default AWS credential chain is used. */
+		private String accessKey;
+
+		private String secretKey;
+
+		/** Path-style URLs (http://host/bucket/key), required by most local stand-ins. */
+		private boolean pathStyle = true;
+
+		/** Lifetime of presigned download URLs. */
+		private Duration presignTtl = Duration.ofMinutes(15);
+
+		/** Files at least this large are sent as a multipart upload. */
+		private DataSize multipartThreshold = DataSize.ofMegabytes(8);
+
+		/** Multipart part size; S3 requires at least 5MB for all but the last part. */
+		private DataSize partSize = DataSize.ofMegabytes(5);
+
+		/** Parts uploaded concurrently, shared by all uploads. */
+		private int uploadThreads = 4;
+
+		/** Local directory for staging uploads before they are sent to the bucket. */
+		private String stagingDir = System.getProperty("java.io.tmpdir") + "/smartwaste-uploads";
+
+		public String getEndpoint() { return endpoint; }
+		public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+		public String getPublicEndpoint() { return publicEndpoint; }
+		public void setPublicEndpoint(String publicEndpoint) { this.publicEndpoint = publicEndpoint; }
+		public String getRegion() { return region; }
+		public void setRegion(String region) { this.region = region; }
+		public String getBucket() { return bucket; }
+		public void setBucket(String bucket) { this.bucket = bucket; }
+		public String getPrefix() { return prefix; }
+		public void setPrefix(String prefix) { this.prefix = prefix; }
+		public String getAccessKey() { return accessKey; }
+		public void setAccessKey(String accessKey) { this.accessKey = accessKey; }
+		public String getSecretKey() { return secretKey; }
+		public void setSecretKey(String secretKey) { this.secretKey = secretKey; }
+		public boolean isPathStyle() { return pathStyle; }
+		public void setPathStyle(boolean pathStyle) { this.pathStyle = pathStyle; }
+		public Duration getPresignTtl() { return presignTtl; }
+		public void setPresignTtl(Duration presignTtl) { this.presignTtl = presignTtl; }
+		public DataSize getMultipartThreshold() { return multipartThreshold; }
+		public void setMultipartThreshold(DataSize multipartThreshold) { this.multipartThreshold = multipartThreshold; }
+		public DataSize getPartSize() { return partSize; }
+		public void setPartSize(DataSize partSize) { this.partSize = partSize; }
+		public int getUploadThreads() { return uploadThreads; }
+		public void setUploadThreads(int uploadThreads) { this.uploadThreads = uploadThreads; }
+		public String getStagingDir() { return stagingDir; }
+		public void setStagingDir(String stagingDir) { this.stagingDir = stagingDir; }
+	}
+}
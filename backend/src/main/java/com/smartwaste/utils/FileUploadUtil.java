@@ -1,29 +1,193 @@
 package com.smartwaste.utils;
 
-import java.io.File;
+import com.smartwaste.storage.BlobStore;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import org.springframework.web.multipart.MultipartFile;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
+/**
+ * Content-addressed upload storage.
+ *
+ * <p>Files are stored under their SHA-256 hash, sharded by hash prefix
+ * (e.g. uploads/user/ab/cd/abcd...ef.jpg), so identical uploads are stored once,
+ * names never collide and no directory grows beyond a few hundred entries.
+ * Content is streamed through the digest into a staging file of the {@link BlobStore},
+ * which then moves it into place (local disk) or sends it to the bucket (S3).
+ */
 public final class FileUploadUtil {
 
+	private static final String DEFAULT_EXTENSION = "bin";
+	private static final int SNIFF_BYTES = 12;
+
 	private FileUploadUtil() {
 	}
 
-	public static String saveFile(String uploadDir, MultipartFile file) throws IOException {
-		Path basePath = Paths.get(uploadDir).toAbsolutePath().normalize();
-		File dir = basePath.toFile();
-		if (!dir.exists() && !dir.mkdirs()) {
-			throw new IOException("Could not create directory " + basePath);
+	/**
+	 * Store an uploaded image while it is being received. The type is detected from the
+	 * leading magic bytes (the client's name and Content-Type are not trusted) and the size
+	 * is enforced as the stream is read.
+	 *
+	 * @return the stored path, or null if the stream is empty
+	 * @throws IllegalArgumentException if the content is not a supported image type
+	 * @throws MaxUploadSizeExceededException if the content is larger than maxBytes
+	 */
+	public static String saveImage(BlobStore store, String uploadDir, InputStream in, long maxBytes) throws IOException {
+		byte[] header = in.readNBytes(SNIFF_BYTES);
+		if (header.length == 0) {
+			return null;
+		}
+		String extension = imageExtension(header);
+		if (extension == null) {
+			throw new IllegalArgumentException("Unsupported file type; upload a JPEG, PNG, GIF, WebP or HEIC image");
 		}
+		InputStream content = new SizeLimitedInputStream(
+			new SequenceInputStream(new ByteArrayInputStream(header), in),
+			maxBytes
+		);
+		return saveStream(store, uploadDir, content, "upload." + extension);
+	}
 
-		String cleanFileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-		File destination = new File(dir, cleanFileName);
-		file.transferTo(destination);
-		// Return relative path for serving as static resource (e.g., "uploads/user/filename.jpg")
-		return uploadDir.replace("\\", "/") + "/" + cleanFileName;
+	/**
+	 * Store the stream content and return its storage key, which is also its relative path
+	 * for serving under /uploads. The stream is read once and is not closed.
+	 */
+	public static String saveStream(BlobStore store, String uploadDir, InputStream in, String originalFilename)
+		throws IOException {
+		MessageDigest digest = sha256();
+		Path temp = Files.createTempFile(store.stagingDir(uploadDir), "upload-", ".part");
+		try {
+			try (DigestInputStream digestIn = new DigestInputStream(in, digest);
+				 OutputStream out = Files.newOutputStream(temp)) {
+				digestIn.transferTo(out);
+			}
+
+			String hash = HexFormat.of().formatHex(digest.digest());
+			String fileName = hash + "." + extensionOf(originalFilename);
+			// Key doubles as the served path (e.g., "uploads/user/ab/cd/<hash>.jpg")
+			String key = uploadDir.replace("\\", "/") + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + fileName;
+			String contentType = MediaTypeFactory.getMediaType(fileName)
+				.orElse(MediaType.APPLICATION_OCTET_STREAM)
+				.toString();
+			store.put(key, temp, contentType);
+			return key;
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Keep only a short alphanumeric extension from the client-supplied name;
+	 * the name itself is never used on disk.
+	 */
+	static String extensionOf(String originalFilename) {
+		if (originalFilename == null) {
+			return DEFAULT_EXTENSION;
+		}
+		int dot = originalFilename.lastIndexOf('.');
+		if (dot < 0 || dot == originalFilename.length() - 1) {
+			return DEFAULT_EXTENSION;
+		}
+		String ext = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+		return ext.length() <= 5 && ext.chars().allMatch(c -> (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))
+			? ext
+			: DEFAULT_EXTENSION;
 	}
-}
 
+	/**
+	 * Detect supported image formats from their magic bytes.
+	 */
+	static String imageExtension(byte[] h) {
+		if (startsWith(h, 0, 0xFF, 0xD8, 0xFF)) {
+			return "jpg";
+		}
+		if (startsWith(h, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+			return "png";
+		}
+		if (startsWith(h, 0, 'G', 'I', 'F', '8')) {
+			return "gif";
+		}
+		if (startsWith(h, 0, 'R', 'I', 'F', 'F') && startsWith(h, 8, 'W', 'E', 'B', 'P')) {
+			return "webp";
+		}
+		if (startsWith(h, 4, 'f', 't', 'y', 'p')
+			&& (startsWith(h, 8, 'h', 'e', 'i', 'c') || startsWith(h, 8, 'h', 'e', 'i', 'x')
+				|| startsWith(h, 8, 'm', 'i', 'f', '1') || startsWith(h, 8, 'h', 'e', 'i', 'f'))) {
+			return "heic";
+		}
+		return null;
+	}
 
+	private static boolean startsWith(byte[] data, int offset, int... magic) {
+		if (data.length < offset + magic.length) {
+			return false;
+		}
+		for (int i = 0; i < magic.length; i++) {
+			if ((data[offset + i] & 0xFF) != magic[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	/**
+	 * Fails the read as soon as more than maxBytes have been seen, so oversized uploads
+	 * are rejected without receiving the rest of the body.
+	 */
+	private static final class SizeLimitedInputStream extends FilterInputStream {
+		private final long maxBytes;
+		private long count;
+
+		private SizeLimitedInputStream(InputStream in, long maxBytes) {
+			super(in);
+			this.maxBytes = maxBytes;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				checkLimit(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				checkLimit(n);
+			}
+			return n;
+		}
+
+		private void checkLimit(int n) {
+			count += n;
+			if (count > maxBytes) {
+				throw new MaxUploadSizeExceededException(maxBytes);
+			}
+		}
+	}
+}
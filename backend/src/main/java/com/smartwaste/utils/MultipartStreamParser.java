@@ -0,0 +1,357 @@
+package com.smartwaste.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Single-pass parser for multipart/form-data request bodies (RFC 7578).
+ *
+ * <p>Parts are handed to a {@link PartHandler} in the order they arrive. File parts are
+ * exposed as an InputStream over the request body itself, so the content can be validated
+ * and written to its final location while it is being received, without buffering the
+ * whole upload in memory or spooling it to a temp file first.
+ */
+public final class MultipartStreamParser {
+
+	static final int BUFFER_SIZE = 16 * 1024;
+	private static final int MAX_HEADER_LINE = 8 * 1024;
+	private static final int MAX_HEADERS_PER_PART = 16;
+	private static final int MAX_FIELD_SIZE = 64 * 1024;
+	static final int MAX_NON_FILE_BYTES = 256 * 1024;
+	private static final int MAX_PARTS = 32;
+
+	public interface PartHandler {
+
+		void onField(String name, String value) throws IOException;
+
+		/**
+		 * Called for each part with a filename. The stream ends at the part boundary;
+		 * any content not read by the handler is skipped.
+		 */
+		void onFile(String name, String filename, String contentType, InputStream content) throws IOException;
+	}
+
+	/**
+	 * The body is not valid multipart/form-data or exceeds the parser's structural limits.
+	 */
+	public static class MalformedMultipartException extends IOException {
+		public MalformedMultipartException(String message) {
+			super(message);
+		}
+	}
+
+	private MultipartStreamParser() {
+	}
+
+	/**
+	 * Extract the boundary parameter from a multipart Content-Type header.
+	 *
+	 * @return the boundary, or null if the header is not multipart/form-data with a boundary
+	 */
+	public static String extractBoundary(String contentType) {
+		if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+			return null;
+		}
+		String boundary = parameter(contentType, "boundary");
+		return boundary == null || boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+	}
+
+	public static void parse(InputStream in, String boundary, PartHandler handler) throws IOException {
+		BodyReader reader = new BodyReader(in, ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1));
+		// Shared by the preamble, form fields and skipped parts; only file content the handler reads is exempt
+		long[] nonFileBytes = {MAX_NON_FILE_BYTES};
+
+		// Preamble before the first boundary is ignored
+		skip(reader.nextPart(), nonFileBytes);
+
+		int parts = 0;
+		while (!reader.readDelimiterSuffix()) {
+			if (++parts > MAX_PARTS) {
+				throw new MalformedMultipartException("Too many parts in multipart request");
+			}
+
+			String disposition = null;
+			String contentType = null;
+			for (int i = 0; ; i++) {
+				String line = reader.readHeaderLine();
+				if (line.isEmpty()) {
+					break;
+				}
+				if (i >= MAX_HEADERS_PER_PART) {
+					throw new MalformedMultipartException("Too many headers in multipart part");
+				}
+				int colon = line.indexOf(':');
+				if (colon <= 0) {
+					throw new MalformedMultipartException("Malformed multipart header");
+				}
+				String headerName = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+				String headerValue = line.substring(colon + 1).trim();
+				if ("content-disposition".equals(headerName)) {
+					disposition = headerValue;
+				}
+				else if ("content-type".equals(headerName)) {
+					contentType = headerValue;
+				}
+			}
+
+			String name = disposition != null ? parameter(disposition, "name") : null;
+			String filename = disposition != null ? parameter(disposition, "filename") : null;
+			InputStream body = reader.nextPart();
+
+			if (name == null) {
+				skip(body, nonFileBytes);
+			}
+			else if (filename == null) {
+				handler.onField(name, readField(body, nonFileBytes));
+			}
+			else {
+				handler.onFile(name, filename, contentType, body);
+				skip(body, nonFileBytes);
+			}
+		}
+	}
+
+	private static String readField(InputStream body, long[] nonFileBytes) throws IOException {
+		ByteArrayOutputStream value = new ByteArrayOutputStream();
+		byte[] chunk = new byte[1024];
+		int n;
+		while ((n = body.read(chunk)) != -1) {
+			if (value.size() + n > MAX_FIELD_SIZE) {
+				throw new MalformedMultipartException("Multipart form field too large");
+			}
+			consume(nonFileBytes, n);
+			value.write(chunk, 0, n);
+		}
+		return value.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Discard the rest of a part, counting it against the non-file byte limit.
+	 */
+	private static void skip(InputStream body, long[] nonFileBytes) throws IOException {
+		byte[] chunk = new byte[BUFFER_SIZE];
+		int n;
+		while ((n = body.read(chunk)) != -1) {
+			consume(nonFileBytes, n);
+		}
+	}
+
+	private static void consume(long[] nonFileBytes, int n) throws MalformedMultipartException {
+		nonFileBytes[0] -= n;
+		if (nonFileBytes[0] < 0) {
+			throw new MalformedMultipartException("Multipart request has too much non-file content");
+		}
+	}
+
+	/**
+	 * Read a header parameter such as name="image" (quoted or token form).
+	 */
+	private static String parameter(String header, String parameterName) {
+		int index = 0;
+		while (index < header.length()) {
+			int semicolon = header.indexOf(';', index);
+			if (semicolon < 0) {
+				return null;
+			}
+			int start = semicolon + 1;
+			while (start < header.length() && header.charAt(start) == ' ') {
+				start++;
+			}
+			int equals = header.indexOf('=', start);
+			if (equals < 0) {
+				return null;
+			}
+			String key = header.substring(start, equals).trim();
+			int valueStart = equals + 1;
+			String value;
+			int next;
+			if (valueStart < header.length() && header.charAt(valueStart) == '"') {
+				StringBuilder quoted = new StringBuilder();
+				int i = valueStart + 1;
+				while (i < header.length() && header.charAt(i) != '"') {
+					char c = header.charAt(i);
+					if (c == '\\' && i + 1 < header.length()) {
+						c = header.charAt(++i);
+					}
+					quoted.append(c);
+					i++;
+				}
+				value = quoted.toString();
+				next = i + 1;
+			}
+			else {
+				int end = header.indexOf(';', valueStart);
+				next = end < 0 ? header.length() : end;
+				value = header.substring(valueStart, next).trim();
+			}
+			if (key.equalsIgnoreCase(parameterName)) {
+				return value;
+			}
+			index = next;
+		}
+		return null;
+	}
+
+	/**
+	 * Buffered reader over the raw body that can stop exactly at the next delimiter.
+	 * The buffer starts with CRLF so the first boundary matches the same delimiter
+	 * pattern as all later ones.
+	 */
+	private static final class BodyReader {
+		private final InputStream in;
+		private final byte[] delimiter;
+		private final byte[] buffer;
+		private int pos;
+		private int limit;
+		private boolean eof;
+
+		private BodyReader(InputStream in, byte[] delimiter) {
+			this.in = in;
+			this.delimiter = delimiter;
+			this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 4)];
+			this.buffer[0] = '\r';
+			this.buffer[1] = '\n';
+			this.limit = 2;
+		}
+
+		/**
+		 * Ensure at least {@code needed} unread bytes are buffered, unless the stream ends.
+		 */
+		private void fill(int needed) throws IOException {
+			if (limit - pos >= needed || eof) {
+				return;
+			}
+			if (pos > 0) {
+				System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+				limit -= pos;
+				pos = 0;
+			}
+			while (limit < needed || limit < buffer.length / 2) {
+				int n = in.read(buffer, limit, buffer.length - limit);
+				if (n == -1) {
+					eof = true;
+					return;
+				}
+				limit += n;
+				if (limit >= needed && in.available() == 0) {
+					return;
+				}
+			}
+		}
+
+		private int indexOfDelimiter() {
+			int last = limit - delimiter.length;
+			outer:
+			for (int i = pos; i <= last; i++) {
+				if (buffer[i] != delimiter[0]) {
+					continue;
+				}
+				for (int j = 1; j < delimiter.length; j++) {
+					if (buffer[i + j] != delimiter[j]) {
+						continue outer;
+					}
+				}
+				return i;
+			}
+			return -1;
+		}
+
+		/**
+		 * After a delimiter: "--" marks the end of the body, CRLF starts another part.
+		 * Linear whitespace before the CRLF is allowed by RFC 2046.
+		 *
+		 * @return true if this was the closing delimiter
+		 */
+		private boolean readDelimiterSuffix() throws IOException {
+			fill(2);
+			if (limit - pos >= 2 && buffer[pos] == '-' && buffer[pos + 1] == '-') {
+				pos += 2;
+				return true;
+			}
+			while (true) {
+				fill(2);
+				if (limit - pos < 2) {
+					throw new MalformedMultipartException("Unexpected end of multipart body");
+				}
+				if (buffer[pos] == '\r' && buffer[pos + 1] == '\n') {
+					pos += 2;
+					return false;
+				}
+				if (buffer[pos] != ' ' && buffer[pos] != '\t') {
+					throw new MalformedMultipartException("Malformed multipart boundary");
+				}
+				pos++;
+			}
+		}
+
+		private String readHeaderLine() throws IOException {
+			ByteArrayOutputStream line = new ByteArrayOutputStream();
+			while (true) {
+				fill(2);
+				if (limit - pos < 2) {
+					throw new MalformedMultipartException("Unexpected end of multipart headers");
+				}
+				if (buffer[pos] == '\r' && buffer[pos + 1] == '\n') {
+					pos += 2;
+					return line.toString(StandardCharsets.UTF_8);
+				}
+				line.write(buffer[pos++]);
+				if (line.size() > MAX_HEADER_LINE) {
+					throw new MalformedMultipartException("Multipart header line too long");
+				}
+			}
+		}
+
+		/**
+		 * Stream over the current part body, ending before the next delimiter.
+		 * Reaching the end consumes the delimiter.
+		 */
+		private InputStream nextPart() {
+			return new InputStream() {
+				private boolean done;
+
+				@Override
+				public int read() throws IOException {
+					byte[] one = new byte[1];
+					int n = read(one, 0, 1);
+					return n == -1 ? -1 : one[0] & 0xFF;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					if (done) {
+						return -1;
+					}
+					if (len == 0) {
+						return 0;
+					}
+					fill(delimiter.length);
+					int found = indexOfDelimiter();
+					int available;
+					if (found == pos) {
+						pos += delimiter.length;
+						done = true;
+						return -1;
+					}
+					else if (found > pos) {
+						available = found - pos;
+					}
+					else if (eof) {
+						throw new MalformedMultipartException("Unexpected end of multipart body");
+					}
+					else {
+						// Keep a possible partial delimiter at the end of the buffer
+						available = limit - pos - (delimiter.length - 1);
+					}
+					int n = Math.min(len, available);
+					System.arraycopy(buffer, pos, b, off, n);
+					pos += n;
+					return n;
+				}
+			};
+		}
+	}
+}
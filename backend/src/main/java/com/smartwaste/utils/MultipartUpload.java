@@ -0,0 +1,159 @@
+package com.smartwaste.utils;
+
+import com.smartwaste.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Form fields and the stored image of a streamed multipart request.
+ *
+ * <p>The request body is read exactly once: form fields are collected as they arrive and
+ * the image part is validated and written to content-addressed storage while it is being
+ * received. Fields missing from the body fall back to query parameters.
+ */
+public final class MultipartUpload {
+
+	private final HttpServletRequest request;
+	private final Map<String, String> fields = new HashMap<>();
+	private String storedPath;
+	private long bodyBytes;
+
+	private MultipartUpload(HttpServletRequest request) {
+		this.request = request;
+	}
+
+	/**
+	 * Parse the request body, storing the part named {@code fileField} under {@code uploadDir} in the store.
+	 * Other file parts are skipped.
+	 */
+	public static MultipartUpload read(
+		HttpServletRequest request,
+		String fileField,
+		BlobStore store,
+		String uploadDir,
+		long maxFileBytes
+	) throws IOException {
+		String boundary = MultipartStreamParser.extractBoundary(request.getContentType());
+		if (boundary == null) {
+			throw new IllegalArgumentException("Expected a multipart/form-data request");
+		}
+
+		MultipartUpload upload = new MultipartUpload(request);
+		CountingInputStream body = new CountingInputStream(request.getInputStream());
+		try {
+			MultipartStreamParser.parse(body, boundary, new MultipartStreamParser.PartHandler() {
+				@Override
+				public void onField(String name, String value) {
+					upload.fields.putIfAbsent(name, value);
+				}
+
+				@Override
+				public void onFile(String name, String filename, String contentType, InputStream content) throws IOException {
+					// Browsers send an empty part with no filename when no file was chosen
+					if (!fileField.equals(name) || filename.isEmpty() || upload.storedPath != null) {
+						return;
+					}
+					upload.storedPath = FileUploadUtil.saveImage(store, uploadDir, content, maxFileBytes);
+				}
+			});
+		}
+		catch (MultipartStreamParser.MalformedMultipartException ex) {
+			throw new IllegalArgumentException("Invalid multipart request: " + ex.getMessage());
+		}
+		upload.bodyBytes = body.count;
+		return upload;
+	}
+
+	/**
+	 * @return bytes of the request body read while parsing
+	 */
+	public long bodyBytes() {
+		return bodyBytes;
+	}
+
+	/**
+	 * @return the stored path of the uploaded image, or null if none was sent
+	 */
+	public String storedPath() {
+		return storedPath;
+	}
+
+	public String field(String name) {
+		String value = fields.get(name);
+		return value != null ? value : request.getParameter(name);
+	}
+
+	public String requiredField(String name) {
+		String value = field(name);
+		if (value == null) {
+			throw new IllegalArgumentException(name + " is required");
+		}
+		return value;
+	}
+
+	public Long longField(String name) {
+		String value = field(name);
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			return Long.valueOf(value.trim());
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid " + name + ": " + value);
+		}
+	}
+
+	public Double doubleField(String name) {
+		String value = field(name);
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			return Double.valueOf(value.trim());
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid " + name + ": " + value);
+		}
+	}
+
+	public double requiredDoubleField(String name) {
+		String value = requiredField(name);
+		try {
+			return Double.parseDouble(value.trim());
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid " + name + ": " + value);
+		}
+	}
+
+	private static final class CountingInputStream extends FilterInputStream {
+		private long count;
+
+		private CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.smartwaste.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WasteRequestStatusConverterTest {
+
+	private final WasteRequestStatusConverter converter = new WasteRequestStatusConverter();
+
+	@Test
+	void writesLegacyColumnValues() {
+		assertEquals("PENDING", converter.convertToDatabaseColumn(WasteRequestStatus.CREATED));
+		assertEquals("PENDING", converter.convertToDatabaseColumn(WasteRequestStatus.ASSIGNED));
+		assertEquals("IN_PROGRESS", converter.convertToDatabaseColumn(WasteRequestStatus.IN_PROGRESS));
+		assertEquals("COLLECTED", converter.convertToDatabaseColumn(WasteRequestStatus.COLLECTED));
+		assertEquals("REJECTED", converter.convertToDatabaseColumn(WasteRequestStatus.CLOSED));
+		assertNull(converter.convertToDatabaseColumn(null));
+	}
+
+	@Test
+	void readsLegacyColumnValues() {
+		assertEquals(WasteRequestStatus.CREATED, converter.convertToEntityAttribute("PENDING"));
+		assertEquals(WasteRequestStatus.IN_PROGRESS, converter.convertToEntityAttribute("IN_PROGRESS"));
+		assertEquals(WasteRequestStatus.COLLECTED, converter.convertToEntityAttribute("COLLECTED"));
+		assertEquals(WasteRequestStatus.CLOSED, converter.convertToEntityAttribute("REJECTED"));
+		assertNull(converter.convertToEntityAttribute(null));
+	}
+
+	@Test
+	void roundTripKeepsEveryStateExceptAssigned() {
+		for (WasteRequestStatus status : WasteRequestStatus.values()) {
+			WasteRequestStatus loaded = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(status));
+			assertEquals(status == WasteRequestStatus.ASSIGNED ? WasteRequestStatus.CREATED : status, loaded);
+		}
+	}
+
+	@Test
+	void acceptsNewNamesAndUntidyInput() {
+		assertEquals(WasteRequestStatus.ASSIGNED, converter.convertToEntityAttribute("ASSIGNED"));
+		assertEquals(WasteRequestStatus.CLOSED, converter.convertToEntityAttribute("CLOSED"));
+		assertEquals(WasteRequestStatus.CREATED, converter.convertToEntityAttribute(" pending "));
+		assertEquals(WasteRequestStatus.IN_PROGRESS, converter.convertToEntityAttribute("in_progress"));
+	}
+
+	@Test
+	void rejectsUnknownValues() {
+		assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute("DONE"));
+		assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(""));
+	}
+}
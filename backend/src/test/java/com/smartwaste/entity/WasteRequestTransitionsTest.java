@@ -0,0 +1,58 @@
+package com.smartwaste.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class WasteRequestTransitionsTest {
+
+	private static final Set<String> ALLOWED = Set.of(
+		"CREATED->IN_PROGRESS",
+		"ASSIGNED->IN_PROGRESS",
+		"IN_PROGRESS->COLLECTED",
+		"IN_PROGRESS->CLOSED"
+	);
+
+	@Test
+	void collectorTransitionsMatchTheLifecycle() {
+		for (WasteRequestStatus from : WasteRequestStatus.values()) {
+			for (WasteRequestStatus to : WasteRequestStatus.values()) {
+				assertEquals(
+					ALLOWED.contains(from + "->" + to),
+					WasteRequestTransitions.isAllowed("COLLECTOR", from, to),
+					from + " -> " + to
+				);
+			}
+		}
+	}
+
+	@Test
+	void otherRolesMayNotChangeStatus() {
+		for (String role : new String[] {"USER", "ADMIN", "collector", null}) {
+			for (WasteRequestStatus from : WasteRequestStatus.values()) {
+				for (WasteRequestStatus to : WasteRequestStatus.values()) {
+					assertFalse(WasteRequestTransitions.isAllowed(role, from, to), role + ": " + from + " -> " + to);
+				}
+			}
+		}
+	}
+
+	@Test
+	void closedStatesAreTerminal() {
+		for (WasteRequestStatus to : WasteRequestStatus.values()) {
+			assertFalse(WasteRequestTransitions.isAllowed("COLLECTOR", WasteRequestStatus.COLLECTED, to));
+			assertFalse(WasteRequestTransitions.isAllowed("COLLECTOR", WasteRequestStatus.CLOSED, to));
+		}
+	}
+
+	@Test
+	void nullStatusesAreNotAllowed() {
+		for (WasteRequestStatus status : EnumSet.allOf(WasteRequestStatus.class)) {
+			assertFalse(WasteRequestTransitions.isAllowed("COLLECTOR", null, status));
+			assertFalse(WasteRequestTransitions.isAllowed("COLLECTOR", status, null));
+		}
+	}
+}
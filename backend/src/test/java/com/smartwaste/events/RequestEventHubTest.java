@@ -0,0 +1,181 @@
+package com.smartwaste.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestEventHubTest {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private final List<RequestEventHub> hubs = new ArrayList<>();
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		hubs.forEach(RequestEventHub::shutdown);
+	}
+
+	@Test
+	void stalledSubscriberDoesNotDelayOthers() throws Exception {
+		RecordingEmitter stalled = new RecordingEmitter(release);
+		RecordingEmitter fast = new RecordingEmitter(null);
+		BlockingQueue<RecordingEmitter> emitters = new LinkedBlockingQueue<>(List.of(stalled, fast));
+		// One delivery thread, which the stalled client's first write takes
+		RequestEventHub hub = hub(1, 5, 100, 200, emitters::poll);
+
+		hub.subscribe("user:1");
+		assertTrue(stalled.sendStarted.await(5, TimeUnit.SECONDS));
+		hub.subscribe("user:2");
+		hub.publishStatusChange(10L, 2L, null, "PENDING", "IN_PROGRESS");
+
+		assertNotNull(fast.sent.poll(5, TimeUnit.SECONDS), "connected event");
+		assertNotNull(fast.sent.poll(5, TimeUnit.SECONDS), "status event");
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (hub.getSubscriberCount() > 1 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, hub.getSubscriberCount());
+	}
+
+	@Test
+	void adminsHaveSeparateStreamCapsAndAllReceiveEvents() throws Exception {
+		RecordingEmitter firstTab = new RecordingEmitter(null);
+		RecordingEmitter secondTab = new RecordingEmitter(null);
+		RecordingEmitter otherAdmin = new RecordingEmitter(null);
+		BlockingQueue<RecordingEmitter> emitters = new LinkedBlockingQueue<>(List.of(firstTab, otherAdmin, secondTab));
+		RequestEventHub hub = hub(2, 1, 100, 5000, emitters::poll);
+
+		hub.subscribe(RequestEventHub.adminAudience(1L));
+		hub.subscribe(RequestEventHub.adminAudience(2L));
+		assertEquals(2, hub.getSubscriberCount());
+
+		// A second tab of the same admin replaces that admin's first one only
+		hub.subscribe(RequestEventHub.adminAudience(1L));
+		assertTrue(firstTab.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(2, hub.getSubscriberCount());
+
+		hub.publishStatusChange(10L, 3L, 4L, "PENDING", "IN_PROGRESS");
+		for (RecordingEmitter emitter : List.of(otherAdmin, secondTab)) {
+			assertNotNull(emitter.sent.poll(5, TimeUnit.SECONDS), "connected event");
+			assertNotNull(emitter.sent.poll(5, TimeUnit.SECONDS), "status event");
+			assertEquals(1, emitter.completed.getCount());
+		}
+	}
+
+	@Test
+	void subscriberLimitHoldsUnderConcurrentSubscribes() throws Exception {
+		RequestEventHub hub = hub(2, 5, 50, 5000, () -> new RecordingEmitter(null));
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger audience = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		for (int thread = 0; thread < 8; thread++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 20; i++) {
+					try {
+						hub.subscribe("user:" + audience.incrementAndGet());
+						accepted.incrementAndGet();
+					}
+					catch (IllegalStateException ex) {
+						// Over the limit
+					}
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(50, accepted.get());
+		assertEquals(50, hub.getSubscriberCount());
+	}
+
+	private RequestEventHub hub(
+		int deliveryThreads,
+		int maxPerAudience,
+		int maxSubscribers,
+		long sendTimeoutMs,
+		Supplier<RecordingEmitter> emitters
+	) {
+		RequestEventHub hub = new RequestEventHub(
+			objectMapper,
+			new SimpleMeterRegistry(),
+			32,
+			maxPerAudience,
+			maxSubscribers,
+			60_000,
+			3600,
+			deliveryThreads,
+			sendTimeoutMs
+		) {
+			@Override
+			SseEmitter newEmitter(long timeoutMs) {
+				return emitters.get();
+			}
+		};
+		hubs.add(hub);
+		return hub;
+	}
+
+	/**
+	 * Records sent events instead of writing to a response; blocks every write until
+	 * released when given a latch, like a client that stopped reading.
+	 */
+	private static final class RecordingEmitter extends SseEmitter {
+		private final CountDownLatch block;
+		private final CountDownLatch sendStarted = new CountDownLatch(1);
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private final BlockingQueue<SseEventBuilder> sent = new LinkedBlockingQueue<>();
+
+		RecordingEmitter(CountDownLatch block) {
+			super(60_000L);
+			this.block = block;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sendStarted.countDown();
+			if (block != null) {
+				try {
+					block.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IOException(ex);
+				}
+			}
+			sent.add(builder);
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package com.smartwaste.geo;
+
+import com.smartwaste.routing.RouteOptimizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares every query against a brute-force scan over the same points.
+ */
+class GeoGridIndexTest {
+
+	private static final double CELL_DEGREES = 0.01;
+
+	private final Random random = new Random(42);
+	private final GeoGridIndex index = new GeoGridIndex(CELL_DEGREES);
+	private final Map<Long, double[]> points = new HashMap<>();
+
+	@Test
+	void withinMatchesBruteForce() {
+		populate(2000);
+		for (int q = 0; q < 200; q++) {
+			double[] query = randomPoint();
+			double radiusKm = 0.1 + random.nextDouble() * 10;
+			int limit = 1 + random.nextInt(100);
+			assertSameHits(bruteForce(query, radiusKm, limit), index.within(query[0], query[1], radiusKm, limit));
+		}
+	}
+
+	@Test
+	void nearestMatchesBruteForce() {
+		populate(2000);
+		for (int q = 0; q < 200; q++) {
+			double[] query = randomPoint();
+			int count = 1 + random.nextInt(50);
+			double maxRadiusKm = 0.5 + random.nextDouble() * 50;
+			assertSameHits(bruteForce(query, maxRadiusKm, count), index.nearest(query[0], query[1], count, maxRadiusKm));
+		}
+	}
+
+	@Test
+	void sparseOutliersAreFound() {
+		populate(200);
+		put(-1, 10.0, 10.0);
+		put(-2, -33.9, 151.2);
+		for (int q = 0; q < 50; q++) {
+			double[] query = randomPoint();
+			assertSameHits(bruteForce(query, 20000, 300), index.nearest(query[0], query[1], 300, 20000));
+		}
+		List<GeoGridIndex.Hit> hits = index.nearest(10.01, 10.01, 1, 20000);
+		assertEquals(1, hits.size());
+		assertEquals(-1L, hits.get(0).id());
+	}
+
+	@Test
+	void movesAndRemovalsAreReflected() {
+		populate(1000);
+		List<Long> keys = new ArrayList<>(points.keySet());
+		for (int i = 0; i < 500; i++) {
+			long id = keys.get(random.nextInt(keys.size()));
+			if (random.nextBoolean()) {
+				double[] moved = randomPoint();
+				put(id, moved[0], moved[1]);
+			}
+			else {
+				boolean present = points.remove(id) != null;
+				assertEquals(present, index.remove(id));
+			}
+		}
+		assertEquals(points.size(), index.size());
+		for (int q = 0; q < 100; q++) {
+			double[] query = randomPoint();
+			assertSameHits(bruteForce(query, 5, 40), index.within(query[0], query[1], 5, 40));
+			assertSameHits(bruteForce(query, 50, 40), index.nearest(query[0], query[1], 40, 50));
+		}
+	}
+
+	@Test
+	void emptyIndexAndInvalidArgumentsReturnNothing() {
+		assertTrue(index.within(51.5, -0.1, 10, 10).isEmpty());
+		assertTrue(index.nearest(51.5, -0.1, 10, 10).isEmpty());
+		put(1, 51.5, -0.1);
+		assertTrue(index.within(51.5, -0.1, -1, 10).isEmpty());
+		assertTrue(index.nearest(51.5, -0.1, 0, 10).isEmpty());
+	}
+
+	private void populate(int count) {
+		for (long id = 1; id <= count; id++) {
+			double[] point = randomPoint();
+			put(id, point[0], point[1]);
+		}
+	}
+
+	private void put(long id, double latitude, double longitude) {
+		points.put(id, new double[] {latitude, longitude});
+		index.put(id, latitude, longitude);
+	}
+
+	/**
+	 * City-scale spread around a center, with a few points on cell boundaries.
+	 */
+	private double[] randomPoint() {
+		if (random.nextInt(20) == 0) {
+			return new double[] {51.5 + random.nextInt(20) * CELL_DEGREES, -0.2 + random.nextInt(20) * CELL_DEGREES};
+		}
+		return new double[] {51.4 + random.nextDouble() * 0.3, -0.3 + random.nextDouble() * 0.4};
+	}
+
+	private List<GeoGridIndex.Hit> bruteForce(double[] query, double radiusKm, int limit) {
+		List<GeoGridIndex.Hit> hits = new ArrayList<>();
+		for (Map.Entry<Long, double[]> entry : points.entrySet()) {
+			double[] point = entry.getValue();
+			double d = RouteOptimizer.haversineKm(query[0], query[1], point[0], point[1]);
+			if (d <= radiusKm) {
+				hits.add(new GeoGridIndex.Hit(entry.getKey(), point[0], point[1], d));
+			}
+		}
+		hits.sort(Comparator.comparingDouble(GeoGridIndex.Hit::distanceKm).thenComparingLong(GeoGridIndex.Hit::id));
+		return hits.size() > limit ? hits.subList(0, limit) : hits;
+	}
+
+	/**
+	 * Same distances in the same order, each hit reporting its true distance. Points at equal
+	 * distances (duplicates on cell corners) may be cut off at the limit in either order.
+	 */
+	private void assertSameHits(List<GeoGridIndex.Hit> expected, List<GeoGridIndex.Hit> actual) {
+		assertEquals(expected.size(), actual.size());
+		Set<Long> seen = new HashSet<>();
+		for (int i = 0; i < expected.size(); i++) {
+			GeoGridIndex.Hit hit = actual.get(i);
+			assertEquals(expected.get(i).distanceKm(), hit.distanceKm(), 1e-9);
+			double[] point = points.get(hit.id());
+			assertEquals(0, RouteOptimizer.haversineKm(hit.latitude(), hit.longitude(), point[0], point[1]), 1e-12);
+			assertTrue(seen.add(hit.id()));
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.smartwaste.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpRequestMetricsFilterTest {
+
+	private static final String PATTERN = "/api/requests/{id}";
+
+	private final SqlBudgetProperties properties = new SqlBudgetProperties();
+	private final SqlStatementCounter counter = new SqlStatementCounter(properties);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final HttpRequestMetricsFilter filter = new HttpRequestMetricsFilter(counter, properties, meterRegistry);
+	private final DataSource dataSource = new StatementMetricsDataSource(
+		SqlStatementCounterTest.fakeDataSource(), counter, ObservationRegistry.NOOP
+	);
+
+	@Test
+	void recordsStatementsPerRequestUnderTheRoutePattern() throws Exception {
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/requests/7"), new MockHttpServletResponse(), handler(4));
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/requests/8"), new MockHttpServletResponse(), handler(2));
+
+		DistributionSummary statements = meterRegistry.get("smartwaste.http.db.statements")
+			.tags("method", "GET", "uri", PATTERN, "status", "200")
+			.summary();
+		assertEquals(2, statements.count());
+		assertEquals(6, statements.totalAmount());
+		assertEquals(0, meterRegistry.find("smartwaste.http.db.budget.exceeded").counters().size());
+	}
+
+	@Test
+	void rejectModeFailsTheRequestOnStatementBudgetPlusOne() {
+		properties.setMode(SqlBudgetProperties.Mode.REJECT);
+		properties.setEndpoints(List.of(SqlStatementCounterTest.endpoint("GET", PATTERN, 3)));
+
+		assertThrows(
+			SqlStatementCounter.BudgetExceededException.class,
+			() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/requests/7"), new MockHttpServletResponse(), handler(4))
+		);
+
+		// Only the statements within the budget ran
+		assertEquals(3, meterRegistry.get("smartwaste.http.db.statements").tags("uri", PATTERN).summary().totalAmount());
+	}
+
+	@Test
+	void everyOverBudgetRequestIsCounted() throws Exception {
+		properties.setMaxStatements(1);
+		properties.setLogInterval(Duration.ofHours(1));
+
+		for (int i = 0; i < 3; i++) {
+			filter.doFilter(new MockHttpServletRequest("GET", "/api/requests/7"), new MockHttpServletResponse(), handler(2));
+		}
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/requests/7"), new MockHttpServletResponse(), handler(1));
+
+		assertEquals(3, meterRegistry.get("smartwaste.http.db.budget.exceeded").tags("uri", PATTERN).counter().count());
+	}
+
+	@Test
+	void logWindowLetsOneLinePerIntervalThrough() {
+		HttpRequestMetricsFilter.LogWindow window = new HttpRequestMetricsFilter.LogWindow();
+
+		assertEquals(0, window.tryLog(1_000, 100));
+		assertEquals(-1, window.tryLog(1_050, 100));
+		assertEquals(-1, window.tryLog(1_099, 100));
+		assertEquals(2, window.tryLog(1_100, 100));
+		assertEquals(-1, window.tryLog(1_150, 100));
+		assertEquals(1, window.tryLog(5_000, 100));
+		assertEquals(0, window.tryLog(5_100, 100));
+	}
+
+	@Test
+	void logWindowHandlesNanoTimeWrapAround() {
+		HttpRequestMetricsFilter.LogWindow window = new HttpRequestMetricsFilter.LogWindow();
+		long now = Long.MAX_VALUE - 50;
+
+		assertEquals(0, window.tryLog(now, 100));
+		assertEquals(-1, window.tryLog(now + 60, 100));
+		assertEquals(1, window.tryLog(now + 100, 100));
+	}
+
+	/**
+	 * Matches the route like the dispatcher would, then runs the given number of statements.
+	 */
+	private FilterChain handler(int statements) {
+		return (request, response) -> {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+			try (Connection connection = dataSource.getConnection()) {
+				for (int i = 0; i < statements; i++) {
+					try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM waste_requests WHERE request_id = ?")) {
+						statement.executeQuery();
+					}
+				}
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			}
+		};
+	}
+}
@@ -0,0 +1,213 @@
+package com.smartwaste.metrics;
+
+import io.micrometer.observation.ObservationRegistry;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatementCounterTest {
+
+	private final SqlBudgetProperties properties = new SqlBudgetProperties();
+	private final SqlStatementCounter counter = new SqlStatementCounter(properties);
+	private final DataSource dataSource = new StatementMetricsDataSource(fakeDataSource(), counter, ObservationRegistry.NOOP);
+
+	@AfterEach
+	void end() {
+		counter.end();
+	}
+
+	@Test
+	void countsStatementsOfTheCurrentRequest() throws SQLException {
+		SqlStatementCounter.RequestSql sql = counter.begin(request("GET", "/api/requests/{id}"));
+
+		execute("SELECT * FROM waste_requests WHERE request_id = ?", 3);
+		execute("SELECT * FROM users WHERE user_id = ?", 1);
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.executeUpdate("UPDATE users SET points = 0");
+			// A batch is one round trip
+			statement.addBatch("UPDATE users SET points = 1");
+			statement.addBatch("UPDATE users SET points = 2");
+			statement.executeBatch();
+		}
+
+		assertEquals(6, sql.statements());
+		Map.Entry<String, Integer> repeated = sql.mostRepeated();
+		assertEquals("SELECT * FROM waste_requests WHERE request_id = ?", repeated.getKey());
+		assertEquals(3, repeated.getValue());
+	}
+
+	@Test
+	void statementsOutsideARequestAreNotCounted() throws SQLException {
+		properties.setMode(SqlBudgetProperties.Mode.REJECT);
+		properties.setMaxStatements(0);
+
+		execute("SELECT 1", 5);
+
+		SqlStatementCounter.RequestSql sql = counter.begin(request("GET", "/api/requests/{id}"));
+		assertEquals(0, sql.statements());
+	}
+
+	@Test
+	void rejectModeFailsTheStatementAfterTheBudget() throws SQLException {
+		properties.setMode(SqlBudgetProperties.Mode.REJECT);
+		properties.setMaxStatements(3);
+		SqlStatementCounter.RequestSql sql = counter.begin(request("GET", "/api/requests/{id}"));
+
+		execute("SELECT * FROM waste_requests WHERE request_id = ?", 3);
+		SqlStatementCounter.BudgetExceededException ex = assertThrows(
+			SqlStatementCounter.BudgetExceededException.class,
+			() -> execute("SELECT * FROM users WHERE user_id = ?", 1)
+		);
+
+		assertTrue(ex.getMessage().contains("GET /api/requests/{id}"), ex.getMessage());
+		assertTrue(ex.getMessage().contains("SELECT * FROM users"), ex.getMessage());
+		// The rejected statement never ran
+		assertEquals(3, sql.statements());
+		assertFalse(sql.overBudget());
+	}
+
+	@Test
+	void logModeOnlyMarksTheRequestOverBudget() throws SQLException {
+		properties.setMaxStatements(3);
+		SqlStatementCounter.RequestSql sql = counter.begin(request("GET", "/api/requests/{id}"));
+
+		execute("SELECT 1", 4);
+
+		assertEquals(4, sql.statements());
+		assertTrue(sql.overBudget());
+	}
+
+	@Test
+	void endpointBudgetAppliesOnceTheRouteIsMatched() throws SQLException {
+		properties.setMode(SqlBudgetProperties.Mode.REJECT);
+		properties.setMaxStatements(2);
+		properties.setEndpoints(List.of(endpoint("GET", "/api/admin/reports/waste", 5)));
+		MockHttpServletRequest request = request("GET", null);
+		SqlStatementCounter.RequestSql sql = counter.begin(request);
+
+		// Authentication runs before the handler mapping, under the default budget
+		execute("SELECT * FROM users WHERE email = ?", 2);
+		assertEquals(2, sql.budget());
+
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/admin/reports/waste");
+		assertEquals(5, sql.budget());
+		execute("SELECT * FROM waste_requests", 3);
+		assertThrows(SqlStatementCounter.BudgetExceededException.class, () -> execute("SELECT 1", 1));
+	}
+
+	@Test
+	void budgetResolutionMatchesPatternAndMethod() {
+		properties.setMaxStatements(50);
+		properties.setEndpoints(List.of(
+			endpoint("GET", "/api/admin/reports/waste", 200),
+			endpoint(null, "/api/requests/{id}/status", 10)
+		));
+
+		assertEquals(200, properties.budgetFor("GET", "/api/admin/reports/waste"));
+		assertEquals(200, properties.budgetFor("get", "/api/admin/reports/waste"));
+		assertEquals(50, properties.budgetFor("POST", "/api/admin/reports/waste"));
+		assertEquals(10, properties.budgetFor("PUT", "/api/requests/{id}/status"));
+		assertEquals(10, properties.budgetFor("GET", "/api/requests/{id}/status"));
+		// Matched against the route pattern, not the concrete path
+		assertEquals(50, properties.budgetFor("PUT", "/api/requests/7/status"));
+		assertEquals(50, properties.budgetFor("GET", null));
+	}
+
+	@Test
+	void offModeSkipsTheStatementTexts() throws SQLException {
+		properties.setMode(SqlBudgetProperties.Mode.OFF);
+		SqlStatementCounter.RequestSql sql = counter.begin(request("GET", "/api/requests/{id}"));
+
+		execute("SELECT 1", 2);
+
+		assertEquals(2, sql.statements());
+		assertNull(sql.mostRepeated());
+	}
+
+	private void execute(String sql, int times) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			for (int i = 0; i < times; i++) {
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					statement.executeQuery();
+				}
+			}
+		}
+	}
+
+	static MockHttpServletRequest request(String method, String pattern) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/requests/7");
+		if (pattern != null) {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+		}
+		return request;
+	}
+
+	static SqlBudgetProperties.Endpoint endpoint(String method, String pattern, int maxStatements) {
+		SqlBudgetProperties.Endpoint endpoint = new SqlBudgetProperties.Endpoint();
+		endpoint.setMethod(method);
+		endpoint.setPattern(pattern);
+		endpoint.setMaxStatements(maxStatements);
+		return endpoint;
+	}
+
+	/**
+	 * Connections and statements that do nothing; results are null, zero or false.
+	 */
+	static DataSource fakeDataSource() {
+		Statement statement = proxy(Statement.class);
+		PreparedStatement preparedStatement = proxy(PreparedStatement.class);
+		Connection connection = (Connection) Proxy.newProxyInstance(
+			Connection.class.getClassLoader(),
+			new Class<?>[] {Connection.class},
+			(proxy, method, args) -> switch (method.getName()) {
+				case "createStatement" -> statement;
+				case "prepareStatement" -> preparedStatement;
+				default -> defaultValue(method.getReturnType());
+			}
+		);
+		return (DataSource) Proxy.newProxyInstance(
+			DataSource.class.getClassLoader(),
+			new Class<?>[] {DataSource.class},
+			(proxy, method, args) -> "getConnection".equals(method.getName()) ? connection : defaultValue(method.getReturnType())
+		);
+	}
+
+	private static <T> T proxy(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(
+			type.getClassLoader(),
+			new Class<?>[] {type},
+			(proxy, method, args) -> "executeBatch".equals(method.getName())
+				? new int[0]
+				: defaultValue(method.getReturnType())
+		));
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		if (type == boolean.class) {
+			return false;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,152 @@
+package com.smartwaste.ratelimit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcBucketStoreTest {
+
+	private static final long CAPACITY = 5000;
+	private static final long PERIOD = 60_000;
+
+	private final FakeJdbcTemplate jdbcTemplate = new FakeJdbcTemplate();
+	private final JdbcBucketStore store = new JdbcBucketStore(jdbcTemplate, new NoOpTransactionManager());
+
+	@Test
+	void newBucketStartsFullAndRefillsOverThePeriod() {
+		assertEquals(3000, store.take("login", "10.0.0.1", 3000, CAPACITY, PERIOD, 0));
+		assertEquals(2000, store.take("login", "10.0.0.1", 3000, CAPACITY, PERIOD, 0));
+		assertEquals(0, store.take("login", "10.0.0.1", 1000, CAPACITY, PERIOD, 0));
+
+		// One token takes period / capacity = 12 s
+		assertEquals(0, store.take("login", "10.0.0.1", 1000, CAPACITY, PERIOD, 11_999));
+		assertEquals(1000, store.take("login", "10.0.0.1", 3000, CAPACITY, PERIOD, 12_000));
+		assertEquals(5000, store.take("login", "10.0.0.1", 9000, CAPACITY, PERIOD, 12_000 + PERIOD));
+	}
+
+	@Test
+	void grantsOnlyWholeTokens() {
+		assertEquals(4000, store.take("login", "a", 4000, CAPACITY, PERIOD, 0));
+		// 1.5 tokens available: one is granted, the half token stays in the bucket
+		assertEquals(1000, store.take("login", "a", 3000, CAPACITY, PERIOD, 6000));
+		assertEquals(0, store.take("login", "a", 1000, CAPACITY, PERIOD, 6000));
+		assertEquals(1000, store.take("login", "a", 3000, CAPACITY, PERIOD, 12_000));
+	}
+
+	@Test
+	void longKeysFitTheColumnAndStaySeparate() {
+		String key = "1".repeat(200);
+		String other = key + "2";
+
+		assertEquals(5000, store.take("login", key, 5000, CAPACITY, PERIOD, 0));
+		assertEquals(5000, store.take("login", other, 5000, CAPACITY, PERIOD, 0));
+		assertEquals(0, store.take("login", key, 1000, CAPACITY, PERIOD, 0));
+
+		assertEquals(2, jdbcTemplate.rows.size());
+		jdbcTemplate.keys.forEach(stored -> assertEquals(64, stored.length()));
+	}
+
+	@Test
+	void policiesHaveSeparateBuckets() {
+		assertEquals(5000, store.take("login", "a", 5000, CAPACITY, PERIOD, 0));
+		assertEquals(5000, store.take("register", "a", 5000, CAPACITY, PERIOD, 0));
+	}
+
+	@Test
+	void missingRowAfterInsertIsAnErrorNotANullPointer() {
+		jdbcTemplate.dropInserts = true;
+
+		IllegalStateException ex = assertThrows(
+			IllegalStateException.class,
+			() -> store.take("login", "a", 1000, CAPACITY, PERIOD, 0)
+		);
+		assertTrue(ex.getMessage().contains("login"));
+	}
+
+	@Test
+	void purgeRemovesOnlyIdleBuckets() {
+		store.take("login", "idle", 1000, CAPACITY, PERIOD, 0);
+		store.take("login", "active", 1000, CAPACITY, PERIOD, PERIOD);
+		store.take("register", "idle", 1000, CAPACITY, PERIOD, 0);
+
+		store.purgeIdle("login", PERIOD / 2);
+
+		assertEquals(2, jdbcTemplate.rows.size());
+		assertEquals(5000, store.take("login", "idle", 5000, CAPACITY, PERIOD, PERIOD));
+	}
+
+	/**
+	 * In-memory rate_limit_buckets table. Like the VARCHAR(128) column, it truncates longer
+	 * client keys on insert.
+	 */
+	private static final class FakeJdbcTemplate extends JdbcTemplate {
+		private final Map<String, long[]> rows = new HashMap<>();
+		private final List<String> keys = new ArrayList<>();
+		private boolean dropInserts;
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+			long[] row = rows.get(args[0] + "/" + args[1]);
+			return row == null ? List.of() : List.of((T) row.clone());
+		}
+
+		@Override
+		public int update(String sql, Object... args) {
+			if (sql.startsWith("INSERT")) {
+				String key = (String) args[1];
+				keys.add(key);
+				if (dropInserts) {
+					return 0;
+				}
+				String column = key.length() > 128 ? key.substring(0, 128) : key;
+				return rows.putIfAbsent(args[0] + "/" + column, new long[] {(Long) args[2], (Long) args[3]}) == null ? 1 : 0;
+			}
+			if (sql.startsWith("UPDATE")) {
+				long[] row = rows.get(args[2] + "/" + args[3]);
+				if (row == null) {
+					return 0;
+				}
+				row[0] = (Long) args[0];
+				row[1] = (Long) args[1];
+				return 1;
+			}
+			if (sql.startsWith("DELETE")) {
+				int before = rows.size();
+				rows.entrySet().removeIf(entry ->
+					entry.getKey().startsWith(args[0] + "/") && entry.getValue()[1] < (Long) args[1]);
+				return before - rows.size();
+			}
+			throw new IllegalArgumentException("Unexpected SQL: " + sql);
+		}
+	}
+
+	private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.smartwaste.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeasingRateLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong(1_000_000);
+	private final InMemoryBucketStore store = new InMemoryBucketStore();
+
+	@Test
+	void handsOutLeasedTokensWithoutStoreRoundTrips() {
+		LeasingRateLimiter limiter = limiter(10, 60_000, 3, 2000);
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertEquals(1, store.takes);
+		assertEquals(7000, store.tokens("a"));
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertEquals(2, store.takes);
+		assertEquals(1, limiter.trackedKeys());
+	}
+
+	@Test
+	void expiredLeaseIsRenewedAndItsUnusedTokensDropped() {
+		LeasingRateLimiter limiter = limiter(10, 60_000, 3, 2000);
+
+		assertTrue(limiter.tryAcquire("a"));
+		clock.addAndGet(1999);
+		assertTrue(limiter.tryAcquire("a"));
+		assertEquals(1, store.takes);
+
+		clock.addAndGet(1);
+		assertTrue(limiter.tryAcquire("a"));
+		assertEquals(2, store.takes);
+		// 2 s refilled a third of a token; the lease left one token unused
+		assertEquals(4333, store.tokens("a"));
+	}
+
+	@Test
+	void leaseIsCappedByWhatTheStoreHasLeft() {
+		LeasingRateLimiter limiter = limiter(4, 60_000, 3, 2000);
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+		assertEquals(3, store.takes);
+	}
+
+	@Test
+	void denialIsCachedUntilOneTokenRefills() {
+		// denyTtl = min(leaseTtl, period / capacity) = 30 s
+		LeasingRateLimiter limiter = limiter(2, 60_000, 1, 60_000);
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+		assertEquals(3, store.takes);
+
+		clock.addAndGet(29_999);
+		assertFalse(limiter.tryAcquire("a"));
+		assertEquals(3, store.takes);
+
+		clock.addAndGet(1);
+		assertTrue(limiter.tryAcquire("a"));
+		assertEquals(4, store.takes);
+	}
+
+	@Test
+	void denialIsCachedNoLongerThanTheLeaseTtl() {
+		LeasingRateLimiter limiter = limiter(1, 60_000, 1, 2000);
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+		clock.addAndGet(2000);
+		assertFalse(limiter.tryAcquire("a"));
+		assertEquals(3, store.takes);
+	}
+
+	@Test
+	void fallsBackToLocalLimitsWhileTheStoreFails() {
+		LeasingRateLimiter limiter = limiter(10, 60_000, 3, 2000);
+		store.failing = true;
+
+		// The local fallback allows a single request per minute
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+		assertEquals(0, limiter.trackedKeys());
+
+		store.failing = false;
+		assertTrue(limiter.tryAcquire("a"));
+		assertEquals(7000, store.tokens("a"));
+	}
+
+	@Test
+	void keysBeyondTheLimitTakeSingleTokensWithoutCaching() {
+		LeasingRateLimiter limiter = new LeasingRateLimiter(
+			"test", store, fallback(), 10, 60_000, 3, 2000, 1, 60_000, clock::get
+		);
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("b"));
+		assertTrue(limiter.tryAcquire("b"));
+		assertEquals(3, store.takes);
+		assertEquals(8000, store.tokens("b"));
+		assertEquals(1, limiter.trackedKeys());
+	}
+
+	@Test
+	void sweepDropsExpiredLeasesAndPurgesIdleBuckets() {
+		LeasingRateLimiter limiter = new LeasingRateLimiter(
+			"test", store, fallback(), 10, 60_000, 3, 2000, 100, 30_000, clock::get
+		);
+
+		assertTrue(limiter.tryAcquire("a"));
+		clock.addAndGet(30_000);
+		assertTrue(limiter.tryAcquire("b"));
+		assertEquals(1, limiter.trackedKeys());
+		assertEquals(1, store.purges);
+	}
+
+	private LeasingRateLimiter limiter(int capacity, long periodMs, int leaseSize, long leaseTtlMs) {
+		return new LeasingRateLimiter(
+			"test", store, fallback(), capacity, periodMs, leaseSize, leaseTtlMs, 100, 60_000, clock::get
+		);
+	}
+
+	private TokenBucketLimiter fallback() {
+		return new TokenBucketLimiter(1, 60_000, 100, 60_000, clock::get);
+	}
+
+	/**
+	 * Stand-in for the shared store, with the same refill rule as JdbcBucketStore.
+	 */
+	private static final class InMemoryBucketStore implements BucketStore {
+		private final Map<String, long[]> buckets = new HashMap<>();
+		private int takes;
+		private int purges;
+		private boolean failing;
+
+		@Override
+		public long take(String policy, String key, long requestedMilli, long capacityMilli, long periodMs, long nowMs) {
+			if (failing) {
+				throw new IllegalStateException("store unavailable");
+			}
+			takes++;
+			long[] bucket = buckets.computeIfAbsent(policy + "/" + key, k -> new long[] {capacityMilli, nowMs});
+			long elapsed = nowMs - bucket[1];
+			long added = elapsed * capacityMilli / periodMs;
+			if (bucket[0] + added >= capacityMilli) {
+				bucket[0] = capacityMilli;
+				bucket[1] = nowMs;
+			}
+			else if (added > 0) {
+				bucket[0] += added;
+				bucket[1] += added * periodMs / capacityMilli;
+			}
+			long granted = Math.min(requestedMilli, bucket[0]) / 1000 * 1000;
+			bucket[0] -= granted;
+			return granted;
+		}
+
+		@Override
+		public void purgeIdle(String policy, long idleBeforeMs) {
+			purges++;
+			buckets.values().removeIf(bucket -> bucket[1] < idleBeforeMs);
+		}
+
+		long tokens(String key) {
+			return buckets.get("test/" + key)[0];
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.smartwaste.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong(1_000_000);
+
+	@Test
+	void refillsProportionallyToElapsedTime() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1000, 10, 60_000, clock::get);
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+
+		clock.addAndGet(499);
+		assertFalse(limiter.tryAcquire("a"));
+		clock.addAndGet(1);
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+
+		clock.addAndGet(5000);
+		assertTrue(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+	}
+
+	@Test
+	void keysAreIndependent() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1000, 10, 60_000, clock::get);
+
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("b"));
+		assertEquals(2, limiter.trackedKeys());
+	}
+
+	@Test
+	void sweepsBucketsIdleForAFullPeriod() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1000, 10, 500, clock::get);
+
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+
+		clock.addAndGet(500);
+		limiter.tryAcquire("b");
+		assertEquals(2, limiter.trackedKeys());
+
+		clock.addAndGet(499);
+		limiter.tryAcquire("c");
+		assertEquals(3, limiter.trackedKeys());
+
+		// "a" has been idle for a full period, "b" and "c" have not
+		clock.addAndGet(1);
+		limiter.tryAcquire("c");
+		assertEquals(2, limiter.trackedKeys());
+	}
+
+	@Test
+	void sweptBucketBehavesLikeANewOne() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1000, 10, 100, clock::get);
+
+		assertTrue(limiter.tryAcquire("a"));
+		clock.addAndGet(1000);
+		limiter.tryAcquire("other");
+		assertEquals(1, limiter.trackedKeys());
+		assertTrue(limiter.tryAcquire("a"));
+		assertFalse(limiter.tryAcquire("a"));
+	}
+
+	@Test
+	void unknownKeysShareALargerOverflowBucketWhenFull() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1000, 1, 60_000, clock::get);
+
+		assertTrue(limiter.tryAcquire("tracked"));
+		for (int i = 0; i < TokenBucketLimiter.OVERFLOW_MULTIPLIER; i++) {
+			assertTrue(limiter.tryAcquire("flood-" + i));
+		}
+		assertFalse(limiter.tryAcquire("newcomer"));
+		assertEquals(1, limiter.trackedKeys());
+
+		// the overflow bucket refills at its own, larger rate: one token per 1000/64 ms
+		clock.addAndGet(16);
+		assertTrue(limiter.tryAcquire("newcomer"));
+		assertFalse(limiter.tryAcquire("tracked"));
+	}
+
+	@Test
+	void fullMapIsNotSweptOnEveryUnknownKey() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1000, 1, 60_000, clock::get);
+
+		limiter.tryAcquire("idle");
+		clock.addAndGet(2000);
+		// "idle" is sweepable, but the sweep interval has not elapsed yet
+		assertTrue(limiter.tryAcquire("newcomer"));
+		assertTrue(limiter.tryAcquire("newcomer"));
+		assertEquals(1, limiter.trackedKeys());
+
+		// once swept, the newcomer gets a bucket of its own
+		clock.addAndGet(60_000);
+		assertTrue(limiter.tryAcquire("newcomer"));
+		assertFalse(limiter.tryAcquire("newcomer"));
+		assertEquals(1, limiter.trackedKeys());
+	}
+
+	@Test
+	void overflowCapacityIsBoundedByTheTokenField() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(16_000, 1000, 1, 60_000, clock::get);
+
+		limiter.tryAcquire("tracked");
+		int granted = 0;
+		while (limiter.tryAcquire("flood-" + granted)) {
+			granted++;
+		}
+		assertEquals(16_777, granted);
+	}
+}
@@ -0,0 +1,113 @@
+package com.smartwaste.routing;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmark of {@link RouteOptimizer} on synthetic 200-stop instances (uniform and clustered
+ * stops in a ~20 km city area). Prints route length against the work-queue order and the
+ * nearest-neighbour tour, and optimization time percentiles.
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/classes:target/test-classes com.smartwaste.routing.RouteOptimizerBenchmark [instances] [stops] [budgetMs]
+ * </pre>
+ */
+public final class RouteOptimizerBenchmark {
+
+	private static final double BASE_LATITUDE = 12.90;
+	private static final double BASE_LONGITUDE = 77.50;
+	private static final double SPAN_DEGREES = 0.18;
+
+	private RouteOptimizerBenchmark() {
+	}
+
+	public static void main(String[] args) {
+		int instances = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int stops = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		long budgetMs = args.length > 2 ? Long.parseLong(args[2]) : 200;
+		RouteOptimizer optimizer = new RouteOptimizer();
+
+		// Warm up the JIT before measuring
+		Random warmup = new Random(1);
+		for (int i = 0; i < 50; i++) {
+			double[][] points = uniform(warmup, stops);
+			optimizer.optimize(points[0], points[1], null, null, budgetMs * 1_000_000L);
+		}
+
+		run("uniform", optimizer, instances, stops, budgetMs, false);
+		run("clustered", optimizer, instances, stops, budgetMs, true);
+	}
+
+	private static void run(String name, RouteOptimizer optimizer, int instances, int stops, long budgetMs, boolean clustered) {
+		Random random = new Random(42);
+		long[] nanos = new long[instances];
+		double original = 0;
+		double nearestNeighbour = 0;
+		double optimized = 0;
+		int timedOut = 0;
+		for (int i = 0; i < instances; i++) {
+			double[][] points = clustered ? clustered(random, stops) : uniform(random, stops);
+			long start = System.nanoTime();
+			RouteOptimizer.Result result = optimizer.optimize(points[0], points[1], null, null, budgetMs * 1_000_000L);
+			nanos[i] = System.nanoTime() - start;
+			original += RouteOptimizer.routeLength(points[0], points[1], null, null);
+			nearestNeighbour += result.getNearestNeighbourDistanceKm();
+			optimized += result.getDistanceKm();
+			if (result.isTimedOut()) {
+				timedOut++;
+			}
+		}
+		Arrays.sort(nanos);
+		System.out.printf(
+			"%-9s %d x %d stops: avg km original %.1f, nearest-neighbour %.1f, optimized %.1f (%.1f%% shorter than original)%n",
+			name,
+			instances,
+			stops,
+			original / instances,
+			nearestNeighbour / instances,
+			optimized / instances,
+			100 * (1 - optimized / original)
+		);
+		System.out.printf(
+			"%-9s time ms p50 %.2f, p95 %.2f, max %.2f; hit %d ms budget: %d%n",
+			name,
+			nanos[instances / 2] / 1e6,
+			nanos[(int) (instances * 0.95)] / 1e6,
+			nanos[instances - 1] / 1e6,
+			budgetMs,
+			timedOut
+		);
+	}
+
+	private static double[][] uniform(Random random, int stops) {
+		double[] latitudes = new double[stops];
+		double[] longitudes = new double[stops];
+		for (int i = 0; i < stops; i++) {
+			latitudes[i] = BASE_LATITUDE + random.nextDouble() * SPAN_DEGREES;
+			longitudes[i] = BASE_LONGITUDE + random.nextDouble() * SPAN_DEGREES;
+		}
+		return new double[][] { latitudes, longitudes };
+	}
+
+	/**
+	 * Stops gathered around a few neighbourhoods, as pickups usually are.
+	 */
+	private static double[][] clustered(Random random, int stops) {
+		int clusters = 8;
+		double[] centerLatitudes = new double[clusters];
+		double[] centerLongitudes = new double[clusters];
+		for (int c = 0; c < clusters; c++) {
+			centerLatitudes[c] = BASE_LATITUDE + random.nextDouble() * SPAN_DEGREES;
+			centerLongitudes[c] = BASE_LONGITUDE + random.nextDouble() * SPAN_DEGREES;
+		}
+		double[] latitudes = new double[stops];
+		double[] longitudes = new double[stops];
+		for (int i = 0; i < stops; i++) {
+			int c = random.nextInt(clusters);
+			latitudes[i] = centerLatitudes[c] + random.nextGaussian() * 0.008;
+			longitudes[i] = centerLongitudes[c] + random.nextGaussian() * 0.008;
+		}
+		return new double[][] { latitudes, longitudes };
+	}
+}
@@ -0,0 +1,179 @@
+package com.smartwaste.routing;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteOptimizerTest {
+
+	private static final double BASE_LATITUDE = 12.90;
+	private static final double BASE_LONGITUDE = 77.50;
+	private static final long BUDGET_NANOS = 200_000_000L;
+
+	private final RouteOptimizer optimizer = new RouteOptimizer();
+
+	@Test
+	void emptyInput() {
+		RouteOptimizer.Result result = optimizer.optimize(new double[0], new double[0], null, null, BUDGET_NANOS);
+		assertEquals(0, result.getOrder().length);
+		assertEquals(0, result.getDistanceKm(), 0);
+
+		result = optimizer.optimize(new double[0], new double[0], BASE_LATITUDE, BASE_LONGITUDE, BUDGET_NANOS);
+		assertEquals(0, result.getOrder().length);
+		assertEquals(0, result.getDistanceKm(), 0);
+	}
+
+	@Test
+	void singleStop() {
+		double[] lat = {BASE_LATITUDE + 0.01};
+		double[] lng = {BASE_LONGITUDE};
+		RouteOptimizer.Result result = optimizer.optimize(lat, lng, null, null, BUDGET_NANOS);
+		assertArrayEquals(new int[] {0}, result.getOrder());
+		assertEquals(0, result.getDistanceKm(), 0);
+
+		result = optimizer.optimize(lat, lng, BASE_LATITUDE, BASE_LONGITUDE, BUDGET_NANOS);
+		assertArrayEquals(new int[] {0}, result.getOrder());
+		assertEquals(RouteOptimizer.haversineKm(BASE_LATITUDE, BASE_LONGITUDE, lat[0], lng[0]), result.getDistanceKm(), 1e-9);
+	}
+
+	@Test
+	void twoStopsVisitTheNearerOneFirstFromAFixedStart() {
+		double[] lat = {BASE_LATITUDE + 0.05, BASE_LATITUDE + 0.01};
+		double[] lng = {BASE_LONGITUDE, BASE_LONGITUDE};
+		RouteOptimizer.Result result = optimizer.optimize(lat, lng, BASE_LATITUDE, BASE_LONGITUDE, BUDGET_NANOS);
+		assertArrayEquals(new int[] {1, 0}, result.getOrder());
+		assertConsistent(lat, lng, BASE_LATITUDE, BASE_LONGITUDE, result);
+
+		result = optimizer.optimize(lat, lng, null, null, BUDGET_NANOS);
+		assertPermutation(result.getOrder(), 2);
+		assertEquals(RouteOptimizer.haversineKm(lat[0], lng[0], lat[1], lng[1]), result.getDistanceKm(), 1e-9);
+	}
+
+	@Test
+	void duplicatePoints() {
+		double[] lat = new double[10];
+		double[] lng = new double[10];
+		Arrays.fill(lat, BASE_LATITUDE);
+		Arrays.fill(lng, BASE_LONGITUDE);
+		RouteOptimizer.Result result = optimizer.optimize(lat, lng, null, null, BUDGET_NANOS);
+		assertPermutation(result.getOrder(), 10);
+		assertEquals(0, result.getDistanceKm(), 0);
+		assertFalse(result.isTimedOut());
+
+		// Two sites with several stops each: the route crosses between them once
+		for (int i = 0; i < 10; i++) {
+			lat[i] = i % 2 == 0 ? BASE_LATITUDE : BASE_LATITUDE + 0.05;
+		}
+		result = optimizer.optimize(lat, lng, null, null, BUDGET_NANOS);
+		assertPermutation(result.getOrder(), 10);
+		assertEquals(RouteOptimizer.haversineKm(BASE_LATITUDE, BASE_LONGITUDE, BASE_LATITUDE + 0.05, BASE_LONGITUDE), result.getDistanceKm(), 1e-9);
+		assertConsistent(lat, lng, null, null, result);
+	}
+
+	@Test
+	void randomInstancesArePermutationsNoLongerThanNearestNeighbour() {
+		Random random = new Random(7);
+		for (int instance = 0; instance < 200; instance++) {
+			int stops = 3 + random.nextInt(80);
+			double[][] points = random.nextBoolean() ? uniform(random, stops) : clustered(random, stops);
+			boolean fixedStart = random.nextBoolean();
+			Double startLat = fixedStart ? BASE_LATITUDE + random.nextDouble() * 0.18 : null;
+			Double startLng = fixedStart ? BASE_LONGITUDE + random.nextDouble() * 0.18 : null;
+
+			RouteOptimizer.Result result = optimizer.optimize(points[0], points[1], startLat, startLng, BUDGET_NANOS);
+			assertPermutation(result.getOrder(), stops);
+			assertConsistent(points[0], points[1], startLat, startLng, result);
+			assertTrue(result.getDistanceKm() <= result.getNearestNeighbourDistanceKm() + 1e-9);
+			if (fixedStart) {
+				assertEquals(nearestNeighbourLength(points[0], points[1], startLat, startLng), result.getNearestNeighbourDistanceKm(), 1e-6);
+			}
+		}
+	}
+
+	@Test
+	void exhaustedBudgetStillReturnsAValidRoute() {
+		double[][] points = uniform(new Random(3), 150);
+		RouteOptimizer.Result result = optimizer.optimize(points[0], points[1], null, null, 0);
+		assertPermutation(result.getOrder(), 150);
+		assertConsistent(points[0], points[1], null, null, result);
+		assertTrue(result.getDistanceKm() <= result.getNearestNeighbourDistanceKm() + 1e-9);
+	}
+
+	@Test
+	void rejectsMismatchedArrays() {
+		assertThrows(IllegalArgumentException.class, () -> optimizer.optimize(new double[2], new double[3], null, null, BUDGET_NANOS));
+	}
+
+	private static void assertPermutation(int[] order, int stops) {
+		assertEquals(stops, order.length);
+		boolean[] seen = new boolean[stops];
+		for (int index : order) {
+			assertTrue(index >= 0 && index < stops, "index out of range: " + index);
+			assertFalse(seen[index], "visited twice: " + index);
+			seen[index] = true;
+		}
+	}
+
+	/**
+	 * The reported distance is the length of the returned order.
+	 */
+	private static void assertConsistent(double[] lat, double[] lng, Double startLat, Double startLng, RouteOptimizer.Result result) {
+		int[] order = result.getOrder();
+		double[] orderedLat = new double[order.length];
+		double[] orderedLng = new double[order.length];
+		for (int i = 0; i < order.length; i++) {
+			orderedLat[i] = lat[order[i]];
+			orderedLng[i] = lng[order[i]];
+		}
+		assertEquals(RouteOptimizer.routeLength(orderedLat, orderedLng, startLat, startLng), result.getDistanceKm(), 1e-6);
+	}
+
+	private static double nearestNeighbourLength(double[] lat, double[] lng, double startLat, double startLng) {
+		boolean[] visited = new boolean[lat.length];
+		double currentLat = startLat;
+		double currentLng = startLng;
+		double total = 0;
+		for (int step = 0; step < lat.length; step++) {
+			int best = -1;
+			double bestDistance = Double.MAX_VALUE;
+			for (int i = 0; i < lat.length; i++) {
+				double d = RouteOptimizer.haversineKm(currentLat, currentLng, lat[i], lng[i]);
+				if (!visited[i] && d < bestDistance) {
+					bestDistance = d;
+					best = i;
+				}
+			}
+			visited[best] = true;
+			total += bestDistance;
+			currentLat = lat[best];
+			currentLng = lng[best];
+		}
+		return total;
+	}
+
+	private static double[][] uniform(Random random, int stops) {
+		double[][] points = new double[2][stops];
+		for (int i = 0; i < stops; i++) {
+			points[0][i] = BASE_LATITUDE + random.nextDouble() * 0.18;
+			points[1][i] = BASE_LONGITUDE + random.nextDouble() * 0.18;
+		}
+		return points;
+	}
+
+	private static double[][] clustered(Random random, int stops) {
+		double[][] points = new double[2][stops];
+		double[][] centers = uniform(random, 4);
+		for (int i = 0; i < stops; i++) {
+			int cluster = random.nextInt(4);
+			points[0][i] = centers[0][cluster] + random.nextGaussian() * 0.005;
+			points[1][i] = centers[1][cluster] + random.nextGaussian() * 0.005;
+		}
+		return points;
+	}
+}
@@ -0,0 +1,81 @@
+package com.smartwaste.security;
+
+import com.smartwaste.config.RateLimitingConfig;
+import com.smartwaste.ratelimit.BucketStore;
+import com.smartwaste.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+	@Test
+	void ignoresForwardedForFromUntrustedPeers() throws Exception {
+		RateLimitFilter filter = filter(List.of());
+
+		assertEquals("203.0.113.7", filter.getClientId(login("203.0.113.7", "198.51.100.1")));
+		assertEquals(200, send(filter, login("203.0.113.7", "198.51.100.1")));
+		// Rotating the header does not get the client a fresh bucket
+		assertEquals(429, send(filter, login("203.0.113.7", "198.51.100.2")));
+	}
+
+	@Test
+	void takesRightMostUntrustedHopBehindTrustedProxies() {
+		RateLimitFilter filter = filter(List.of("10.0.0.0/8", "192.0.2.1"));
+
+		assertEquals("198.51.100.9", filter.getClientId(login("10.1.2.3", "198.51.100.9")));
+		// Hops left of the first untrusted one are client-supplied
+		assertEquals("198.51.100.9", filter.getClientId(login("10.1.2.3", "1.2.3.4, 198.51.100.9, 192.0.2.1")));
+		assertEquals("not-an-ip", filter.getClientId(login("10.1.2.3", "198.51.100.9, not-an-ip")));
+		// Only proxies in the chain: the left-most hop is the client
+		assertEquals("10.9.9.9", filter.getClientId(login("10.1.2.3", "10.9.9.9, 192.0.2.1")));
+		assertEquals("10.1.2.3", filter.getClientId(login("10.1.2.3", null)));
+		assertEquals("203.0.113.7", filter.getClientId(login("203.0.113.7", "198.51.100.9")));
+	}
+
+	@Test
+	void limitsEachForwardedClientSeparatelyBehindTrustedProxy() throws Exception {
+		RateLimitFilter filter = filter(List.of("10.0.0.1"));
+
+		assertEquals(200, send(filter, login("10.0.0.1", "198.51.100.1")));
+		assertEquals(200, send(filter, login("10.0.0.1", "198.51.100.2")));
+		assertEquals(429, send(filter, login("10.0.0.1", "198.51.100.1")));
+	}
+
+	private static RateLimitFilter filter(List<String> trustedProxies) {
+		RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+		login.setCapacity(1);
+		login.setPaths(List.of("/api/auth/login"));
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getPolicies().put(RateLimitingConfig.LOGIN, login);
+		properties.setTrustedProxies(trustedProxies);
+		RateLimitingConfig config = new RateLimitingConfig(
+			properties,
+			new SimpleMeterRegistry(),
+			new StaticListableBeanFactory().getBeanProvider(BucketStore.class)
+		);
+		return new RateLimitFilter(config, properties);
+	}
+
+	private static MockHttpServletRequest login(String remoteAddr, String forwardedFor) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+		request.setRemoteAddr(remoteAddr);
+		if (forwardedFor != null) {
+			request.addHeader("X-Forwarded-For", forwardedFor);
+		}
+		return request;
+	}
+
+	private static int send(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+}
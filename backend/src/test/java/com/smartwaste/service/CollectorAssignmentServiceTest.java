@@ -0,0 +1,99 @@
+package com.smartwaste.service;
+
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollectorAssignmentServiceTest {
+
+	private static final List<CollectorAssignmentService.Planned> PLANNED = List.of(
+		new CollectorAssignmentService.Planned(101L, 1L, 11L),
+		new CollectorAssignmentService.Planned(102L, 2L, 12L),
+		new CollectorAssignmentService.Planned(103L, 3L, 13L),
+		new CollectorAssignmentService.Planned(104L, 4L, 14L)
+	);
+
+	@Test
+	void updateCountsDecideWhenKnown() {
+		int[] rowCounts = {1, 0, 1, Statement.EXECUTE_FAILED};
+
+		assertEquals(List.of(), CollectorAssignmentService.unknownRequestIds(PLANNED, rowCounts));
+		assertArrayEquals(
+			new boolean[] {true, false, true, false},
+			CollectorAssignmentService.applied(PLANNED, rowCounts, Map.of())
+		);
+	}
+
+	@Test
+	void successNoInfoRowsAreReRead() {
+		int[] rowCounts = {Statement.SUCCESS_NO_INFO, 1, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO};
+
+		assertEquals(List.of(101L, 103L, 104L), CollectorAssignmentService.unknownRequestIds(PLANNED, rowCounts));
+		// 101 got our collector; 103 was assigned manually in between; 104 is still unassigned
+		Map<Long, Long> current = new HashMap<>();
+		current.put(101L, 11L);
+		current.put(103L, 99L);
+		current.put(104L, null);
+		assertArrayEquals(
+			new boolean[] {true, true, false, false},
+			CollectorAssignmentService.applied(PLANNED, rowCounts, current)
+		);
+	}
+
+	@Test
+	void missingCountsAreReRead() {
+		int[] rowCounts = {1, 0};
+
+		assertEquals(List.of(103L, 104L), CollectorAssignmentService.unknownRequestIds(PLANNED, rowCounts));
+		assertArrayEquals(
+			new boolean[] {true, false, true, false},
+			CollectorAssignmentService.applied(PLANNED, rowCounts, Map.of(103L, 13L))
+		);
+		assertArrayEquals(
+			new boolean[] {false, false, false, false},
+			CollectorAssignmentService.applied(PLANNED, new int[0], Map.of())
+		);
+	}
+
+	@Test
+	void onlySuccessNoInfoAndMissingCountsAreUnknown() {
+		int[] rowCounts = {0, Statement.EXECUTE_FAILED, Statement.SUCCESS_NO_INFO};
+
+		assertTrue(CollectorAssignmentService.isKnown(rowCounts, 0));
+		assertTrue(CollectorAssignmentService.isKnown(rowCounts, 1));
+		assertFalse(CollectorAssignmentService.isKnown(rowCounts, 2));
+		assertFalse(CollectorAssignmentService.isKnown(rowCounts, 3));
+	}
+
+	@Test
+	void heapsHoldOnlyActiveCollectorsPerZone() {
+		List<Object[]> active = List.of(
+			new Object[] {1L, 10L},
+			new Object[] {2L, 10L},
+			new Object[] {4L, 20L}
+		);
+		// Collector 3 has open requests but is no longer active
+		Map<Long, Integer> openLoads = Map.of(1L, 2, 3L, 0, 4L, 5);
+
+		Map<Long, CollectorLoadHeap> heaps = CollectorAssignmentService.buildHeaps(active, openLoads);
+
+		assertEquals(2, heaps.size());
+		CollectorLoadHeap zone10 = heaps.get(10L);
+		assertEquals(2, zone10.size());
+		assertFalse(zone10.contains(3));
+		assertEquals(2, zone10.loadOf(1));
+		assertEquals(0, zone10.loadOf(2));
+		assertEquals(Long.valueOf(2), zone10.takeLeastLoaded());
+		assertEquals(Long.valueOf(4), heaps.get(20L).takeLeastLoaded());
+		assertNull(heaps.get(30L));
+	}
+}
@@ -0,0 +1,143 @@
+package com.smartwaste.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CollectorLoadHeapTest {
+
+	@Test
+	void takesLeastLoadedAndCountsTheNewRequest() {
+		CollectorLoadHeap heap = new CollectorLoadHeap();
+		heap.add(1, 3);
+		heap.add(2, 1);
+		heap.add(3, 2);
+
+		assertEquals(2L, heap.takeLeastLoaded());
+		assertEquals(2, heap.loadOf(2));
+		// 2 and 3 now tie at load 2; the lower ID wins
+		assertEquals(2L, heap.takeLeastLoaded());
+		assertEquals(3L, heap.takeLeastLoaded());
+		assertEquals(1L, heap.takeLeastLoaded());
+	}
+
+	@Test
+	void tiesGoToTheLowestCollectorId() {
+		CollectorLoadHeap heap = new CollectorLoadHeap();
+		long[] ids = {42, 7, 19, 3, 88, 11, 5, 64, 23, 1, 50};
+		for (long id : ids) {
+			heap.add(id, 0);
+		}
+
+		long[] expected = {1, 3, 5, 7, 11, 19, 23, 42, 50, 64, 88};
+		for (long id : expected) {
+			assertEquals(id, heap.takeLeastLoaded());
+		}
+		// Everyone is at load 1 again, so the order repeats
+		assertEquals(1L, heap.takeLeastLoaded());
+		assertEquals(11, heap.size());
+	}
+
+	@Test
+	void decreasingALoadSiftsTheCollectorUp() {
+		CollectorLoadHeap heap = new CollectorLoadHeap();
+		for (long id = 1; id <= 10; id++) {
+			heap.add(id, (int) id);
+		}
+
+		heap.adjust(10, -10);
+
+		assertEquals(0, heap.loadOf(10));
+		assertEquals(10L, heap.takeLeastLoaded());
+	}
+
+	@Test
+	void increasingALoadSiftsTheCollectorDown() {
+		CollectorLoadHeap heap = new CollectorLoadHeap();
+		for (long id = 1; id <= 10; id++) {
+			heap.add(id, (int) id);
+		}
+
+		heap.adjust(1, 20);
+		heap.adjust(2, 20);
+
+		assertEquals(3L, heap.takeLeastLoaded());
+		assertEquals(21, heap.loadOf(1));
+	}
+
+	@Test
+	void loadsNeverGoBelowZero() {
+		CollectorLoadHeap heap = new CollectorLoadHeap();
+		heap.add(1, -5);
+		heap.add(2, 1);
+
+		assertEquals(0, heap.loadOf(1));
+		heap.adjust(2, -3);
+		assertEquals(0, heap.loadOf(2));
+		assertEquals(1L, heap.takeLeastLoaded());
+	}
+
+	@Test
+	void unknownAndDuplicateCollectorsAreIgnored() {
+		CollectorLoadHeap heap = new CollectorLoadHeap();
+		heap.add(1, 4);
+		heap.add(1, 0);
+		heap.adjust(99, -1);
+
+		assertEquals(1, heap.size());
+		assertEquals(4, heap.loadOf(1));
+		assertEquals(-1, heap.loadOf(99));
+		assertFalse(heap.contains(99));
+		assertTrue(heap.contains(1));
+	}
+
+	@Test
+	void emptyHeapHasNoCollector() {
+		assertNull(new CollectorLoadHeap().takeLeastLoaded());
+	}
+
+	@Test
+	void matchesALinearScanUnderRandomAdjustments() {
+		Random random = new Random(7);
+		CollectorLoadHeap heap = new CollectorLoadHeap();
+		Map<Long, Integer> loads = new HashMap<>();
+		for (long id = 1; id <= 40; id++) {
+			int load = random.nextInt(10);
+			heap.add(id, load);
+			loads.put(id, load);
+		}
+
+		for (int step = 0; step < 5000; step++) {
+			if (random.nextInt(3) == 0) {
+				long expected = leastLoaded(loads);
+				assertEquals(expected, heap.takeLeastLoaded(), "step " + step);
+				loads.merge(expected, 1, Integer::sum);
+			}
+			else {
+				long id = 1 + random.nextInt(40);
+				int delta = random.nextInt(7) - 3;
+				heap.adjust(id, delta);
+				loads.put(id, Math.max(0, loads.get(id) + delta));
+			}
+		}
+		loads.forEach((id, load) -> assertEquals((int) load, heap.loadOf(id)));
+	}
+
+	private static long leastLoaded(Map<Long, Integer> loads) {
+		long best = -1;
+		for (Map.Entry<Long, Integer> entry : loads.entrySet()) {
+			if (best < 0 || entry.getValue() < loads.get(best)
+				|| (entry.getValue().equals(loads.get(best)) && entry.getKey() < best)) {
+				best = entry.getKey();
+			}
+		}
+		return best;
+	}
+}
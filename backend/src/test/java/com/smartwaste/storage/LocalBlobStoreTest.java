@@ -0,0 +1,99 @@
+package com.smartwaste.storage;
+
+import com.smartwaste.utils.FileUploadUtil;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalBlobStoreTest {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void stagesNextToTheUploadDirectory() throws IOException {
+		Path staging = store().stagingDir("uploads/user");
+
+		assertEquals(root.resolve("uploads/user/.tmp"), staging);
+		assertTrue(Files.isDirectory(staging));
+	}
+
+	@Test
+	void putMovesTheStagedFileIntoPlace() throws IOException {
+		LocalBlobStore store = store();
+		Path staged = stage(store, "image bytes");
+
+		store.put("uploads/user/ab/cd/abcd.jpg", staged, "image/jpeg");
+
+		assertFalse(Files.exists(staged));
+		assertEquals("image bytes", Files.readString(root.resolve("uploads/user/ab/cd/abcd.jpg")));
+		try (InputStream in = store.open("uploads/user/ab/cd/abcd.jpg")) {
+			assertEquals("image bytes", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void putKeepsAnExistingKey() throws IOException {
+		LocalBlobStore store = store();
+		store.put("uploads/user/ab/cd/abcd.jpg", stage(store, "first"), "image/jpeg");
+		Path second = stage(store, "second");
+
+		store.put("uploads/user/ab/cd/abcd.jpg", second, "image/jpeg");
+
+		assertEquals("first", Files.readString(root.resolve("uploads/user/ab/cd/abcd.jpg")));
+		// Left for the caller to delete
+		assertTrue(Files.exists(second));
+	}
+
+	@Test
+	void keysCannotEscapeTheRoot() {
+		LocalBlobStore store = store();
+
+		assertTrue(store.localPath("uploads/user/a.jpg").isPresent());
+		assertFalse(store.localPath("../outside.jpg").isPresent());
+		assertFalse(store.localPath("uploads/../../outside.jpg").isPresent());
+		assertThrows(IllegalArgumentException.class, () -> store.open("../outside.jpg"));
+		assertFalse(store.downloadUrl("uploads/user/a.jpg").isPresent());
+	}
+
+	@Test
+	void savedStreamsAreContentAddressedAndStagingIsCleanedUp() throws IOException {
+		LocalBlobStore store = store();
+		byte[] content = "same content".getBytes(StandardCharsets.UTF_8);
+
+		String key = FileUploadUtil.saveStream(store, "uploads/user", new ByteArrayInputStream(content), "a.jpg");
+		String again = FileUploadUtil.saveStream(store, "uploads/user", new ByteArrayInputStream(content), "b.jpg");
+
+		assertEquals(key, again);
+		assertTrue(key.matches("uploads/user/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.jpg"), key);
+		assertArrayEquals(content, Files.readAllBytes(store.localPath(key).orElseThrow()));
+		try (Stream<Path> staged = Files.list(store.stagingDir("uploads/user"))) {
+			assertEquals(0, staged.count());
+		}
+	}
+
+	private LocalBlobStore store() {
+		StorageProperties properties = new StorageProperties();
+		properties.getLocal().setRoot(root.toString());
+		return new LocalBlobStore(properties);
+	}
+
+	private static Path stage(LocalBlobStore store, String content) throws IOException {
+		Path staged = Files.createTempFile(store.stagingDir("uploads/user"), "upload-", ".part");
+		Files.writeString(staged, content);
+		return staged;
+	}
+}
@@ -0,0 +1,135 @@
+package com.smartwaste.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against a real S3-compatible store, e.g. the MinIO of {@code docker compose --profile s3 up}:
+ *
+ * <pre>
+ * S3_IT_ENDPOINT=http://localhost:9000 mvn test -Dtest=S3BlobStoreIntegrationTest
+ * </pre>
+ *
+ * Credentials and bucket default to the compose setup (minioadmin, smartwaste-uploads) and can
+ * be overridden with S3_IT_ACCESS_KEY, S3_IT_SECRET_KEY and S3_IT_BUCKET. Objects are written
+ * under a random prefix.
+ */
+@EnabledIfEnvironmentVariable(named = "S3_IT_ENDPOINT", matches = ".+")
+class S3BlobStoreIntegrationTest {
+
+	private static final int MB = 1024 * 1024;
+
+	@TempDir
+	Path staging;
+
+	private S3BlobStore store;
+
+	@BeforeEach
+	void createStore() {
+		StorageProperties properties = new StorageProperties();
+		StorageProperties.S3 s3 = properties.getS3();
+		s3.setEndpoint(System.getenv("S3_IT_ENDPOINT"));
+		s3.setAccessKey(env("S3_IT_ACCESS_KEY", "minioadmin"));
+		s3.setSecretKey(env("S3_IT_SECRET_KEY", "minioadmin"));
+		s3.setBucket(env("S3_IT_BUCKET", "smartwaste-uploads"));
+		s3.setPrefix("it-" + UUID.randomUUID() + "/");
+		s3.setMultipartThreshold(DataSize.ofMegabytes(6));
+		s3.setPartSize(DataSize.ofMegabytes(5));
+		s3.setUploadThreads(3);
+		s3.setStagingDir(staging.toString());
+		store = new S3BlobStore(properties);
+	}
+
+	@AfterEach
+	void shutdown() {
+		store.shutdown();
+	}
+
+	@Test
+	void putsSmallFilesInOneRequest() throws IOException {
+		byte[] content = randomBytes(64 * 1024);
+
+		store.put("uploads/user/ab/cd/small.jpg", stage(content), "image/jpeg");
+
+		assertArrayEquals(content, read("uploads/user/ab/cd/small.jpg"));
+	}
+
+	@Test
+	void putsLargeFilesAsParallelMultipartUploads() throws IOException {
+		// Three parts: 5 MB, 5 MB and the 2 MB remainder
+		byte[] content = randomBytes(12 * MB);
+
+		store.put("uploads/user/ab/cd/large.jpg", stage(content), "image/jpeg");
+
+		assertArrayEquals(content, read("uploads/user/ab/cd/large.jpg"));
+	}
+
+	@Test
+	void existingKeysAreNotUploadedAgain() throws IOException {
+		store.put("uploads/user/ab/cd/same.jpg", stage("first".getBytes(StandardCharsets.UTF_8)), "image/jpeg");
+
+		store.put("uploads/user/ab/cd/same.jpg", stage("second".getBytes(StandardCharsets.UTF_8)), "image/jpeg");
+
+		assertEquals("first", new String(read("uploads/user/ab/cd/same.jpg"), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void presignedUrlsServeTheObject() throws Exception {
+		byte[] content = randomBytes(4096);
+		store.put("uploads/user/ab/cd/presigned.jpg", stage(content), "image/jpeg");
+
+		URI url = store.downloadUrl("uploads/user/ab/cd/presigned.jpg").orElseThrow();
+		HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+			HttpRequest.newBuilder(url).GET().build(),
+			HttpResponse.BodyHandlers.ofByteArray()
+		);
+
+		assertEquals(200, response.statusCode());
+		assertArrayEquals(content, response.body());
+		assertEquals("image/jpeg", response.headers().firstValue("Content-Type").orElse(null));
+		assertTrue(response.headers().firstValue("Cache-Control").orElse("").contains("immutable"));
+	}
+
+	private Path stage(byte[] content) throws IOException {
+		Path file = Files.createTempFile(store.stagingDir("uploads/user"), "upload-", ".part");
+		Files.write(file, content);
+		return file;
+	}
+
+	private byte[] read(String key) throws IOException {
+		try (InputStream in = store.open(key)) {
+			return in.readAllBytes();
+		}
+	}
+
+	private static byte[] randomBytes(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static String env(String name, String defaultValue) {
+		String value = System.getenv(name);
+		return value != null && !value.isBlank() ? value : defaultValue;
+	}
+}
@@ -0,0 +1,324 @@
+package com.smartwaste.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultipartStreamParserTest {
+
+	private static final String BOUNDARY = "----form7MA4YWxkTrZu0gW";
+
+	@Test
+	void extractsBoundaryFromContentType() {
+		assertEquals("abc", MultipartStreamParser.extractBoundary("multipart/form-data; boundary=abc"));
+		assertEquals("a b", MultipartStreamParser.extractBoundary("Multipart/Form-Data; charset=utf-8; boundary=\"a b\""));
+		assertNull(MultipartStreamParser.extractBoundary("application/json"));
+		assertNull(MultipartStreamParser.extractBoundary("multipart/form-data"));
+		assertNull(MultipartStreamParser.extractBoundary("multipart/form-data; boundary=" + "x".repeat(71)));
+	}
+
+	@Test
+	void ignoresPreambleAndEpilogue() throws IOException {
+		byte[] body = new Body()
+			.raw("This is the preamble.\r\nIt has --dashes but no delimiter.")
+			.field("description", "Overflowing bin")
+			.file("image", "bin.png", "image/png", bytes("PNGDATA"))
+			.end()
+			.raw("\r\nThis is the epilogue.\r\n--" + BOUNDARY + "\r\n")
+			.bytes();
+
+		assertEquals(
+			List.of("field description=Overflowing bin", "file image bin.png image/png PNGDATA"),
+			parse(body, Integer.MAX_VALUE)
+		);
+	}
+
+	@Test
+	void findsDelimitersSplitAcrossReads() throws IOException {
+		byte[] body = new Body()
+			.field("latitude", "12.5")
+			.file("image", "a.jpg", "image/jpeg", bytes("\r\n-\r\n--" + BOUNDARY.substring(0, 10) + "end"))
+			.field("longitude", "77.25")
+			.end()
+			.bytes();
+		List<String> expected = parse(body, Integer.MAX_VALUE);
+
+		for (int chunk = 1; chunk <= 64; chunk++) {
+			assertEquals(expected, parse(body, chunk), "chunk size " + chunk);
+		}
+		assertEquals("field longitude=77.25", expected.get(2));
+	}
+
+	@Test
+	void findsDelimitersNearTheBufferSize() throws IOException {
+		int delimiterLength = ("\r\n--" + BOUNDARY).length();
+		// The part headers take about 120 bytes, so the delimiter lands on the first buffer's end
+		int around = MultipartStreamParser.BUFFER_SIZE - 120;
+		for (int size = around - 2 * delimiterLength; size <= around + 2 * delimiterLength; size++) {
+			byte[] content = content(size);
+			byte[] body = new Body()
+				.file("image", "a.jpg", "image/jpeg", content)
+				.field("after", "x")
+				.end()
+				.bytes();
+
+			for (int chunk : new int[] {1000, 4096, MultipartStreamParser.BUFFER_SIZE, Integer.MAX_VALUE}) {
+				RecordingHandler handler = new RecordingHandler();
+				MultipartStreamParser.parse(new ChunkedInputStream(body, chunk), BOUNDARY, handler);
+				assertArrayEquals(content, handler.files.get(0), "size " + size + ", chunk " + chunk);
+				assertEquals("field after=x", handler.parts.get(1));
+			}
+		}
+	}
+
+	@Test
+	void readsEveryPartUntilTheLast() throws IOException {
+		byte[] body = new Body()
+			.field("description", "first")
+			.file("other", "other.png", "image/png", content(40_000))
+			.part("Content-Disposition: form-data\r\n", bytes("no name"))
+			.file("image", "target.png", "image/png", bytes("TARGET"))
+			.end()
+			.bytes();
+
+		List<String> parts = parse(body, 777);
+
+		assertEquals(3, parts.size());
+		assertEquals("field description=first", parts.get(0));
+		assertEquals("file image target.png image/png TARGET", parts.get(2));
+	}
+
+	@Test
+	void rejectsMissingClosingDelimiter() {
+		byte[] afterDelimiter = new Body()
+			.field("description", "x")
+			.raw("\r\n--" + BOUNDARY + "\r\n")
+			.bytes();
+		byte[] atDelimiter = new Body()
+			.field("description", "x")
+			.raw("\r\n--" + BOUNDARY)
+			.bytes();
+
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(afterDelimiter, 5));
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(atDelimiter, 5));
+	}
+
+	@Test
+	void rejectsTruncatedBody() {
+		byte[] body = new Body()
+			.file("image", "a.png", "image/png", content(50_000))
+			.end()
+			.bytes();
+		byte[] truncated = Arrays.copyOf(body, 30_000);
+		byte[] inHeaders = Arrays.copyOf(body, 40);
+
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(truncated, 4096));
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(inHeaders, 4096));
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(new byte[0], 4096));
+	}
+
+	@Test
+	void rejectsOversizeHeaders() {
+		byte[] longLine = new Body()
+			.part("Content-Disposition: form-data; name=\"" + "a".repeat(9000) + "\"\r\n", bytes("x"))
+			.end()
+			.bytes();
+		byte[] tooMany = new Body()
+			.part("Content-Disposition: form-data; name=\"a\"\r\n" + "X-Extra: 1\r\n".repeat(16), bytes("x"))
+			.end()
+			.bytes();
+
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(longLine, 4096));
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(tooMany, 4096));
+	}
+
+	@Test
+	void rejectsOversizeField() {
+		byte[] body = new Body()
+			.field("description", "x".repeat(64 * 1024 + 1))
+			.end()
+			.bytes();
+
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(body, 4096));
+	}
+
+	@Test
+	void limitsTotalNonFileContent() throws IOException {
+		byte[] fields = new Body()
+			.field("a", "x".repeat(60_000))
+			.field("b", "x".repeat(60_000))
+			.field("c", "x".repeat(60_000))
+			.field("d", "x".repeat(60_000))
+			.field("e", "x".repeat(60_000))
+			.end()
+			.bytes();
+		byte[] unnamed = new Body()
+			.part("Content-Type: text/plain\r\n", content(MultipartStreamParser.MAX_NON_FILE_BYTES + 1))
+			.end()
+			.bytes();
+		byte[] skippedFile = new Body()
+			.file("other", "big.png", "image/png", content(MultipartStreamParser.MAX_NON_FILE_BYTES + 1))
+			.end()
+			.bytes();
+		byte[] preamble = new Body()
+			.raw("p".repeat(MultipartStreamParser.MAX_NON_FILE_BYTES + 1))
+			.field("a", "x")
+			.end()
+			.bytes();
+		byte[] readFile = new Body()
+			.file("image", "big.png", "image/png", content(MultipartStreamParser.MAX_NON_FILE_BYTES * 4))
+			.end()
+			.bytes();
+
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(fields, 4096));
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(unnamed, 4096));
+		assertThrows(MultipartStreamParser.MalformedMultipartException.class, () -> parse(preamble, 4096));
+		assertThrows(
+			MultipartStreamParser.MalformedMultipartException.class,
+			() -> MultipartStreamParser.parse(new ByteArrayInputStream(skippedFile), BOUNDARY, new IgnoringHandler())
+		);
+		// Content the handler reads itself is limited by the handler, not the parser
+		RecordingHandler handler = new RecordingHandler();
+		MultipartStreamParser.parse(new ByteArrayInputStream(readFile), BOUNDARY, handler);
+		assertEquals(MultipartStreamParser.MAX_NON_FILE_BYTES * 4, handler.files.get(0).length);
+	}
+
+	private static List<String> parse(byte[] body, int chunk) throws IOException {
+		RecordingHandler handler = new RecordingHandler();
+		MultipartStreamParser.parse(new ChunkedInputStream(body, chunk), BOUNDARY, handler);
+		return handler.parts;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Content full of CR, LF and dashes, so it keeps starting partial delimiter matches.
+	 */
+	private static byte[] content(int size) {
+		byte[] pattern = bytes("\r\n--" + BOUNDARY.substring(0, 6) + "\r\n-x");
+		byte[] content = new byte[size];
+		for (int i = 0; i < size; i++) {
+			content[i] = pattern[i % pattern.length];
+		}
+		return content;
+	}
+
+	private static final class Body {
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		Body raw(String text) {
+			out.writeBytes(MultipartStreamParserTest.bytes(text));
+			return this;
+		}
+
+		Body part(String headers, byte[] content) {
+			raw((out.size() == 0 ? "--" : "\r\n--") + BOUNDARY + "\r\n" + headers + "\r\n");
+			out.writeBytes(content);
+			return this;
+		}
+
+		Body field(String name, String value) {
+			return part("Content-Disposition: form-data; name=\"" + name + "\"\r\n", value.getBytes(StandardCharsets.UTF_8));
+		}
+
+		Body file(String name, String filename, String contentType, byte[] content) {
+			return part(
+				"Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename + "\"\r\n"
+					+ "Content-Type: " + contentType + "\r\n",
+				content
+			);
+		}
+
+		Body end() {
+			return raw("\r\n--" + BOUNDARY + "--");
+		}
+
+		byte[] bytes() {
+			return out.toByteArray();
+		}
+	}
+
+	/**
+	 * Reads only the part named "image"; other file parts are left for the parser to skip.
+	 */
+	private static final class RecordingHandler implements MultipartStreamParser.PartHandler {
+		final List<String> parts = new ArrayList<>();
+		final List<byte[]> files = new ArrayList<>();
+
+		@Override
+		public void onField(String name, String value) {
+			parts.add("field " + name + "=" + value);
+		}
+
+		@Override
+		public void onFile(String name, String filename, String contentType, InputStream content) throws IOException {
+			if (!"image".equals(name)) {
+				parts.add("skipped " + name);
+				return;
+			}
+			byte[] data = content.readAllBytes();
+			files.add(data);
+			parts.add("file " + name + " " + filename + " " + contentType + " " + new String(data, StandardCharsets.ISO_8859_1));
+		}
+	}
+
+	private static final class IgnoringHandler implements MultipartStreamParser.PartHandler {
+
+		@Override
+		public void onField(String name, String value) {
+		}
+
+		@Override
+		public void onFile(String name, String filename, String contentType, InputStream content) {
+		}
+	}
+
+	/**
+	 * Returns at most {@code chunk} bytes per read and reports nothing available, like a slow client.
+	 */
+	private static final class ChunkedInputStream extends InputStream {
+		private final byte[] data;
+		private final int chunk;
+		private int pos;
+
+		ChunkedInputStream(byte[] data, int chunk) {
+			this.data = data;
+			this.chunk = chunk;
+		}
+
+		@Override
+		public int read() {
+			return pos < data.length ? data[pos++] & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (pos >= data.length) {
+				return -1;
+			}
+			int n = Math.min(Math.min(len, chunk), data.length - pos);
+			System.arraycopy(data, pos, b, off, n);
+			pos += n;
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return 0;
+		}
+	}
+}
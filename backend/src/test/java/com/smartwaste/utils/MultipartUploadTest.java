@@ -0,0 +1,124 @@
+package com.smartwaste.utils;
+
+import com.smartwaste.storage.LocalBlobStore;
+import com.smartwaste.storage.StorageProperties;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultipartUploadTest {
+
+	private static final String BOUNDARY = "upload-test-boundary";
+	private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+	@TempDir
+	Path root;
+
+	@Test
+	void storesTargetFileSentAfterOtherParts() throws IOException {
+		byte[] image = png(5000);
+		MockHttpServletRequest request = request(
+			field("description", "Overflowing bin"),
+			file("attachment", "other.png", png(3000)),
+			field("latitude", "12.5"),
+			file("image", "bin.png", image)
+		);
+
+		MultipartUpload upload = MultipartUpload.read(request, "image", store(), "uploads/user", 10_000);
+
+		assertEquals("Overflowing bin", upload.field("description"));
+		assertEquals(12.5, upload.requiredDoubleField("latitude"), 0.0);
+		assertTrue(upload.storedPath().startsWith("uploads/user/"));
+		assertTrue(upload.storedPath().endsWith(".png"));
+		assertArrayEquals(image, Files.readAllBytes(root.resolve(upload.storedPath())));
+	}
+
+	@Test
+	void rejectsFileOverTheLimitWithoutStoringIt() throws IOException {
+		MockHttpServletRequest request = request(
+			field("description", "Overflowing bin"),
+			file("image", "bin.png", png(20_000))
+		);
+
+		assertThrows(
+			MaxUploadSizeExceededException.class,
+			() -> MultipartUpload.read(request, "image", store(), "uploads/user", 10_000)
+		);
+		try (Stream<Path> files = Files.walk(root)) {
+			assertEquals(0, files.filter(Files::isRegularFile).count());
+		}
+	}
+
+	@Test
+	void malformedBodyIsBadRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/requests/create");
+		request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+		request.setContent(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"a\"\r\n\r\nx")
+			.getBytes(StandardCharsets.ISO_8859_1));
+
+		assertThrows(
+			IllegalArgumentException.class,
+			() -> MultipartUpload.read(request, "image", store(), "uploads/user", 10_000)
+		);
+	}
+
+	private LocalBlobStore store() {
+		StorageProperties properties = new StorageProperties();
+		properties.getLocal().setRoot(root.toString());
+		return new LocalBlobStore(properties);
+	}
+
+	private static MockHttpServletRequest request(byte[]... parts) {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		for (byte[] part : parts) {
+			body.writeBytes(part);
+		}
+		body.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/requests/create");
+		request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+		request.setContent(body.toByteArray());
+		return request;
+	}
+
+	private static byte[] field(String name, String value) {
+		return part("Content-Disposition: form-data; name=\"" + name + "\"\r\n", value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static byte[] file(String name, String filename, byte[] content) {
+		return part(
+			"Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename + "\"\r\n"
+				+ "Content-Type: image/png\r\n",
+			content
+		);
+	}
+
+	private static byte[] part(String headers, byte[] content) {
+		ByteArrayOutputStream part = new ByteArrayOutputStream();
+		part.writeBytes(("--" + BOUNDARY + "\r\n" + headers + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+		part.writeBytes(content);
+		part.writeBytes("\r\n".getBytes(StandardCharsets.ISO_8859_1));
+		return part.toByteArray();
+	}
+
+	private static byte[] png(int size) {
+		byte[] data = new byte[size];
+		for (int i = 0; i < size; i++) {
+			data[i] = (byte) (i * 31);
+		}
+		System.arraycopy(PNG_MAGIC, 0, data, 0, PNG_MAGIC.length);
+		return data;
+	}
+}
@@ -0,0 +1,30 @@
+-- Migration: Add id_generators table
+-- Description: Pooled id allocation for reward_transactions, ml_classifications, ml_predictions
+-- and user_eco_scores, so the backend can batch their inserts (IDENTITY ids force one INSERT
+-- round trip per row). next_val is the next id to hand out; each backend instance reserves
+-- 50 at a time. Required by the backend: run it before starting a backend with this change.
+-- The AUTO_INCREMENT columns stay for other writers, which must move next_val past the ids
+-- they take (the datagen profile does).
+
+USE smart_waste;
+
+CREATE TABLE IF NOT EXISTS id_generators (
+  sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO id_generators (sequence_name, next_val) VALUES
+  ('reward_transactions', 1),
+  ('ml_classifications', 1),
+  ('ml_predictions', 1),
+  ('user_eco_scores', 1);
+
+-- Start above existing rows (safe to re-run)
+UPDATE id_generators SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(transaction_id), 0) + 1 FROM reward_transactions))
+WHERE sequence_name = 'reward_transactions';
+UPDATE id_generators SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(classification_id), 0) + 1 FROM ml_classifications))
+WHERE sequence_name = 'ml_classifications';
+UPDATE id_generators SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(prediction_id), 0) + 1 FROM ml_predictions))
+WHERE sequence_name = 'ml_predictions';
+UPDATE id_generators SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(score_id), 0) + 1 FROM user_eco_scores))
+WHERE sequence_name = 'user_eco_scores';
@@ -0,0 +1,11 @@
+-- Migration: Add downscaled image variant columns to waste_requests
+-- Description: Thumbnail and web-sized variants generated asynchronously after upload.
+-- NULL until the variant is ready; clients fall back to image_url / collector_proof_url.
+
+USE smart_waste;
+
+ALTER TABLE waste_requests
+ADD COLUMN IF NOT EXISTS image_thumb_url VARCHAR(512) AFTER collector_proof_url,
+ADD COLUMN IF NOT EXISTS image_web_url VARCHAR(512) AFTER image_thumb_url,
+ADD COLUMN IF NOT EXISTS proof_thumb_url VARCHAR(512) AFTER image_web_url,
+ADD COLUMN IF NOT EXISTS proof_web_url VARCHAR(512) AFTER proof_thumb_url;
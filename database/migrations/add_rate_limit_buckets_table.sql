@@ -0,0 +1,14 @@
+-- Migration: Add rate_limit_buckets table
+-- Description: Shared token buckets so rate limits hold across all backend replicas
+-- Only needed when the backend runs with ratelimit.backend=jdbc
+
+USE smart_waste;
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+  policy VARCHAR(32) NOT NULL,
+  client_key VARCHAR(128) NOT NULL, -- SHA-256 hex of the client key (IP address)
+  tokens BIGINT NOT NULL,          -- available tokens in thousandths
+  refreshed_at BIGINT NOT NULL,    -- epoch milliseconds of the last refill
+  PRIMARY KEY (policy, client_key),
+  INDEX idx_rate_limit_buckets_policy_refreshed (policy, refreshed_at)
+);
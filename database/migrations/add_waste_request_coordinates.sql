@@ -0,0 +1,9 @@
+-- Migration: Add geocoded pickup coordinates to waste_requests
+-- Description: WGS84 latitude/longitude sent by the client at creation time.
+-- Used by collector route planning; requests without coordinates are listed as unrouted.
+
+USE smart_waste;
+
+ALTER TABLE waste_requests
+ADD COLUMN IF NOT EXISTS latitude DOUBLE NULL AFTER pickup_address,
+ADD COLUMN IF NOT EXISTS longitude DOUBLE NULL AFTER latitude;
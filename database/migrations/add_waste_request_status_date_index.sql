@@ -0,0 +1,7 @@
+-- Migration: Composite index for delayed-request detection
+-- Description: GET /api/admin/requests/delayed selects open requests (status IN ...)
+-- created before a cutoff; this turns it into one range scan per status.
+
+USE smart_waste;
+
+CREATE INDEX IF NOT EXISTS idx_waste_requests_status_date ON waste_requests(status, request_date);
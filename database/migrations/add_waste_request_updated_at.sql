@@ -0,0 +1,11 @@
+-- Migration: Add updated_at to waste_requests for collector work-queue delta polling
+-- Description: Maintained by MySQL on every row change, including bulk updates.
+-- The collector index serves GET /api/requests/collector/me/queue?changedSince=...
+
+USE smart_waste;
+
+ALTER TABLE waste_requests
+ADD COLUMN IF NOT EXISTS updated_at DATETIME(3) NOT NULL
+	DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3) AFTER request_date;
+
+CREATE INDEX IF NOT EXISTS idx_waste_requests_collector_updated ON waste_requests(collector_id, updated_at);
@@ -0,0 +1,13 @@
+-- Migration: Add bounding box and centroid to zones
+-- Description: WGS84 geometry set via PUT /api/admin/collectors/zones/{id}/geometry.
+-- The centroid is where route planning starts a collector of the zone.
+
+USE smart_waste;
+
+ALTER TABLE zones
+ADD COLUMN IF NOT EXISTS min_latitude DOUBLE NULL,
+ADD COLUMN IF NOT EXISTS min_longitude DOUBLE NULL,
+ADD COLUMN IF NOT EXISTS max_latitude DOUBLE NULL,
+ADD COLUMN IF NOT EXISTS max_longitude DOUBLE NULL,
+ADD COLUMN IF NOT EXISTS centroid_latitude DOUBLE NULL,
+ADD COLUMN IF NOT EXISTS centroid_longitude DOUBLE NULL;
@@ -0,0 +1,20 @@
+// Small preview of an uploaded photo linking to the full-size version.
+// Falls back to the original until the downscaled variants have been generated.
+export default function RequestThumbnail({ thumbUrl, webUrl, url, alt }) {
+  if (!url) return null;
+  return (
+    <a
+      href={`http://localhost:8080/${webUrl || url}`}
+      target="_blank"
+      rel="noopener noreferrer"
+      className="block shrink-0"
+    >
+      <img
+        src={`http://localhost:8080/${thumbUrl || url}`}
+        alt={alt}
+        loading="lazy"
+        className="w-16 h-16 object-cover rounded border border-gray-300 hover:shadow-md transition cursor-pointer"
+      />
+    </a>
+  );
+}
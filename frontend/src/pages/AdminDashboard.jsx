@@ -425,13 +425,13 @@ export default function AdminDashboard() {
                       <td className="px-4 py-2">
                         {req.imageUrl ? (
                           <a
-                            href={`http://localhost:8080/${req.imageUrl}`}
+                            href={`http://localhost:8080/${req.imageWebUrl || req.imageUrl}`}
                             target="_blank"
                             rel="noopener noreferrer"
                             className="block"
                           >
                             <img
-                              src={`http://localhost:8080/${req.imageUrl}`}
+                              src={`http://localhost:8080/${req.imageThumbUrl || req.imageUrl}`}
                               alt="Waste image"
                               className="w-16 h-16 object-cover rounded border border-gray-300 hover:shadow-md transition cursor-pointer"
                             />
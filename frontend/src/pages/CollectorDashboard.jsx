@@ -3,7 +3,9 @@ import { useLocation } from "react-router-dom";
 import { useAuth } from "../context/AuthContext";
 import { getCollectorRequests, updateRequestStatus } from "./Requests/api";
 import axiosInstance from "../services/axiosInstance";
+import { subscribeToRequestEvents } from "../services/requestEvents";
 import StatusBadge from "../components/StatusBadge";
+import RequestThumbnail from "../components/RequestThumbnail";
 import { CheckCircleIcon, XCircleIcon, ClockIcon, ExclamationTriangleIcon, BanknotesIcon } from "@heroicons/react/24/outline";
 import { CollectorRequestMap } from "../components/RequestMap";
 import toast from "react-hot-toast";
@@ -21,6 +23,11 @@ export default function CollectorDashboard() {
     loadCollectorProfile();
   }, []);
 
+  // Refresh when a request assigned to this collector changes instead of polling
+  useEffect(() => {
+    return subscribeToRequestEvents({ onEvent: () => loadRequests(), onReconnect: loadRequests });
+  }, []);
+
   const loadRequests = async () => {
     if (!user?.userId) return;
     setLoading(true);
@@ -149,6 +156,12 @@ export default function CollectorDashboard() {
                           <span className="font-medium">Address:</span> {request.pickupAddress}
                         </p>
                       </div>
+                      <RequestThumbnail
+                        thumbUrl={request.imageThumbUrl}
+                        webUrl={request.imageWebUrl}
+                        url={request.imageUrl}
+                        alt="Waste image"
+                      />
                     </div>
 
                     <div className="flex gap-2 mt-4">
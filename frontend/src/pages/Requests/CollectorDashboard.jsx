@@ -1,6 +1,7 @@
 import { useEffect, useState } from "react";
 import FileUpload from "../../components/FileUpload";
 import StatusBadge from "../../components/StatusBadge";
+import RequestThumbnail from "../../components/RequestThumbnail";
 import { getCollectorRequests, updateRequestStatus } from "./api";
 
 const STATUS_OPTIONS = ["IN_PROGRESS", "COLLECTED", "REJECTED"];
@@ -104,7 +105,15 @@ export default function AssignedRequests({ collectorId, token }) {
             <StatusBadge status={request.status} />
           </div>
 
-          <p className="mt-3 text-sm text-gray-700">{request.pickupAddress}</p>
+          <div className="mt-3 flex items-start gap-3">
+            <RequestThumbnail
+              thumbUrl={request.imageThumbUrl}
+              webUrl={request.imageWebUrl}
+              url={request.imageUrl}
+              alt="Waste image"
+            />
+            <p className="text-sm text-gray-700">{request.pickupAddress}</p>
+          </div>
 
           <div className="mt-3 flex flex-col gap-2 rounded bg-gray-50 p-3">
             <label className="text-xs font-semibold uppercase text-gray-500">
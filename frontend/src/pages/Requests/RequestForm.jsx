@@ -23,6 +23,9 @@ export default function RequestForm({ userId, token, onCreated }) {
   const [submitting, setSubmitting] = useState(false);
   const [classificationResult, setClassificationResult] = useState(null);
   const [classifying, setClassifying] = useState(false);
+  // Pickup coordinates from the browser, used for route planning and nearby search
+  const [location, setLocation] = useState(null);
+  const [locating, setLocating] = useState(false);
 
   const handleChange = (event) => {
     const { name, value } = event.target;
@@ -75,6 +78,28 @@ export default function RequestForm({ userId, token, onCreated }) {
     }
   };
 
+  const handleUseLocation = () => {
+    if (!navigator.geolocation) {
+      toast.error("Location is not available in this browser");
+      return;
+    }
+    setLocating(true);
+    navigator.geolocation.getCurrentPosition(
+      (position) => {
+        setLocation({
+          latitude: position.coords.latitude,
+          longitude: position.coords.longitude,
+        });
+        setLocating(false);
+      },
+      () => {
+        toast.error("Could not get your location");
+        setLocating(false);
+      },
+      { enableHighAccuracy: true, timeout: 10000 }
+    );
+  };
+
   const handleSubmit = async (event) => {
     event.preventDefault();
     setSubmitting(true);
@@ -87,6 +112,10 @@ export default function RequestForm({ userId, token, onCreated }) {
     data.append("wasteType", form.wasteType);
     data.append("weightKg", form.weightKg);
     data.append("pickupAddress", form.pickupAddress);
+    if (location) {
+      data.append("latitude", location.latitude);
+      data.append("longitude", location.longitude);
+    }
     if (image) {
       data.append("image", image);
     }
@@ -101,6 +130,7 @@ export default function RequestForm({ userId, token, onCreated }) {
         zoneId: "",
       });
       setImage(null);
+      setLocation(null);
       setClassificationResult(null);
       onCreated?.();
     } catch (error) {
@@ -203,6 +233,22 @@ export default function RequestForm({ userId, token, onCreated }) {
             </button>
           </div>
         </div>
+        <div className="mt-2 flex items-center gap-3 text-sm">
+          <button
+            type="button"
+            onClick={handleUseLocation}
+            disabled={locating}
+            className="px-3 py-1.5 bg-emerald-50 text-emerald-700 rounded-lg hover:bg-emerald-100 disabled:opacity-50 font-medium flex items-center gap-1"
+          >
+            <MapPinIcon className="h-4 w-4" />
+            {locating ? "Locating..." : location ? "Update location" : "Use my location"}
+          </button>
+          {location && (
+            <span className="text-gray-500">
+              {location.latitude.toFixed(5)}, {location.longitude.toFixed(5)}
+            </span>
+          )}
+        </div>
         {classificationResult && (
           <div className="mt-2 p-3 bg-blue-50 border border-blue-200 rounded-lg text-sm">
             <div className="font-medium text-blue-800">
@@ -2,6 +2,7 @@ import { useState, useEffect } from "react";
 import { getUserRequests } from "./api";
 import { createComplaint, getMyComplaints } from "../../services/complaintsApi";
 import StatusBadge from "../../components/StatusBadge";
+import RequestThumbnail from "../../components/RequestThumbnail";
 import { CalendarIcon, MapPinIcon, ScaleIcon, ExclamationTriangleIcon } from "@heroicons/react/24/outline";
 import toast from "react-hot-toast";
 
@@ -179,6 +180,12 @@ export default function RequestList({ userId, token, refreshKey, limit }) {
                 <p className="mt-2 text-xs text-amber-700 font-semibold">Complaint submitted</p>
               )}
             </div>
+            {(request.imageUrl || request.collectorProofUrl) && (
+              <div className="flex gap-2 ml-4">
+                <RequestThumbnail thumbUrl={request.imageThumbUrl} url={request.imageUrl} alt="Waste image" />
+                <RequestThumbnail thumbUrl={request.proofThumbUrl} url={request.collectorProofUrl} alt="Pickup proof" />
+              </div>
+            )}
           </div>
         </div>
       ))}
@@ -20,6 +20,22 @@ export const getCollectorRequests = (collectorId, token) =>
     headers: { Authorization: `Bearer ${token}` },
   });
 
+// Actionable (PENDING / IN_PROGRESS) requests of the signed-in collector, in work order.
+// Pass the previous response's cursor as changedSince to fetch only what changed.
+export const getCollectorWorkQueue = (token, { page = 0, size = 50, changedSince } = {}) =>
+  axiosInstance.get("/requests/collector/me/queue", {
+    headers: { Authorization: `Bearer ${token}` },
+    params: { page, size, ...(changedSince ? { changedSince } : {}) },
+  });
+
+// Planned pickup route of the signed-in collector: { stops, unrouted, distanceKm, ... }.
+// date is YYYY-MM-DD (defaults to today on the server).
+export const getCollectorRoute = (token, date) =>
+  axiosInstance.get("/requests/collector/me/route", {
+    headers: { Authorization: `Bearer ${token}` },
+    params: date ? { date } : {},
+  });
+
 export const updateRequestStatus = (requestId, status, token, proofFile) => {
   const formData = new FormData();
   formData.append("status", status);
@@ -5,6 +5,7 @@ import RequestForm from "./Requests/RequestForm";
 import RequestList from "./Requests/RequestList";
 import EcoScoreDisplay from "./ML/EcoScoreDisplay";
 import { getUserRequests } from "./Requests/api";
+import { subscribeToRequestEvents } from "../services/requestEvents";
 import { getRewardCatalog, getMyRedemptions, redeemReward, getMyTransactions } from "../services/rewardsApi";
 import { PlusIcon, SparklesIcon } from "@heroicons/react/24/outline";
 import toast from "react-hot-toast";
@@ -26,6 +27,11 @@ export default function UserDashboard() {
     loadRewards();
   }, []);
 
+  // Refresh when one of the user's requests changes status
+  useEffect(() => {
+    return subscribeToRequestEvents({ onEvent: () => loadRequests(), onReconnect: loadRequests });
+  }, []);
+
   const loadRequests = async () => {
     if (!user?.userId) return;
     setLoading(true);
@@ -0,0 +1,70 @@
+import axiosInstance from "./axiosInstance";
+import { getToken } from "../utils/auth";
+
+/**
+ * Subscribe to pushed request status changes (Server-Sent Events).
+ * Uses fetch streaming instead of EventSource so the JWT goes in the Authorization header.
+ *
+ * onEvent receives { type, requestId, userId, collectorId, previousCollectorId, status, previousStatus, occurredAt }.
+ * onReconnect is called after the stream was (re)opened; refetch the list there, since events
+ * sent while disconnected are not replayed.
+ * onReconnect is also called every pollIntervalMs: the backend only pushes events published
+ * by the instance the stream is connected to, so changes made on other replicas are picked
+ * up by this slow refetch.
+ * Returns a function that closes the stream.
+ */
+export function subscribeToRequestEvents({ onEvent, onReconnect, pollIntervalMs = 60000 }) {
+  const controller = new AbortController();
+  let retryDelay = 1000;
+  const pollTimer = onReconnect && pollIntervalMs > 0 ? setInterval(() => onReconnect(), pollIntervalMs) : null;
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const response = await fetch(`${axiosInstance.defaults.baseURL}/requests/events`, {
+          headers: { Accept: "text/event-stream", Authorization: `Bearer ${getToken()}` },
+          signal: controller.signal,
+        });
+        if (!response.ok || !response.body) {
+          throw new Error(`Event stream failed: ${response.status}`);
+        }
+        retryDelay = 1000;
+        onReconnect?.();
+
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = "";
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += decoder.decode(value, { stream: true });
+          let boundary;
+          while ((boundary = buffer.indexOf("\n\n")) !== -1) {
+            const block = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary + 2);
+            let name = "message";
+            const data = [];
+            for (const line of block.split("\n")) {
+              if (line.startsWith("event:")) name = line.slice(6).trim();
+              else if (line.startsWith("data:")) data.push(line.slice(5).trimStart());
+            }
+            if (name === "request-status" && data.length) {
+              onEvent(JSON.parse(data.join("\n")));
+            }
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+        console.warn("Request event stream disconnected:", error.message);
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryDelay));
+      retryDelay = Math.min(retryDelay * 2, 30000);
+    }
+  };
+
+  connect();
+  return () => {
+    if (pollTimer) clearInterval(pollTimer);
+    controller.abort();
+  };
+}
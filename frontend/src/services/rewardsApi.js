@@ -15,6 +15,10 @@ export const getAllRedemptions = () =>
 export const fulfillRedemption = (redemptionId) =>
   axiosInstance.put(`/admin/rewards/redemptions/${redemptionId}/fulfill`);
 
+// Body: { redemptionIds: [...] } or a filter { rewardId, createdBefore }
+export const fulfillRedemptionsBulk = (body) =>
+  axiosInstance.post("/admin/rewards/redemptions/fulfill", body);
+
 export const getMyTransactions = () =>
   axiosInstance.get("/rewards/my-transactions");
 
@@ -10,12 +10,65 @@ from flask import Flask, request, jsonify
 from flask_cors import CORS
 import joblib
 import numpy as np
+from contextlib import nullcontext
 from datetime import datetime
 import os
 
 app = Flask(__name__)
 CORS(app)
 
+# Tracing (OpenTelemetry), optional: continues the backend's trace from the W3C traceparent header
+tracer = None
+
+def init_tracing(flask_app):
+    """
+    Enable tracing when the opentelemetry packages are installed.
+
+    Environment:
+    - OTEL_EXPORTER_OTLP_TRACES_ENDPOINT: export to a collector (e.g. http://localhost:4318/v1/traces)
+    - ML_TRACE_LOG: append finished spans to this file, one JSON object per line
+    - OTEL_TRACES_SAMPLER_ARG: sampling ratio for requests without a sampling decision (default 0.01);
+      requests from the backend follow the backend's decision
+    """
+    global tracer
+    try:
+        from opentelemetry import trace
+        from opentelemetry.instrumentation.flask import FlaskInstrumentor
+        from opentelemetry.sdk.resources import Resource
+        from opentelemetry.sdk.trace import TracerProvider
+        from opentelemetry.sdk.trace.export import BatchSpanProcessor, ConsoleSpanExporter
+        from opentelemetry.sdk.trace.sampling import ParentBased, TraceIdRatioBased
+    except ImportError:
+        print("Tracing disabled: opentelemetry packages not installed")
+        return
+
+    ratio = float(os.environ.get('OTEL_TRACES_SAMPLER_ARG', '0.01'))
+    provider = TracerProvider(
+        resource=Resource.create({'service.name': os.environ.get('OTEL_SERVICE_NAME', 'ml-service')}),
+        sampler=ParentBased(TraceIdRatioBased(ratio))
+    )
+    endpoint = os.environ.get('OTEL_EXPORTER_OTLP_TRACES_ENDPOINT')
+    if endpoint:
+        from opentelemetry.exporter.otlp.proto.http.trace_exporter import OTLPSpanExporter
+        provider.add_span_processor(BatchSpanProcessor(OTLPSpanExporter(endpoint=endpoint)))
+    log_path = os.environ.get('ML_TRACE_LOG')
+    if log_path:
+        trace_file = open(log_path, 'a', buffering=1)
+        provider.add_span_processor(BatchSpanProcessor(
+            ConsoleSpanExporter(out=trace_file, formatter=lambda span: span.to_json(indent=None) + '\n')
+        ))
+    trace.set_tracer_provider(provider)
+    # W3C trace context is the default propagator
+    FlaskInstrumentor().instrument_app(flask_app, excluded_urls='ping')
+    tracer = trace.get_tracer('ml-service')
+    print(f"[OK] Tracing enabled (sampling ratio {ratio})")
+
+def model_span(name):
+    """Child span around model inference, or a no-op when tracing is off"""
+    return tracer.start_as_current_span(name) if tracer is not None else nullcontext()
+
+init_tracing(app)
+
 # Load models on startup
 MODELS_DIR = 'models'
 models = {}
@@ -113,7 +166,8 @@ def predict_waste_quantity():
         if 'quantity' not in models:
             return jsonify({'error': 'Waste quantity model not loaded'}), 500
         
-        predicted_waste = models['quantity'].predict(features)[0]
+        with model_span('model.quantity.predict'):
+            predicted_waste = models['quantity'].predict(features)[0]
         predicted_waste = max(0, float(predicted_waste))  # Ensure non-negative
         
         return jsonify({
@@ -197,8 +251,9 @@ def classify_waste_type():
             return jsonify({'error': 'Waste classification model not loaded'}), 500
         
         features_array = np.array([features])
-        prediction_encoded = models['classification'].predict(features_array)[0]
-        prediction_proba = models['classification'].predict_proba(features_array)[0]
+        with model_span('model.classification.predict'):
+            prediction_encoded = models['classification'].predict(features_array)[0]
+            prediction_proba = models['classification'].predict_proba(features_array)[0]
         
         # Decode prediction
         waste_type = models['label_encoder'].inverse_transform([prediction_encoded])[0]